@@ -1,9 +1,13 @@
 package com.unmadgamer.lostandfoundfinal.controller;
 
 import com.unmadgamer.lostandfoundfinal.model.LostFoundItem;
+import com.unmadgamer.lostandfoundfinal.model.ItemStatus;
+import com.unmadgamer.lostandfoundfinal.model.VerificationStatus;
 import com.unmadgamer.lostandfoundfinal.model.User;
 import com.unmadgamer.lostandfoundfinal.service.ItemService;
+import com.unmadgamer.lostandfoundfinal.service.ItemStats;
 import com.unmadgamer.lostandfoundfinal.service.UserService;
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
@@ -22,7 +26,6 @@ import javafx.stage.Stage;
 
 import java.io.IOException;
 import java.util.List;
-import java.util.stream.Collectors;
 
 public class AdminDashboardController {
 
@@ -160,24 +163,19 @@ public class AdminDashboardController {
     private void loadDashboardData() {
         // Load statistics
         List<User> allUsers = userService.getAllUsers();
-        List<LostFoundItem> allItems = itemService.getAllItems();
+        ItemStats stats = itemService.getItemStats(7);
 
-        // Get pending verification items
-        List<LostFoundItem> pendingItems = itemService.getPendingVerificationItems();
-
-        // Get returned items
-        List<LostFoundItem> returnedItems = allItems.stream()
-                .filter(item -> "returned".equals(item.getStatus()) || "claimed".equals(item.getStatus()))
-                .collect(Collectors.toList());
+        int pendingCount = stats.getCount(VerificationStatus.PENDING);
+        int returnedCount = stats.getCount(ItemStatus.RETURNED) + stats.getCount(ItemStatus.CLAIMED);
 
         totalUsersLabel.setText(String.valueOf(allUsers.size()));
-        totalItemsLabel.setText(String.valueOf(allItems.size()));
-        pendingVerificationLabel.setText(String.valueOf(pendingItems.size()));
-        returnedItemsLabel.setText(String.valueOf(returnedItems.size()));
+        totalItemsLabel.setText(String.valueOf(stats.getTotal()));
+        pendingVerificationLabel.setText(String.valueOf(pendingCount));
+        returnedItemsLabel.setText(String.valueOf(returnedCount));
 
         // Calculate system health (percentage of verified items)
-        long verifiedCount = allItems.stream().filter(LostFoundItem::isVerified).count();
-        double healthPercentage = allItems.isEmpty() ? 100 : (verifiedCount * 100.0 / allItems.size());
+        long verifiedCount = stats.getCount(VerificationStatus.VERIFIED);
+        double healthPercentage = stats.getTotal() == 0 ? 100 : (verifiedCount * 100.0 / stats.getTotal());
         systemHealthLabel.setText(String.format("%.1f%%", healthPercentage));
 
         // Load users table
@@ -185,25 +183,22 @@ public class AdminDashboardController {
         usersTable.setItems(usersData);
 
         // Load recent items (last 10 items)
-        List<LostFoundItem> recentItems = allItems.stream()
-                .sorted((a, b) -> b.getCreatedAt().compareTo(a.getCreatedAt())) // Sort by creation date descending
-                .limit(10)
-                .collect(Collectors.toList());
+        List<LostFoundItem> recentItems = itemService.getRecentItems(10);
         ObservableList<LostFoundItem> itemsData = FXCollections.observableArrayList(recentItems);
         recentItemsTable.setItems(itemsData);
 
         System.out.println("   Admin Dashboard loaded:");
         System.out.println("   Users: " + allUsers.size());
-        System.out.println("   Items: " + allItems.size());
-        System.out.println("   Pending: " + pendingItems.size());
-        System.out.println("   Returned: " + returnedItems.size());
+        System.out.println("   Items: " + stats.getTotal());
+        System.out.println("   Pending: " + pendingCount);
+        System.out.println("   Returned: " + returnedCount);
     }
 
     private void createCharts() {
         // Clear existing charts
         chartsContainer.getChildren().clear();
 
-        List<LostFoundItem> allItems = itemService.getAllItems();
+        ItemStats stats = itemService.getItemStats(7);
 
         // Items by Type Chart
         CategoryAxis typeAxis = new CategoryAxis();
@@ -215,12 +210,8 @@ public class AdminDashboardController {
 
         XYChart.Series<String, Number> typeSeries = new XYChart.Series<>();
 
-        long lostCount = allItems.stream()
-                .filter(item -> "lost".equals(item.getType()))
-                .count();
-        long foundCount = allItems.stream()
-                .filter(item -> "found".equals(item.getType()))
-                .count();
+        long lostCount = stats.getLostCount();
+        long foundCount = stats.getFoundCount();
 
         typeSeries.getData().add(new XYChart.Data<>("Lost", lostCount));
         typeSeries.getData().add(new XYChart.Data<>("Found", foundCount));
@@ -237,8 +228,8 @@ public class AdminDashboardController {
 
         XYChart.Series<String, Number> verificationSeries = new XYChart.Series<>();
 
-        long verifiedCount = allItems.stream().filter(LostFoundItem::isVerified).count();
-        long pendingCount = allItems.stream().filter(item -> !item.isVerified()).count();
+        long verifiedCount = stats.getCount(VerificationStatus.VERIFIED);
+        long pendingCount = stats.getTotal() - verifiedCount;
 
         verificationSeries.getData().add(new XYChart.Data<>("Verified", verifiedCount));
         verificationSeries.getData().add(new XYChart.Data<>("Pending", pendingCount));
@@ -255,23 +246,16 @@ public class AdminDashboardController {
 
         XYChart.Series<String, Number> statusSeries = new XYChart.Series<>();
 
-        long pendingStatus = allItems.stream()
-                .filter(item -> "pending".equals(item.getStatus()))
-                .count();
-        long verifiedStatus = allItems.stream()
-                .filter(item -> "verified".equals(item.getStatus()))
-                .count();
-        long claimedStatus = allItems.stream()
-                .filter(item -> "claimed".equals(item.getStatus()))
-                .count();
-        long returnedStatus = allItems.stream()
-                .filter(item -> "returned".equals(item.getStatus()))
-                .count();
-
-        statusSeries.getData().add(new XYChart.Data<>("Pending", pendingStatus));
-        statusSeries.getData().add(new XYChart.Data<>("Verified", verifiedStatus));
+        // One bar per item status; verification has its own chart above
+        long activeStatus = stats.getCount(ItemStatus.ACTIVE);
+        long claimedStatus = stats.getCount(ItemStatus.CLAIMED);
+        long returnedStatus = stats.getCount(ItemStatus.RETURNED);
+        long expiredStatus = stats.getCount(ItemStatus.EXPIRED);
+
+        statusSeries.getData().add(new XYChart.Data<>("Active", activeStatus));
         statusSeries.getData().add(new XYChart.Data<>("Claimed", claimedStatus));
         statusSeries.getData().add(new XYChart.Data<>("Returned", returnedStatus));
+        statusSeries.getData().add(new XYChart.Data<>("Expired", expiredStatus));
 
         statusChart.getData().add(statusSeries);
 
@@ -299,11 +283,16 @@ public class AdminDashboardController {
 
         confirmAlert.showAndWait().ifPresent(response -> {
             if (response == ButtonType.OK) {
-                // Toggle user active status
-                user.setActive(!user.isActive());
-                userService.getAllUsers(); // This will trigger save through the service
-                showAlert("Success", "User " + user.getUsername() + " has been " + action + "d.");
-                loadDashboardData();
+                // Toggle user active status on the state writer, which also saves it
+                userService.setUserActiveAsync(user.getUsername(), !user.isActive())
+                        .whenComplete((saved, error) -> Platform.runLater(() -> {
+                            if (Boolean.TRUE.equals(saved)) {
+                                showAlert("Success", "User " + user.getUsername() + " has been " + action + "d.");
+                            } else {
+                                showError("Update Failed", "Could not " + action + " user " + user.getUsername() + ".");
+                            }
+                            loadDashboardData();
+                        }));
             }
         });
     }
@@ -342,19 +331,16 @@ public class AdminDashboardController {
     private void handleGenerateReports() {
         // Generate system report
         List<User> allUsers = userService.getAllUsers();
-        List<LostFoundItem> allItems = itemService.getAllItems();
-        List<LostFoundItem> pendingItems = itemService.getPendingVerificationItems();
-        List<LostFoundItem> returnedItems = allItems.stream()
-                .filter(item -> "returned".equals(item.getStatus()) || "claimed".equals(item.getStatus()))
-                .collect(Collectors.toList());
+        ItemStats stats = itemService.getItemStats(7);
 
         StringBuilder report = new StringBuilder();
         report.append("=== SYSTEM REPORT ===\n\n");
         report.append("Statistics:\n");
         report.append("• Total Users: ").append(allUsers.size()).append("\n");
-        report.append("• Total Items: ").append(allItems.size()).append("\n");
-        report.append("• Pending Verification: ").append(pendingItems.size()).append("\n");
-        report.append("• Returned/Claimed Items: ").append(returnedItems.size()).append("\n\n");
+        report.append("• Total Items: ").append(stats.getTotal()).append("\n");
+        report.append("• Pending Verification: ").append(stats.getCount(VerificationStatus.PENDING)).append("\n");
+        report.append("• Returned/Claimed Items: ")
+                .append(stats.getCount(ItemStatus.RETURNED) + stats.getCount(ItemStatus.CLAIMED)).append("\n\n");
 
         report.append("User Breakdown:\n");
         long adminCount = allUsers.stream().filter(User::isAdmin).count();
@@ -363,17 +349,19 @@ public class AdminDashboardController {
         report.append("• Regular Users: ").append(userCount).append("\n\n");
 
         report.append("Item Breakdown:\n");
-        long lostCount = allItems.stream().filter(item -> "lost".equals(item.getType())).count();
-        long foundCount = allItems.stream().filter(item -> "found".equals(item.getType())).count();
-        long verifiedCount = allItems.stream().filter(LostFoundItem::isVerified).count();
-        report.append("• Lost Items: ").append(lostCount).append("\n");
-        report.append("• Found Items: ").append(foundCount).append("\n");
-        report.append("• Verified Items: ").append(verifiedCount).append("\n\n");
+        report.append("• Lost Items: ").append(stats.getLostCount()).append("\n");
+        report.append("• Found Items: ").append(stats.getFoundCount()).append("\n");
+        report.append("• Verified Items: ").append(stats.getCount(VerificationStatus.VERIFIED)).append("\n");
+        report.append("• Reported in the Last ").append(stats.getRecentDays()).append(" Days: ")
+                .append(stats.getReportedRecentlyCount()).append("\n\n");
+
+        report.append("Items by Category:\n");
+        stats.getCategoryCounts().forEach((category, count) ->
+                report.append("• ").append(category).append(": ").append(count).append("\n"));
+        report.append("\n");
 
         report.append("Recent Activity (Last 5 items):\n");
-        allItems.stream()
-                .sorted((a, b) -> b.getCreatedAt().compareTo(a.getCreatedAt()))
-                .limit(5)
+        itemService.getRecentItems(5)
                 .forEach(item ->
                         report.append("• ").append(item.getItemName())
                                 .append(" (").append(item.getType())
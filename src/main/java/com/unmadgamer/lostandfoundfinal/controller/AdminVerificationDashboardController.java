@@ -5,6 +5,7 @@ import com.unmadgamer.lostandfoundfinal.model.LostItem;
 import com.unmadgamer.lostandfoundfinal.model.FoundItem;
 import com.unmadgamer.lostandfoundfinal.service.ItemService;
 import com.unmadgamer.lostandfoundfinal.service.UserService;
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
@@ -14,6 +15,7 @@ import javafx.scene.layout.HBox;
 import javafx.stage.Stage;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 public class AdminVerificationDashboardController {
@@ -263,24 +265,28 @@ public class AdminVerificationDashboardController {
 
     private void verifyItem(LostFoundItem item) {
         String adminUsername = userService.getCurrentUser().getUsername();
-        if (itemService.verifyItem(item.getId(), adminUsername)) {
-            showAlert("Success", "Item verified successfully!", Alert.AlertType.INFORMATION);
-            loadData();
-            updateStatistics();
-        } else {
-            showAlert("Error", "Failed to verify item!", Alert.AlertType.ERROR);
-        }
+        itemService.verifyItemAsync(item.getId(), adminUsername).whenComplete((success, error) -> Platform.runLater(() -> {
+            if (Boolean.TRUE.equals(success)) {
+                showAlert("Success", "Item verified successfully!", Alert.AlertType.INFORMATION);
+                loadData();
+                updateStatistics();
+            } else {
+                showAlert("Error", "Failed to verify item!", Alert.AlertType.ERROR);
+            }
+        }));
     }
 
     private void rejectItem(LostFoundItem item) {
         String adminUsername = userService.getCurrentUser().getUsername();
-        if (itemService.rejectItem(item.getId(), adminUsername)) {
-            showAlert("Success", "Item rejected!", Alert.AlertType.INFORMATION);
-            loadData();
-            updateStatistics();
-        } else {
-            showAlert("Error", "Failed to reject item!", Alert.AlertType.ERROR);
-        }
+        itemService.rejectItemAsync(item.getId(), adminUsername).whenComplete((success, error) -> Platform.runLater(() -> {
+            if (Boolean.TRUE.equals(success)) {
+                showAlert("Success", "Item rejected!", Alert.AlertType.INFORMATION);
+                loadData();
+                updateStatistics();
+            } else {
+                showAlert("Error", "Failed to reject item!", Alert.AlertType.ERROR);
+            }
+        }));
     }
 
     // Claim approval methods with FIXED REWARD SYSTEM
@@ -299,24 +305,26 @@ public class AdminVerificationDashboardController {
         confirmation.showAndWait().ifPresent(response -> {
             if (response == ButtonType.OK) {
                 System.out.println("Attempting to approve claim and award rewards...");
-                if (itemService.approveClaim(item.getId(), adminUsername)) {
-                    showAlert("Return Confirmed",
-                            "Item return has been confirmed!\n\n" +
-                                    "50 reward points have been awarded\n" +
-                                    "Item marked as successfully returned\n" +
-                                    "Check user dashboard for updated rewards",
-                            Alert.AlertType.INFORMATION);
-                    loadData();
-                    updateStatistics();
-
-                    // Debug: Show current reward state
-                    itemService.debugRewardSystem();
-                } else {
-                    showAlert("Error",
-                            "Failed to confirm return. Please try again.\n\n" +
-                                    "Check console for detailed error information.",
-                            Alert.AlertType.ERROR);
-                }
+                itemService.approveClaimAsync(item.getId(), adminUsername).whenComplete((success, error) -> Platform.runLater(() -> {
+                    if (Boolean.TRUE.equals(success)) {
+                        showAlert("Return Confirmed",
+                                "Item return has been confirmed!\n\n" +
+                                        "50 reward points have been awarded\n" +
+                                        "Item marked as successfully returned\n" +
+                                        "Check user dashboard for updated rewards",
+                                Alert.AlertType.INFORMATION);
+                        loadData();
+                        updateStatistics();
+
+                        // Debug: Show current reward state
+                        itemService.debugRewardSystem();
+                    } else {
+                        showAlert("Error",
+                                "Failed to confirm return. Please try again.\n\n" +
+                                        "Check console for detailed error information.",
+                                Alert.AlertType.ERROR);
+                    }
+                }));
             }
         });
     }
@@ -333,16 +341,18 @@ public class AdminVerificationDashboardController {
 
         confirmation.showAndWait().ifPresent(response -> {
             if (response == ButtonType.OK) {
-                if (itemService.rejectClaim(item.getId(), adminUsername)) {
-                    showAlert("Claim Rejected",
-                            "Claim has been rejected successfully!\n\n" +
-                                    "The item is now available for claiming again.",
-                            Alert.AlertType.INFORMATION);
-                    loadData();
-                    updateStatistics();
-                } else {
-                    showAlert("Error", "Failed to reject claim!", Alert.AlertType.ERROR);
-                }
+                itemService.rejectClaimAsync(item.getId(), adminUsername).whenComplete((success, error) -> Platform.runLater(() -> {
+                    if (Boolean.TRUE.equals(success)) {
+                        showAlert("Claim Rejected",
+                                "Claim has been rejected successfully!\n\n" +
+                                        "The item is now available for claiming again.",
+                                Alert.AlertType.INFORMATION);
+                        loadData();
+                        updateStatistics();
+                    } else {
+                        showAlert("Error", "Failed to reject claim!", Alert.AlertType.ERROR);
+                    }
+                }));
             }
         });
     }
@@ -384,7 +394,7 @@ public class AdminVerificationDashboardController {
                 details.append("\n=== CLAIM INFORMATION ===\n");
                 details.append("Claimed by: ").append(lostItem.getClaimedBy()).append("\n");
                 details.append("Claim Status: ").append(lostItem.getClaimStatus()).append("\n");
-                if (lostItem.getClaimStatus().equals("approved")) {
+                if (lostItem.isClaimApproved()) {
                     details.append("This item has been returned to its owner\n");
                     details.append("Reward points have been awarded\n");
                 }
@@ -395,7 +405,7 @@ public class AdminVerificationDashboardController {
                 details.append("\n=== CLAIM INFORMATION ===\n");
                 details.append("Claimed by: ").append(foundItem.getClaimedBy()).append("\n");
                 details.append("Claim Status: ").append(foundItem.getClaimStatus()).append("\n");
-                if (foundItem.getClaimStatus().equals("approved")) {
+                if (foundItem.isClaimApproved()) {
                     details.append("This item has been returned to its owner\n");
                     details.append("Reward points have been awarded\n");
                 }
@@ -426,20 +436,27 @@ public class AdminVerificationDashboardController {
         }
 
         String adminUsername = userService.getCurrentUser().getUsername();
-        int successCount = 0;
-
-        for (LostFoundItem item : selectedItems) {
-            if (itemService.verifyItem(item.getId(), adminUsername)) {
-                successCount++;
-            }
-        }
-
-        showAlert("Bulk Verify",
-                "Successfully verified " + successCount + " out of " + selectedItems.size() + " items!",
-                Alert.AlertType.INFORMATION);
-
-        loadData();
-        updateStatistics();
+        int total = selectedItems.size();
+
+        // Pipeline all verifications; the writer applies them in one batch with a single save
+        List<CompletableFuture<Boolean>> results = selectedItems.stream()
+                .map(item -> itemService.verifyItemAsync(item.getId(), adminUsername))
+                .collect(Collectors.toList());
+
+        CompletableFuture.allOf(results.toArray(new CompletableFuture<?>[0])).whenComplete((ignored, error) -> {
+            long successCount = results.stream()
+                    .filter(result -> !result.isCompletedExceptionally() && Boolean.TRUE.equals(result.join()))
+                    .count();
+
+            Platform.runLater(() -> {
+                showAlert("Bulk Verify",
+                        "Successfully verified " + successCount + " out of " + total + " items!",
+                        Alert.AlertType.INFORMATION);
+
+                loadData();
+                updateStatistics();
+            });
+        });
     }
 
     // NEW: Debug the entire reward system
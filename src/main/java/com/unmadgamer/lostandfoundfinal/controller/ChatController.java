@@ -3,6 +3,7 @@ package com.unmadgamer.lostandfoundfinal.controller;
 import com.unmadgamer.lostandfoundfinal.model.Conversation;
 import com.unmadgamer.lostandfoundfinal.model.Message;
 import com.unmadgamer.lostandfoundfinal.model.User;
+import com.unmadgamer.lostandfoundfinal.service.ChatSearchHit;
 import com.unmadgamer.lostandfoundfinal.service.MessageService;
 import com.unmadgamer.lostandfoundfinal.service.UserService;
 import javafx.animation.PauseTransition;
@@ -26,8 +27,10 @@ import javafx.stage.Stage;
 import javafx.util.Duration;
 
 import java.io.IOException;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.Timer;
 import java.util.TimerTask;
 
@@ -52,10 +55,13 @@ public class ChatController implements MessageService.MessageListener {
     private UserService userService;
     private User currentUser;
     private Conversation currentConversation;
+    private long displayedSequence; // Newest message of currentConversation on screen
     private ObservableList<Conversation> userConversations;
     private String initialConversationId;
     private Timer refreshTimer;
     private boolean isAutoRefreshing = true;
+    private static final int MESSAGE_PAGE_SIZE = 50;
+    private static final int SEARCH_HIT_LIMIT = 500;
 
     @FXML
     public void initialize() {
@@ -116,8 +122,9 @@ public class ChatController implements MessageService.MessageListener {
                     textBox.getChildren().addAll(userLabel, messageLabel);
 
                     // Unread badge
-                    if (conversation.getUnreadCount() > 0) {
-                        Label unreadBadge = new Label(String.valueOf(conversation.getUnreadCount()));
+                    int unread = messageService.getUnreadCount(conversation.getId(), currentUser.getUsername());
+                    if (unread > 0) {
+                        Label unreadBadge = new Label(String.valueOf(unread));
                         unreadBadge.setStyle("-fx-background-color: #e74c3c; -fx-text-fill: white; -fx-font-size: 10; " +
                                 "-fx-padding: 2 6; -fx-background-radius: 10; -fx-min-width: 20; -fx-alignment: center;");
 
@@ -155,22 +162,26 @@ public class ChatController implements MessageService.MessageListener {
         refreshTimer.scheduleAtFixedRate(new TimerTask() {
             @Override
             public void run() {
-                if (isAutoRefreshing) {
-                    Platform.runLater(() -> {
-                        refreshConversationsData();
-                        if (currentConversation != null) {
-                            refreshCurrentConversation();
-                        }
-                    });
+                // Changes made in this instance arrive as message events; only another
+                // instance's writes need a reload
+                if (isAutoRefreshing && messageService.isFileChangedElsewhere()) {
+                    Platform.runLater(ChatController.this::refreshConversationsData);
                 }
             }
         }, 0, 2000); // Refresh every 2 seconds
     }
 
     private void refreshConversationsData() {
-        // Force refresh from file to get updates from other instances
-        messageService.refreshFromFile();
+        // Force refresh from file to get updates from other instances. The reload runs on the
+        // state writer after any pending changes are saved.
+        messageService.refreshFromFileAsync()
+                .whenComplete((reloaded, error) -> Platform.runLater(() -> {
+                    showConversationsData();
+                    refreshCurrentConversation();
+                }));
+    }
 
+    private void showConversationsData() {
         List<Conversation> updatedConversations = messageService.getUserConversations(currentUser.getUsername());
         if (userConversations != null) {
             // Preserve selection
@@ -195,8 +206,9 @@ public class ChatController implements MessageService.MessageListener {
             // Reload the current conversation to get new messages
             Optional<Conversation> updatedConversation = messageService.getConversationById(currentConversation.getId());
             if (updatedConversation.isPresent()) {
+                // Reloads update conversations in place, so compare with what is on screen
                 Conversation newConversation = updatedConversation.get();
-                if (!newConversation.getMessages().equals(currentConversation.getMessages())) {
+                if (newConversation.getLastSequence() != displayedSequence) {
                     currentConversation = newConversation;
                     loadMessages(currentConversation);
                 }
@@ -205,8 +217,9 @@ public class ChatController implements MessageService.MessageListener {
     }
 
     private void loadConversations() {
-        // Use observable list for real-time updates
-        userConversations = messageService.getObservableUserConversations(currentUser.getUsername());
+        // The list belongs to this controller and only changes on the FX thread; message
+        // events and refreshes update it from the service's inbox index
+        userConversations = FXCollections.observableArrayList(messageService.getUserConversations(currentUser.getUsername()));
         conversationsList.setItems(userConversations);
 
         // Listen for changes in the observable list
@@ -240,7 +253,9 @@ public class ChatController implements MessageService.MessageListener {
     private void setupEventHandlers() {
         conversationsList.getSelectionModel().selectedItemProperty().addListener(
                 (observable, oldValue, newValue) -> {
-                    if (newValue != null) {
+                    // Reselecting the open conversation after its row moves is not a new choice
+                    if (newValue != null && (currentConversation == null
+                            || !newValue.getId().equals(currentConversation.getId()))) {
                         displayConversation(newValue);
                     }
                 }
@@ -271,10 +286,16 @@ public class ChatController implements MessageService.MessageListener {
         }
 
         String lowerCaseFilter = searchText.toLowerCase();
+        // Also keep conversations with a matching message anywhere in their history
+        Set<String> messageMatches = new HashSet<>();
+        for (ChatSearchHit hit : messageService.searchMessages(currentUser.getUsername(), searchText, SEARCH_HIT_LIMIT)) {
+            messageMatches.add(hit.getConversationId());
+        }
         ObservableList<Conversation> filtered = userConversations.filtered(conversation -> {
             String otherUser = conversation.getOtherUser(currentUser.getUsername());
             return otherUser.toLowerCase().contains(lowerCaseFilter) ||
-                    conversation.getFormattedLastMessage().toLowerCase().contains(lowerCaseFilter);
+                    conversation.getFormattedLastMessage().toLowerCase().contains(lowerCaseFilter) ||
+                    messageMatches.contains(conversation.getId());
         });
         conversationsList.setItems(filtered);
     }
@@ -294,8 +315,8 @@ public class ChatController implements MessageService.MessageListener {
             }
 
             // Mark as read and update UI
-            messageService.markConversationAsRead(conversation.getId(), currentUser.getUsername());
-            updateUnreadCount();
+            messageService.markConversationAsReadAsync(conversation.getId(), currentUser.getUsername())
+                    .whenComplete((marked, error) -> updateUnreadCount());
 
             loadMessages(conversation);
 
@@ -330,8 +351,9 @@ public class ChatController implements MessageService.MessageListener {
     private void loadMessages(Conversation conversation) {
         Platform.runLater(() -> {
             messagesContainer.getChildren().clear();
+            displayedSequence = conversation.getLastSequence();
 
-            for (Message message : conversation.getMessages()) {
+            for (Message message : messageService.getRecentMessages(conversation.getId(), MESSAGE_PAGE_SIZE)) {
                 addMessageToDisplay(message);
             }
 
@@ -395,47 +417,100 @@ public class ChatController implements MessageService.MessageListener {
             return;
         }
 
-        if (messageService.sendMessage(currentConversation.getId(), currentUser.getUsername(), content)) {
-            messageInput.clear();
-            // Message will appear automatically via the listener
-        } else {
-            showAlert("Error", "Failed to send message", Alert.AlertType.ERROR);
-        }
+        messageInput.clear();
+        messageService.sendMessageAsync(currentConversation.getId(), currentUser.getUsername(), content)
+                .whenComplete((success, error) -> {
+                    // Message will appear automatically via the listener
+                    if (!Boolean.TRUE.equals(success)) {
+                        Platform.runLater(() -> {
+                            messageInput.setText(content);
+                            showAlert("Error", "Failed to send message", Alert.AlertType.ERROR);
+                        });
+                    }
+                });
     }
 
-    // Implement MessageListener interface for real-time updates
+    // Implement MessageListener interface for real-time updates. MessageService calls
+    // listeners on its dispatcher threads, so everything that reads currentConversation or
+    // touches the scene runs on the FX thread.
     @Override
     public void onNewMessage(Message message) {
         System.out.println("Real-time message received: " + message.getContent());
 
-        // If this message belongs to the current conversation, display it
-        if (currentConversation != null && currentConversation.getId().equals(message.getConversationId())) {
-            addMessageToDisplay(message);
+        Platform.runLater(() -> {
+            // If this message belongs to the current conversation, display it
+            if (currentConversation != null && currentConversation.getId().equals(message.getConversationId())) {
+                addMessageToDisplay(message);
+                displayedSequence = Math.max(displayedSequence, message.getSequence());
+                if (!message.getSenderUsername().equals(currentUser.getUsername())) {
+                    // Read as it arrives in the open conversation
+                    messageService.markConversationAsReadAsync(message.getConversationId(), currentUser.getUsername());
+                }
 
-            // Auto-scroll to bottom
-            PauseTransition pause = new PauseTransition(Duration.millis(100));
-            pause.setOnFinished(event -> messagesScrollPane.setVvalue(1.0));
-            pause.play();
-        }
+                // Auto-scroll to bottom
+                PauseTransition pause = new PauseTransition(Duration.millis(100));
+                pause.setOnFinished(event -> messagesScrollPane.setVvalue(1.0));
+                pause.play();
+            }
 
-        // Refresh conversations list to update last message and unread count
-        Platform.runLater(this::refreshConversationsData);
+            // The conversation now has the latest message, so it goes to the top of the list
+            showConversationChange(message.getConversationId(), true);
+            updateUnreadCount();
+        });
     }
 
     @Override
     public void onConversationUpdated(Conversation conversation) {
         System.out.println("Conversation updated: " + conversation.getId());
 
-        // Refresh if this is the current conversation
-        if (currentConversation != null && currentConversation.getId().equals(conversation.getId())) {
-            Platform.runLater(() -> {
+        Platform.runLater(() -> {
+            // New messages arrive through onNewMessage, so only the reference is updated here
+            if (currentConversation != null && currentConversation.getId().equals(conversation.getId())) {
                 currentConversation = conversation;
-                loadMessages(conversation);
-            });
+            }
+
+            // Redraw its row (last message, unread badge) where it is
+            showConversationChange(conversation.getId(), false);
+            updateUnreadCount();
+        });
+    }
+
+    // Apply one conversation's change to the list in place instead of rereading the inbox
+    private void showConversationChange(String conversationId, boolean moveToTop) {
+        if (userConversations == null) {
+            return;
+        }
+        Optional<Conversation> changed = messageService.getConversationById(conversationId)
+                .filter(conversation -> conversation.involvesUser(currentUser.getUsername()));
+        if (changed.isEmpty()) {
+            return;
+        }
+
+        Conversation selected = conversationsList.getSelectionModel().getSelectedItem();
+        int index = -1;
+        for (int i = 0; i < userConversations.size(); i++) {
+            if (userConversations.get(i).getId().equals(conversationId)) {
+                index = i;
+                break;
+            }
+        }
+        if (index >= 0 && !moveToTop) {
+            if (userConversations.get(index) == changed.get()) {
+                conversationsList.refresh(); // Same object, only its cell needs redrawing
+            } else {
+                userConversations.set(index, changed.get());
+            }
+        } else {
+            if (index >= 0) {
+                userConversations.remove(index);
+            }
+            userConversations.add(0, changed.get());
         }
 
-        // Update conversations list
-        Platform.runLater(this::refreshConversationsData);
+        // Moving a row clears its selection
+        if (selected != null && selected.getId().equals(conversationId)) {
+            conversationsList.getSelectionModel().select(changed.get());
+        }
     }
 
     @FXML
@@ -459,13 +534,16 @@ public class ChatController implements MessageService.MessageListener {
                 return;
             }
 
-            Conversation newConversation = messageService.getOrCreateConversation(
-                    currentUser.getUsername(), targetUsername, null
-            );
-
-            // The new conversation will appear automatically via the observable list
-            conversationsList.getSelectionModel().select(newConversation);
-            displayConversation(newConversation);
+            messageService.getOrCreateConversationAsync(currentUser.getUsername(), targetUsername, null)
+                    .whenComplete((newConversation, error) -> Platform.runLater(() -> {
+                        if (newConversation == null) {
+                            showAlert("Error", "Could not start a conversation with " + targetUsername, Alert.AlertType.ERROR);
+                            return;
+                        }
+                        showConversationChange(newConversation.getId(), true);
+                        conversationsList.getSelectionModel().select(newConversation);
+                        displayConversation(newConversation);
+                    }));
         }
     }
 
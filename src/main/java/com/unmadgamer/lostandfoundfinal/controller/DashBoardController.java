@@ -1,9 +1,17 @@
 package com.unmadgamer.lostandfoundfinal.controller;
 
+import com.unmadgamer.lostandfoundfinal.model.FoundItem;
+import com.unmadgamer.lostandfoundfinal.model.LostFoundItem;
+import com.unmadgamer.lostandfoundfinal.model.LostItem;
 import com.unmadgamer.lostandfoundfinal.model.User;
+import com.unmadgamer.lostandfoundfinal.model.VerificationStatus;
+import com.unmadgamer.lostandfoundfinal.service.ItemEvent;
+import com.unmadgamer.lostandfoundfinal.service.ItemEventSubscriber;
 import com.unmadgamer.lostandfoundfinal.service.ItemService;
 import com.unmadgamer.lostandfoundfinal.service.UserService;
 import com.unmadgamer.lostandfoundfinal.service.MessageService;
+import javafx.application.Platform;
+import javafx.beans.value.ChangeListener;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
@@ -14,6 +22,7 @@ import javafx.scene.control.Label;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.stage.Stage;
+import javafx.stage.Window;
 
 import java.io.IOException;
 
@@ -94,6 +103,15 @@ public class DashBoardController {
     private User currentUser;
     private ItemService itemService;
     private MessageService messageService;
+    private ItemEventSubscriber itemEventSubscriber;
+
+    // Counted once when the subscription starts, then moved by each item event
+    private int lostCount;
+    private int foundCount;
+    private int returnedCount;
+    private int pendingClaimsCount;
+    private int totalItemsCount;
+    private int verifiedCount;
 
     @FXML
     public void initialize() {
@@ -109,6 +127,8 @@ public class DashBoardController {
             loadLeaderboard();
             setupAdminFeatures();
             setupRewardFeatures();
+            subscribeToItemEvents();
+            followWindow();
 
             // Debug data state
             debugDataState();
@@ -117,6 +137,148 @@ public class DashBoardController {
         }
     }
 
+    // Update statistics in place when items change instead of waiting for a manual refresh
+    private void subscribeToItemEvents() {
+        if (itemEventSubscriber != null) {
+            return;
+        }
+        itemEventSubscriber = itemService.subscribe("dashboard", event -> Platform.runLater(() -> {
+            if (userService.getCurrentUser() == null) {
+                return;
+            }
+            if (event.getType() == ItemEvent.Type.RELOADED) {
+                countStatistics(); // Whole list replaced, nothing to apply a delta to
+            } else {
+                applyItemEvent(event);
+            }
+            loadStatistics();
+            updateAdminStats();
+            if (event.getType() == ItemEvent.Type.RETURNED) {
+                updateRewardDisplay();
+                loadLeaderboard();
+            }
+        }));
+        // Events were missed while unsubscribed, so start again from a fresh count
+        countStatistics();
+        loadStatistics();
+        updateAdminStats();
+    }
+
+    // Full count over the items, only done when the subscription starts or after a reload
+    private void countStatistics() {
+        String currentUsername = userService.getCurrentUser().getUsername();
+        lostCount = itemService.getLostItemsByUser(currentUsername).size();
+        foundCount = itemService.getFoundItemsByUser(currentUsername).size();
+        returnedCount = itemService.getReturnedItemsByUser(currentUsername).size();
+        totalItemsCount = itemService.getItemCount();
+        if (currentUser.isAdmin()) {
+            pendingClaimsCount = itemService.getPendingClaimItems().size();
+            verifiedCount = (int) itemService.getTotalVerifiedCount();
+        }
+    }
+
+    // Move the counts by the one status change the event describes
+    private void applyItemEvent(ItemEvent event) {
+        LostFoundItem item = event.getItem();
+        String currentUsername = userService.getCurrentUser().getUsername();
+        VerificationStatus verifiedAfter = null;
+
+        switch (event.getType()) {
+            case REPORTED:
+                totalItemsCount++;
+                if (currentUsername.equals(item.getReportedBy())) {
+                    if (item instanceof LostItem) {
+                        lostCount++;
+                    } else if (item instanceof FoundItem) {
+                        foundCount++;
+                    }
+                }
+                verifiedAfter = item.getVerificationState();
+                break;
+            case VERIFIED:
+                verifiedAfter = VerificationStatus.VERIFIED;
+                break;
+            case REJECTED:
+                verifiedAfter = VerificationStatus.REJECTED;
+                break;
+            case CLAIMED:
+                pendingClaimsCount++;
+                break;
+            case CLAIM_REJECTED:
+                pendingClaimsCount--;
+                break;
+            case RETURNED:
+                pendingClaimsCount--;
+                if (currentUsername.equals(item.getReportedBy()) || currentUsername.equals(claimedBy(item))) {
+                    returnedCount++;
+                }
+                verifiedAfter = VerificationStatus.VERIFIED; // A return always verifies the item
+                break;
+            default:
+                break;
+        }
+
+        if (verifiedAfter != null) {
+            boolean wasVerified = event.getPreviousVerification() == VerificationStatus.VERIFIED;
+            boolean isVerified = verifiedAfter == VerificationStatus.VERIFIED;
+            verifiedCount += (isVerified ? 1 : 0) - (wasVerified ? 1 : 0);
+        }
+    }
+
+    private static String claimedBy(LostFoundItem item) {
+        if (item instanceof LostItem) {
+            return ((LostItem) item).getClaimedBy();
+        } else if (item instanceof FoundItem) {
+            return ((FoundItem) item).getClaimedBy();
+        }
+        return null;
+    }
+
+    private void unsubscribeFromItemEvents() {
+        if (itemEventSubscriber != null) {
+            itemEventSubscriber.cancel();
+            itemEventSubscriber = null;
+        }
+    }
+
+    // Other screens open a new dashboard, with a new controller, rather than returning to
+    // this one, so the subscription only lasts while this dashboard is showing in a window
+    private void followWindow() {
+        ChangeListener<Boolean> showing = (observable, wasShowing, isShowing) -> {
+            if (isShowing) {
+                subscribeToItemEvents();
+            } else {
+                unsubscribeFromItemEvents();
+            }
+        };
+        ChangeListener<Window> window = (observable, oldWindow, newWindow) -> {
+            if (oldWindow != null) {
+                oldWindow.showingProperty().removeListener(showing);
+            }
+            if (newWindow == null) {
+                unsubscribeFromItemEvents();
+                return;
+            }
+            newWindow.showingProperty().addListener(showing);
+            if (newWindow.isShowing()) {
+                subscribeToItemEvents();
+            }
+        };
+        userNameLabel.sceneProperty().addListener((observable, oldScene, newScene) -> {
+            if (oldScene != null) {
+                oldScene.windowProperty().removeListener(window);
+            }
+            if (newScene == null) {
+                unsubscribeFromItemEvents(); // Replaced by another view
+                return;
+            }
+            newScene.windowProperty().addListener(window);
+            if (newScene.getWindow() != null) {
+                window.changed(newScene.windowProperty(), null, newScene.getWindow());
+            }
+        });
+    }
+
     // Setup admin-specific features
     private void setupAdminFeatures() {
         if (currentUser != null && currentUser.isAdmin()) {
@@ -145,7 +307,7 @@ public class DashBoardController {
     private void debugDataState() {
         System.out.println("=== DASHBOARD DATA STATE ===");
         System.out.println("Current user: " + currentUser.getUsername());
-        System.out.println("Total items in system: " + itemService.getAllItems().size());
+        System.out.println("Total items in system: " + itemService.getItemCount());
         System.out.println("Pending verification: " + itemService.getPendingVerificationCount());
         System.out.println("Verified items: " + itemService.getVerifiedItems().size());
         System.out.println("Pending claims: " + itemService.getPendingClaimItems().size());
@@ -177,35 +339,21 @@ public class DashBoardController {
     public void refreshDashboard() {
         System.out.println("Refreshing dashboard statistics...");
 
-        // Force refresh from JSON files
-        itemService.refreshItems();
+        // Item counts follow the item events, so only the users (reward points) are reread.
+        // The reload runs on the state writer after any pending changes are saved.
+        userService.refreshUsersAsync()
+                .whenComplete((ignored, error) -> Platform.runLater(() -> {
+                    currentUser = userService.getCurrentUser(); // Update current user reference
 
-        // Refresh user data to get latest rewards
-        userService.refreshUsers();
-        currentUser = userService.getCurrentUser(); // Update current user reference
-
-        loadStatistics();
-        loadLeaderboard();
-        updateAdminStats();
-        updateRewardDisplay();
-        updateUnreadMessagesBadge(); // NEW: Update message badge
+                    loadStatistics();
+                    loadLeaderboard();
+                    updateAdminStats();
+                    updateRewardDisplay();
+                    updateUnreadMessagesBadge(); // NEW: Update message badge
+                }));
     }
 
     private void loadStatistics() {
-        String currentUsername = userService.getCurrentUser().getUsername();
-
-        // Calculate user-specific statistics
-        int lostCount = (int) itemService.getAllItems().stream()
-                .filter(item -> item.getReportedBy().equals(currentUsername) && item.getType().equals("lost"))
-                .count();
-
-        int foundCount = (int) itemService.getAllItems().stream()
-                .filter(item -> item.getReportedBy().equals(currentUsername) && item.getType().equals("found"))
-                .count();
-
-        // Use actual returned items count from service
-        int returnedCount = itemService.getReturnedItemsByUser(currentUsername).size();
-
         // Use actual reward points from user object
         int rewardPoints = currentUser.getRewardPoints();
 
@@ -259,25 +407,20 @@ public class DashBoardController {
 
     private void updateAdminStats() {
         if (currentUser.isAdmin()) {
-            int pendingVerification = (int) itemService.getPendingVerificationCount();
-            int totalVerified = (int) itemService.getTotalVerifiedCount();
-            int pendingClaims = (int) itemService.getPendingClaimItems().size();
-            int totalItems = itemService.getAllItems().size();
-
             // Update labels if they exist
             if (pendingClaimsLabel != null) {
-                pendingClaimsLabel.setText(String.valueOf(pendingClaims));
+                pendingClaimsLabel.setText(String.valueOf(pendingClaimsCount));
             }
             if (totalItemsLabel != null) {
-                totalItemsLabel.setText(String.valueOf(totalItems));
+                totalItemsLabel.setText(String.valueOf(totalItemsCount));
             }
             if (verifiedItemsLabel != null) {
-                verifiedItemsLabel.setText(String.valueOf(totalVerified));
+                verifiedItemsLabel.setText(String.valueOf(verifiedCount));
             }
 
-            System.out.println("Admin stats - Pending verification: " + pendingVerification +
-                    ", Total verified: " + totalVerified +
-                    ", Pending claims: " + pendingClaims);
+            System.out.println("Admin stats - Total items: " + totalItemsCount +
+                    ", Total verified: " + verifiedCount +
+                    ", Pending claims: " + pendingClaimsCount);
         }
     }
 
@@ -427,34 +570,34 @@ public class DashBoardController {
     private void handleTestReward() {
         System.out.println("TESTING REWARD SYSTEM MANUALLY");
 
-        User currentUser = userService.getCurrentUser();
-        int currentPoints = currentUser.getRewardPoints();
-        int currentItems = currentUser.getItemsReturned();
-
-        // Manually add reward points
-        currentUser.addRewardPoints(50);
-        currentUser.incrementItemsReturned();
-
-        // Save to JSON
-        userService.saveUsers();
-
-        // Refresh from JSON to verify
-        userService.refreshUsers();
-        currentUser = userService.getCurrentUser();
-
-        // Refresh display
-        refreshDashboard();
+        User testUser = userService.getCurrentUser();
+        int currentPoints = testUser.getRewardPoints();
+        int currentItems = testUser.getItemsReturned();
+
+        // Manually add reward points and save to JSON, then refresh from JSON to verify
+        userService.rewardReturnAsync(testUser.getUsername(), 50)
+                .thenCompose(rewarded -> userService.refreshUsersAsync())
+                .whenComplete((refreshed, error) -> Platform.runLater(() -> {
+                    if (error != null) {
+                        showError("Reward test failed: " + error.getMessage());
+                        return;
+                    }
+                    User updatedUser = userService.getCurrentUser();
+
+                    // Refresh display
+                    refreshDashboard();
 
-        System.out.println("Manually added 50 points to " + currentUser.getUsername());
-        System.out.println("Points: " + currentPoints + " → " + currentUser.getRewardPoints());
-        System.out.println("Items: " + currentItems + " → " + currentUser.getItemsReturned());
+                    System.out.println("Manually added 50 points to " + updatedUser.getUsername());
+                    System.out.println("Points: " + currentPoints + " → " + updatedUser.getRewardPoints());
+                    System.out.println("Items: " + currentItems + " → " + updatedUser.getItemsReturned());
 
-        showAlert("Reward Test",
-                "Manually added 50 reward points!\n\n" +
-                        "Points: " + currentPoints + " → " + currentUser.getRewardPoints() + "\n" +
-                        "Items Returned: " + currentItems + " → " + currentUser.getItemsReturned() + "\n" +
-                        "If this works, the reward system IS functional!",
-                Alert.AlertType.INFORMATION);
+                    showAlert("Reward Test",
+                            "Manually added 50 reward points!\n\n" +
+                                    "Points: " + currentPoints + " → " + updatedUser.getRewardPoints() + "\n" +
+                                    "Items Returned: " + currentItems + " → " + updatedUser.getItemsReturned() + "\n" +
+                                    "If this works, the reward system IS functional!",
+                            Alert.AlertType.INFORMATION);
+                }));
     }
 
     @FXML
@@ -595,18 +738,16 @@ public class DashBoardController {
 
         alert.showAndWait().ifPresent(response -> {
             if (response == javafx.scene.control.ButtonType.OK) {
-                try {
-                    // Use JsonDataService to reset data properly
-                    com.unmadgamer.lostandfoundfinal.service.JsonDataService jsonDataService =
-                            new com.unmadgamer.lostandfoundfinal.service.JsonDataService();
-                    jsonDataService.resetAllData();
-
+                // The reset runs on the state writer, so no queued change is saved over it
+                itemService.resetAllDataAsync().whenComplete((reset, error) -> Platform.runLater(() -> {
+                    if (error != null) {
+                        showError("Error resetting data: " + error.getMessage());
+                        return;
+                    }
                     // Refresh the dashboard
                     refreshDashboard();
                     showAlert("Data Reset", "All data has been reset successfully");
-                } catch (Exception e) {
-                    showError("Error resetting data: " + e.getMessage());
-                }
+                }));
             }
         });
     }
@@ -614,6 +755,7 @@ public class DashBoardController {
     @FXML
     private void handleLogout() {
         System.out.println("Clicked: Logout");
+        unsubscribeFromItemEvents();
         userService.logout();
         try {
             // Close current dashboard
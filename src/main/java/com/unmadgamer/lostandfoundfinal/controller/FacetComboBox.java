@@ -0,0 +1,86 @@
+package com.unmadgamer.lostandfoundfinal.controller;
+
+import javafx.scene.control.ComboBox;
+import javafx.scene.control.ListCell;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// Filter combo boxes that show how many items of the current result have each value,
+// e.g. "Electronics (4)". Values stay plain strings so filters compare them as before.
+final class FacetComboBox {
+    private static final String ALL = "All";
+
+    private FacetComboBox() {
+    }
+
+    // fixedValues always start with "All"; values only seen in the counts are appended
+    // when addNewValues is set so free-text categories can be filtered on too
+    static void showCounts(ComboBox<String> comboBox, List<String> fixedValues,
+                           Map<String, Integer> counts, int total, boolean addNewValues) {
+        List<String> values = new ArrayList<>(fixedValues);
+        if (addNewValues) {
+            for (String value : counts.keySet()) {
+                if (!containsIgnoreCase(values, value)) {
+                    values.add(value);
+                }
+            }
+        }
+        String selected = comboBox.getValue();
+        if (selected != null && !values.contains(selected)) {
+            values.add(selected);
+        }
+        if (!comboBox.getItems().equals(values)) {
+            comboBox.getItems().setAll(values);
+        }
+
+        comboBox.setCellFactory(listView -> new CountCell(counts, total));
+        comboBox.setButtonCell(new CountCell(counts, total));
+    }
+
+    private static final class CountCell extends ListCell<String> {
+        private final Map<String, Integer> counts;
+        private final int total;
+
+        private CountCell(Map<String, Integer> counts, int total) {
+            this.counts = counts;
+            this.total = total;
+        }
+
+        @Override
+        protected void updateItem(String value, boolean empty) {
+            super.updateItem(value, empty);
+            if (empty || value == null) {
+                setText(null);
+            } else {
+                int count = ALL.equals(value) ? total : countOf(counts, value);
+                setText(value + " (" + count + ")");
+            }
+        }
+    }
+
+    // Combo labels such as "Lost" map onto stored values such as "lost"
+    private static int countOf(Map<String, Integer> counts, String value) {
+        Integer exact = counts.get(value);
+        if (exact != null) {
+            return exact;
+        }
+        int count = 0;
+        for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+            if (entry.getKey().equalsIgnoreCase(value)) {
+                count += entry.getValue();
+            }
+        }
+        return count;
+    }
+
+    private static boolean containsIgnoreCase(List<String> values, String value) {
+        for (String existing : values) {
+            if (existing.equalsIgnoreCase(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -1,8 +1,10 @@
 package com.unmadgamer.lostandfoundfinal.controller;
 
 import com.unmadgamer.lostandfoundfinal.model.FoundItem;
+import com.unmadgamer.lostandfoundfinal.service.AutocompleteService;
 import com.unmadgamer.lostandfoundfinal.service.ItemService;
 import com.unmadgamer.lostandfoundfinal.service.UserService;
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.control.Alert;
 import javafx.scene.control.DatePicker;
@@ -25,13 +27,19 @@ public class FoundFormController {
 
     private ItemService itemService;
     private UserService userService;
+    private AutocompleteService autocompleteService;
 
     @FXML
     public void initialize() {
         itemService = ItemService.getInstance();
         userService = UserService.getInstance();
+        autocompleteService = AutocompleteService.getInstance();
         foundDatePicker.setValue(LocalDate.now());
 
+        // Suggest categories and locations already in use so reports share the same spelling
+        SuggestionPopup.attach(categoryField, autocompleteService::suggestCategories);
+        SuggestionPopup.attach(locationField, autocompleteService::suggestLocations);
+
         if (userService.getCurrentUser() != null) {
             contactInfoField.setText(userService.getCurrentUser().getEmail());
         }
@@ -46,9 +54,9 @@ public class FoundFormController {
             // Create found item using the correct constructor parameters
             FoundItem foundItem = new FoundItem(
                     itemNameField.getText().trim(),
-                    categoryField.getText().trim(),
+                    autocompleteService.canonicalCategory(categoryField.getText()),
                     descriptionField.getText().trim(),
-                    locationField.getText().trim(),
+                    autocompleteService.canonicalLocation(locationField.getText()),
                     formattedDate, // date parameter
                     currentUser,   // reportedBy parameter
                     formattedDate, // foundDate parameter
@@ -59,13 +67,16 @@ public class FoundFormController {
             // Debug: Print the created item
             System.out.println("📝 Created FoundItem: " + foundItem.toString());
 
-            if (itemService.addFoundItem(foundItem)) {
-                showSuccess("Found item reported successfully!\n\nThe item has been submitted for admin verification.");
-                clearForm();
-                closeWindow();
-            } else {
-                showError("Failed to save found item. Please try again.");
-            }
+            // Added and saved on the state writer; the dialog updates back on the FX thread
+            itemService.addFoundItemAsync(foundItem).whenComplete((success, error) -> Platform.runLater(() -> {
+                if (Boolean.TRUE.equals(success)) {
+                    showSuccess("Found item reported successfully!\n\nThe item has been submitted for admin verification.");
+                    clearForm();
+                    closeWindow();
+                } else {
+                    showError("Failed to save found item. Please try again.");
+                }
+            }));
         }
     }
 
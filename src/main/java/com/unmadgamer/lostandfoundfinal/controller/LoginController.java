@@ -2,6 +2,7 @@ package com.unmadgamer.lostandfoundfinal.controller;
 
 import com.unmadgamer.lostandfoundfinal.model.User;
 import com.unmadgamer.lostandfoundfinal.service.UserService;
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
@@ -107,22 +108,25 @@ public class LoginController {
 
         System.out.println("🔐 Attempting login for: " + username);
 
-        if (userService.login(username, password)) {
-            loginMessageField.setText("Login successful!");
-            loginMessageField.setStyle("-fx-text-fill: green;");
-            System.out.println("✅ Login successful for: " + username);
-            openDashboard();
-        } else {
-            loginMessageField.setText("Invalid username or password");
-            loginMessageField.setStyle("-fx-text-fill: red;");
-            usernameTextField.setStyle("-fx-border-color: red; -fx-border-width: 1px;");
-            passwordTextField.setStyle("-fx-border-color: red; -fx-border-width: 1px;");
-            System.out.println("❌ Login failed for: " + username);
-
-            // Clear password field on failed login
-            passwordTextField.clear();
-            passwordTextField.requestFocus();
-        }
+        // The login updates and saves the user, so it runs on the state writer
+        userService.loginAsync(username, password).whenComplete((success, error) -> Platform.runLater(() -> {
+            if (Boolean.TRUE.equals(success)) {
+                loginMessageField.setText("Login successful!");
+                loginMessageField.setStyle("-fx-text-fill: green;");
+                System.out.println("✅ Login successful for: " + username);
+                openDashboard();
+            } else {
+                loginMessageField.setText("Invalid username or password");
+                loginMessageField.setStyle("-fx-text-fill: red;");
+                usernameTextField.setStyle("-fx-border-color: red; -fx-border-width: 1px;");
+                passwordTextField.setStyle("-fx-border-color: red; -fx-border-width: 1px;");
+                System.out.println("❌ Login failed for: " + username);
+
+                // Clear password field on failed login
+                passwordTextField.clear();
+                passwordTextField.requestFocus();
+            }
+        }));
     }
 
     private void highlightEmptyFields(String username, String password) {
@@ -207,12 +211,16 @@ public class LoginController {
             // Save this user directly
             List<User> users = new ArrayList<>();
             users.add(freshAdmin);
-            userService.saveUsers(users);
-
-            System.out.println("✅ Fresh admin user created with role: 'admin'");
-            System.out.println("🔄 Please restart the application and try admin login again");
-
-            showAlert("Admin Fix", "Fresh admin user created. Please restart the application.", Alert.AlertType.INFORMATION);
+            userService.replaceUsersAsync(users).whenComplete((saved, error) -> Platform.runLater(() -> {
+                if (!Boolean.TRUE.equals(saved)) {
+                    showError("Emergency fix failed: " + (error != null ? error.getMessage() : "users not saved"));
+                    return;
+                }
+                System.out.println("✅ Fresh admin user created with role: 'admin'");
+                System.out.println("🔄 Please restart the application and try admin login again");
+
+                showAlert("Admin Fix", "Fresh admin user created. Please restart the application.", Alert.AlertType.INFORMATION);
+            }));
 
         } catch (Exception e) {
             System.err.println("❌ Emergency admin fix failed: " + e.getMessage());
@@ -1,8 +1,11 @@
 package com.unmadgamer.lostandfoundfinal.controller;
 
 import com.unmadgamer.lostandfoundfinal.model.LostItem;
+import com.unmadgamer.lostandfoundfinal.service.AutocompleteService;
 import com.unmadgamer.lostandfoundfinal.service.ItemService;
+import com.unmadgamer.lostandfoundfinal.service.StandingSearchService;
 import com.unmadgamer.lostandfoundfinal.service.UserService;
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.control.Alert;
 import javafx.scene.control.DatePicker;
@@ -25,13 +28,19 @@ public class LostFormController {
 
     private ItemService itemService;
     private UserService userService;
+    private AutocompleteService autocompleteService;
 
     @FXML
     public void initialize() {
         itemService = ItemService.getInstance();
         userService = UserService.getInstance();
+        autocompleteService = AutocompleteService.getInstance();
         lostDatePicker.setValue(LocalDate.now());
 
+        // Suggest categories and locations already in use so reports share the same spelling
+        SuggestionPopup.attach(categoryField, autocompleteService::suggestCategories);
+        SuggestionPopup.attach(locationField, autocompleteService::suggestLocations);
+
         if (userService.getCurrentUser() != null) {
             contactInfoField.setText(userService.getCurrentUser().getEmail());
         }
@@ -46,9 +55,9 @@ public class LostFormController {
             // Create lost item using the correct constructor parameters
             LostItem lostItem = new LostItem(
                     itemNameField.getText().trim(),
-                    categoryField.getText().trim(),
+                    autocompleteService.canonicalCategory(categoryField.getText()),
                     descriptionField.getText().trim(),
-                    locationField.getText().trim(),
+                    autocompleteService.canonicalLocation(locationField.getText()),
                     formattedDate, // date parameter
                     currentUser,   // reportedBy parameter
                     formattedDate, // lostDate parameter
@@ -59,13 +68,23 @@ public class LostFormController {
             // Debug: Print the created item
             System.out.println("📝 Created LostItem: " + lostItem.toString());
 
-            if (itemService.addLostItem(lostItem)) {
-                showSuccess("Lost item reported successfully!\n\nThe item has been added to the lost items list.");
-                clearForm();
-                closeWindow();
-            } else {
-                showError("Failed to save lost item. Please try again.");
-            }
+            // Added and saved on the state writer; the dialog updates back on the FX thread
+            itemService.addLostItemAsync(lostItem).whenComplete((success, error) -> {
+                if (Boolean.TRUE.equals(success)) {
+                    // Message the owner when a matching found item is reported
+                    StandingSearchService.getInstance().saveSearchForLostItem(lostItem);
+                }
+                Platform.runLater(() -> {
+                    if (Boolean.TRUE.equals(success)) {
+                        showSuccess("Lost item reported successfully!\n\nThe item has been added to the lost items list. "
+                                + "You will get a message if a matching found item is reported.");
+                        clearForm();
+                        closeWindow();
+                    } else {
+                        showError("Failed to save lost item. Please try again.");
+                    }
+                });
+            });
         }
     }
 
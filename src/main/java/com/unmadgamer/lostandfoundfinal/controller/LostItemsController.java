@@ -2,8 +2,10 @@ package com.unmadgamer.lostandfoundfinal.controller;
 
 import com.unmadgamer.lostandfoundfinal.model.LostFoundItem;
 import com.unmadgamer.lostandfoundfinal.model.LostItem;
+import com.unmadgamer.lostandfoundfinal.service.FacetCounts;
 import com.unmadgamer.lostandfoundfinal.service.ItemService;
 import com.unmadgamer.lostandfoundfinal.service.UserService;
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
@@ -17,6 +19,7 @@ import javafx.util.Callback;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 public class LostItemsController {
@@ -38,6 +41,9 @@ public class LostItemsController {
     private UserService userService;
     private ObservableList<LostFoundItem> allItems;
     private ObservableList<LostFoundItem> filteredItems;
+    private static final List<String> DEFAULT_CATEGORIES = List.of(
+            "All", "Electronics", "Documents", "Clothing", "Accessories", "Other"
+    );
 
     @FXML
     public void initialize() {
@@ -97,9 +103,7 @@ public class LostItemsController {
 
     private void setupFilters() {
         // Initialize category filter with all options
-        ObservableList<String> categories = FXCollections.observableArrayList(
-                "All", "Electronics", "Documents", "Clothing", "Accessories", "Other"
-        );
+        ObservableList<String> categories = FXCollections.observableArrayList(DEFAULT_CATEGORIES);
         categoryFilter.setItems(categories);
         categoryFilter.setValue("All");
 
@@ -109,11 +113,16 @@ public class LostItemsController {
     }
 
     private void loadItems() {
-        itemService.refreshItems(); // Force refresh from JSON
+        // Force refresh from JSON; the reload runs on the state writer after any pending changes
+        itemService.refreshItemsAsync().whenComplete((reloaded, error) -> Platform.runLater(this::showItems));
+    }
+
+    private void showItems() {
         List<LostFoundItem> items = itemService.getAvailableLostItems();
         if (items != null) {
             allItems.setAll(items);
             filteredItems.setAll(items);
+            filterItems(); // Keeps the current filters and refreshes the category counts
             System.out.println("✅ Loaded " + items.size() + " available lost items");
 
             // Debug: Print each item
@@ -134,16 +143,29 @@ public class LostItemsController {
 
         String searchText = searchField.getText().toLowerCase();
         String category = categoryFilter.getValue();
+        // Names also match with typos, e.g. "macbok" for "Mac Book"
+        Set<String> nameMatches = itemService.findItemIdsByName(searchText);
 
-        List<LostFoundItem> filtered = allItems.stream()
+        List<LostFoundItem> matching = allItems.stream()
                 .filter(item -> item != null &&
-                        (item.getItemName().toLowerCase().contains(searchText) ||
+                        (nameMatches.contains(item.getId()) ||
+                                item.getItemName().toLowerCase().contains(searchText) ||
                                 item.getDescription().toLowerCase().contains(searchText) ||
                                 item.getLocation().toLowerCase().contains(searchText)))
+                .collect(Collectors.toList());
+
+        // Counts follow the search text but not the selected category, so every option
+        // shows what choosing it would return
+        FacetCounts facets = itemService.countFacets(matching);
+        FacetComboBox.showCounts(categoryFilter, DEFAULT_CATEGORIES,
+                facets.get(FacetCounts.Facet.CATEGORY), facets.getTotal(), true);
+
+        List<LostFoundItem> filtered = matching.stream()
                 .filter(item -> category == null || "All".equals(category) || item.getCategory().equals(category))
                 .collect(Collectors.toList());
 
-        filteredItems.setAll(filtered);
+        // Best matches first instead of list order
+        filteredItems.setAll(itemService.rankByRelevance(searchText, filtered));
     }
 
     private void updateWelcomeMessage() {
@@ -1,6 +1,7 @@
 package com.unmadgamer.lostandfoundfinal.controller;
 
 import com.unmadgamer.lostandfoundfinal.service.UserService;
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
@@ -9,6 +10,7 @@ import javafx.scene.control.*;
 import javafx.stage.Stage;
 
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
 
 public class RegistrationController {
 
@@ -78,20 +80,31 @@ public class RegistrationController {
         }
 
         // Attempt registration - FIXED: Using registerUser instead of register
-        if (userService.registerUser(username, password, email, firstname, lastname)) {
-            // Try to auto-login immediately after registration
-            if (userService.login(username, password)) {
-                showSuccess("Registration successful! Logging you in...");
-                openDashboard();
-            } else {
-                // If auto-login fails, go to login page
-                showSuccess("Registration successful! Please login with your credentials.");
-                switchToLoginScene();
+        // Both steps save the users file, so they run on the state writer
+        userService.registerUserAsync(username, password, email, firstname, lastname).thenCompose(registered -> {
+            if (!Boolean.TRUE.equals(registered)) {
+                Platform.runLater(() -> {
+                    registerMessageField.setText("Username already exists. Please choose a different username.");
+                    usernameField.setStyle("-fx-border-color: red; -fx-border-width: 1px;");
+                });
+                return CompletableFuture.completedFuture(null);
             }
-        } else {
-            registerMessageField.setText("Username already exists. Please choose a different username.");
-            usernameField.setStyle("-fx-border-color: red; -fx-border-width: 1px;");
-        }
+            // Try to auto-login immediately after registration
+            return userService.loginAsync(username, password).thenAccept(loggedIn -> Platform.runLater(() -> {
+                if (Boolean.TRUE.equals(loggedIn)) {
+                    showSuccess("Registration successful! Logging you in...");
+                    openDashboard();
+                } else {
+                    // If auto-login fails, go to login page
+                    showSuccess("Registration successful! Please login with your credentials.");
+                    switchToLoginScene();
+                }
+            }));
+        }).exceptionally(error -> {
+            System.err.println("❌ Registration failed: " + error.getMessage());
+            Platform.runLater(() -> registerMessageField.setText("Registration failed. Please try again."));
+            return null;
+        });
     }
 
     private boolean validateInput(String firstname, String lastname, String username,
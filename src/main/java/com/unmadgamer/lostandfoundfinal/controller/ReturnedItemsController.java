@@ -3,6 +3,7 @@ package com.unmadgamer.lostandfoundfinal.controller;
 import com.unmadgamer.lostandfoundfinal.model.LostFoundItem;
 import com.unmadgamer.lostandfoundfinal.model.LostItem;
 import com.unmadgamer.lostandfoundfinal.model.FoundItem;
+import com.unmadgamer.lostandfoundfinal.service.FacetCounts;
 import com.unmadgamer.lostandfoundfinal.service.ItemService;
 import com.unmadgamer.lostandfoundfinal.service.UserService;
 import javafx.collections.FXCollections;
@@ -38,6 +39,10 @@ public class ReturnedItemsController {
     private ItemService itemService;
     private UserService userService;
     private ObservableList<LostFoundItem> returnedItems;
+    private static final List<String> TYPES = List.of("All", "Lost", "Found");
+    private static final List<String> DEFAULT_CATEGORIES = List.of(
+            "All", "Electronics", "Documents", "Clothing", "Accessories", "Other"
+    );
 
     @FXML
     public void initialize() {
@@ -125,14 +130,10 @@ public class ReturnedItemsController {
     }
 
     private void setupFilters() {
-        typeFilter.setItems(FXCollections.observableArrayList(
-                "All", "Lost", "Found"
-        ));
+        typeFilter.setItems(FXCollections.observableArrayList(TYPES));
         typeFilter.setValue("All");
 
-        categoryFilter.setItems(FXCollections.observableArrayList(
-                "All", "Electronics", "Documents", "Clothing", "Accessories", "Other"
-        ));
+        categoryFilter.setItems(FXCollections.observableArrayList(DEFAULT_CATEGORIES));
         categoryFilter.setValue("All");
 
         // Search functionality
@@ -142,19 +143,12 @@ public class ReturnedItemsController {
     }
 
     private void loadReturnedItems() {
-        // Get all returned items (both lost and found)
-        List<LostFoundItem> returnedLostItems = itemService.getLostItems().stream()
-                .filter(item -> "returned".equals(item.getStatus()) || "claimed".equals(item.getStatus()))
-                .collect(Collectors.toList());
-
-        List<LostFoundItem> returnedFoundItems = itemService.getFoundItems().stream()
-                .filter(item -> "returned".equals(item.getStatus()) || "claimed".equals(item.getStatus()))
-                .collect(Collectors.toList());
-
-        returnedItems.setAll(returnedLostItems);
-        returnedItems.addAll(returnedFoundItems);
+        // Returned and claimed items of both types, selected in the store so that a mapped
+        // catalogue only decodes the matches
+        returnedItems.setAll(itemService.getReturnedOrClaimedItems());
 
         System.out.println("✅ Loaded " + returnedItems.size() + " returned items");
+        filterItems(); // Keeps the current filters and refreshes the counts
     }
 
     private void filterItems() {
@@ -162,16 +156,32 @@ public class ReturnedItemsController {
         String type = typeFilter.getValue();
         String category = categoryFilter.getValue();
 
-        List<LostFoundItem> filtered = returnedItems.stream()
+        List<LostFoundItem> matching = returnedItems.stream()
                 .filter(item ->
                         item.getItemName().toLowerCase().contains(searchText) ||
                                 item.getDescription().toLowerCase().contains(searchText))
+                .collect(Collectors.toList());
+        List<LostFoundItem> ofType = matching.stream()
                 .filter(item -> {
                     if ("All".equals(type)) return true;
                     if ("Lost".equals(type)) return item instanceof LostItem;
                     if ("Found".equals(type)) return item instanceof FoundItem;
                     return true;
                 })
+                .collect(Collectors.toList());
+        List<LostFoundItem> inCategory = matching.stream()
+                .filter(item -> category.equals("All") || item.getCategory().equals(category))
+                .collect(Collectors.toList());
+
+        // Each filter's counts apply the other filter but not itself
+        FacetCounts typeFacets = itemService.countFacets(inCategory);
+        FacetComboBox.showCounts(typeFilter, TYPES,
+                typeFacets.get(FacetCounts.Facet.TYPE), typeFacets.getTotal(), false);
+        FacetCounts categoryFacets = itemService.countFacets(ofType);
+        FacetComboBox.showCounts(categoryFilter, DEFAULT_CATEGORIES,
+                categoryFacets.get(FacetCounts.Facet.CATEGORY), categoryFacets.getTotal(), true);
+
+        List<LostFoundItem> filtered = ofType.stream()
                 .filter(item -> category.equals("All") || item.getCategory().equals(category))
                 .collect(Collectors.toList());
 
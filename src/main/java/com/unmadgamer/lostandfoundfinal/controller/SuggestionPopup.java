@@ -0,0 +1,68 @@
+package com.unmadgamer.lostandfoundfinal.controller;
+
+import javafx.geometry.Side;
+import javafx.scene.control.ContextMenu;
+import javafx.scene.control.CustomMenuItem;
+import javafx.scene.control.Label;
+import javafx.scene.control.TextField;
+
+import java.util.List;
+import java.util.function.Function;
+
+// Drop-down of suggestions under a text field, refreshed on every keystroke
+final class SuggestionPopup {
+    private final TextField field;
+    private final Function<String, List<String>> suggestions;
+    private final ContextMenu menu = new ContextMenu();
+    private boolean applying;
+
+    private SuggestionPopup(TextField field, Function<String, List<String>> suggestions) {
+        this.field = field;
+        this.suggestions = suggestions;
+    }
+
+    static void attach(TextField field, Function<String, List<String>> suggestions) {
+        SuggestionPopup popup = new SuggestionPopup(field, suggestions);
+        field.textProperty().addListener((observable, oldValue, newValue) -> popup.update(newValue));
+        field.focusedProperty().addListener((observable, wasFocused, focused) -> {
+            if (!focused) {
+                popup.menu.hide();
+            }
+        });
+    }
+
+    private void update(String text) {
+        if (applying || !field.isFocused() || text == null || text.isBlank()) {
+            menu.hide();
+            return;
+        }
+
+        List<String> matches = suggestions.apply(text);
+        // Nothing to offer once the field already holds the only match
+        if (matches.isEmpty() || (matches.size() == 1 && matches.get(0).equalsIgnoreCase(text.trim()))) {
+            menu.hide();
+            return;
+        }
+
+        menu.getItems().clear();
+        for (String match : matches) {
+            CustomMenuItem item = new CustomMenuItem(new Label(match), true);
+            item.setOnAction(event -> apply(match));
+            menu.getItems().add(item);
+        }
+        if (!menu.isShowing()) {
+            menu.show(field, Side.BOTTOM, 0, 0);
+        }
+    }
+
+    private void apply(String value) {
+        applying = true;
+        try {
+            field.setText(value);
+            field.positionCaret(value.length());
+        } finally {
+            applying = false;
+        }
+        menu.hide();
+    }
+}
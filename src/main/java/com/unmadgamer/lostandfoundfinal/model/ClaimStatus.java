@@ -0,0 +1,29 @@
+package com.unmadgamer.lostandfoundfinal.model;
+
+// Progress of a claim on a lost or found item. Stored in JSON as the lower-case value.
+public enum ClaimStatus {
+    NONE("none"),
+    PENDING("pending"),
+    APPROVED("approved"),
+    REJECTED("rejected");
+
+    private final String value;
+
+    ClaimStatus(String value) {
+        this.value = value;
+    }
+
+    public String getValue() { return value; }
+
+    public static ClaimStatus fromValue(String value) {
+        if (value == null) {
+            return null;
+        }
+        for (ClaimStatus status : values()) {
+            if (status.value.equalsIgnoreCase(value.trim())) {
+                return status;
+            }
+        }
+        return null;
+    }
+}
@@ -3,7 +3,9 @@ package com.unmadgamer.lostandfoundfinal.model;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 public class Conversation {
@@ -11,11 +13,14 @@ public class Conversation {
     private String user1;
     private String user2;
     private String itemId;
-    private List<Message> messages;
+    private List<Message> messages; // Recent messages only; full history lives in the message log
     private String lastMessage;
     private String lastMessageTime;
     private int unreadCount;
     private boolean isActive;
+    private long lastSequence;
+    private Map<String, Long> readWatermarks; // Username -> last read message sequence
+    private Map<String, Integer> unreadCounts; // Username -> messages past their watermark
 
     public Conversation() {
         this.id = UUID.randomUUID().toString();
@@ -23,6 +28,8 @@ public class Conversation {
         this.lastMessageTime = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
         this.unreadCount = 0;
         this.isActive = true;
+        this.readWatermarks = new HashMap<>();
+        this.unreadCounts = new HashMap<>();
     }
 
     public Conversation(String user1, String user2) {
@@ -64,6 +71,23 @@ public class Conversation {
     public boolean isActive() { return isActive; }
     public void setActive(boolean active) { isActive = active; }
 
+    public long getLastSequence() { return lastSequence; }
+    public void setLastSequence(long lastSequence) { this.lastSequence = lastSequence; }
+
+    public Map<String, Long> getReadWatermarks() { return readWatermarks; }
+    public void setReadWatermarks(Map<String, Long> readWatermarks) {
+        this.readWatermarks = readWatermarks != null ? readWatermarks : new HashMap<>();
+    }
+
+    public Map<String, Integer> getUnreadCounts() { return unreadCounts; }
+    public void setUnreadCounts(Map<String, Integer> unreadCounts) {
+        this.unreadCounts = unreadCounts != null ? unreadCounts : new HashMap<>();
+    }
+
+    public int getUnreadCountFor(String username) {
+        return unreadCounts.getOrDefault(username, 0);
+    }
+
     // Helper methods
     public String getOtherUser(String currentUser) {
         if (currentUser.equals(user1)) {
@@ -79,6 +103,7 @@ public class Conversation {
     }
 
     public void addMessage(Message message) {
+        message.setSequence(++lastSequence);
         messages.add(message);
         lastMessage = message.getContent();
         lastMessageTime = message.getTimestamp();
@@ -86,13 +111,85 @@ public class Conversation {
         if (!message.getSenderUsername().equals(user1) && !message.getSenderUsername().equals(user2)) {
         } else if (message.getReceiverUsername().equals(user1) || message.getReceiverUsername().equals(user2)) {
             unreadCount++;
+            if (!message.getReceiverUsername().equals(message.getSenderUsername())) {
+                unreadCounts.merge(message.getReceiverUsername(), 1, Integer::sum);
+            }
         }
     }
 
-    public void markAsRead() {
+    // Keep only the newest messages in memory
+    public void trimMessages(int keep) {
+        if (messages.size() > keep) {
+            messages = new ArrayList<>(messages.subList(messages.size() - keep, messages.size()));
+        }
+    }
+
+    // Moves the user's watermark to the latest message; no per-message writes
+    public void markAsRead(String username) {
         this.unreadCount = 0;
+        readWatermarks.put(username, lastSequence);
+        unreadCounts.remove(username);
+    }
+
+    public long getReadWatermark(String username) {
+        Long watermark = readWatermarks.get(username);
+        return watermark != null ? watermark : 0L;
+    }
+
+    public boolean isReadBy(Message message, String username) {
+        return message.getSequence() <= getReadWatermark(username);
+    }
+
+    // Read state shown in the UI: has the addressee seen it
+    public boolean isReadByReceiver(Message message) {
+        String receiver = message.getReceiverUsername();
+        if (receiver == null || receiver.isEmpty()) {
+            return true; // System messages have no addressee
+        }
+        return isReadBy(message, receiver);
+    }
+
+    // Convert files written with per-message read flags: number the messages and
+    // derive each participant's watermark from the leading run of read messages
+    public boolean migrateLegacyReadState() {
+        if (lastSequence > 0 || messages.isEmpty()) {
+            return false;
+        }
+
+        long sequence = 0;
+        for (Message message : messages) {
+            message.setSequence(++sequence);
+        }
+        lastSequence = sequence;
+
+        for (String participant : new String[]{user1, user2}) {
+            if (participant == null || readWatermarks.containsKey(participant)) {
+                continue;
+            }
+            long watermark = 0;
+            for (Message message : messages) {
+                if (participant.equals(message.getReceiverUsername()) && !message.hasLegacyReadFlag()) {
+                    break;
+                }
+                watermark = message.getSequence();
+            }
+            readWatermarks.put(participant, watermark);
+        }
+        return true;
+    }
+
+    // Derive per-user unread counts from the messages held in memory and the watermarks
+    public void recountUnread() {
+        unreadCounts.clear();
         for (Message message : messages) {
-            message.setRead(true);
+            String receiver = message.getReceiverUsername();
+            if (receiver == null || receiver.equals(message.getSenderUsername())
+                    || !involvesUser(receiver) || !involvesUser(message.getSenderUsername())) {
+                continue;
+            }
+            if (!isReadBy(message, receiver)) {
+                unreadCounts.merge(receiver, 1, Integer::sum);
+            }
         }
     }
 
@@ -105,7 +202,7 @@ public class Conversation {
 
     @Override
     public String toString() {
-        return String.format("Conversation{id='%s', users='%s & %s', messages=%d, unread=%d}",
-                id, user1, user2, messages.size(), unreadCount);
+        return String.format("Conversation{id='%s', users='%s & %s', messages=%d, unread=%s}",
+                id, user1, user2, lastSequence, unreadCounts);
     }
 }
\ No newline at end of file
@@ -1,5 +1,7 @@
 package com.unmadgamer.lostandfoundfinal.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
@@ -8,19 +10,25 @@ public class FoundItem extends LostFoundItem {
     private String storageLocation;
     private String contactInfo; // Added contact info field
     private String claimedBy; // Username of user who claimed this found item
-    private String claimStatus; // "none", "pending", "approved", "rejected"
+    private ClaimStatus claimStatus;
+    private String unrecognisedClaimStatus;   // See LostFoundItem.unrecognisedStatus
 
     public FoundItem() {
         super();
     }
 
+    // See LostFoundItem(String)
+    protected FoundItem(String id) {
+        super(id);
+    }
+
     public FoundItem(String itemName, String category, String description, String location,
                      String date, String reportedBy, String foundDate, String storageLocation, String contactInfo) {
         super(itemName, category, description, location, date, reportedBy);
         this.foundDate = foundDate;
         this.storageLocation = storageLocation;
         this.contactInfo = contactInfo;
-        this.claimStatus = "none";
+        this.claimStatus = ClaimStatus.NONE;
     }
 
     // Implement the abstract method
@@ -42,43 +50,54 @@ public class FoundItem extends LostFoundItem {
     public String getClaimedBy() { return claimedBy; }
     public void setClaimedBy(String claimedBy) { this.claimedBy = claimedBy; }
 
-    public String getClaimStatus() { return claimStatus; }
-    public void setClaimStatus(String claimStatus) { this.claimStatus = claimStatus; }
+    public String getClaimStatus() { return claimStatus != null ? claimStatus.getValue() : unrecognisedClaimStatus; }
+    public void setClaimStatus(String claimStatus) {
+        this.claimStatus = ClaimStatus.fromValue(claimStatus);
+        this.unrecognisedClaimStatus = unrecognised(this.claimStatus, "claimStatus", claimStatus);
+    }
+
+    @JsonIgnore
+    public ClaimStatus getClaimState() { return claimStatus; }
+    @JsonIgnore
+    public void setClaimState(ClaimStatus claimStatus) {
+        this.claimStatus = claimStatus;
+        this.unrecognisedClaimStatus = null;
+    }
 
     // Business logic methods
     public boolean canBeClaimed() {
         return isVerified() &&
-                "none".equals(this.claimStatus) &&
+                getClaimState() == ClaimStatus.NONE &&
                 !isReturned();
     }
 
     public boolean isClaimPending() {
-        return "pending".equals(claimStatus);
+        return getClaimState() == ClaimStatus.PENDING;
     }
 
     public boolean isClaimApproved() {
-        return "approved".equals(claimStatus);
+        return getClaimState() == ClaimStatus.APPROVED;
     }
 
     public boolean isClaimRejected() {
-        return "rejected".equals(claimStatus);
+        return getClaimState() == ClaimStatus.REJECTED;
     }
 
     public void claimItem(String claimantUsername) {
         if (canBeClaimed()) {
             this.claimedBy = claimantUsername;
-            this.claimStatus = "pending";
+            this.claimStatus = ClaimStatus.PENDING;
             System.out.println("✅ Found item '" + itemName + "' claimed by: " + claimantUsername);
         }
     }
 
     public void approveClaim() {
-        this.claimStatus = "approved";
-        this.status = "returned";
+        this.claimStatus = ClaimStatus.APPROVED;
+        this.status = ItemStatus.RETURNED;
     }
 
     public void rejectClaim() {
-        this.claimStatus = "rejected";
+        this.claimStatus = ClaimStatus.REJECTED;
         this.claimedBy = null;
     }
 
@@ -86,7 +105,7 @@ public class FoundItem extends LostFoundItem {
     public String toString() {
         return String.format(
                 "FoundItem{id='%s', itemName='%s', category='%s', foundDate='%s', storageLocation='%s', contactInfo='%s', status='%s', claimStatus='%s', reportedBy='%s'}",
-                id, itemName, category, foundDate, storageLocation, contactInfo, status, claimStatus, reportedBy
+                getId(), itemName, category, foundDate, storageLocation, getContactInfo(), getStatus(), getClaimStatus(), reportedBy
         );
     }
 }
\ No newline at end of file
@@ -0,0 +1,31 @@
+package com.unmadgamer.lostandfoundfinal.model;
+
+// Lifecycle of a reported item. Stored in JSON as the lower-case value.
+public enum ItemStatus {
+    ACTIVE("active"),
+    CLAIMED("claimed"),   // A claim is waiting for admin review
+    RETURNED("returned"),
+    EXPIRED("expired");
+
+    private final String value;
+
+    ItemStatus(String value) {
+        this.value = value;
+    }
+
+    public String getValue() { return value; }
+
+    // Lenient so hand-edited files still load; null for anything unrecognised, in which case
+    // the model keeps the raw text so that it survives the next save
+    public static ItemStatus fromValue(String value) {
+        if (value == null) {
+            return null;
+        }
+        for (ItemStatus status : values()) {
+            if (status.value.equalsIgnoreCase(value.trim())) {
+                return status;
+            }
+        }
+        return null;
+    }
+}
@@ -1,7 +1,7 @@
 package com.unmadgamer.lostandfoundfinal.model;
 
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import java.util.UUID;
 
 public abstract class LostFoundItem {
@@ -12,20 +12,34 @@ public abstract class LostFoundItem {
     protected String location;
     protected String date;
     protected String reportedBy;
-    protected String status; // "active", "returned", "expired"
-    protected String verificationStatus; // "pending", "verified", "rejected"
+    protected ItemStatus status;
+    protected VerificationStatus verificationStatus;
     protected String verifiedBy;
-    protected String verificationDate;
-    protected String createdAt;
+    protected long verificationDate; // Epoch millis, 0 until reviewed
+    protected long createdAt; // Epoch millis
+
+    // Text of a status the enums do not recognise (a hand-edited file, say). It is written back
+    // as it was instead of being dropped, and only counts while the enum field is null.
+    protected String unrecognisedStatus;
+    protected String unrecognisedVerificationStatus;
+    // Likewise for timestamps that did not parse; only counts while the millis field is 0
+    protected String unreadableVerificationDate;
+    protected String unreadableCreatedAt;
 
     // Abstract method to get item type
     public abstract String getType();
 
     public LostFoundItem() {
-        this.id = UUID.randomUUID().toString();
-        this.status = "active";
-        this.verificationStatus = "pending";
-        this.createdAt = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
+        this(UUID.randomUUID().toString());
+    }
+
+    // For subclasses that set the id themselves straight after (the snapshot's decoded
+    // items), so they don't pay for a random UUID per item
+    protected LostFoundItem(String id) {
+        this.id = id;
+        this.status = ItemStatus.ACTIVE;
+        this.verificationStatus = VerificationStatus.PENDING;
+        this.createdAt = Timestamps.now();
     }
 
     public LostFoundItem(String itemName, String category, String description, String location,
@@ -61,47 +75,102 @@ public abstract class LostFoundItem {
     public String getReportedBy() { return reportedBy; }
     public void setReportedBy(String reportedBy) { this.reportedBy = reportedBy; }
 
-    public String getStatus() { return status; }
-    public void setStatus(String status) { this.status = status; }
+    // The String accessors below are what Jackson reads and writes, keeping the JSON
+    // format unchanged; code should prefer the typed ones.
+    public String getStatus() { return status != null ? status.getValue() : unrecognisedStatus; }
+    public void setStatus(String status) {
+        this.status = ItemStatus.fromValue(status);
+        this.unrecognisedStatus = unrecognised(this.status, "status", status);
+    }
+
+    @JsonIgnore
+    public ItemStatus getItemStatus() { return status; }
+    @JsonIgnore
+    public void setItemStatus(ItemStatus status) {
+        this.status = status;
+        this.unrecognisedStatus = null;
+    }
+
+    public String getVerificationStatus() { return verificationStatus != null ? verificationStatus.getValue() : unrecognisedVerificationStatus; }
+    public void setVerificationStatus(String verificationStatus) {
+        this.verificationStatus = VerificationStatus.fromValue(verificationStatus);
+        this.unrecognisedVerificationStatus = unrecognised(this.verificationStatus, "verificationStatus", verificationStatus);
+    }
+
+    @JsonIgnore
+    public VerificationStatus getVerificationState() { return verificationStatus; }
+    @JsonIgnore
+    public void setVerificationState(VerificationStatus verificationStatus) {
+        this.verificationStatus = verificationStatus;
+        this.unrecognisedVerificationStatus = null;
+    }
 
-    public String getVerificationStatus() { return verificationStatus; }
-    public void setVerificationStatus(String verificationStatus) { this.verificationStatus = verificationStatus; }
+    // The value to keep as text when it did not parse into an enum, with a warning
+    protected static String unrecognised(Enum<?> parsed, String field, String value) {
+        if (parsed != null || value == null || value.isBlank()) {
+            return null;
+        }
+        System.err.println("⚠️ Unrecognised " + field + " '" + value + "', kept as is");
+        return value;
+    }
 
     public String getVerifiedBy() { return verifiedBy; }
     public void setVerifiedBy(String verifiedBy) { this.verifiedBy = verifiedBy; }
 
-    public String getVerificationDate() { return verificationDate; }
-    public void setVerificationDate(String verificationDate) { this.verificationDate = verificationDate; }
+    public String getVerificationDate() { return verificationDate != 0 ? Timestamps.format(verificationDate) : unreadableVerificationDate; }
+    public void setVerificationDate(String verificationDate) {
+        this.verificationDate = Timestamps.parse(verificationDate);
+        this.unreadableVerificationDate = Timestamps.unreadable(this.verificationDate, verificationDate);
+    }
 
-    public String getCreatedAt() { return createdAt; }
-    public void setCreatedAt(String createdAt) { this.createdAt = createdAt; }
+    @JsonIgnore
+    public long getVerificationDateMillis() { return verificationDate; }
+    @JsonIgnore
+    public void setVerificationDateMillis(long verificationDate) {
+        this.verificationDate = verificationDate;
+        this.unreadableVerificationDate = null;
+    }
+
+    public String getCreatedAt() { return createdAt != 0 ? Timestamps.format(createdAt) : unreadableCreatedAt; }
+    public void setCreatedAt(String createdAt) {
+        this.createdAt = Timestamps.parse(createdAt);
+        this.unreadableCreatedAt = Timestamps.unreadable(this.createdAt, createdAt);
+    }
+
+    @JsonIgnore
+    public long getCreatedAtMillis() { return createdAt; }
+    @JsonIgnore
+    public void setCreatedAtMillis(long createdAt) {
+        this.createdAt = createdAt;
+        this.unreadableCreatedAt = null;
+    }
 
-    // Business logic methods
+    // Business logic methods (through the getters, which read-only views may override)
     public boolean isVerified() {
-        return "verified".equals(verificationStatus);
+        return getVerificationState() == VerificationStatus.VERIFIED;
     }
 
     public boolean isPendingVerification() {
-        return "pending".equals(verificationStatus);
+        return getVerificationState() == VerificationStatus.PENDING;
     }
 
     public boolean isRejected() {
-        return "rejected".equals(verificationStatus);
+        return getVerificationState() == VerificationStatus.REJECTED;
     }
 
     public boolean isActive() {
-        return "active".equals(status);
+        return getItemStatus() == ItemStatus.ACTIVE;
     }
 
     public boolean isReturned() {
-        return "returned".equals(status);
+        return getItemStatus() == ItemStatus.RETURNED;
     }
 
     @Override
     public String toString() {
         return String.format(
                 "LostFoundItem{id='%s', itemName='%s', category='%s', type='%s', status='%s', verificationStatus='%s', reportedBy='%s'}",
-                id, itemName, category, getType(), status, verificationStatus, reportedBy
+                getId(), itemName, category, getType(), getStatus(), getVerificationStatus(), reportedBy
         );
     }
 }
\ No newline at end of file
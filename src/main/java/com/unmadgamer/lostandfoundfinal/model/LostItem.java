@@ -1,24 +1,32 @@
 package com.unmadgamer.lostandfoundfinal.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 public class LostItem extends LostFoundItem {
     private String lostDate;
     private String reward;
     private String contactInfo;
     private String claimedBy;
     private String claimedFoundItemId;
-    private String claimStatus;
+    private ClaimStatus claimStatus;
+    private String unrecognisedClaimStatus;   // See LostFoundItem.unrecognisedStatus
 
     public LostItem() {
         super();
     }
 
+    // See LostFoundItem(String)
+    protected LostItem(String id) {
+        super(id);
+    }
+
     public LostItem(String itemName, String category, String description, String location,
                     String date, String reportedBy, String lostDate, String reward, String contactInfo) {
         super(itemName, category, description, location, date, reportedBy);
         this.lostDate = lostDate;
         this.reward = reward;
         this.contactInfo = contactInfo;
-        this.claimStatus = "none";
+        this.claimStatus = ClaimStatus.NONE;
     }
 
     @Override
@@ -42,42 +50,53 @@ public class LostItem extends LostFoundItem {
     public String getClaimedFoundItemId() { return claimedFoundItemId; }
     public void setClaimedFoundItemId(String claimedFoundItemId) { this.claimedFoundItemId = claimedFoundItemId; }
 
-    public String getClaimStatus() { return claimStatus; }
-    public void setClaimStatus(String claimStatus) { this.claimStatus = claimStatus; }
+    public String getClaimStatus() { return claimStatus != null ? claimStatus.getValue() : unrecognisedClaimStatus; }
+    public void setClaimStatus(String claimStatus) {
+        this.claimStatus = ClaimStatus.fromValue(claimStatus);
+        this.unrecognisedClaimStatus = unrecognised(this.claimStatus, "claimStatus", claimStatus);
+    }
+
+    @JsonIgnore
+    public ClaimStatus getClaimState() { return claimStatus; }
+    @JsonIgnore
+    public void setClaimState(ClaimStatus claimStatus) {
+        this.claimStatus = claimStatus;
+        this.unrecognisedClaimStatus = null;
+    }
 
     // Business logic methods
     public boolean canClaimFoundItem() {
         return isVerified() &&
-                "none".equals(this.claimStatus) &&
+                getClaimState() == ClaimStatus.NONE &&
                 !isReturned();
     }
 
     public void claimFoundItem(String foundItemId) {
         if (canClaimFoundItem()) {
             this.claimedFoundItemId = foundItemId;
-            this.claimStatus = "pending";
+            this.claimStatus = ClaimStatus.PENDING;
         }
     }
 
     public boolean isClaimPending() {
-        return "pending".equals(claimStatus);
+        return getClaimState() == ClaimStatus.PENDING;
     }
 
     public boolean isClaimApproved() {
-        return "approved".equals(claimStatus);
+        return getClaimState() == ClaimStatus.APPROVED;
     }
 
     public boolean isClaimRejected() {
-        return "rejected".equals(claimStatus);
+        return getClaimState() == ClaimStatus.REJECTED;
     }
 
     public void approveClaim() {
-        this.claimStatus = "approved";
-        this.status = "returned";
+        this.claimStatus = ClaimStatus.APPROVED;
+        this.status = ItemStatus.RETURNED;
     }
 
     public void rejectClaim() {
-        this.claimStatus = "rejected";
+        this.claimStatus = ClaimStatus.REJECTED;
         this.claimedBy = null;
         this.claimedFoundItemId = null;
     }
@@ -86,7 +105,7 @@ public class LostItem extends LostFoundItem {
     public String toString() {
         return String.format(
                 "LostItem{id='%s', itemName='%s', category='%s', lostDate='%s', reward='%s', contactInfo='%s', status='%s', claimStatus='%s', reportedBy='%s'}",
-                id, itemName, category, lostDate, reward, contactInfo, status, claimStatus, reportedBy
+                getId(), itemName, category, lostDate, reward, getContactInfo(), getStatus(), getClaimStatus(), reportedBy
         );
     }
 }
\ No newline at end of file
@@ -1,24 +1,28 @@
 package com.unmadgamer.lostandfoundfinal.model;
 
-import java.time.LocalDateTime;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import java.time.format.DateTimeFormatter;
 import java.util.UUID;
 
 public class Message {
+    private static final DateTimeFormatter DISPLAY_TIME = DateTimeFormatter.ofPattern("MMM dd, HH:mm");
+
     private String id;
     private String conversationId;
     private String senderUsername;
     private String receiverUsername;
     private String content;
-    private String timestamp;
-    private boolean isRead;
+    private long timestamp; // Epoch millis
+    private String unreadableTimestamp; // Text that did not parse, written back while timestamp is 0
+    private long sequence; // Position within the conversation, starting at 1
+    private boolean legacyRead; // Only populated from files written before read watermarks
     private String itemId;
     private String messageType;
 
     public Message() {
         this.id = UUID.randomUUID().toString();
-        this.timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
-        this.isRead = false;
+        this.timestamp = Timestamps.now();
         this.messageType = "text";
     }
 
@@ -51,11 +55,27 @@ public class Message {
     public String getContent() { return content; }
     public void setContent(String content) { this.content = content; }
 
-    public String getTimestamp() { return timestamp; }
-    public void setTimestamp(String timestamp) { this.timestamp = timestamp; }
+    // Written as "yyyy-MM-dd HH:mm:ss" like the rest of the data files
+    public String getTimestamp() { return timestamp != 0 ? Timestamps.format(timestamp) : unreadableTimestamp; }
+    public void setTimestamp(String timestamp) {
+        this.timestamp = Timestamps.parse(timestamp);
+        this.unreadableTimestamp = Timestamps.unreadable(this.timestamp, timestamp);
+    }
+
+    @JsonIgnore
+    public long getTimestampMillis() { return timestamp; }
+    @JsonIgnore
+    public void setTimestampMillis(long timestamp) {
+        this.timestamp = timestamp;
+        this.unreadableTimestamp = null;
+    }
+
+    public long getSequence() { return sequence; }
+    public void setSequence(long sequence) { this.sequence = sequence; }
 
-    public boolean isRead() { return isRead; }
-    public void setRead(boolean read) { isRead = read; }
+    // Old per-message read flag, accepted on load but no longer written
+    public void setRead(boolean read) { legacyRead = read; }
+    public boolean hasLegacyReadFlag() { return legacyRead; }
 
     public String getItemId() { return itemId; }
     public void setItemId(String itemId) { this.itemId = itemId; }
@@ -65,12 +85,7 @@ public class Message {
 
     // Helper methods
     public String getFormattedTime() {
-        try {
-            LocalDateTime time = LocalDateTime.parse(timestamp, DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
-            return time.format(DateTimeFormatter.ofPattern("MMM dd, HH:mm"));
-        } catch (Exception e) {
-            return timestamp;
-        }
+        return timestamp == 0 ? "" : Timestamps.toDateTime(timestamp).format(DISPLAY_TIME);
     }
 
     public boolean isSystemMessage() {
@@ -79,7 +94,7 @@ public class Message {
 
     @Override
     public String toString() {
-        return String.format("Message{id='%s', from='%s', to='%s', content='%s', read=%s}",
-                id, senderUsername, receiverUsername, content, isRead);
+        return String.format("Message{id='%s', seq=%d, from='%s', to='%s', content='%s'}",
+                id, sequence, senderUsername, receiverUsername, content);
     }
 }
\ No newline at end of file
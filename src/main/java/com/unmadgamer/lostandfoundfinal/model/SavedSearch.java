@@ -0,0 +1,60 @@
+package com.unmadgamer.lostandfoundfinal.model;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.UUID;
+
+// A standing search: the user is messaged whenever a found item matching it is reported
+public class SavedSearch {
+    private String id;
+    private String username;
+    private String query;
+    private String category; // Optional, matched case-insensitively
+    private String lostItemId; // Lost item the search was created for, if any
+    private String createdAt;
+    private int matchCount;
+
+    public SavedSearch() {
+        this.id = UUID.randomUUID().toString();
+        this.createdAt = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
+    }
+
+    public SavedSearch(String username, String query, String category) {
+        this();
+        this.username = username;
+        this.query = query;
+        this.category = category;
+    }
+
+    // Getters and Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getUsername() { return username; }
+    public void setUsername(String username) { this.username = username; }
+
+    public String getQuery() { return query; }
+    public void setQuery(String query) { this.query = query; }
+
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+
+    public String getLostItemId() { return lostItemId; }
+    public void setLostItemId(String lostItemId) { this.lostItemId = lostItemId; }
+
+    public String getCreatedAt() { return createdAt; }
+    public void setCreatedAt(String createdAt) { this.createdAt = createdAt; }
+
+    public int getMatchCount() { return matchCount; }
+    public void setMatchCount(int matchCount) { this.matchCount = matchCount; }
+
+    public void recordMatch() {
+        matchCount++;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SavedSearch{user='%s', query='%s', category='%s', matches=%d}",
+                username, query, category, matchCount);
+    }
+}
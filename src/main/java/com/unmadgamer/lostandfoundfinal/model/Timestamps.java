@@ -0,0 +1,62 @@
+package com.unmadgamer.lostandfoundfinal.model;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+// Timestamps are held as epoch millis in memory and written to JSON as local
+// "yyyy-MM-dd HH:mm:ss" strings, the format the data files have always used.
+// 0 means "not set" and is written as null. Text that does not parse also reads as 0; the
+// models keep it (see unreadable()) and write it back as it was.
+public final class Timestamps {
+    public static final DateTimeFormatter FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private Timestamps() {
+    }
+
+    // Current time at the one-second precision the files keep, so a value survives a save and reload unchanged
+    public static long now() {
+        return System.currentTimeMillis() / 1000 * 1000;
+    }
+
+    public static long parse(String value) {
+        if (value == null || value.isBlank()) {
+            return 0;
+        }
+        String trimmed = value.trim();
+        try {
+            return toMillis(LocalDateTime.parse(trimmed, FORMAT));
+        } catch (DateTimeParseException e) {
+            try {
+                return toMillis(LocalDateTime.parse(trimmed)); // ISO form, e.g. "2025-10-23T12:06:16"
+            } catch (DateTimeParseException ignored) {
+                System.err.println("⚠️ Unreadable timestamp '" + value + "', kept as is");
+                return 0;
+            }
+        }
+    }
+
+    // The text to keep when parse() gave 0 for it, null when there is nothing to keep
+    public static String unreadable(long parsed, String value) {
+        return parsed == 0 && value != null && !value.isBlank() ? value : null;
+    }
+
+    public static String format(long millis) {
+        return millis == 0 ? null : toDateTime(millis).format(FORMAT);
+    }
+
+    public static LocalDateTime toDateTime(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+    }
+
+    public static LocalDate toDate(long millis) {
+        return toDateTime(millis).toLocalDate();
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -1,5 +1,7 @@
 package com.unmadgamer.lostandfoundfinal.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Objects;
@@ -11,7 +13,8 @@ public class User {
     private String email;
     private String firstName;
     private String lastName;
-    private String role;
+    private UserRole role;
+    private String unrecognisedRole;   // Written back as it was, so a mistyped role is not lost on save
     private String createdAt;
     private String lastLogin;
     private boolean active;
@@ -37,8 +40,9 @@ public class User {
         this.email = email;
         this.firstName = firstName;
         this.lastName = lastName;
-        this.role = role != null ? role : "user";
-        System.out.println("👤 User created: " + username + " with role: '" + this.role + "'");
+        UserRole parsed = UserRole.fromValue(role);
+        this.role = parsed != null ? parsed : UserRole.USER;
+        System.out.println("👤 User created: " + username + " with role: '" + getRole() + "'");
     }
 
     // Getters and Setters
@@ -57,12 +61,25 @@ public class User {
     public String getLastName() { return lastName; }
     public void setLastName(String lastName) { this.lastName = lastName; }
 
-    public String getRole() { return role; }
+    // JSON keeps the role as a string; code should use getUserRole()
+    public String getRole() { return role != null ? role.getValue() : unrecognisedRole; }
     public void setRole(String role) {
-        this.role = role;
+        this.role = UserRole.fromValue(role);
+        this.unrecognisedRole = this.role == null && role != null && !role.isBlank() ? role : null;
+        if (unrecognisedRole != null) {
+            System.err.println("⚠️ Unrecognised role '" + role + "' for user: " + username + ", kept as is");
+        }
         System.out.println("🎯 Role set to: '" + role + "' for user: " + username);
     }
 
+    @JsonIgnore
+    public UserRole getUserRole() { return role; }
+    @JsonIgnore
+    public void setUserRole(UserRole role) {
+        this.role = role;
+        this.unrecognisedRole = null;
+    }
+
     public String getCreatedAt() { return createdAt; }
     public void setCreatedAt(String createdAt) { this.createdAt = createdAt; }
 
@@ -102,27 +119,17 @@ public class User {
     }
 
     // Role-based Methods - FIXED VERSION
+    // Case and whitespace in the stored role are normalised when it is parsed
     public boolean isAdmin() {
-        if (role == null) {
-            System.out.println("⚠️  Role is null for user: " + username);
-            return false;
-        }
-
-        // Trim and case-insensitive comparison
-        String trimmedRole = role.trim().toLowerCase();
-        boolean isAdmin = "admin".equals(trimmedRole);
-
-        System.out.println("🔍 User.isAdmin() check: " + username +
-                " | Role: '" + role + "' -> '" + trimmedRole + "' | isAdmin: " + isAdmin);
-        return isAdmin;
+        return role == UserRole.ADMIN;
     }
 
     public boolean isUser() {
-        return "user".equalsIgnoreCase(role) || role == null || role.isEmpty();
+        return role == UserRole.USER || (role == null && unrecognisedRole == null);
     }
 
     public boolean isModerator() {
-        return "moderator".equalsIgnoreCase(role);
+        return role == UserRole.MODERATOR;
     }
 
     public boolean canManageItems() {
@@ -263,7 +270,7 @@ public class User {
                 email != null && !email.trim().isEmpty() &&
                 firstName != null && !firstName.trim().isEmpty() &&
                 lastName != null && !lastName.trim().isEmpty() &&
-                role != null && !role.trim().isEmpty();
+                role != null;
     }
 
     public boolean hasRequiredFields() {
@@ -326,7 +333,7 @@ public class User {
     public String toString() {
         return String.format(
                 "User{username='%s', email='%s', role='%s', active=%s, rewardTier='%s', rewardPoints=%d, itemsReturned=%d, created=%s}",
-                username, email, role, active, rewardTier, rewardPoints, itemsReturned, createdAt
+                username, email, getRole(), active, rewardTier, rewardPoints, itemsReturned, createdAt
         );
     }
 }
\ No newline at end of file
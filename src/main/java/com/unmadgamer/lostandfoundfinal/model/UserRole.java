@@ -0,0 +1,29 @@
+package com.unmadgamer.lostandfoundfinal.model;
+
+// Stored in JSON as the lower-case value
+public enum UserRole {
+    USER("user"),
+    MODERATOR("moderator"),
+    ADMIN("admin");
+
+    private final String value;
+
+    UserRole(String value) {
+        this.value = value;
+    }
+
+    public String getValue() { return value; }
+
+    // Case and surrounding whitespace are ignored, as older user files were not consistent
+    public static UserRole fromValue(String value) {
+        if (value == null) {
+            return null;
+        }
+        for (UserRole role : values()) {
+            if (role.value.equalsIgnoreCase(value.trim())) {
+                return role;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,28 @@
+package com.unmadgamer.lostandfoundfinal.model;
+
+// Admin review state of a reported item. Stored in JSON as the lower-case value.
+public enum VerificationStatus {
+    PENDING("pending"),
+    VERIFIED("verified"),
+    REJECTED("rejected");
+
+    private final String value;
+
+    VerificationStatus(String value) {
+        this.value = value;
+    }
+
+    public String getValue() { return value; }
+
+    public static VerificationStatus fromValue(String value) {
+        if (value == null) {
+            return null;
+        }
+        for (VerificationStatus status : values()) {
+            if (status.value.equalsIgnoreCase(value.trim())) {
+                return status;
+            }
+        }
+        return null;
+    }
+}
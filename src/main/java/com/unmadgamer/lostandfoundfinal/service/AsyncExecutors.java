@@ -0,0 +1,65 @@
+package com.unmadgamer.lostandfoundfinal.service;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+// Shared executor for the *Async service methods
+public final class AsyncExecutors {
+    private static volatile Executor executor;
+
+    private AsyncExecutors() {
+    }
+
+    public static Executor getExecutor() {
+        Executor current = executor;
+        if (current == null) {
+            synchronized (AsyncExecutors.class) {
+                if (executor == null) {
+                    executor = createDefaultExecutor();
+                }
+                current = executor;
+            }
+        }
+        return current;
+    }
+
+    // Replace the executor, e.g. with a bounded pool for server mode
+    public static synchronized void setExecutor(Executor newExecutor) {
+        executor = newExecutor;
+    }
+
+    // Reads run on the async executor
+    static <R> CompletableFuture<R> supply(Supplier<R> supplier) {
+        return CompletableFuture.supplyAsync(supplier, getExecutor());
+    }
+
+    // Writes go through the single writer; dependents run on the async executor, never on the writer thread
+    static <R> CompletableFuture<R> submit(StateCommand<R> command) {
+        return CommandExecutor.getInstance().submit(command)
+                .thenApplyAsync(Function.identity(), getExecutor());
+    }
+
+    // Virtual threads when the runtime has them (Java 21+), otherwise a daemon cached pool
+    private static Executor createDefaultExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            ExecutorService virtualThreads = (ExecutorService) factory.invoke(null);
+            System.out.println("✅ Async services using virtual threads");
+            return virtualThreads;
+        } catch (ReflectiveOperationException e) {
+            AtomicInteger counter = new AtomicInteger();
+            System.out.println("✅ Async services using cached thread pool (virtual threads unavailable)");
+            return Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "async-service-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.unmadgamer.lostandfoundfinal.service;
+
+import com.unmadgamer.lostandfoundfinal.model.LostFoundItem;
+
+import java.util.List;
+
+// Category and location suggestions drawn from previously reported items
+public class AutocompleteService {
+    private static AutocompleteService instance;
+    private static final int MAX_SUGGESTIONS = 8;
+    private final ItemService itemService;
+    private final PrefixTrie categories = new PrefixTrie(MAX_SUGGESTIONS);
+    private final PrefixTrie locations = new PrefixTrie(MAX_SUGGESTIONS);
+
+    private AutocompleteService() {
+        this.itemService = ItemService.getInstance();
+        // Subscribe before the initial build so no report falls between the two
+        itemService.subscribe("autocomplete", this::onItemEvent);
+        rebuild();
+        System.out.println("✅ AutocompleteService initialized with " + categories.size() + " categories and "
+                + locations.size() + " locations");
+    }
+
+    public static synchronized AutocompleteService getInstance() {
+        if (instance == null) {
+            instance = new AutocompleteService();
+        }
+        return instance;
+    }
+
+    // Most frequently used categories matching the typed prefix, most popular first
+    public List<String> suggestCategories(String prefix) {
+        return categories.suggest(prefix);
+    }
+
+    public List<String> suggestLocations(String prefix) {
+        return locations.suggest(prefix);
+    }
+
+    // Existing spelling of the category if it has been used before ("laptop" -> "Laptop"),
+    // otherwise the value as typed
+    public String canonicalCategory(String value) {
+        String canonical = categories.canonical(value);
+        return canonical != null ? canonical : value.trim();
+    }
+
+    public String canonicalLocation(String value) {
+        String canonical = locations.canonical(value);
+        return canonical != null ? canonical : value.trim();
+    }
+
+    private void onItemEvent(ItemEvent event) {
+        if (event.getType() == ItemEvent.Type.REPORTED) {
+            add(event.getItem());
+        } else if (event.getType() == ItemEvent.Type.RELOADED) {
+            rebuild();
+        }
+    }
+
+    private synchronized void rebuild() {
+        categories.clear();
+        locations.clear();
+        for (LostFoundItem item : itemService.indexSource()) {
+            add(item);
+        }
+    }
+
+    private void add(LostFoundItem item) {
+        if (item.getCategory() != null) {
+            categories.add(item.getCategory());
+        }
+        if (item.getLocation() != null) {
+            locations.add(item.getLocation());
+        }
+    }
+}
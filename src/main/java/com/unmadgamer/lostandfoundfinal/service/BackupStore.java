@@ -0,0 +1,325 @@
+package com.unmadgamer.lostandfoundfinal.service;
+
+import com.unmadgamer.lostandfoundfinal.model.Timestamps;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// Versioned backups of the data files, deduplicated by content. A file is cut into chunks at
+// content-defined boundaries (a gear rolling hash, so an edit only moves the boundaries next
+// to it) and each chunk is stored once, under its SHA-256:
+//
+//   chunks/ab/ab12...           chunk bytes
+//   manifests/items.json/<epoch millis>-<reason>.manifest
+//                               "size n", "sha256 h", then one "<chunk hash> <length>" line per chunk
+//
+// Every manifest is a complete restore point, yet a backup only writes the chunks that no
+// earlier version had, so saving a large file with a few changed items costs a few chunks.
+// Old points are thinned out by the retention policy in prune(), and chunks that no kept
+// point refers to are deleted with them. Copies of a file taken because it failed to load
+// ("error", "corrupted") are kept for a while but are never restored.
+final class BackupStore {
+    // A backed-up version of one file
+    static final class Point {
+        // Captures of a file that failed to load, kept for inspection and recovery by hand
+        private static final Set<String> DAMAGED_REASONS = Set.of("error", "corrupted");
+
+        final String fileName;
+        final long takenAt;
+        final String reason;
+        final Path manifest;
+
+        Point(String fileName, long takenAt, String reason, Path manifest) {
+            this.fileName = fileName;
+            this.takenAt = takenAt;
+            this.reason = reason;
+            this.manifest = manifest;
+        }
+
+        // False for a copy of a damaged file, which must not come back through a restore
+        boolean isRestorable() {
+            return !DAMAGED_REASONS.contains(reason);
+        }
+    }
+
+    private static final int MIN_CHUNK = 2 * 1024;
+    private static final int MAX_CHUNK = 64 * 1024;
+    private static final long BOUNDARY_MASK = -1L << (64 - 13);   // Top 13 bits zero: about 8 KB past MIN_CHUNK
+    private static final long[] GEAR = gearTable();
+    private static final String MANIFEST_SUFFIX = ".manifest";
+    private static final long PRUNE_INTERVAL = TimeUnit.HOURS.toMillis(1);
+
+    // Retention: every point from the last keepHours, then the newest point per day for
+    // keepDays and per week for keepWeeks. -Dlostandfound.backup.keepHours etc. override.
+    private final long keepAll = TimeUnit.HOURS.toMillis(Integer.getInteger("lostandfound.backup.keepHours", 24));
+    private final long keepDaily = TimeUnit.DAYS.toMillis(Integer.getInteger("lostandfound.backup.keepDays", 30));
+    private final long keepWeekly = TimeUnit.DAYS.toMillis(7L * Integer.getInteger("lostandfound.backup.keepWeeks", 12));
+
+    private final Path chunks;
+    private final Path manifests;
+    private long lastPrune;
+
+    BackupStore(Path directory) {
+        this.chunks = directory.resolve("chunks");
+        this.manifests = directory.resolve("manifests");
+    }
+
+    // Adds the file's current content as a new point, unless it is the same as the newest one
+    synchronized void backup(Path file, String reason) throws IOException {
+        String fileName = file.getFileName().toString();
+        MessageDigest fileDigest = sha256();
+        StringBuilder chunkLines = new StringBuilder();
+        long size = 0;
+        int newChunks = 0;
+        long newBytes = 0;
+
+        try (InputStream in = Files.newInputStream(file)) {
+            byte[] block = new byte[1 << 16];
+            byte[] chunk = new byte[MAX_CHUNK];
+            int length = 0;
+            long hash = 0;
+            int read;
+            while ((read = in.read(block)) > 0) {
+                for (int i = 0; i < read; i++) {
+                    chunk[length++] = block[i];
+                    hash = (hash << 1) + GEAR[block[i] & 0xFF];
+                    if ((length >= MIN_CHUNK && (hash & BOUNDARY_MASK) == 0) || length == MAX_CHUNK) {
+                        if (storeChunk(chunk, length, chunkLines)) {
+                            newChunks++;
+                            newBytes += length;
+                        }
+                        fileDigest.update(chunk, 0, length);
+                        size += length;
+                        length = 0;
+                        hash = 0;
+                    }
+                }
+            }
+            if (length > 0) {
+                if (storeChunk(chunk, length, chunkLines)) {
+                    newChunks++;
+                    newBytes += length;
+                }
+                fileDigest.update(chunk, 0, length);
+                size += length;
+            }
+        }
+
+        String fileHash = HexFormat.of().formatHex(fileDigest.digest());
+        List<Point> existing = points(fileName);
+        if (!existing.isEmpty() && fileHash.equals(readHeader(existing.get(existing.size() - 1), "sha256"))) {
+            System.out.println("📋 Backup of " + fileName + " is unchanged since the last one");
+        } else {
+            Path directory = Files.createDirectories(manifests.resolve(fileName));
+            long takenAt = System.currentTimeMillis();
+            Path manifest = directory.resolve(takenAt + "-" + reason + MANIFEST_SUFFIX);
+            while (Files.exists(manifest)) {
+                manifest = directory.resolve(++takenAt + "-" + reason + MANIFEST_SUFFIX);
+            }
+            String content = "size " + size + "\nsha256 " + fileHash + "\n" + chunkLines;
+            Path temp = directory.resolve(manifest.getFileName() + ".tmp");
+            Files.writeString(temp, content, StandardCharsets.UTF_8);
+            Files.move(temp, manifest, StandardCopyOption.REPLACE_EXISTING);
+            System.out.println("📋 Created backup: " + fileName + " (" + reason + "), " + newChunks
+                    + " new chunks, " + newBytes / 1024 + " of " + size / 1024 + " KB written");
+        }
+
+        long now = System.currentTimeMillis();
+        if (now - lastPrune >= PRUNE_INTERVAL) {
+            lastPrune = now;
+            prune(now);
+        }
+    }
+
+    // Oldest first
+    synchronized List<Point> points(String fileName) throws IOException {
+        List<Point> points = new ArrayList<>();
+        Path directory = manifests.resolve(fileName);
+        if (!Files.isDirectory(directory)) {
+            return points;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + MANIFEST_SUFFIX)) {
+            for (Path manifest : files) {
+                String name = manifest.getFileName().toString();
+                int dash = name.indexOf('-');
+                try {
+                    long takenAt = Long.parseLong(name.substring(0, dash));
+                    String reason = name.substring(dash + 1, name.length() - MANIFEST_SUFFIX.length());
+                    points.add(new Point(fileName, takenAt, reason, manifest));
+                } catch (RuntimeException e) {
+                    System.err.println("❌ Ignoring unrecognised backup manifest: " + name);
+                }
+            }
+        }
+        points.sort(Comparator.comparingLong(point -> point.takenAt));
+        return points;
+    }
+
+    // Writes the file's newest restorable version taken at or before the given time to target,
+    // checking every chunk and the whole file against their hashes; false if there is no such
+    // version
+    synchronized boolean restore(String fileName, long pointInTime, Path target) throws IOException {
+        Point point = null;
+        for (Point candidate : points(fileName)) {
+            if (candidate.takenAt <= pointInTime && candidate.isRestorable()) {
+                point = candidate;
+            }
+        }
+        if (point == null) {
+            return false;
+        }
+
+        List<String> lines = Files.readAllLines(point.manifest, StandardCharsets.UTF_8);
+        String expectedHash = readHeader(point, "sha256");
+        MessageDigest fileDigest = sha256();
+        Path temp = target.resolveSibling(target.getFileName() + ".restore");
+        try (OutputStream out = Files.newOutputStream(temp)) {
+            for (String line : lines.subList(2, lines.size())) {
+                String hash = line.substring(0, line.indexOf(' '));
+                byte[] bytes = Files.readAllBytes(chunkPath(hash));
+                if (!hash.equals(HexFormat.of().formatHex(sha256().digest(bytes)))) {
+                    throw new IOException("Backup chunk " + hash + " is damaged");
+                }
+                fileDigest.update(bytes);
+                out.write(bytes);
+            }
+        }
+        if (!HexFormat.of().formatHex(fileDigest.digest()).equals(expectedHash)) {
+            Files.delete(temp);
+            throw new IOException("Restored " + fileName + " does not match its backup");
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        System.out.println("✅ Restored " + fileName + " from the backup taken at "
+                + Timestamps.format(point.takenAt) + " (" + point.reason + ")");
+        return true;
+    }
+
+    // Applies the retention policy to every file's points; the newest point of a file is
+    // always kept. Then deletes the chunks that no remaining point uses.
+    synchronized void prune(long now) throws IOException {
+        if (!Files.isDirectory(manifests)) {
+            return;
+        }
+        int removed = 0;
+        Set<String> referenced = new HashSet<>();
+        try (DirectoryStream<Path> directories = Files.newDirectoryStream(manifests)) {
+            for (Path directory : directories) {
+                List<Point> points = points(directory.getFileName().toString());
+                Set<Long> days = new HashSet<>();
+                Set<Long> weeks = new HashSet<>();
+                for (int i = points.size() - 1; i >= 0; i--) {
+                    Point point = points.get(i);
+                    long age = now - point.takenAt;
+                    long day = Timestamps.toDate(point.takenAt).toEpochDay();
+                    // A damaged capture never stands in for its day or week
+                    boolean keep = i == points.size() - 1
+                            || age < keepAll
+                            || (point.isRestorable() && age < keepDaily && days.add(day))
+                            || (point.isRestorable() && age < keepWeekly && weeks.add(Math.floorDiv(day, 7)));
+                    if (keep) {
+                        for (String line : Files.readAllLines(point.manifest, StandardCharsets.UTF_8)) {
+                            if (!line.startsWith("size ") && !line.startsWith("sha256 ")) {
+                                referenced.add(line.substring(0, line.indexOf(' ')));
+                            }
+                        }
+                    } else {
+                        Files.delete(point.manifest);
+                        removed++;
+                    }
+                }
+            }
+        }
+
+        int deletedChunks = 0;
+        if (Files.isDirectory(chunks)) {
+            try (DirectoryStream<Path> prefixes = Files.newDirectoryStream(chunks)) {
+                for (Path prefix : prefixes) {
+                    try (DirectoryStream<Path> files = Files.newDirectoryStream(prefix)) {
+                        for (Path chunk : files) {
+                            if (!referenced.contains(chunk.getFileName().toString())) {
+                                Files.delete(chunk);
+                                deletedChunks++;
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        if (removed > 0 || deletedChunks > 0) {
+            System.out.println("🔄 Backup retention removed " + removed + " old points and " + deletedChunks + " chunks");
+        }
+    }
+
+    // True if the chunk was new to the store
+    private boolean storeChunk(byte[] chunk, int length, StringBuilder chunkLines) throws IOException {
+        MessageDigest digest = sha256();
+        digest.update(chunk, 0, length);
+        String hash = HexFormat.of().formatHex(digest.digest());
+        chunkLines.append(hash).append(' ').append(length).append('\n');
+
+        Path path = chunkPath(hash);
+        if (Files.exists(path)) {
+            return false;
+        }
+        Files.createDirectories(path.getParent());
+        Path temp = path.resolveSibling(hash + ".tmp");
+        try (OutputStream out = Files.newOutputStream(temp)) {
+            out.write(chunk, 0, length);
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+        return true;
+    }
+
+    private Path chunkPath(String hash) {
+        return chunks.resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    // A "key value" line from the top of a manifest
+    private static String readHeader(Point point, String key) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(point.manifest, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < 2; i++) {
+                String line = reader.readLine();
+                if (line != null && line.startsWith(key + " ")) {
+                    return line.substring(key.length() + 1);
+                }
+            }
+        }
+        throw new IOException("Backup manifest " + point.manifest.getFileName() + " has no " + key);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    // Fixed seed: chunk boundaries must fall in the same places on every run for chunks to
+    // be shared between backups
+    private static long[] gearTable() {
+        Random random = new Random(0x4C46_4241_434BL);
+        long[] table = new long[256];
+        for (int i = 0; i < table.length; i++) {
+            table[i] = random.nextLong();
+        }
+        return table;
+    }
+}
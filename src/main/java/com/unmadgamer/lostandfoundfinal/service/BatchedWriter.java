@@ -0,0 +1,166 @@
+package com.unmadgamer.lostandfoundfinal.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumSet;
+import java.util.List;
+
+// Collects save requests made while a command batch is applied and writes each file once at the end
+public class BatchedWriter {
+    public enum Target { ITEMS, USERS, CONVERSATIONS }
+
+    // Writes the file behind a target; false if it could not be saved
+    interface Persister {
+        boolean write(Target target);
+    }
+
+    private static BatchedWriter instance;
+    private final Persister persister;
+    private final ThreadLocal<Batch> currentBatch = new ThreadLocal<>();
+    private long flushCount;
+    private long deferredSaves;
+
+    private static final class Batch {
+        private final EnumSet<Target> targets = EnumSet.noneOf(Target.class);
+        // Targets deferred by each command being applied, innermost last
+        private final Deque<EnumSet<Target>> commandTargets = new ArrayDeque<>();
+        private final List<Publication> publications = new ArrayList<>();
+    }
+
+    private static final class Publication {
+        private final Target target;
+        private final Runnable action;
+
+        private Publication(Target target, Runnable action) {
+            this.target = target;
+            this.action = action;
+        }
+    }
+
+    BatchedWriter(Persister persister) {
+        this.persister = persister;
+    }
+
+    public static synchronized BatchedWriter getInstance() {
+        if (instance == null) {
+            instance = new BatchedWriter(BatchedWriter::writeService);
+        }
+        return instance;
+    }
+
+    private static boolean writeService(Target target) {
+        switch (target) {
+            case ITEMS:
+                return ItemService.getInstance().writeItems();
+            case USERS:
+                return UserService.getInstance().writeUsers();
+            case CONVERSATIONS:
+                return MessageService.getInstance().writeConversations();
+            default:
+                return false;
+        }
+    }
+
+    // Start collecting saves on the calling thread
+    void beginBatch() {
+        currentBatch.set(new Batch());
+    }
+
+    // Start recording the targets one command defers. Commands may nest: an inner command's
+    // targets count for the commands around it too.
+    void beginCommand() {
+        Batch batch = currentBatch.get();
+        if (batch != null) {
+            batch.commandTargets.push(EnumSet.noneOf(Target.class));
+        }
+    }
+
+    // Targets deferred since the matching beginCommand()
+    EnumSet<Target> endCommand() {
+        Batch batch = currentBatch.get();
+        if (batch == null || batch.commandTargets.isEmpty()) {
+            return EnumSet.noneOf(Target.class);
+        }
+        return batch.commandTargets.pop();
+    }
+
+    // Returns true if the save was deferred to the end of the current batch
+    public boolean defer(Target target) {
+        Batch batch = currentBatch.get();
+        if (batch == null) {
+            return false;
+        }
+        batch.targets.add(target);
+        for (EnumSet<Target> targets : batch.commandTargets) {
+            targets.add(target);
+        }
+        deferredSaves++;
+        return true;
+    }
+
+    // Runs the action once the target's file has been saved: after the flush inside a batch,
+    // straight away outside one. Dropped if the save fails, so nobody hears of a change that
+    // did not reach disk.
+    public void afterSave(Target target, Runnable action) {
+        Batch batch = currentBatch.get();
+        if (batch == null) {
+            action.run();
+            return;
+        }
+        batch.publications.add(new Publication(target, action));
+    }
+
+    public boolean isBatching() {
+        return currentBatch.get() != null;
+    }
+
+    // Write every file touched during the batch exactly once, then run the publications of
+    // the targets that were saved. Returns the targets that could not be saved.
+    EnumSet<Target> flushBatch() {
+        Batch batch = currentBatch.get();
+        currentBatch.remove();
+        EnumSet<Target> failed = EnumSet.noneOf(Target.class);
+        if (batch == null) {
+            return failed;
+        }
+
+        for (Target target : batch.targets) {
+            boolean saved;
+            try {
+                saved = persister.write(target);
+            } catch (RuntimeException e) {
+                System.err.println("❌ Batched write failed for " + target + ": " + e.getMessage());
+                saved = false;
+            }
+            if (!saved) {
+                failed.add(target);
+            }
+        }
+        if (!batch.targets.isEmpty()) {
+            flushCount++;
+            System.out.println("💾 Batched write flushed " + batch.targets + (failed.isEmpty() ? "" : ", failed " + failed)
+                    + " (" + deferredSaves + " saves coalesced so far)");
+        }
+
+        for (Publication publication : batch.publications) {
+            if (failed.contains(publication.target)) {
+                continue;
+            }
+            try {
+                publication.action.run();
+            } catch (RuntimeException e) {
+                System.err.println("❌ Publishing after a " + publication.target + " save failed: " + e.getMessage());
+            }
+        }
+        return failed;
+    }
+
+    public long getFlushCount() {
+        return flushCount;
+    }
+
+    public long getDeferredSaves() {
+        return deferredSaves;
+    }
+}
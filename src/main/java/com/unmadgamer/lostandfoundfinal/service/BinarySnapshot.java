@@ -0,0 +1,805 @@
+package com.unmadgamer.lostandfoundfinal.service;
+
+import com.unmadgamer.lostandfoundfinal.model.ClaimStatus;
+import com.unmadgamer.lostandfoundfinal.model.FoundItem;
+import com.unmadgamer.lostandfoundfinal.model.ItemStatus;
+import com.unmadgamer.lostandfoundfinal.model.LostFoundItem;
+import com.unmadgamer.lostandfoundfinal.model.LostItem;
+import com.unmadgamer.lostandfoundfinal.model.User;
+import com.unmadgamer.lostandfoundfinal.model.UserRole;
+import com.unmadgamer.lostandfoundfinal.model.VerificationStatus;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32C;
+
+// Binary snapshot of items or users, an alternative to the JSON files.
+//
+//   header      int magic, short version, byte kind
+//   dictionary  int count, then per entry: int length + UTF-8 bytes, then int CRC32C of the
+//               count and entries
+//   records     int count, then per record: int sync marker, int length, int CRC32C of the
+//               payload, payload
+//
+// The marker and checksum let a damaged file be read record by record: recover*() keeps
+// every record whose checksum holds and scans forward to the next marker past the rest.
+// Version 1 files (records framed by length only) are still read, but cannot be recovered.
+//
+// Low-cardinality fields are stored once in the dictionary and referenced by code (-1 = null);
+// free text is stored inline as int length (-1 = null) + UTF-8 bytes. Item records start with
+// a fixed-size block so fields can be read at known offsets without decoding the record.
+// An enum byte of UNKNOWN means the model held text that is not one of the enum's values;
+// that text follows as an extra inline string (for items, after the regular ones, in
+// status, verification, claim order), so it is saved back as it was. An item timestamp of
+// UNREADABLE_TIME does the same for text that did not parse, after the enums' text, in
+// createdAt, verificationDate order.
+final class BinarySnapshot {
+    static final int MAGIC = 0x4C465353; // "LFSS"
+    static final short VERSION = 2;
+    static final int SYNC = 0x4C465243;  // "LFRC", starts every record
+    static final int RECORD_FRAME = 12;  // Marker, length and checksum
+    static final int MAX_RECORD_SIZE = 1 << 20;
+    static final byte KIND_ITEMS = 1;
+    static final byte KIND_USERS = 2;
+
+    static final byte TYPE_LOST = 1;
+    static final byte TYPE_FOUND = 2;
+
+    // Item record layout: fixed block
+    static final int ITEM_TYPE = 0;               // byte
+    static final int ITEM_STATUS = 1;             // byte, ordinal + 1, 0 = null (same for the next two)
+    static final int ITEM_VERIFICATION = 2;       // byte
+    static final int ITEM_CLAIM = 3;              // byte
+    static final int ITEM_CREATED_AT = 4;         // long epoch millis
+    static final int ITEM_VERIFICATION_DATE = 12; // long epoch millis
+    static final int ITEM_CATEGORY = 20;          // int dictionary codes from here on
+    static final int ITEM_LOCATION = 24;
+    static final int ITEM_DATE = 28;
+    static final int ITEM_REPORTED_BY = 32;
+    static final int ITEM_VERIFIED_BY = 36;
+    static final int ITEM_TYPE_DATE = 40;         // lostDate or foundDate
+    static final int ITEM_REWARD_OR_STORAGE = 44; // reward for lost items, storageLocation for found
+    static final int ITEM_CLAIMED_BY = 48;
+    static final int ITEM_FIXED_SIZE = 52;         // then inline id, itemName, description, contactInfo, claimedFoundItemId
+    static final int ITEM_INLINE_COUNT = 5;        // then the text of any UNKNOWN enum bytes
+    static final byte UNKNOWN = -1;
+    static final long UNREADABLE_TIME = Long.MIN_VALUE;
+
+    private static final int HEADER_SIZE = 7;
+    private static final int RECOVERY_WINDOW = 2 * MAX_RECORD_SIZE;   // Bytes of the file held at once while recovering
+
+    // values() copies the array on every call
+    private static final ItemStatus[] ITEM_STATUSES = ItemStatus.values();
+    private static final VerificationStatus[] VERIFICATION_STATUSES = VerificationStatus.values();
+    private static final ClaimStatus[] CLAIM_STATUSES = ClaimStatus.values();
+    private static final UserRole[] USER_ROLES = UserRole.values();
+
+    private BinarySnapshot() {
+    }
+
+    // Writing
+
+    static void writeItems(Path path, Collection<? extends LostFoundItem> items) throws IOException {
+        if (items instanceof MappedItemStore.ItemList) {
+            writeItems(path, (MappedItemStore.ItemList) items);
+            return;
+        }
+        Dictionary dictionary = new Dictionary();
+        for (LostFoundItem item : items) {
+            addToDictionary(dictionary, item);
+        }
+
+        try (DataOutputStream out = open(path)) {
+            writeHeader(out, KIND_ITEMS, dictionary, items.size());
+            RecordBuffer record = new RecordBuffer();
+            for (LostFoundItem item : items) {
+                record.reset();
+                encodeItem(item, dictionary, record);
+                record.writeTo(out);
+            }
+        }
+    }
+
+    // Items that were not changed are copied byte for byte from the store's buffer. Its
+    // dictionary is carried over in the same order so their codes stay valid.
+    private static void writeItems(Path path, MappedItemStore.ItemList items) throws IOException {
+        MappedItemStore store = items.getStore();
+        Dictionary dictionary = new Dictionary();
+        for (String value : store.getDictionary()) {
+            dictionary.add(value);
+        }
+        int size = items.size();
+        for (int i = 0; i < size; i++) {
+            LostFoundItem item = items.getIfChanged(i);
+            if (item != null) {
+                addToDictionary(dictionary, item);
+            }
+        }
+
+        try (DataOutputStream out = open(path)) {
+            writeHeader(out, KIND_ITEMS, dictionary, size);
+            RecordBuffer record = new RecordBuffer();
+            for (int i = 0; i < size; i++) {
+                LostFoundItem item = items.getIfChanged(i);
+                if (item == null) {
+                    store.copyRecord(i, out);
+                    continue;
+                }
+                record.reset();
+                encodeItem(item, dictionary, record);
+                record.writeTo(out);
+            }
+        }
+    }
+
+    private static void addToDictionary(Dictionary dictionary, LostFoundItem item) {
+        dictionary.add(item.getCategory());
+        dictionary.add(item.getLocation());
+        dictionary.add(item.getDate());
+        dictionary.add(item.getReportedBy());
+        dictionary.add(item.getVerifiedBy());
+        if (item instanceof LostItem) {
+            LostItem lostItem = (LostItem) item;
+            dictionary.add(lostItem.getLostDate());
+            dictionary.add(lostItem.getReward());
+            dictionary.add(lostItem.getClaimedBy());
+        } else if (item instanceof FoundItem) {
+            FoundItem foundItem = (FoundItem) item;
+            dictionary.add(foundItem.getFoundDate());
+            dictionary.add(foundItem.getStorageLocation());
+            dictionary.add(foundItem.getClaimedBy());
+        }
+    }
+
+    static void writeUsers(Path path, Collection<User> users) throws IOException {
+        Dictionary dictionary = new Dictionary();
+        for (User user : users) {
+            dictionary.add(user.getRewardTier());
+        }
+
+        try (DataOutputStream out = open(path)) {
+            writeHeader(out, KIND_USERS, dictionary, users.size());
+            RecordBuffer record = new RecordBuffer();
+            for (User user : users) {
+                record.reset();
+                record.putString(user.getUsername());
+                record.putString(user.getPassword());
+                record.putString(user.getEmail());
+                record.putString(user.getFirstName());
+                record.putString(user.getLastName());
+                record.putByte(code(user.getUserRole(), user.getRole()));
+                if (user.getUserRole() == null && user.getRole() != null) {
+                    record.putString(user.getRole());
+                }
+                record.putString(user.getCreatedAt());
+                record.putString(user.getLastLogin());
+                record.putByte((byte) (user.isActive() ? 1 : 0));
+                record.putInt(user.getRewardPoints());
+                record.putInt(user.getItemsReturned());
+                record.putInt(dictionary.code(user.getRewardTier()));
+                record.writeTo(out);
+            }
+        }
+    }
+
+    private static void encodeItem(LostFoundItem item, Dictionary dictionary, RecordBuffer record) {
+        LostItem lostItem = item instanceof LostItem ? (LostItem) item : null;
+        FoundItem foundItem = item instanceof FoundItem ? (FoundItem) item : null;
+
+        record.putByte(lostItem != null ? TYPE_LOST : TYPE_FOUND);
+        ClaimStatus claimState = lostItem != null ? lostItem.getClaimState()
+                : foundItem != null ? foundItem.getClaimState() : null;
+        String claimStatus = lostItem != null ? lostItem.getClaimStatus()
+                : foundItem != null ? foundItem.getClaimStatus() : null;
+        record.putByte(code(item.getItemStatus(), item.getStatus()));
+        record.putByte(code(item.getVerificationState(), item.getVerificationStatus()));
+        record.putByte(code(claimState, claimStatus));
+        record.putLong(time(item.getCreatedAtMillis(), item.getCreatedAt()));
+        record.putLong(time(item.getVerificationDateMillis(), item.getVerificationDate()));
+        record.putInt(dictionary.code(item.getCategory()));
+        record.putInt(dictionary.code(item.getLocation()));
+        record.putInt(dictionary.code(item.getDate()));
+        record.putInt(dictionary.code(item.getReportedBy()));
+        record.putInt(dictionary.code(item.getVerifiedBy()));
+        if (lostItem != null) {
+            record.putInt(dictionary.code(lostItem.getLostDate()));
+            record.putInt(dictionary.code(lostItem.getReward()));
+            record.putInt(dictionary.code(lostItem.getClaimedBy()));
+        } else if (foundItem != null) {
+            record.putInt(dictionary.code(foundItem.getFoundDate()));
+            record.putInt(dictionary.code(foundItem.getStorageLocation()));
+            record.putInt(dictionary.code(foundItem.getClaimedBy()));
+        } else {
+            record.putInt(-1);
+            record.putInt(-1);
+            record.putInt(-1);
+        }
+
+        record.putString(item.getId());
+        record.putString(item.getItemName());
+        record.putString(item.getDescription());
+        record.putString(lostItem != null ? lostItem.getContactInfo()
+                : foundItem != null ? foundItem.getContactInfo() : null);
+        record.putString(lostItem != null ? lostItem.getClaimedFoundItemId() : null);
+        if (item.getItemStatus() == null && item.getStatus() != null) {
+            record.putString(item.getStatus());
+        }
+        if (item.getVerificationState() == null && item.getVerificationStatus() != null) {
+            record.putString(item.getVerificationStatus());
+        }
+        if (claimState == null && claimStatus != null) {
+            record.putString(claimStatus);
+        }
+        if (item.getCreatedAtMillis() == 0 && item.getCreatedAt() != null) {
+            record.putString(item.getCreatedAt());
+        }
+        if (item.getVerificationDateMillis() == 0 && item.getVerificationDate() != null) {
+            record.putString(item.getVerificationDate());
+        }
+    }
+
+    private static DataOutputStream open(Path path) throws IOException {
+        OutputStream file = Files.newOutputStream(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        return new DataOutputStream(new BufferedOutputStream(file, 1 << 16));
+    }
+
+    private static void writeHeader(DataOutputStream out, byte kind, Dictionary dictionary, int recordCount) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeByte(kind);
+
+        ByteArrayOutputStream entries = new ByteArrayOutputStream();
+        DataOutputStream entriesOut = new DataOutputStream(entries);
+        entriesOut.writeInt(dictionary.values.size());
+        for (String value : dictionary.values) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            entriesOut.writeInt(bytes.length);
+            entriesOut.write(bytes);
+        }
+        byte[] bytes = entries.toByteArray();
+        CRC32C crc = new CRC32C();
+        crc.update(bytes);
+        out.write(bytes);
+        out.writeInt((int) crc.getValue());
+        out.writeInt(recordCount);
+    }
+
+    // One framed record; payload[0, length) is written as it is
+    static void writeRecord(DataOutputStream out, byte[] payload, int length) throws IOException {
+        if (length > MAX_RECORD_SIZE) {
+            throw new IOException("Record of " + length + " bytes is over the " + MAX_RECORD_SIZE + " byte limit");
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(payload, 0, length);
+        out.writeInt(SYNC);
+        out.writeInt(length);
+        out.writeInt((int) crc.getValue());
+        out.write(payload, 0, length);
+    }
+
+    private static byte code(Enum<?> value) {
+        return (byte) (value == null ? 0 : value.ordinal() + 1);
+    }
+
+    // text is the model's string form of the same field, set without the enum if unrecognised
+    private static byte code(Enum<?> value, String text) {
+        return value == null && text != null ? UNKNOWN : code(value);
+    }
+
+    // Same for a timestamp: text is only set alongside 0 millis if it did not parse
+    private static long time(long millis, String text) {
+        return millis == 0 && text != null ? UNREADABLE_TIME : millis;
+    }
+
+    // Reading
+
+    // A damaged record fails the whole read; recoverItems() reads around it
+    static List<LostFoundItem> readItems(Path path) throws IOException {
+        Reader reader = new Reader(read(path), KIND_ITEMS);
+        List<LostFoundItem> items = new ArrayList<>(reader.recordCount);
+        int position = reader.recordsStart;
+        for (int i = 0; i < reader.recordCount; i++) {
+            int start = reader.payloadAt(position);
+            items.add(decodeItem(reader, start));
+            position = start + reader.payloadLength(start);
+        }
+        return items;
+    }
+
+    static List<User> readUsers(Path path) throws IOException {
+        Reader reader = new Reader(read(path), KIND_USERS);
+        List<User> users = new ArrayList<>(reader.recordCount);
+        int position = reader.recordsStart;
+        for (int i = 0; i < reader.recordCount; i++) {
+            int start = reader.payloadAt(position);
+            users.add(decodeUser(reader, start));
+            position = start + reader.payloadLength(start);
+        }
+        return users;
+    }
+
+    // Record count from the header, after checking every record's frame and checksum. Streams
+    // the file through a window like recover(), so verifying a save does not load it again.
+    static int countRecords(Path path) throws IOException {
+        StreamedHeader header = readHeader(path, (byte) 0, false);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            channel.position(header.recordsStart);
+            ByteBuffer window = ByteBuffer.allocate(RECOVERY_WINDOW);
+            window.flip();
+            Reader reader = new Reader(window, null);
+            long offset = header.recordsStart;
+            for (int i = 0; i < header.recordCount; i++) {
+                if (!fill(channel, window, RECORD_FRAME) || window.getInt(window.position()) != SYNC) {
+                    throw new IOException("Snapshot record marker missing at byte " + offset);
+                }
+                int length = window.getInt(window.position() + 4);
+                if (length < 0 || length > MAX_RECORD_SIZE || !fill(channel, window, RECORD_FRAME + length)) {
+                    throw new IOException("Snapshot record length damaged at byte " + offset);
+                }
+                int position = window.position(); // fill() may have compacted the window
+                if (reader.checksum(position + RECORD_FRAME, length) != window.getInt(position + 8)) {
+                    throw new IOException("Snapshot record checksum mismatch at byte " + offset);
+                }
+                window.position(position + RECORD_FRAME + length);
+                offset += RECORD_FRAME + length;
+            }
+            if (offset != channel.size()) {
+                throw new IOException("Snapshot has " + (channel.size() - offset) + " bytes after the last record");
+            }
+            return header.recordCount;
+        }
+    }
+
+    // Header and dictionary of a current-version snapshot, read from a stream and checked
+    // against the dictionary checksum
+    private static final class StreamedHeader {
+        private String[] dictionary;   // Only when asked for
+        private long recordsStart;
+        private int recordCount;       // As written; recovery does not rely on it
+    }
+
+    private static StreamedHeader readHeader(Path path, byte kind, boolean keepDictionary) throws IOException {
+        StreamedHeader header = new StreamedHeader();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 1 << 16))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a snapshot file");
+            }
+            short version = in.readShort();
+            if (version != VERSION) {
+                throw new IOException("Snapshot version " + version + " has no record checksums");
+            }
+            if (in.readByte() != kind && kind != 0) {
+                throw new IOException("Snapshot holds the wrong kind of records");
+            }
+            CRC32C crc = new CRC32C();
+            int count = in.readInt();
+            if (count < 0) {
+                throw new IOException("Snapshot dictionary is damaged");
+            }
+            crc.update(ByteBuffer.allocate(4).putInt(count).array());
+            header.dictionary = keepDictionary ? new String[count] : null;
+            header.recordsStart = HEADER_SIZE + 4;
+            byte[] bytes = new byte[256];
+            for (int i = 0; i < count; i++) {
+                int length = in.readInt();
+                if (length < 0 || length > MAX_RECORD_SIZE) {
+                    throw new IOException("Snapshot dictionary is damaged");
+                }
+                if (bytes.length < length) {
+                    bytes = new byte[length];
+                }
+                in.readFully(bytes, 0, length);
+                crc.update(ByteBuffer.allocate(4).putInt(length).array());
+                crc.update(bytes, 0, length);
+                if (keepDictionary) {
+                    header.dictionary[i] = new String(bytes, 0, length, StandardCharsets.UTF_8);
+                }
+                header.recordsStart += 4 + length;
+            }
+            if (in.readInt() != (int) crc.getValue()) {
+                throw new IOException("Snapshot dictionary is damaged");
+            }
+            header.recordCount = in.readInt();
+            header.recordsStart += 8; // Checksum and record count
+        }
+        return header;
+    }
+
+    // Recovery: one pass over a damaged snapshot, holding at most RECOVERY_WINDOW bytes of it.
+    // Records that pass their checksum are added to the list; anything else is skipped up to
+    // the next sync marker. Returns the number of damaged stretches skipped. Needs an intact
+    // header and dictionary, since every item record refers to the dictionary.
+
+    static int recoverItems(Path path, List<LostFoundItem> into) throws IOException {
+        return recover(path, KIND_ITEMS, (reader, start) -> into.add(decodeItem(reader, start)));
+    }
+
+    static int recoverUsers(Path path, List<User> into) throws IOException {
+        return recover(path, KIND_USERS, (reader, start) -> into.add(decodeUser(reader, start)));
+    }
+
+    private interface RecordHandler {
+        void accept(Reader reader, int start);
+    }
+
+    private static int recover(Path path, byte kind, RecordHandler handler) throws IOException {
+        StreamedHeader header = readHeader(path, kind, true);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            channel.position(header.recordsStart);
+            ByteBuffer window = ByteBuffer.allocate(RECOVERY_WINDOW);
+            window.flip();
+            Reader reader = new Reader(window, header.dictionary);
+            int damaged = 0;
+            boolean skipping = false;
+            while (fill(channel, window, RECORD_FRAME)) {
+                int position = window.position();
+                int length = window.getInt(position + 4);
+                boolean intact = window.getInt(position) == SYNC
+                        && length >= 0 && length <= MAX_RECORD_SIZE
+                        && fill(channel, window, RECORD_FRAME + length);
+                position = window.position(); // fill() may have compacted the window
+                if (intact) {
+                    intact = reader.checksum(position + RECORD_FRAME, length) == window.getInt(position + 8);
+                }
+                if (intact) {
+                    try {
+                        handler.accept(reader, position + RECORD_FRAME);
+                    } catch (RuntimeException e) {
+                        intact = false;
+                    }
+                }
+                if (intact) {
+                    window.position(position + RECORD_FRAME + length);
+                    skipping = false;
+                } else {
+                    window.position(position + 1);
+                    if (!skipping) {
+                        damaged++;
+                        skipping = true;
+                    }
+                }
+            }
+            if (window.hasRemaining() && !skipping) {
+                damaged++; // A record cut short at the end of the file
+            }
+            return damaged;
+        }
+    }
+
+    // Makes at least `bytes` bytes available from the window's position, reading more of the
+    // file as needed; false if the file ends first
+    private static boolean fill(FileChannel channel, ByteBuffer window, int bytes) throws IOException {
+        if (window.remaining() >= bytes) {
+            return true;
+        }
+        window.compact();
+        while (window.position() < bytes) {
+            if (channel.read(window) < 0) {
+                break;
+            }
+        }
+        window.flip();
+        return window.remaining() >= bytes;
+    }
+
+    // Not thread-safe: moves the reader's buffer position
+    private static User decodeUser(Reader reader, int start) {
+        reader.buffer.position(start);
+        User user = new User();
+        user.setUsername(reader.string());
+        user.setPassword(reader.string());
+        user.setEmail(reader.string());
+        user.setFirstName(reader.string());
+        user.setLastName(reader.string());
+        byte role = reader.buffer.get();
+        if (role == UNKNOWN) {
+            user.setRole(reader.string());
+        } else {
+            user.setUserRole(decode(USER_ROLES, role));
+        }
+        user.setCreatedAt(reader.string());
+        user.setLastLogin(reader.string());
+        user.setActive(reader.buffer.get() != 0);
+        user.setRewardPoints(reader.buffer.getInt());
+        user.setItemsReturned(reader.buffer.getInt());
+        user.setRewardTier(reader.word(reader.buffer.getInt()));
+        return user;
+    }
+
+    // Not thread-safe: moves the reader's buffer position
+    static LostFoundItem decodeItem(Reader reader, int start) {
+        LostFoundItem item = reader.buffer.get(start + ITEM_TYPE) == TYPE_LOST ? new LostItem() : new FoundItem();
+        decodeFields(reader, start, item, true);
+        return item;
+    }
+
+    // Fills an item of the record's type. Without text, description and contactInfo are left
+    // for the caller to fill later (see MappedItemStore's lazily hydrated items).
+    static void decodeFields(Reader reader, int start, LostFoundItem item, boolean withText) {
+        ByteBuffer buffer = reader.buffer;
+        if (item instanceof LostItem) {
+            LostItem lostItem = (LostItem) item;
+            lostItem.setLostDate(reader.word(buffer.getInt(start + ITEM_TYPE_DATE)));
+            lostItem.setReward(reader.word(buffer.getInt(start + ITEM_REWARD_OR_STORAGE)));
+            lostItem.setClaimedBy(reader.word(buffer.getInt(start + ITEM_CLAIMED_BY)));
+            lostItem.setClaimState(decode(CLAIM_STATUSES, buffer.get(start + ITEM_CLAIM)));
+        } else if (item instanceof FoundItem) {
+            FoundItem foundItem = (FoundItem) item;
+            foundItem.setFoundDate(reader.word(buffer.getInt(start + ITEM_TYPE_DATE)));
+            foundItem.setStorageLocation(reader.word(buffer.getInt(start + ITEM_REWARD_OR_STORAGE)));
+            foundItem.setClaimedBy(reader.word(buffer.getInt(start + ITEM_CLAIMED_BY)));
+            foundItem.setClaimState(decode(CLAIM_STATUSES, buffer.get(start + ITEM_CLAIM)));
+        }
+        item.setItemStatus(decode(ITEM_STATUSES, buffer.get(start + ITEM_STATUS)));
+        item.setVerificationState(decode(VERIFICATION_STATUSES, buffer.get(start + ITEM_VERIFICATION)));
+        long createdAt = buffer.getLong(start + ITEM_CREATED_AT);
+        long verificationDate = buffer.getLong(start + ITEM_VERIFICATION_DATE);
+        item.setCreatedAtMillis(createdAt);
+        item.setVerificationDateMillis(verificationDate);
+        item.setCategory(reader.word(buffer.getInt(start + ITEM_CATEGORY)));
+        item.setLocation(reader.word(buffer.getInt(start + ITEM_LOCATION)));
+        item.setDate(reader.word(buffer.getInt(start + ITEM_DATE)));
+        item.setReportedBy(reader.word(buffer.getInt(start + ITEM_REPORTED_BY)));
+        item.setVerifiedBy(reader.word(buffer.getInt(start + ITEM_VERIFIED_BY)));
+
+        buffer.position(start + ITEM_FIXED_SIZE);
+        item.setId(reader.string());
+        item.setItemName(reader.string());
+        if (!withText) {
+            reader.skipString();
+            reader.skipString();
+        } else {
+            item.setDescription(reader.string());
+            String contactInfo = reader.string();
+            if (item instanceof LostItem) {
+                ((LostItem) item).setContactInfo(contactInfo);
+            } else if (item instanceof FoundItem) {
+                ((FoundItem) item).setContactInfo(contactInfo);
+            }
+        }
+        String claimedFoundItemId = reader.string();
+        if (item instanceof LostItem) {
+            ((LostItem) item).setClaimedFoundItemId(claimedFoundItemId);
+        }
+        if (buffer.get(start + ITEM_STATUS) == UNKNOWN) {
+            item.setStatus(reader.string());
+        }
+        if (buffer.get(start + ITEM_VERIFICATION) == UNKNOWN) {
+            item.setVerificationStatus(reader.string());
+        }
+        if (buffer.get(start + ITEM_CLAIM) == UNKNOWN) {
+            String claimStatus = reader.string();
+            if (item instanceof LostItem) {
+                ((LostItem) item).setClaimStatus(claimStatus);
+            } else if (item instanceof FoundItem) {
+                ((FoundItem) item).setClaimStatus(claimStatus);
+            }
+        }
+        if (createdAt == UNREADABLE_TIME) {
+            item.setCreatedAt(reader.string());
+        }
+        if (verificationDate == UNREADABLE_TIME) {
+            item.setVerificationDate(reader.string());
+        }
+    }
+
+    static <E extends Enum<E>> E decode(E[] values, byte code) {
+        return code > 0 && code <= values.length ? values[code - 1] : null;
+    }
+
+    static ItemStatus itemStatus(byte code) { return decode(ITEM_STATUSES, code); }
+    static VerificationStatus verificationStatus(byte code) { return decode(VERIFICATION_STATUSES, code); }
+    static ClaimStatus claimStatus(byte code) { return decode(CLAIM_STATUSES, code); }
+
+    // Inline string at an absolute position, leaving the buffer position alone
+    static String stringAt(ByteBuffer buffer, int position) {
+        int length = buffer.getInt(position);
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(position + 4, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // Position just past the inline string at the given position
+    static int skipString(ByteBuffer buffer, int position) {
+        return position + 4 + Math.max(0, buffer.getInt(position));
+    }
+
+    // Read onto the heap rather than mapped, so the file can be replaced by the next save
+    // straight away (a mapping keeps it locked on Windows until collected)
+    private static ByteBuffer read(Path path) throws IOException {
+        return ByteBuffer.wrap(Files.readAllBytes(path));
+    }
+
+    // Parsed header and dictionary; the buffer is left positioned at the first record
+    static final class Reader {
+        final ByteBuffer buffer;
+        final String[] dictionary;
+        final short version;
+        final int recordCount;
+        final int recordsStart;
+        private final CRC32C crc = new CRC32C();
+        private byte[] scratch = new byte[256];
+
+        Reader(ByteBuffer buffer, byte expectedKind) throws IOException {
+            this.buffer = buffer;
+            if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC) {
+                throw new IOException("Not a snapshot file");
+            }
+            version = buffer.getShort();
+            byte kind = buffer.get();
+            if (version != 1 && version != VERSION) {
+                throw new IOException("Unsupported snapshot version " + version);
+            }
+            if (expectedKind != 0 && kind != expectedKind) {
+                throw new IOException("Snapshot holds the wrong kind of records");
+            }
+            try {
+                int entriesStart = buffer.position();
+                dictionary = new String[buffer.getInt()];
+                for (int i = 0; i < dictionary.length; i++) {
+                    dictionary[i] = string();
+                }
+                if (version > 1 && checksum(entriesStart, buffer.position() - entriesStart) != buffer.getInt()) {
+                    throw new IOException("Snapshot dictionary is damaged");
+                }
+                recordCount = buffer.getInt();
+            } catch (RuntimeException e) {
+                throw new IOException("Snapshot dictionary is damaged", e);
+            }
+            recordsStart = buffer.position();
+        }
+
+        // Over a recovery window, with the dictionary read separately
+        Reader(ByteBuffer buffer, String[] dictionary) {
+            this.buffer = buffer;
+            this.dictionary = dictionary;
+            this.version = VERSION;
+            this.recordCount = -1;
+            this.recordsStart = 0;
+        }
+
+        // Start of the payload of the record framed at position. Version 2 frames are checked
+        // for their marker, a length within the buffer and the payload checksum.
+        int payloadAt(int position) throws IOException {
+            if (version == 1) {
+                return position + 4;
+            }
+            if (position + RECORD_FRAME > buffer.limit() || buffer.getInt(position) != SYNC) {
+                throw new IOException("Snapshot record marker missing at byte " + position);
+            }
+            int length = buffer.getInt(position + 4);
+            if (length < 0 || length > buffer.limit() - position - RECORD_FRAME) {
+                throw new IOException("Snapshot record length damaged at byte " + position);
+            }
+            if (checksum(position + RECORD_FRAME, length) != buffer.getInt(position + 8)) {
+                throw new IOException("Snapshot record checksum mismatch at byte " + position);
+            }
+            return position + RECORD_FRAME;
+        }
+
+        int payloadLength(int payloadStart) {
+            return buffer.getInt(payloadStart - (version == 1 ? 4 : 8));
+        }
+
+        // CRC32C of buffer[start, start + length); leaves the position and limit as they were
+        int checksum(int start, int length) {
+            int position = buffer.position();
+            int limit = buffer.limit();
+            buffer.limit(start + length).position(start);
+            crc.reset();
+            crc.update(buffer);
+            buffer.limit(limit).position(position);
+            return (int) crc.getValue();
+        }
+
+        String word(int code) {
+            return code < 0 ? null : dictionary[code];
+        }
+
+        void skipString() {
+            buffer.position(BinarySnapshot.skipString(buffer, buffer.position()));
+        }
+
+        // Inline string at the current position
+        String string() {
+            int length = buffer.getInt();
+            if (length < 0) {
+                return null;
+            }
+            if (buffer.hasArray()) {
+                int position = buffer.position();
+                buffer.position(position + length);
+                return new String(buffer.array(), buffer.arrayOffset() + position, length, StandardCharsets.UTF_8);
+            }
+            if (scratch.length < length) {
+                scratch = new byte[Math.max(length, scratch.length * 2)];
+            }
+            buffer.get(scratch, 0, length);
+            return new String(scratch, 0, length, StandardCharsets.UTF_8);
+        }
+    }
+
+    private static final class Dictionary {
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        void add(String value) {
+            if (value != null && !codes.containsKey(value)) {
+                codes.put(value, values.size());
+                values.add(value);
+            }
+        }
+
+        int code(String value) {
+            return value == null ? -1 : codes.get(value);
+        }
+    }
+
+    // Growable buffer for one record, so its length and checksum can be written before it
+    private static final class RecordBuffer {
+        private ByteBuffer buffer = ByteBuffer.allocate(512);
+
+        void reset() {
+            buffer.clear();
+        }
+
+        void putByte(byte value) {
+            ensure(1);
+            buffer.put(value);
+        }
+
+        void putInt(int value) {
+            ensure(4);
+            buffer.putInt(value);
+        }
+
+        void putLong(long value) {
+            ensure(8);
+            buffer.putLong(value);
+        }
+
+        void putString(String value) {
+            if (value == null) {
+                putInt(-1);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            putInt(bytes.length);
+            ensure(bytes.length);
+            buffer.put(bytes);
+        }
+
+        void writeTo(DataOutputStream out) throws IOException {
+            writeRecord(out, buffer.array(), buffer.position());
+        }
+
+        private void ensure(int bytes) {
+            if (buffer.remaining() < bytes) {
+                ByteBuffer larger = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + bytes));
+                buffer.flip();
+                larger.put(buffer);
+                buffer = larger;
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.unmadgamer.lostandfoundfinal.service;
+
+// A message matching a chat search: which conversation and where in it
+public class ChatSearchHit {
+    private final String conversationId;
+    private final long sequence;
+    private final int tokenPosition;
+
+    public ChatSearchHit(String conversationId, long sequence, int tokenPosition) {
+        this.conversationId = conversationId;
+        this.sequence = sequence;
+        this.tokenPosition = tokenPosition;
+    }
+
+    public String getConversationId() { return conversationId; }
+
+    // Message sequence number within the conversation
+    public long getSequence() { return sequence; }
+
+    // Index of the first matching word within the message
+    public int getTokenPosition() { return tokenPosition; }
+
+    @Override
+    public String toString() {
+        return String.format("ChatSearchHit{conversation='%s', seq=%d, pos=%d}", conversationId, sequence, tokenPosition);
+    }
+}
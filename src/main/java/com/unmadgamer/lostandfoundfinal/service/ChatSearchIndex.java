@@ -0,0 +1,219 @@
+package com.unmadgamer.lostandfoundfinal.service;
+
+import com.unmadgamer.lostandfoundfinal.model.Message;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Inverted index over message content with word positions, for phrase and prefix search
+class ChatSearchIndex {
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<String> conversationIds = new ArrayList<>(); // ordinal -> conversation id
+    private final Map<String, Integer> ordinals = new HashMap<>();
+    private final Map<String, Long> indexedThrough = new HashMap<>(); // highest sequence indexed per conversation
+    private final TreeMap<String, PostingList> terms = new TreeMap<>();
+    private long indexedMessages;
+
+    // Parallel arrays of (conversation ordinal, message sequence, word position)
+    private static final class PostingList {
+        private int[] conversations = new int[4];
+        private int[] sequences = new int[4];
+        private int[] positions = new int[4];
+        private int size;
+
+        private void add(int conversation, int sequence, int position) {
+            if (size == conversations.length) {
+                int capacity = size * 2;
+                conversations = Arrays.copyOf(conversations, capacity);
+                sequences = Arrays.copyOf(sequences, capacity);
+                positions = Arrays.copyOf(positions, capacity);
+            }
+            conversations[size] = conversation;
+            sequences[size] = sequence;
+            positions[size] = position;
+            size++;
+        }
+    }
+
+    long getIndexedThrough(String conversationId) {
+        lock.readLock().lock();
+        try {
+            return indexedThrough.getOrDefault(conversationId, 0L);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Indexes the message only if it directly follows what is already indexed, so live
+    // appends and background catch-up never leave gaps; returns false if a gap was found
+    boolean addIfNext(Message message) {
+        lock.writeLock().lock();
+        try {
+            long expected = indexedThrough.getOrDefault(message.getConversationId(), 0L) + 1;
+            if (message.getSequence() < expected) {
+                return true; // Already indexed
+            }
+            if (message.getSequence() > expected) {
+                return false;
+            }
+
+            int ordinal = ordinals.computeIfAbsent(message.getConversationId(), id -> {
+                conversationIds.add(id);
+                return conversationIds.size() - 1;
+            });
+            List<String> tokens = TextTokenizer.tokenize(message.getContent());
+            for (int position = 0; position < tokens.size(); position++) {
+                terms.computeIfAbsent(tokens.get(position), t -> new PostingList())
+                        .add(ordinal, (int) message.getSequence(), position);
+            }
+            indexedThrough.put(message.getConversationId(), message.getSequence());
+            indexedMessages++;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Quoted queries match the exact phrase; otherwise every word must occur and the
+    // last word is treated as a prefix while the user is still typing it
+    List<ChatSearchHit> search(Collection<String> allowedConversationIds, String query, int limit) {
+        if (query == null || limit <= 0) {
+            return Collections.emptyList();
+        }
+        String trimmed = query.trim();
+        boolean phrase = trimmed.length() > 1 && trimmed.startsWith("\"") && trimmed.endsWith("\"");
+        boolean prefixLast = !phrase && !query.isEmpty() && Character.isLetterOrDigit(query.charAt(query.length() - 1));
+        List<String> tokens = TextTokenizer.tokenize(trimmed);
+        if (tokens.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        lock.readLock().lock();
+        try {
+            BitSet allowed = new BitSet(conversationIds.size());
+            for (String conversationId : allowedConversationIds) {
+                Integer ordinal = ordinals.get(conversationId);
+                if (ordinal != null) {
+                    allowed.set(ordinal);
+                }
+            }
+            if (allowed.isEmpty()) {
+                return Collections.emptyList();
+            }
+
+            // Message key -> positions of each query word within it
+            List<Map<Long, List<Integer>>> matches = new ArrayList<>(tokens.size());
+            for (int i = 0; i < tokens.size(); i++) {
+                boolean prefix = prefixLast && i == tokens.size() - 1;
+                Map<Long, List<Integer>> occurrences = collect(tokens.get(i), prefix, allowed);
+                if (occurrences.isEmpty()) {
+                    return Collections.emptyList();
+                }
+                matches.add(occurrences);
+            }
+
+            // Drive the intersection from the rarest word
+            Map<Long, List<Integer>> rarest = matches.get(0);
+            for (Map<Long, List<Integer>> occurrences : matches) {
+                if (occurrences.size() < rarest.size()) {
+                    rarest = occurrences;
+                }
+            }
+
+            List<ChatSearchHit> hits = new ArrayList<>();
+            for (Long key : rarest.keySet()) {
+                int position = phrase ? phrasePosition(key, matches) : allContain(key, matches);
+                if (position >= 0) {
+                    int ordinal = (int) (key >>> 32);
+                    hits.add(new ChatSearchHit(conversationIds.get(ordinal), (int) (long) key, position));
+                }
+            }
+
+            // Newest messages first within each conversation
+            hits.sort((a, b) -> {
+                int byConversation = a.getConversationId().compareTo(b.getConversationId());
+                return byConversation != 0 ? byConversation : Long.compare(b.getSequence(), a.getSequence());
+            });
+            return hits.size() > limit ? new ArrayList<>(hits.subList(0, limit)) : hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    long getIndexedMessageCount() {
+        return indexedMessages;
+    }
+
+    int getTermCount() {
+        lock.readLock().lock();
+        try {
+            return terms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<Long, List<Integer>> collect(String token, boolean prefix, BitSet allowed) {
+        Map<Long, List<Integer>> occurrences = new HashMap<>();
+        Collection<PostingList> lists;
+        if (prefix) {
+            SortedMap<String, PostingList> range = terms.subMap(token, token + Character.MAX_VALUE);
+            lists = range.values();
+        } else {
+            PostingList list = terms.get(token);
+            lists = list != null ? Collections.singletonList(list) : Collections.emptyList();
+        }
+
+        for (PostingList list : lists) {
+            for (int i = 0; i < list.size; i++) {
+                if (!allowed.get(list.conversations[i])) {
+                    continue;
+                }
+                long key = ((long) list.conversations[i] << 32) | (list.sequences[i] & 0xffffffffL);
+                occurrences.computeIfAbsent(key, k -> new ArrayList<>(2)).add(list.positions[i]);
+            }
+        }
+        return occurrences;
+    }
+
+    private static int allContain(Long key, List<Map<Long, List<Integer>>> matches) {
+        int first = Integer.MAX_VALUE;
+        for (Map<Long, List<Integer>> occurrences : matches) {
+            List<Integer> positions = occurrences.get(key);
+            if (positions == null) {
+                return -1;
+            }
+            first = Math.min(first, Collections.min(positions));
+        }
+        return first;
+    }
+
+    // Start position where query word k sits at start + k for every k, or -1
+    private static int phrasePosition(Long key, List<Map<Long, List<Integer>>> matches) {
+        List<Integer> starts = matches.get(0).get(key);
+        if (starts == null) {
+            return -1;
+        }
+        int best = -1;
+        for (int start : starts) {
+            boolean matched = true;
+            for (int k = 1; k < matches.size() && matched; k++) {
+                List<Integer> positions = matches.get(k).get(key);
+                matched = positions != null && positions.contains(start + k);
+            }
+            if (matched && (best < 0 || start < best)) {
+                best = start;
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,187 @@
+package com.unmadgamer.lostandfoundfinal.service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+// Single writer thread that applies state commands in submission order and batches persistence
+public class CommandExecutor {
+    private static final int MAX_BATCH_SIZE = 256;
+
+    private static CommandExecutor instance;
+    private final BlockingQueue<PendingCommand<?>> queue = new LinkedBlockingQueue<>();
+    private final BatchedWriter batchedWriter;
+    private final Thread writerThread;
+    private final List<PendingCommand<?>> joinedCommands = new ArrayList<>(); // Writer thread only
+    private volatile boolean running = true;
+    private volatile long processedCount;
+    private volatile long batchCount;
+
+    private static final class PendingCommand<R> {
+        private final StateCommand<R> command;
+        private final CompletableFuture<R> future = new CompletableFuture<>();
+        private R result;
+        private Throwable failure;
+        private EnumSet<BatchedWriter.Target> targets;   // Files the command's changes live in
+
+        private PendingCommand(StateCommand<R> command) {
+            this.command = command;
+        }
+
+        private void apply() {
+            try {
+                result = command.apply();
+            } catch (Throwable t) {
+                failure = t;
+            }
+        }
+
+        // A command whose changes did not reach disk fails even though it was applied
+        private void complete(EnumSet<BatchedWriter.Target> failedTargets) {
+            EnumSet<BatchedWriter.Target> unsaved = EnumSet.copyOf(targets);
+            unsaved.retainAll(failedTargets);
+            if (failure != null) {
+                future.completeExceptionally(failure);
+            } else if (!unsaved.isEmpty()) {
+                future.completeExceptionally(new IOException(command.describe() + " was applied but " + unsaved + " could not be saved"));
+            } else {
+                future.complete(result);
+            }
+        }
+    }
+
+    CommandExecutor(BatchedWriter batchedWriter) {
+        this.batchedWriter = batchedWriter;
+        this.writerThread = new Thread(this::runLoop, "state-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    public static synchronized CommandExecutor getInstance() {
+        if (instance == null) {
+            instance = new CommandExecutor(BatchedWriter.getInstance());
+            Runtime.getRuntime().addShutdownHook(new Thread(instance::shutdown, "state-writer-shutdown"));
+            System.out.println("✅ CommandExecutor started");
+        }
+        return instance;
+    }
+
+    // Queue a command from any thread; the future completes once its batch is persisted
+    public <R> CompletableFuture<R> submit(StateCommand<R> command) {
+        PendingCommand<R> pending = new PendingCommand<>(command);
+
+        // A command issued by another command joins the running batch rather than waiting on ourselves
+        if (isWriterThread()) {
+            apply(pending);
+            joinedCommands.add(pending);
+            return pending.future;
+        }
+
+        if (!running) {
+            pending.future.completeExceptionally(new IllegalStateException("CommandExecutor is shut down"));
+            return pending.future;
+        }
+
+        queue.add(pending);
+        return pending.future;
+    }
+
+    public boolean isWriterThread() {
+        return Thread.currentThread() == writerThread;
+    }
+
+    private void runLoop() {
+        List<PendingCommand<?>> batch = new ArrayList<>(MAX_BATCH_SIZE);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingCommand<?> first = queue.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, MAX_BATCH_SIZE - 1);
+                processInBatches(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    // A reload replaces in-memory state with what is on disk, so it gets a batch of its own:
+    // changes queued before it are saved first and none wait unsaved while it runs
+    private void processInBatches(List<PendingCommand<?>> commands) {
+        int start = 0;
+        for (int i = 0; i < commands.size(); i++) {
+            if (commands.get(i).command.reloadsState()) {
+                if (i > start) {
+                    processBatch(commands.subList(start, i));
+                }
+                processBatch(commands.subList(i, i + 1));
+                start = i + 1;
+            }
+        }
+        if (start < commands.size()) {
+            processBatch(commands.subList(start, commands.size()));
+        }
+    }
+
+    private void processBatch(List<PendingCommand<?>> batch) {
+        batchedWriter.beginBatch();
+        for (PendingCommand<?> pending : batch) {
+            apply(pending);
+        }
+        EnumSet<BatchedWriter.Target> failedTargets = batchedWriter.flushBatch();
+
+        for (PendingCommand<?> pending : batch) {
+            pending.complete(failedTargets);
+        }
+        for (PendingCommand<?> pending : joinedCommands) {
+            pending.complete(failedTargets);
+        }
+        processedCount += batch.size() + joinedCommands.size();
+        joinedCommands.clear();
+        batchCount++;
+    }
+
+    private void apply(PendingCommand<?> pending) {
+        batchedWriter.beginCommand();
+        pending.apply();
+        pending.targets = batchedWriter.endCommand();
+        if (pending.failure != null) {
+            System.err.println("❌ Command failed: " + pending.command.describe() + " - " + pending.failure.getMessage());
+        }
+    }
+
+    public void shutdown() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            writerThread.join(5000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        System.out.println("🛑 CommandExecutor stopped after " + processedCount + " commands in " + batchCount + " batches");
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public long getProcessedCount() {
+        return processedCount;
+    }
+
+    public long getBatchCount() {
+        return batchCount;
+    }
+}
@@ -0,0 +1,79 @@
+package com.unmadgamer.lostandfoundfinal.service;
+
+import com.unmadgamer.lostandfoundfinal.model.Conversation;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+// O(1) conversation lookup by id, by unordered user pair and by user pair + item
+class ConversationIndex {
+    private static final char KEY_SEPARATOR = '\n';
+
+    private final Map<String, Conversation> byId = new ConcurrentHashMap<>();
+    private final Map<String, Conversation> byPair = new ConcurrentHashMap<>();
+    private final Map<String, Conversation> byPairAndItem = new ConcurrentHashMap<>();
+
+    void rebuild(Collection<Conversation> conversations) {
+        byId.clear();
+        byPair.clear();
+        byPairAndItem.clear();
+        for (Conversation conversation : conversations) {
+            add(conversation);
+        }
+    }
+
+    // The first conversation added for a pair stays the pair's default conversation
+    void add(Conversation conversation) {
+        byId.put(conversation.getId(), conversation);
+
+        String pairKey = pairKey(conversation.getUser1(), conversation.getUser2());
+        byPair.putIfAbsent(pairKey, conversation);
+        if (conversation.getItemId() != null) {
+            byPairAndItem.putIfAbsent(pairKey + KEY_SEPARATOR + conversation.getItemId(), conversation);
+        }
+    }
+
+    // Only drops the keys that still point at this conversation
+    void remove(Conversation conversation) {
+        byId.remove(conversation.getId(), conversation);
+
+        String pairKey = pairKey(conversation.getUser1(), conversation.getUser2());
+        byPair.remove(pairKey, conversation);
+        if (conversation.getItemId() != null) {
+            byPairAndItem.remove(pairKey + KEY_SEPARATOR + conversation.getItemId(), conversation);
+        }
+    }
+
+    Optional<Conversation> findById(String conversationId) {
+        if (conversationId == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(byId.get(conversationId));
+    }
+
+    Optional<Conversation> findByPair(String userA, String userB) {
+        return Optional.ofNullable(byPair.get(pairKey(userA, userB)));
+    }
+
+    Optional<Conversation> findByPairAndItem(String userA, String userB, String itemId) {
+        if (itemId == null) {
+            return findByPair(userA, userB);
+        }
+        return Optional.ofNullable(byPairAndItem.get(pairKey(userA, userB) + KEY_SEPARATOR + itemId));
+    }
+
+    int size() {
+        return byId.size();
+    }
+
+    // Order the two names so (a, b) and (b, a) share a key
+    private static String pairKey(String userA, String userB) {
+        String first = userA != null ? userA : "";
+        String second = userB != null ? userB : "";
+        return first.compareTo(second) <= 0
+                ? first + KEY_SEPARATOR + second
+                : second + KEY_SEPARATOR + first;
+    }
+}
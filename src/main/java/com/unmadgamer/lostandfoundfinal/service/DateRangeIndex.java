@@ -0,0 +1,225 @@
+package com.unmadgamer.lostandfoundfinal.service;
+
+import com.unmadgamer.lostandfoundfinal.model.FoundItem;
+import com.unmadgamer.lostandfoundfinal.model.LostFoundItem;
+import com.unmadgamer.lostandfoundfinal.model.LostItem;
+import com.unmadgamer.lostandfoundfinal.model.Timestamps;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Items bucketed by epoch day for each date field. Dates are parsed once when an item is
+// indexed, so a range query is a sub-map walk rather than a scan that parses every item.
+// Days hold positions in ItemService's item list, which only ever grows, so building the
+// index does not need to keep (or, for a mapped store, decode) the items themselves.
+class DateRangeIndex {
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<ItemDateField, NavigableMap<Long, Day>> byDay = new EnumMap<>(ItemDateField.class);
+    private List<? extends LostFoundItem> items = List.of();
+
+    // Positions in report order; CREATED_AT days are kept in timestamp order instead
+    private static final class Day {
+        private int[] positions = new int[2];
+        private long[] createdAt; // CREATED_AT only
+        private int size;
+
+        void add(int position) {
+            grow();
+            positions[size++] = position;
+        }
+
+        void addInOrder(int position, long created) {
+            grow();
+            if (createdAt == null) {
+                createdAt = new long[positions.length];
+            } else if (createdAt.length < positions.length) {
+                createdAt = Arrays.copyOf(createdAt, positions.length);
+            }
+            int at = size;
+            while (at > 0 && createdAt[at - 1] > created) {
+                at--;
+            }
+            System.arraycopy(positions, at, positions, at + 1, size - at);
+            System.arraycopy(createdAt, at, createdAt, at + 1, size - at);
+            positions[at] = position;
+            createdAt[at] = created;
+            size++;
+        }
+
+        private void grow() {
+            if (size == positions.length) {
+                positions = Arrays.copyOf(positions, size * 2);
+            }
+        }
+    }
+
+    DateRangeIndex() {
+        for (ItemDateField field : ItemDateField.values()) {
+            byDay.put(field, new TreeMap<>());
+        }
+    }
+
+    // scan yields the same items as the list, in list order; it may hand out stand-ins
+    // (see MappedItemStore.ItemList.views()) since nothing from it is kept
+    void rebuild(List<? extends LostFoundItem> items, Collection<? extends LostFoundItem> scan) {
+        lock.writeLock().lock();
+        try {
+            this.items = items;
+            for (NavigableMap<Long, Day> days : byDay.values()) {
+                days.clear();
+            }
+            int position = 0;
+            for (LostFoundItem item : scan) {
+                addLocked(position++, item);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Called after the item was appended to the list at this position
+    void add(int position, LostFoundItem item) {
+        lock.writeLock().lock();
+        try {
+            addLocked(position, item);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Items whose field falls within [from, to]; a null bound leaves that side open.
+    // Oldest first, in report order within a day.
+    List<LostFoundItem> range(ItemDateField field, LocalDate from, LocalDate to) {
+        lock.readLock().lock();
+        try {
+            List<LostFoundItem> result = new ArrayList<>();
+            for (Day day : days(field, from, to).values()) {
+                for (int i = 0; i < day.size; i++) {
+                    result.add(items.get(day.positions[i]));
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    long count(ItemDateField field, LocalDate from, LocalDate to) {
+        lock.readLock().lock();
+        try {
+            long count = 0;
+            for (Day day : days(field, from, to).values()) {
+                count += day.size;
+            }
+            return count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Item count per day within the range, for charts
+    Map<LocalDate, Integer> countByDay(ItemDateField field, LocalDate from, LocalDate to) {
+        lock.readLock().lock();
+        try {
+            Map<LocalDate, Integer> counts = new TreeMap<>();
+            for (Map.Entry<Long, Day> day : days(field, from, to).entrySet()) {
+                counts.put(LocalDate.ofEpochDay(day.getKey()), day.getValue().size);
+            }
+            return counts;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Latest items by the field, newest day first and latest within a day
+    List<LostFoundItem> newest(ItemDateField field, int limit) {
+        lock.readLock().lock();
+        try {
+            List<LostFoundItem> result = new ArrayList<>(Math.max(0, limit));
+            for (Day day : byDay.get(field).descendingMap().values()) {
+                for (int i = day.size - 1; i >= 0 && result.size() < limit; i--) {
+                    result.add(items.get(day.positions[i]));
+                }
+                if (result.size() >= limit) {
+                    break;
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private NavigableMap<Long, Day> days(ItemDateField field, LocalDate from, LocalDate to) {
+        NavigableMap<Long, Day> days = byDay.get(field);
+        if (from != null && to != null) {
+            return from.isAfter(to) ? new TreeMap<>() : days.subMap(from.toEpochDay(), true, to.toEpochDay(), true);
+        }
+        if (from != null) {
+            return days.tailMap(from.toEpochDay(), true);
+        }
+        if (to != null) {
+            return days.headMap(to.toEpochDay(), true);
+        }
+        return days;
+    }
+
+    private void addLocked(int position, LostFoundItem item) {
+        if (item == null) {
+            return;
+        }
+        for (ItemDateField field : ItemDateField.values()) {
+            Long epochDay = field == ItemDateField.CREATED_AT
+                    ? createdDay(item.getCreatedAtMillis())
+                    : epochDay(valueOf(item, field));
+            if (epochDay == null) {
+                continue;
+            }
+            Day day = byDay.get(field).computeIfAbsent(epochDay, d -> new Day());
+            if (field == ItemDateField.CREATED_AT) {
+                // Creation times carry the time of day, so keep each day in timestamp order
+                day.addInOrder(position, item.getCreatedAtMillis());
+            } else {
+                day.add(position);
+            }
+        }
+    }
+
+    private static String valueOf(LostFoundItem item, ItemDateField field) {
+        switch (field) {
+            case DATE:
+                return item.getDate();
+            case LOST_DATE:
+                return item instanceof LostItem ? ((LostItem) item).getLostDate() : null;
+            case FOUND_DATE:
+                return item instanceof FoundItem ? ((FoundItem) item).getFoundDate() : null;
+            default:
+                return null;
+        }
+    }
+
+    private static Long createdDay(long createdAt) {
+        return createdAt == 0 ? null : Timestamps.toDate(createdAt).toEpochDay();
+    }
+
+    // Form dates are stored as "yyyy-MM-dd"
+    private static Long epochDay(String value) {
+        if (value == null || value.length() < 10) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(value.substring(0, 10)).toEpochDay();
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.unmadgamer.lostandfoundfinal.service;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+// Number of items per category, status, type and location within a result set
+public class FacetCounts {
+    public enum Facet {
+        CATEGORY,
+        STATUS,
+        TYPE, // "lost" or "found"
+        LOCATION
+    }
+
+    private final Map<Facet, Map<String, Integer>> counts;
+    private final int total;
+
+    FacetCounts(Map<Facet, Map<String, Integer>> counts, int total) {
+        this.counts = new EnumMap<>(counts);
+        this.total = total;
+    }
+
+    // Value -> count, most common first; values with no items in the result are omitted
+    public Map<String, Integer> get(Facet facet) {
+        return Collections.unmodifiableMap(counts.getOrDefault(facet, Collections.emptyMap()));
+    }
+
+    public int count(Facet facet, String value) {
+        return get(facet).getOrDefault(value, 0);
+    }
+
+    public int getTotal() { return total; }
+
+    @Override
+    public String toString() {
+        return String.format("FacetCounts{total=%d, %s}", total, counts);
+    }
+}
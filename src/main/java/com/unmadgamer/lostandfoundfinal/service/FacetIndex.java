@@ -0,0 +1,169 @@
+package com.unmadgamer.lostandfoundfinal.service;
+
+import com.unmadgamer.lostandfoundfinal.model.LostFoundItem;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// One column of value codes per facet, indexed by position in the item list. Counting a result set is a
+// pass over the result, bumping one counter per facet for each item, so the cost follows the
+// result size and memory stays one int per item per facet however many distinct values a
+// free-text facet such as location collects.
+class FacetIndex {
+    private static final int NO_VALUE = -1;
+
+    // Distinct values of one facet, each with a small code, and the code of every item
+    private static final class Column {
+        final Map<String, Integer> codes = new HashMap<>();
+        final List<String> values = new ArrayList<>();   // code -> value
+        int[] itemCodes = new int[0];                    // position -> code
+
+        void clear() {
+            codes.clear();
+            values.clear();
+            itemCodes = new int[0];
+        }
+
+        void set(int position, String value) {
+            if (position >= itemCodes.length) {
+                int oldLength = itemCodes.length;
+                itemCodes = Arrays.copyOf(itemCodes, Math.max(16, Math.max(position + 1, oldLength * 2)));
+                Arrays.fill(itemCodes, oldLength, itemCodes.length, NO_VALUE);
+            }
+            if (value == null) {
+                itemCodes[position] = NO_VALUE;
+                return;
+            }
+            Integer code = codes.get(value);
+            if (code == null) {
+                code = values.size();
+                codes.put(value, code);
+                values.add(value);
+            }
+            itemCodes[position] = code;
+        }
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<FacetCounts.Facet, Column> columns = new EnumMap<>(FacetCounts.Facet.class);
+    private ItemPositions positions = new ItemPositions(List.of());
+    private int size;
+
+    FacetIndex() {
+        for (FacetCounts.Facet facet : FacetCounts.Facet.values()) {
+            columns.put(facet, new Column());
+        }
+    }
+
+    // scan yields the list's items in order; it may hand out stand-ins that are not kept
+    void rebuild(ItemPositions positions, Collection<? extends LostFoundItem> scan) {
+        lock.writeLock().lock();
+        try {
+            this.positions = positions;
+            size = 0;
+            for (Column column : columns.values()) {
+                column.clear();
+            }
+            for (LostFoundItem item : scan) {
+                updateLocked(size, item);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Records the current values of an item already in the list, new or changed
+    void update(LostFoundItem item) {
+        lock.writeLock().lock();
+        try {
+            int position = item != null ? positions.positionOf(item.getId()) : -1;
+            if (position >= 0) {
+                updateLocked(position, item);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    FacetCounts count(Collection<? extends LostFoundItem> result) {
+        lock.readLock().lock();
+        try {
+            FacetCounts.Facet[] facets = FacetCounts.Facet.values();
+            int[][] tallies = new int[facets.length][];
+            for (FacetCounts.Facet facet : facets) {
+                tallies[facet.ordinal()] = new int[columns.get(facet).values.size()];
+            }
+
+            // An item listed twice in the result is counted once
+            BitSet seen = new BitSet(size);
+            int total = 0;
+            for (LostFoundItem item : result) {
+                int position = item != null ? positions.positionOf(item.getId()) : -1;
+                if (position < 0 || position >= size || seen.get(position)) {
+                    continue;
+                }
+                seen.set(position);
+                total++;
+                for (FacetCounts.Facet facet : facets) {
+                    int code = columns.get(facet).itemCodes[position];
+                    if (code != NO_VALUE) {
+                        tallies[facet.ordinal()][code]++;
+                    }
+                }
+            }
+
+            Map<FacetCounts.Facet, Map<String, Integer>> counts = new EnumMap<>(FacetCounts.Facet.class);
+            for (FacetCounts.Facet facet : facets) {
+                List<String> names = columns.get(facet).values;
+                int[] tally = tallies[facet.ordinal()];
+                List<Map.Entry<String, Integer>> values = new ArrayList<>();
+                for (int code = 0; code < tally.length; code++) {
+                    if (tally[code] > 0) {
+                        values.add(Map.entry(names.get(code), tally[code]));
+                    }
+                }
+                values.sort(Map.Entry.<String, Integer>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.comparingByKey()));
+
+                Map<String, Integer> ordered = new LinkedHashMap<>();
+                for (Map.Entry<String, Integer> value : values) {
+                    ordered.put(value.getKey(), value.getValue());
+                }
+                counts.put(facet, ordered);
+            }
+            return new FacetCounts(counts, total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void updateLocked(int position, LostFoundItem item) {
+        for (FacetCounts.Facet facet : FacetCounts.Facet.values()) {
+            columns.get(facet).set(position, item != null ? valueOf(item, facet) : null);
+        }
+        size = Math.max(size, position + 1);
+    }
+
+    private static String valueOf(LostFoundItem item, FacetCounts.Facet facet) {
+        switch (facet) {
+            case CATEGORY:
+                return item.getCategory();
+            case STATUS:
+                return item.getStatus();
+            case TYPE:
+                return item.getType();
+            case LOCATION:
+                return item.getLocation();
+            default:
+                return null;
+        }
+    }
+}
@@ -0,0 +1,341 @@
+package com.unmadgamer.lostandfoundfinal.service;
+
+import com.unmadgamer.lostandfoundfinal.model.LostFoundItem;
+
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.NoSuchElementException;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Typo-tolerant lookup of items by the words in their names. Query words are matched
+// against the term dictionary, not the items: candidate terms sharing enough bigrams are
+// verified with a bounded edit distance, then their item postings are combined. Postings
+// hold positions in the item list; ids are looked up through ItemPositions when asked for.
+class FuzzyNameIndex {
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Replaced with the list on rebuild, so result sets handed out earlier stay valid
+    private ItemPositions positions = new ItemPositions(List.of());
+    private int itemCount;
+    private final TreeMap<String, Integer> termIds = new TreeMap<>();      // sorted for prefix lookups
+    private final List<String> terms = new ArrayList<>();                 // term id -> term
+    private final List<IntList> termItems = new ArrayList<>();            // term id -> item positions
+    private final Map<Integer, IntList> termsByBigram = new HashMap<>();  // packed bigram -> term ids
+    private final ThreadLocal<int[]> sharedCounts = ThreadLocal.withInitial(() -> new int[0]); // term id -> bigrams shared with the query
+
+    private static final class IntList {
+        private int[] values = new int[2];
+        private int size;
+
+        private void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        private int last() {
+            return size > 0 ? values[size - 1] : -1;
+        }
+    }
+
+    // scan yields the list's items in order; it may hand out stand-ins that are not kept
+    void rebuild(ItemPositions positions, Collection<? extends LostFoundItem> scan) {
+        lock.writeLock().lock();
+        try {
+            this.positions = positions;
+            itemCount = 0;
+            termIds.clear();
+            terms.clear();
+            termItems.clear();
+            termsByBigram.clear();
+            for (LostFoundItem item : scan) {
+                addLocked(itemCount, item);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Called after the item was appended to the list at this position
+    void add(int position, LostFoundItem item) {
+        lock.writeLock().lock();
+        try {
+            addLocked(position, item);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Ids of items whose name matches every query word within a small edit distance.
+    // The last word also matches as a prefix since the user may still be typing it.
+    // The result is a view over a bitset, so large matches cost nothing to return.
+    Set<String> search(String query) {
+        List<String> words = TextTokenizer.tokenize(query);
+        if (words.isEmpty()) {
+            return new HashSet<>();
+        }
+
+        lock.readLock().lock();
+        try {
+            BitSet matches = null;
+            for (int i = 0; i < words.size(); i++) {
+                BitSet wordMatches = matchWord(words.get(i), i == words.size() - 1);
+                if (matches == null) {
+                    matches = wordMatches;
+                } else {
+                    matches.and(wordMatches);
+                }
+                if (matches.isEmpty()) {
+                    break;
+                }
+            }
+
+            return new MatchSet(matches, positions);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int getTermCount() {
+        lock.readLock().lock();
+        try {
+            return terms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void addLocked(int position, LostFoundItem item) {
+        itemCount = Math.max(itemCount, position + 1);
+        if (item == null || item.getItemName() == null) {
+            return;
+        }
+        // A later item repeating an id is left out, so the id is reported once
+        if (positions.positionOf(item.getId()) != position) {
+            return;
+        }
+
+        // Adjacent words are also indexed joined, so "macbook" finds "Mac Book"
+        List<String> words = TextTokenizer.tokenize(item.getItemName());
+        for (int i = 0; i < words.size(); i++) {
+            addPosting(words.get(i), position);
+            if (i + 1 < words.size()) {
+                addPosting(words.get(i) + words.get(i + 1), position);
+            }
+        }
+    }
+
+    private void addPosting(String term, int position) {
+        Integer id = termIds.get(term);
+        if (id == null) {
+            id = terms.size();
+            termIds.put(term, id);
+            terms.add(term);
+            termItems.add(new IntList());
+            for (int gram : bigrams(term)) {
+                termsByBigram.computeIfAbsent(gram, g -> new IntList()).add(id);
+            }
+        }
+        IntList postings = termItems.get(id);
+        if (postings.last() != position) {
+            postings.add(position);
+        }
+    }
+
+    private BitSet matchWord(String word, boolean prefix) {
+        BitSet matches = new BitSet(itemCount);
+        int maxDistance = maxDistance(word.length());
+
+        if (maxDistance == 0) {
+            Integer id = termIds.get(word);
+            if (id != null) {
+                addItems(matches, id);
+            }
+        } else {
+            for (int id : candidateTerms(word, maxDistance)) {
+                if (editDistance(word, terms.get(id), maxDistance) <= maxDistance) {
+                    addItems(matches, id);
+                }
+            }
+        }
+
+        if (prefix) {
+            for (Integer id : termIds.subMap(word, word + Character.MAX_VALUE).values()) {
+                addItems(matches, id);
+            }
+        }
+        return matches;
+    }
+
+    // Each edit destroys at most three of the word's bigrams (a transposition touches
+    // three), so a term within maxDistance must share the rest. The per-thread counter is
+    // reset only where it was touched, so a query costs its postings, not the dictionary.
+    private List<Integer> candidateTerms(String word, int maxDistance) {
+        Set<Integer> grams = bigrams(word);
+        int required = grams.size() - 3 * maxDistance;
+
+        List<Integer> candidates = new ArrayList<>();
+        if (required <= 0) {
+            // Only words with repeated bigrams ("aaaa") get here; the filter cannot prune
+            // them, so fall back to the length bound
+            for (int id = 0; id < terms.size(); id++) {
+                if (Math.abs(terms.get(id).length() - word.length()) <= maxDistance) {
+                    candidates.add(id);
+                }
+            }
+            return candidates;
+        }
+
+        int[] shared = sharedCounts.get();
+        if (shared.length < terms.size()) {
+            shared = new int[Math.max(terms.size(), shared.length * 2)];
+            sharedCounts.set(shared);
+        }
+        IntList touched = new IntList();
+        try {
+            for (int gram : grams) {
+                IntList ids = termsByBigram.get(gram);
+                if (ids == null) {
+                    continue;
+                }
+                for (int i = 0; i < ids.size; i++) {
+                    if (shared[ids.values[i]]++ == 0) {
+                        touched.add(ids.values[i]);
+                    }
+                }
+            }
+            for (int i = 0; i < touched.size; i++) {
+                int id = touched.values[i];
+                if (shared[id] >= required && Math.abs(terms.get(id).length() - word.length()) <= maxDistance) {
+                    candidates.add(id);
+                }
+            }
+        } finally {
+            for (int i = 0; i < touched.size; i++) {
+                shared[touched.values[i]] = 0;
+            }
+        }
+        return candidates;
+    }
+
+    private void addItems(BitSet matches, int termId) {
+        IntList postings = termItems.get(termId);
+        for (int i = 0; i < postings.size; i++) {
+            matches.set(postings.values[i]);
+        }
+    }
+
+    // Short words must match exactly, otherwise one typo per few letters is tolerated
+    private static int maxDistance(int length) {
+        if (length <= 3) {
+            return 0;
+        }
+        return length <= 6 ? 1 : 2;
+    }
+
+    // Distinct bigrams of the word padded with boundary markers
+    private static Set<Integer> bigrams(String term) {
+        Set<Integer> grams = new HashSet<>();
+        char previous = '\u0002';
+        for (int i = 0; i < term.length(); i++) {
+            grams.add((previous << 16) | term.charAt(i));
+            previous = term.charAt(i);
+        }
+        grams.add((previous << 16) | '\u0003');
+        return grams;
+    }
+
+    // Optimal string alignment distance (insert, delete, substitute, swap neighbours),
+    // abandoned as soon as every cell in a row exceeds the bound
+    private static int editDistance(String a, String b, int bound) {
+        if (Math.abs(a.length() - b.length()) > bound) {
+            return bound + 1;
+        }
+
+        int[] beforePrevious = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    value = Math.min(value, beforePrevious[j - 2] + 1);
+                }
+                current[j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (rowMin > bound) {
+                return bound + 1;
+            }
+            int[] recycled = beforePrevious;
+            beforePrevious = previous;
+            previous = current;
+            current = recycled;
+        }
+        return previous[b.length()];
+    }
+
+    // Read-only set of item ids backed by matching positions. The list only grows, so a
+    // position keeps its item and the view needs no lock.
+    private static final class MatchSet extends AbstractSet<String> {
+        private final BitSet matches;
+        private final ItemPositions positions;
+        private final int size;
+
+        private MatchSet(BitSet matches, ItemPositions positions) {
+            this.matches = matches;
+            this.positions = positions;
+            this.size = matches.cardinality();
+        }
+
+        @Override
+        public boolean contains(Object id) {
+            int position = id instanceof String ? positions.positionOf((String) id) : -1;
+            return position >= 0 && matches.get(position);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Iterator<String> iterator() {
+            return new Iterator<String>() {
+                private int next = matches.nextSetBit(0);
+
+                @Override
+                public boolean hasNext() {
+                    return next >= 0;
+                }
+
+                @Override
+                public String next() {
+                    if (next < 0) {
+                        throw new NoSuchElementException();
+                    }
+                    String id = positions.idAt(next);
+                    next = matches.nextSetBit(next + 1);
+                    return id;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.unmadgamer.lostandfoundfinal.service;
+
+import com.unmadgamer.lostandfoundfinal.model.ItemStatus;
+import com.unmadgamer.lostandfoundfinal.model.LostFoundItem;
+import com.unmadgamer.lostandfoundfinal.model.LostItem;
+import com.unmadgamer.lostandfoundfinal.model.Timestamps;
+import com.unmadgamer.lostandfoundfinal.model.VerificationStatus;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// The fields the admin statistics group by, held column-wise next to the item list: one
+// array per field with enums and categories as small dictionary codes and dates as epoch
+// days. An aggregation is then a pass over a few primitive arrays rather than a walk over
+// every item object. Rows are positions in the item list. Kept current the same way as the
+// FacetIndex, from ItemService.publish.
+class ItemColumns {
+    static final int NO_DAY = Integer.MIN_VALUE;
+
+    private static final byte TYPE_LOST = 1;
+    private static final byte TYPE_FOUND = 2;
+    private static final int CATEGORY_LIMIT = Short.MAX_VALUE; // Further categories count as none
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private ItemPositions positions = new ItemPositions(List.of());
+    private final List<String> categories = new ArrayList<>();          // code -> category
+    private final Map<String, Short> categoryCodes = new HashMap<>();   // category -> code
+    private int size;
+
+    private byte[] type = new byte[16];           // TYPE_LOST or TYPE_FOUND
+    private byte[] status = new byte[16];         // ItemStatus ordinal + 1, 0 = none
+    private byte[] verification = new byte[16];   // VerificationStatus ordinal + 1, 0 = none
+    private short[] category = new short[16];     // Category code, -1 = none
+    private int[] createdDay = new int[16];       // Epoch days, NO_DAY when unknown
+    private int[] verifiedDay = new int[16];
+
+    private long dayStart = Long.MAX_VALUE;   // Bounds of the last day converted, under the write lock
+    private long dayEnd = Long.MIN_VALUE;
+    private int cachedDay;
+
+    // scan yields the list's items in order; it may hand out stand-ins that are not kept
+    void rebuild(ItemPositions positions, Collection<? extends LostFoundItem> scan) {
+        lock.writeLock().lock();
+        try {
+            this.positions = positions;
+            categories.clear();
+            categoryCodes.clear();
+            size = 0;
+            for (LostFoundItem item : scan) {
+                updateLocked(size, item);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Overwrites the row of an item already in the list, new or changed
+    void update(LostFoundItem item) {
+        lock.writeLock().lock();
+        try {
+            int row = item != null ? positions.positionOf(item.getId()) : -1;
+            if (row >= 0) {
+                updateLocked(row, item);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // One pass per column. Each loop reads a single array front to back, so the whole
+    // aggregation touches about 13 bytes per item.
+    ItemStats aggregate(LocalDate today, int recentDays) {
+        lock.readLock().lock();
+        try {
+            int[] byType = new int[3];
+            for (int i = 0; i < size; i++) {
+                byType[type[i]]++;
+            }
+
+            int[] byStatus = new int[ItemStatus.values().length + 1];
+            for (int i = 0; i < size; i++) {
+                byStatus[status[i]]++;
+            }
+
+            int[] byVerification = new int[VerificationStatus.values().length + 1];
+            for (int i = 0; i < size; i++) {
+                byVerification[verification[i]]++;
+            }
+
+            int[] byCategory = new int[categories.size()];
+            for (int i = 0; i < size; i++) {
+                int code = category[i];
+                if (code >= 0) {
+                    byCategory[code]++;
+                }
+            }
+
+            int todayDay = (int) today.toEpochDay();
+            int firstRecentDay = todayDay - Math.max(0, recentDays - 1);
+            int reportedRecently = 0;
+            for (int i = 0; i < size; i++) {
+                int day = createdDay[i];
+                if (day >= firstRecentDay && day <= todayDay) {
+                    reportedRecently++;
+                }
+            }
+
+            int verifiedToday = 0;
+            for (int i = 0; i < size; i++) {
+                if (verifiedDay[i] == todayDay) {
+                    verifiedToday++;
+                }
+            }
+
+            Map<String, Integer> categoryCounts = new HashMap<>();
+            for (int code = 0; code < byCategory.length; code++) {
+                if (byCategory[code] > 0) {
+                    categoryCounts.put(categories.get(code), byCategory[code]);
+                }
+            }
+            return new ItemStats(size, byType[TYPE_LOST], byType[TYPE_FOUND], byStatus, byVerification,
+                    categoryCounts, verifiedToday, reportedRecently, recentDays);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void updateLocked(int row, LostFoundItem item) {
+        while (size <= row) {
+            grow();
+            clearRow(size++);
+        }
+        if (item == null) {
+            return;
+        }
+        type[row] = item instanceof LostItem ? TYPE_LOST : TYPE_FOUND;
+        status[row] = item.getItemStatus() != null ? (byte) (item.getItemStatus().ordinal() + 1) : 0;
+        verification[row] = item.getVerificationState() != null
+                ? (byte) (item.getVerificationState().ordinal() + 1) : 0;
+        category[row] = categoryCode(item.getCategory());
+        createdDay[row] = epochDay(item.getCreatedAtMillis());
+        verifiedDay[row] = epochDay(item.getVerificationDateMillis());
+    }
+
+    private short categoryCode(String value) {
+        if (value == null) {
+            return -1;
+        }
+        Short code = categoryCodes.get(value);
+        if (code == null) {
+            if (categories.size() >= CATEGORY_LIMIT) {
+                return -1;
+            }
+            code = (short) categories.size();
+            categories.add(value);
+            categoryCodes.put(value, code);
+        }
+        return code;
+    }
+
+    // A row no item has been recorded in yet counts under no type, status or category
+    private void clearRow(int row) {
+        type[row] = 0;
+        status[row] = 0;
+        verification[row] = 0;
+        category[row] = -1;
+        createdDay[row] = NO_DAY;
+        verifiedDay[row] = NO_DAY;
+    }
+
+    private void grow() {
+        if (size < type.length) {
+            return;
+        }
+        int capacity = type.length * 2;
+        type = Arrays.copyOf(type, capacity);
+        status = Arrays.copyOf(status, capacity);
+        verification = Arrays.copyOf(verification, capacity);
+        category = Arrays.copyOf(category, capacity);
+        createdDay = Arrays.copyOf(createdDay, capacity);
+        verifiedDay = Arrays.copyOf(verifiedDay, capacity);
+    }
+
+    // Items are mostly created in order, so the last day's bounds usually answer without a
+    // time zone conversion
+    private int epochDay(long millis) {
+        if (millis == 0) {
+            return NO_DAY;
+        }
+        if (millis < dayStart || millis >= dayEnd) {
+            LocalDate date = Timestamps.toDate(millis);
+            ZoneId zone = ZoneId.systemDefault();
+            cachedDay = (int) date.toEpochDay();
+            dayStart = date.atStartOfDay(zone).toInstant().toEpochMilli();
+            dayEnd = date.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli();
+        }
+        return cachedDay;
+    }
+}
@@ -0,0 +1,9 @@
+package com.unmadgamer.lostandfoundfinal.service;
+
+// Item dates that can be queried by range through ItemService
+public enum ItemDateField {
+    DATE,       // Date entered on the report form
+    LOST_DATE,  // Lost items only
+    FOUND_DATE, // Found items only
+    CREATED_AT  // When the report was submitted
+}
@@ -0,0 +1,53 @@
+package com.unmadgamer.lostandfoundfinal.service;
+
+import com.unmadgamer.lostandfoundfinal.model.LostFoundItem;
+import com.unmadgamer.lostandfoundfinal.model.VerificationStatus;
+
+// Lifecycle change published by ItemService to its subscribers
+public class ItemEvent {
+    public enum Type {
+        REPORTED,
+        VERIFIED,
+        REJECTED,
+        CLAIMED,
+        CLAIM_REJECTED,
+        RETURNED,
+        RELOADED // Whole item list replaced, subscribers should rebuild
+    }
+
+    private final Type type;
+    private final LostFoundItem item;
+    private final String actor;
+    // Verification state before the change (null for a new report), so subscribers can keep
+    // counts up to date by delta instead of recounting
+    private final VerificationStatus previousVerification;
+    private final long timestamp;
+
+    public ItemEvent(Type type, LostFoundItem item, String actor) {
+        this(type, item, actor, item != null ? item.getVerificationState() : null);
+    }
+
+    public ItemEvent(Type type, LostFoundItem item, String actor, VerificationStatus previousVerification) {
+        this.type = type;
+        this.item = item;
+        this.actor = actor;
+        this.previousVerification = previousVerification;
+        this.timestamp = System.currentTimeMillis();
+    }
+
+    public Type getType() { return type; }
+
+    public LostFoundItem getItem() { return item; }
+
+    public String getActor() { return actor; }
+
+    public VerificationStatus getPreviousVerification() { return previousVerification; }
+
+    public long getTimestamp() { return timestamp; }
+
+    @Override
+    public String toString() {
+        return String.format("ItemEvent{type=%s, item='%s', actor='%s'}",
+                type, item != null ? item.getId() : null, actor);
+    }
+}
@@ -0,0 +1,58 @@
+package com.unmadgamer.lostandfoundfinal.service;
+
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
+
+// Flow subscriber that pulls item events one at a time and hands them to a callback
+public class ItemEventSubscriber implements Flow.Subscriber<ItemEvent> {
+    private final String name;
+    private final Consumer<ItemEvent> handler;
+    private volatile Flow.Subscription subscription;
+    private volatile boolean cancelled;
+
+    public ItemEventSubscriber(String name, Consumer<ItemEvent> handler) {
+        this.name = name;
+        this.handler = handler;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        this.subscription = subscription;
+        if (cancelled) {
+            subscription.cancel();
+            return;
+        }
+        subscription.request(1);
+    }
+
+    @Override
+    public void onNext(ItemEvent event) {
+        try {
+            handler.accept(event);
+        } catch (Exception e) {
+            System.err.println("❌ Item event subscriber '" + name + "' failed on " + event + ": " + e.getMessage());
+        }
+        subscription.request(1);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        System.err.println("❌ Item event stream error for '" + name + "': " + throwable.getMessage());
+    }
+
+    @Override
+    public void onComplete() {
+        System.out.println("📭 Item event stream closed for '" + name + "'");
+    }
+
+    public void cancel() {
+        cancelled = true;
+        if (subscription != null) {
+            subscription.cancel();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+}
@@ -0,0 +1,51 @@
+package com.unmadgamer.lostandfoundfinal.service;
+
+import com.unmadgamer.lostandfoundfinal.model.LostFoundItem;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Where each item sits in ItemService's item list, which only ever grows. The search, facet
+// and statistics indexes key their per-item data by this position, as DateRangeIndex does,
+// and come here to get between positions and ids. A mapped store answers from its id table
+// and reads ids out of the buffer, so no index holds a string per item; a plain list gets
+// one id map, keyed by the strings its items already hold.
+final class ItemPositions {
+    private final List<LostFoundItem> items;
+    private final MappedItemStore.ItemList mapped;                      // null for a plain list
+    private final Map<String, Integer> byId = new ConcurrentHashMap<>();  // plain list only
+
+    ItemPositions(List<LostFoundItem> items) {
+        this.items = items;
+        this.mapped = items instanceof MappedItemStore.ItemList ? (MappedItemStore.ItemList) items : null;
+        if (mapped == null) {
+            for (int i = 0; i < items.size(); i++) {
+                added(i, items.get(i));
+            }
+        }
+    }
+
+    // Called after the item was appended to the list at this position
+    void added(int position, LostFoundItem item) {
+        if (mapped == null && item != null && item.getId() != null) {
+            byId.putIfAbsent(item.getId(), position); // Duplicate id: the first item wins
+        }
+    }
+
+    // Position of the item with this id, or -1
+    int positionOf(String id) {
+        if (id == null) {
+            return -1;
+        }
+        if (mapped != null) {
+            return mapped.positionOf(id);
+        }
+        Integer position = byId.get(id);
+        return position != null ? position : -1;
+    }
+
+    String idAt(int position) {
+        return mapped != null ? mapped.idAt(position) : items.get(position).getId();
+    }
+}
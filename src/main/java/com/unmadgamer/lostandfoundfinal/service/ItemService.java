@@ -5,17 +5,38 @@ import com.unmadgamer.lostandfoundfinal.model.LostItem;
 import com.unmadgamer.lostandfoundfinal.model.FoundItem;
 import com.unmadgamer.lostandfoundfinal.model.User;
 import com.unmadgamer.lostandfoundfinal.model.Conversation;
+import com.unmadgamer.lostandfoundfinal.model.ItemStatus;
+import com.unmadgamer.lostandfoundfinal.model.ClaimStatus;
+import com.unmadgamer.lostandfoundfinal.model.VerificationStatus;
+import com.unmadgamer.lostandfoundfinal.model.Timestamps;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 public class ItemService {
     private static ItemService instance;
     private final JsonDataService jsonDataService;
     private final UserService userService;
-    private List<LostFoundItem> items;
+    private volatile List<LostFoundItem> items;
+    private volatile ItemPositions positions;
+    private final FuzzyNameIndex nameIndex = new FuzzyNameIndex();
+    private final RelevanceIndex relevanceIndex = new RelevanceIndex();
+    private final FacetIndex facetIndex = new FacetIndex();
+    private final ItemColumns columns = new ItemColumns();
+    private final DateRangeIndex dateIndex = new DateRangeIndex();
+    private final SubmissionPublisher<ItemEvent> eventPublisher = new SubmissionPublisher<>();
 
     private ItemService() {
         this.jsonDataService = new JsonDataService();
@@ -33,33 +54,156 @@ public class ItemService {
     }
 
     private void loadItems() {
-        items = jsonDataService.loadItems();
-        if (items == null) {
-            items = new ArrayList<>();
+        List<LostFoundItem> loaded = jsonDataService.loadItems();
+        if (loaded == null) {
+            loaded = new ArrayList<>();
         }
+        // Reads on the async executor and the FX thread walk the list while the writer thread
+        // appends to it. A mapped store's list is synchronized; a plain one is copied on write,
+        // which costs one array copy per report.
+        items = loaded instanceof MappedItemStore.ItemList ? loaded : new CopyOnWriteArrayList<>(loaded);
+        positions = new ItemPositions(items);
+        Collection<? extends LostFoundItem> scan = indexSource();
+        nameIndex.rebuild(positions, scan);
+        relevanceIndex.rebuild(positions, scan);
+        facetIndex.rebuild(positions, scan);
+        columns.rebuild(positions, scan);
+        dateIndex.rebuild(items, scan);
+    }
+
+    // What index rebuilds walk. A mapped store hands out views over records that have not
+    // been decoded, so indexing does not turn every item into a heap object; callers read
+    // what they need from each element and must not keep it.
+    Collection<? extends LostFoundItem> indexSource() {
+        if (items instanceof MappedItemStore.ItemList) {
+            return ((MappedItemStore.ItemList) items).views();
+        }
+        return items;
+    }
+
+    // Items matching the filter; a mapped store tests records in place and decodes only the matches
+    private List<LostFoundItem> select(Predicate<? super LostFoundItem> filter) {
+        if (items instanceof MappedItemStore.ItemList) {
+            return ((MappedItemStore.ItemList) items).select(filter);
+        }
+        return items.stream()
+                .filter(filter)
+                .collect(Collectors.toList());
+    }
+
+    private long count(Predicate<? super LostFoundItem> filter) {
+        if (items instanceof MappedItemStore.ItemList) {
+            return ((MappedItemStore.ItemList) items).count(filter);
+        }
+        return items.stream()
+                .filter(filter)
+                .count();
+    }
+
+    // Goes through the mapped store's id index rather than a scan when there is one
+    private Optional<LostFoundItem> findById(String id) {
+        if (items instanceof MappedItemStore.ItemList) {
+            return Optional.ofNullable(((MappedItemStore.ItemList) items).findById(id));
+        }
+        return items.stream()
+                .filter(item -> id.equals(item.getId()))
+                .findFirst();
+    }
+
+    // For the methods that change the item: a mapped store keeps it from then on, so the
+    // change is not lost if the item drops out of its cache before the save
+    private Optional<LostFoundItem> findForUpdate(String id) {
+        if (items instanceof MappedItemStore.ItemList) {
+            return Optional.ofNullable(((MappedItemStore.ItemList) items).findForUpdate(id));
+        }
+        return findById(id);
+    }
+
+    // Subscribe to item lifecycle events (delivered asynchronously)
+    public void subscribe(Flow.Subscriber<? super ItemEvent> subscriber) {
+        eventPublisher.subscribe(subscriber);
+    }
+
+    public ItemEventSubscriber subscribe(String name, Consumer<ItemEvent> handler) {
+        ItemEventSubscriber subscriber = new ItemEventSubscriber(name, handler);
+        eventPublisher.subscribe(subscriber);
+        return subscriber;
+    }
+
+    public int getSubscriberCount() {
+        return eventPublisher.getNumberOfSubscribers();
+    }
+
+    // Never blocks the caller; a subscriber whose buffer is full misses the event
+    private void publish(ItemEvent.Type type, LostFoundItem item, String actor) {
+        publish(type, item, actor, item != null ? item.getVerificationState() : null);
+    }
+
+    private void publish(ItemEvent.Type type, LostFoundItem item, String actor, VerificationStatus previousVerification) {
+        // Every report and status change is published, so the facet columns and the
+        // statistics columns follow here
+        if (item != null) {
+            facetIndex.update(item);
+            columns.update(item);
+        }
+        // Subscribers hear of the change once items.json holds it, and not at all if the save fails
+        ItemEvent itemEvent = new ItemEvent(type, item, actor, previousVerification);
+        BatchedWriter.getInstance().afterSave(BatchedWriter.Target.ITEMS, () -> {
+            if (!eventPublisher.hasSubscribers()) {
+                return;
+            }
+            eventPublisher.offer(itemEvent, (subscriber, event) -> {
+                System.err.println("⚠️  Dropped item event " + event + " for a slow subscriber");
+                return false;
+            });
+        });
     }
 
     private void saveItems() {
+        // Inside a command batch the write is coalesced by the BatchedWriter
+        if (BatchedWriter.getInstance().defer(BatchedWriter.Target.ITEMS)) {
+            return;
+        }
+        writeItems();
+    }
+
+    boolean writeItems() {
         boolean success = jsonDataService.saveItems(items);
         if (success) {
             System.out.println("✅ Items saved successfully. Total items: " + items.size());
         } else {
             System.err.println("❌ Failed to save items!");
         }
+        return success;
     }
 
+    // The facet index and the columns pick up new items from publish()
+    private void indexAdded(int position, LostFoundItem item) {
+        positions.added(position, item);
+        nameIndex.add(position, item);
+        relevanceIndex.add(position, item);
+        dateIndex.add(position, item);
+    }
+
+    // The methods that change items run on the state writer only (see StateCommand); other
+    // classes go through the *Async variants below
+
     // Add new items
-    public boolean addLostItem(LostItem lostItem) {
+    boolean addLostItem(LostItem lostItem) {
         items.add(lostItem);
+        indexAdded(items.size() - 1, lostItem);
         saveItems();
+        publish(ItemEvent.Type.REPORTED, lostItem, lostItem.getReportedBy(), null);
         System.out.println("✅ Lost item added: " + lostItem.getItemName());
         debugCurrentItems(); // Debug after adding
         return true;
     }
 
-    public boolean addFoundItem(FoundItem foundItem) {
+    boolean addFoundItem(FoundItem foundItem) {
         items.add(foundItem);
+        indexAdded(items.size() - 1, foundItem);
         saveItems();
+        publish(ItemEvent.Type.REPORTED, foundItem, foundItem.getReportedBy(), null);
         System.out.println("✅ Found item added: " + foundItem.getItemName());
         debugCurrentItems(); // Debug after adding
         return true;
@@ -67,35 +211,29 @@ public class ItemService {
 
     // Get items by type
     public List<LostItem> getLostItems() {
-        return items.stream()
-                .filter(item -> item instanceof LostItem)
+        return select(item -> item instanceof LostItem).stream()
                 .map(item -> (LostItem) item)
                 .collect(Collectors.toList());
     }
 
     public List<FoundItem> getFoundItems() {
-        return items.stream()
-                .filter(item -> item instanceof FoundItem)
+        return select(item -> item instanceof FoundItem).stream()
                 .map(item -> (FoundItem) item)
                 .collect(Collectors.toList());
     }
 
     // Get available items for claiming (only verified and active items)
     public List<LostFoundItem> getAvailableLostItems() {
-        List<LostFoundItem> availableItems = items.stream()
-                .filter(item -> item instanceof LostItem)
-                .filter(item -> item.isVerified() && item.isActive())
-                .collect(Collectors.toList());
+        List<LostFoundItem> availableItems = select(item -> item instanceof LostItem
+                && item.isVerified() && item.isActive());
 
         System.out.println("🔍 Available lost items: " + availableItems.size());
         return availableItems;
     }
 
     public List<LostFoundItem> getAvailableFoundItems() {
-        List<LostFoundItem> availableItems = items.stream()
-                .filter(item -> item instanceof FoundItem)
-                .filter(item -> item.isVerified() && item.isActive())
-                .collect(Collectors.toList());
+        List<LostFoundItem> availableItems = select(item -> item instanceof FoundItem
+                && item.isVerified() && item.isActive());
 
         System.out.println("🔍 Available found items: " + availableItems.size());
         return availableItems;
@@ -103,24 +241,18 @@ public class ItemService {
 
     // Get items for current user
     public List<LostFoundItem> getLostItemsByUser(String username) {
-        return items.stream()
-                .filter(item -> item instanceof LostItem)
-                .filter(item -> username.equals(item.getReportedBy()))
-                .collect(Collectors.toList());
+        return select(item -> item instanceof LostItem
+                && username.equals(item.getReportedBy()));
     }
 
     public List<LostFoundItem> getFoundItemsByUser(String username) {
-        return items.stream()
-                .filter(item -> item instanceof FoundItem)
-                .filter(item -> username.equals(item.getReportedBy()))
-                .collect(Collectors.toList());
+        return select(item -> item instanceof FoundItem
+                && username.equals(item.getReportedBy()));
     }
 
     // UPDATED: Only allow claiming of FoundItems
-    public boolean claimItem(String itemId, String claimant) {
-        Optional<LostFoundItem> itemOpt = items.stream()
-                .filter(item -> itemId.equals(item.getId()))
-                .findFirst();
+    boolean claimItem(String itemId, String claimant) {
+        Optional<LostFoundItem> itemOpt = findForUpdate(itemId);
 
         if (itemOpt.isPresent()) {
             LostFoundItem item = itemOpt.get();
@@ -132,12 +264,13 @@ public class ItemService {
                 // Check if item can be claimed
                 if (foundItem.canBeClaimed()) {
                     foundItem.claimItem(claimant);
-                    foundItem.setStatus("claimed");
+                    foundItem.setItemStatus(ItemStatus.CLAIMED);
                     System.out.println("✅ Found item claimed: " + item.getItemName() + " by " + claimant);
 
                     // AUTO-START CONVERSATION
                     startClaimConversation(item, claimant);
                     saveItems();
+                    publish(ItemEvent.Type.CLAIMED, item, claimant);
                     return true;
                 } else {
                     System.err.println("❌ Found item cannot be claimed: " + item.getItemName());
@@ -169,88 +302,88 @@ public class ItemService {
 
     // Get items for admin verification
     public List<LostFoundItem> getPendingVerificationItems() {
-        return items.stream()
-                .filter(item -> item.isPendingVerification())
-                .collect(Collectors.toList());
+        return select(item -> item.isPendingVerification());
     }
 
     public List<LostFoundItem> getVerifiedItems() {
-        return items.stream()
-                .filter(item -> item.isVerified())
-                .collect(Collectors.toList());
+        return select(item -> item.isVerified());
     }
 
     public List<LostFoundItem> getPendingClaimItems() {
         List<LostFoundItem> pendingClaims = new ArrayList<>();
 
         // Get lost items with pending claims
-        pendingClaims.addAll(getLostItems().stream()
-                .filter(LostItem::isClaimPending)
-                .collect(Collectors.toList()));
+        pendingClaims.addAll(select(item -> item instanceof LostItem && ((LostItem) item).isClaimPending()));
 
         // Get found items with pending claims
-        pendingClaims.addAll(getFoundItems().stream()
-                .filter(FoundItem::isClaimPending)
-                .collect(Collectors.toList()));
+        pendingClaims.addAll(select(item -> item instanceof FoundItem && ((FoundItem) item).isClaimPending()));
 
         return pendingClaims;
     }
 
     // Get successfully returned items
     public List<LostFoundItem> getReturnedItems() {
-        return items.stream()
-                .filter(item -> "returned".equals(item.getStatus()))
-                .collect(Collectors.toList());
+        return select(LostFoundItem::isReturned);
+    }
+
+    // Returned items plus those with a claim under review, for the returned-items screen
+    public List<LostFoundItem> getReturnedOrClaimedItems() {
+        return select(item -> item.isReturned() || item.getItemStatus() == ItemStatus.CLAIMED);
     }
 
     // Get returned items by user
     public List<LostFoundItem> getReturnedItemsByUser(String username) {
-        return items.stream()
-                .filter(item -> "returned".equals(item.getStatus()))
-                .filter(item -> {
-                    if (item instanceof LostItem) {
-                        LostItem lostItem = (LostItem) item;
-                        return username.equals(lostItem.getClaimedBy()) || username.equals(item.getReportedBy());
-                    } else if (item instanceof FoundItem) {
-                        FoundItem foundItem = (FoundItem) item;
-                        return username.equals(foundItem.getClaimedBy()) || username.equals(item.getReportedBy());
-                    }
-                    return false;
-                })
-                .collect(Collectors.toList());
+        return select(item -> {
+            if (!item.isReturned()) {
+                return false;
+            }
+            if (item instanceof LostItem) {
+                LostItem lostItem = (LostItem) item;
+                return username.equals(lostItem.getClaimedBy()) || username.equals(item.getReportedBy());
+            } else if (item instanceof FoundItem) {
+                FoundItem foundItem = (FoundItem) item;
+                return username.equals(foundItem.getClaimedBy()) || username.equals(item.getReportedBy());
+            }
+            return false;
+        });
     }
 
     // Verification methods
-    public boolean verifyItem(String itemId, String adminUsername) {
-        Optional<LostFoundItem> itemOpt = items.stream()
-                .filter(item -> itemId.equals(item.getId()))
-                .findFirst();
+    boolean verifyItem(String itemId, String adminUsername) {
+        Optional<LostFoundItem> itemOpt = findForUpdate(itemId);
 
         if (itemOpt.isPresent()) {
             LostFoundItem item = itemOpt.get();
-            item.setVerificationStatus("verified");
+            VerificationStatus previousVerification = item.getVerificationState();
+            item.setVerificationState(VerificationStatus.VERIFIED);
             item.setVerifiedBy(adminUsername);
-            item.setVerificationDate(java.time.LocalDateTime.now().format(java.time.format.DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
+            item.setVerificationDateMillis(Timestamps.now());
 
             saveItems();
+            publish(ItemEvent.Type.VERIFIED, item, adminUsername, previousVerification);
+            // Owners whose standing searches match hear of a found item only once an admin
+            // has confirmed it, and only the first time
+            if (item instanceof FoundItem && previousVerification != VerificationStatus.VERIFIED) {
+                StandingSearchService.getInstance().notifyMatches((FoundItem) item);
+            }
             System.out.println("✅ Item verified: " + item.getItemName() + " by " + adminUsername);
             return true;
         }
         return false;
     }
 
-    public boolean rejectItem(String itemId, String adminUsername) {
-        Optional<LostFoundItem> itemOpt = items.stream()
-                .filter(item -> itemId.equals(item.getId()))
-                .findFirst();
+    boolean rejectItem(String itemId, String adminUsername) {
+        Optional<LostFoundItem> itemOpt = findForUpdate(itemId);
 
         if (itemOpt.isPresent()) {
             LostFoundItem item = itemOpt.get();
-            item.setVerificationStatus("rejected");
+            VerificationStatus previousVerification = item.getVerificationState();
+            item.setVerificationState(VerificationStatus.REJECTED);
             item.setVerifiedBy(adminUsername);
-            item.setVerificationDate(java.time.LocalDateTime.now().format(java.time.format.DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
+            item.setVerificationDateMillis(Timestamps.now());
 
             saveItems();
+            publish(ItemEvent.Type.REJECTED, item, adminUsername, previousVerification);
             System.out.println("❌ Item rejected: " + item.getItemName() + " by " + adminUsername);
             return true;
         }
@@ -258,8 +391,8 @@ public class ItemService {
     }
 
     // FIXED: Complete Reward System for Successful Returns
-    public boolean completeSuccessfulReturn(String itemId, String adminUsername) {
-        Optional<LostFoundItem> itemOpt = getItemById(itemId);
+    boolean completeSuccessfulReturn(String itemId, String adminUsername) {
+        Optional<LostFoundItem> itemOpt = findForUpdate(itemId);
 
         if (itemOpt.isPresent()) {
             LostFoundItem item = itemOpt.get();
@@ -278,12 +411,15 @@ public class ItemService {
                         finder.incrementItemsReturned();
 
                         // Update item status
-                        lostItem.setStatus("returned");
-                        lostItem.setClaimStatus("approved");
-                        lostItem.setVerificationStatus("verified"); // Ensure it's verified
+                        VerificationStatus previousVerification = lostItem.getVerificationState();
+                        lostItem.setItemStatus(ItemStatus.RETURNED);
+                        lostItem.setClaimState(ClaimStatus.APPROVED);
+                        lostItem.setVerificationState(VerificationStatus.VERIFIED); // Ensure it's verified
 
                         saveItems();
                         userService.saveUsers(); // Save user data to persist rewards
+                        publish(ItemEvent.Type.RETURNED, item, adminUsername, previousVerification);
+                        StandingSearchService.getInstance().removeSearchesForLostItem(lostItem.getId());
 
                         System.out.println("🎁 SUCCESS: Rewarded " + finder.getUsername() +
                                 " with " + rewardPoints + " points for returning: " + lostItem.getItemName());
@@ -310,12 +446,14 @@ public class ItemService {
                         reporter.incrementItemsReturned();
 
                         // Update item status
-                        foundItem.setStatus("returned");
-                        foundItem.setClaimStatus("approved");
-                        foundItem.setVerificationStatus("verified"); // Ensure it's verified
+                        VerificationStatus previousVerification = foundItem.getVerificationState();
+                        foundItem.setItemStatus(ItemStatus.RETURNED);
+                        foundItem.setClaimState(ClaimStatus.APPROVED);
+                        foundItem.setVerificationState(VerificationStatus.VERIFIED); // Ensure it's verified
 
                         saveItems();
                         userService.saveUsers(); // Save user data to persist rewards
+                        publish(ItemEvent.Type.RETURNED, item, adminUsername, previousVerification);
 
                         System.out.println("🎁 SUCCESS: Rewarded " + reporter.getUsername() +
                                 " with " + rewardPoints + " points for helping return: " + foundItem.getItemName());
@@ -337,7 +475,7 @@ public class ItemService {
     }
 
     // Claim approval methods
-    public boolean approveClaim(String itemId, String adminUsername) {
+    boolean approveClaim(String itemId, String adminUsername) {
         System.out.println("🔄 Approving claim for item: " + itemId);
         boolean result = completeSuccessfulReturn(itemId, adminUsername);
         if (result) {
@@ -348,10 +486,8 @@ public class ItemService {
         return result;
     }
 
-    public boolean rejectClaim(String itemId, String adminUsername) {
-        Optional<LostFoundItem> itemOpt = items.stream()
-                .filter(item -> itemId.equals(item.getId()))
-                .findFirst();
+    boolean rejectClaim(String itemId, String adminUsername) {
+        Optional<LostFoundItem> itemOpt = findForUpdate(itemId);
 
         if (itemOpt.isPresent()) {
             LostFoundItem item = itemOpt.get();
@@ -360,16 +496,18 @@ public class ItemService {
                 LostItem lostItem = (LostItem) item;
                 if (lostItem.isClaimPending()) {
                     lostItem.rejectClaim();
-                    lostItem.setStatus("active"); // Make item available again
+                    lostItem.setItemStatus(ItemStatus.ACTIVE); // Make item available again
                     saveItems();
+                    publish(ItemEvent.Type.CLAIM_REJECTED, item, adminUsername);
                     return true;
                 }
             } else if (item instanceof FoundItem) {
                 FoundItem foundItem = (FoundItem) item;
                 if (foundItem.isClaimPending()) {
                     foundItem.rejectClaim();
-                    foundItem.setStatus("active"); // Make item available again
+                    foundItem.setItemStatus(ItemStatus.ACTIVE); // Make item available again
                     saveItems();
+                    publish(ItemEvent.Type.CLAIM_REJECTED, item, adminUsername);
                     return true;
                 }
             }
@@ -377,26 +515,77 @@ public class ItemService {
         return false;
     }
 
+    // Async variants: writes are applied by the single writer, reads run on the async executor
+    public CompletableFuture<Boolean> addLostItemAsync(LostItem lostItem) {
+        return AsyncExecutors.submit(new StateCommand.ReportLostItem(lostItem));
+    }
+
+    public CompletableFuture<Boolean> addFoundItemAsync(FoundItem foundItem) {
+        return AsyncExecutors.submit(new StateCommand.ReportFoundItem(foundItem));
+    }
+
+    public CompletableFuture<Boolean> claimItemAsync(String itemId, String claimant) {
+        return AsyncExecutors.submit(new StateCommand.ClaimItem(itemId, claimant));
+    }
+
+    public CompletableFuture<Boolean> verifyItemAsync(String itemId, String adminUsername) {
+        return AsyncExecutors.submit(new StateCommand.VerifyItem(itemId, adminUsername));
+    }
+
+    public CompletableFuture<Boolean> rejectItemAsync(String itemId, String adminUsername) {
+        return AsyncExecutors.submit(new StateCommand.RejectItem(itemId, adminUsername));
+    }
+
+    public CompletableFuture<Boolean> approveClaimAsync(String itemId, String adminUsername) {
+        return AsyncExecutors.submit(new StateCommand.ApproveClaim(itemId, adminUsername));
+    }
+
+    public CompletableFuture<Boolean> rejectClaimAsync(String itemId, String adminUsername) {
+        return AsyncExecutors.submit(new StateCommand.RejectClaim(itemId, adminUsername));
+    }
+
+    // Rereads the items file after every change queued before it has been saved
+    public CompletableFuture<Boolean> refreshItemsAsync() {
+        return AsyncExecutors.submit(new StateCommand.ReloadItems());
+    }
+
+    // Deletes every item and user except the default admin
+    public CompletableFuture<Boolean> resetAllDataAsync() {
+        return AsyncExecutors.submit(new StateCommand.ResetAllData());
+    }
+
+    public CompletableFuture<List<LostFoundItem>> getAvailableLostItemsAsync() {
+        return AsyncExecutors.supply(this::getAvailableLostItems);
+    }
+
+    public CompletableFuture<List<LostFoundItem>> getAvailableFoundItemsAsync() {
+        return AsyncExecutors.supply(this::getAvailableFoundItems);
+    }
+
+    public CompletableFuture<List<LostFoundItem>> getPendingVerificationItemsAsync() {
+        return AsyncExecutors.supply(this::getPendingVerificationItems);
+    }
+
     // Statistics
+    // Totals by type, status, verification and category, with reports from the last recentDays
+    public ItemStats getItemStats(int recentDays) {
+        return columns.aggregate(LocalDate.now(), recentDays);
+    }
+
     public long getPendingVerificationCount() {
-        return getPendingVerificationItems().size();
+        return getItemStats(1).getCount(VerificationStatus.PENDING);
     }
 
     public long getVerifiedTodayCount() {
-        String today = java.time.LocalDate.now().toString();
-        return items.stream()
-                .filter(item -> today.equals(item.getVerificationDate()))
-                .count();
+        return getItemStats(1).getVerifiedTodayCount();
     }
 
     public long getTotalVerifiedCount() {
-        return items.stream()
-                .filter(item -> item.isVerified())
-                .count();
+        return getItemStats(1).getCount(VerificationStatus.VERIFIED);
     }
 
     public long getReturnedItemsCount() {
-        return getReturnedItems().size();
+        return getItemStats(1).getCount(ItemStatus.RETURNED);
     }
 
     public double getVerificationRate() {
@@ -407,15 +596,58 @@ public class ItemService {
 
     // Helper methods
     public Optional<LostFoundItem> getItemById(String id) {
-        return items.stream()
-                .filter(item -> id.equals(item.getId()))
-                .findFirst();
+        return findById(id);
+    }
+
+    public int getItemCount() {
+        return items.size();
     }
 
     public List<LostFoundItem> getAllItems() {
         return new ArrayList<>(items);
     }
 
+    // Ids of items whose name matches every word of the query allowing for typos,
+    // so "macbok" finds "Mac Book m1 air"
+    public Set<String> findItemIdsByName(String query) {
+        return nameIndex.search(query);
+    }
+
+    // Candidates ordered by relevance to the query: BM25 over name, category, description
+    // and location (boosted in that order), preferring newer reports among close matches
+    public <T extends LostFoundItem> List<T> rankByRelevance(String query, List<T> candidates) {
+        return relevanceIndex.rank(query, candidates, System.currentTimeMillis());
+    }
+
+    // Per-category, status, type and location counts within a result set, for filter labels
+    public FacetCounts countFacets(Collection<? extends LostFoundItem> result) {
+        return facetIndex.count(result);
+    }
+
+    // Items whose date falls within [from, to], oldest first; a null bound leaves that side open
+    public List<LostFoundItem> getItemsByDateRange(ItemDateField field, LocalDate from, LocalDate to) {
+        return dateIndex.range(field, from, to);
+    }
+
+    public long countItemsByDateRange(ItemDateField field, LocalDate from, LocalDate to) {
+        return dateIndex.count(field, from, to);
+    }
+
+    // Items dated within the last given number of days, today included
+    public List<LostFoundItem> getItemsFromLastDays(ItemDateField field, int days) {
+        LocalDate today = LocalDate.now();
+        return dateIndex.range(field, today.minusDays(Math.max(0, days - 1)), today);
+    }
+
+    public Map<LocalDate, Integer> countItemsByDay(ItemDateField field, LocalDate from, LocalDate to) {
+        return dateIndex.countByDay(field, from, to);
+    }
+
+    // Most recently submitted reports first
+    public List<LostFoundItem> getRecentItems(int limit) {
+        return dateIndex.newest(ItemDateField.CREATED_AT, limit);
+    }
+
     // NEW: Debug method for reward system
     public void debugRewardFlow(String itemId) {
         System.out.println("=== REWARD FLOW DEBUG ===");
@@ -485,11 +717,13 @@ public class ItemService {
         System.out.println("=== CURRENT ITEMS DEBUG ===");
         System.out.println("Total items in memory: " + items.size());
 
-        List<LostItem> lostItems = getLostItems();
-        List<FoundItem> foundItems = getFoundItems();
-
-        System.out.println("📦 Lost items: " + lostItems.size());
-        for (LostItem item : lostItems) {
+        // Read through indexSource() so that a mapped store is not decoded just to be printed
+        System.out.println("📦 Lost items: " + count(item -> item instanceof LostItem));
+        for (LostFoundItem scanned : indexSource()) {
+            if (!(scanned instanceof LostItem)) {
+                continue;
+            }
+            LostItem item = (LostItem) scanned;
             System.out.println("   - " + item.getItemName() +
                     " | Status: " + item.getStatus() +
                     " | Claimed by: " + item.getClaimedBy() +
@@ -497,8 +731,12 @@ public class ItemService {
                     " | Verified: " + item.isVerified());
         }
 
-        System.out.println("📦 Found items: " + foundItems.size());
-        for (FoundItem item : foundItems) {
+        System.out.println("📦 Found items: " + count(item -> item instanceof FoundItem));
+        for (LostFoundItem scanned : indexSource()) {
+            if (!(scanned instanceof FoundItem)) {
+                continue;
+            }
+            FoundItem item = (FoundItem) scanned;
             System.out.println("   - " + item.getItemName() +
                     " | Status: " + item.getStatus() +
                     " | Claimed by: " + item.getClaimedBy() +
@@ -506,17 +744,22 @@ public class ItemService {
                     " | Verified: " + item.isVerified());
         }
 
-        System.out.println("🔍 Available lost items: " + getAvailableLostItems().size());
-        System.out.println("🔍 Available found items: " + getAvailableFoundItems().size());
+        System.out.println("🔍 Available lost items: "
+                + count(item -> item instanceof LostItem && item.isVerified() && item.isActive()));
+        System.out.println("🔍 Available found items: "
+                + count(item -> item instanceof FoundItem && item.isVerified() && item.isActive()));
         System.out.println("⏳ Pending verification: " + getPendingVerificationCount());
         System.out.println("✅ Returned items: " + getReturnedItemsCount());
-        System.out.println("⏳ Pending claims: " + getPendingClaimItems().size());
+        System.out.println("⏳ Pending claims: " + count(item -> item instanceof LostItem
+                ? ((LostItem) item).isClaimPending()
+                : item instanceof FoundItem && ((FoundItem) item).isClaimPending()));
         System.out.println("=== END DEBUG ===");
     }
 
     // Force refresh items from JSON file
-    public void refreshItems() {
+    void refreshItems() {
         loadItems();
+        publish(ItemEvent.Type.RELOADED, null, null);
         System.out.println("🔄 Items refreshed from JSON file");
         debugCurrentItems();
     }
@@ -0,0 +1,74 @@
+package com.unmadgamer.lostandfoundfinal.service;
+
+import com.unmadgamer.lostandfoundfinal.model.ItemStatus;
+import com.unmadgamer.lostandfoundfinal.model.VerificationStatus;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Item totals for the admin dashboard and system report, computed in one pass over ItemColumns
+public class ItemStats {
+    private final int total;
+    private final int lostCount;
+    private final int foundCount;
+    private final int[] byStatus;         // Indexed by ItemStatus ordinal + 1
+    private final int[] byVerification;   // Indexed by VerificationStatus ordinal + 1
+    private final Map<String, Integer> byCategory;
+    private final int verifiedTodayCount;
+    private final int reportedRecentlyCount;
+    private final int recentDays;
+
+    ItemStats(int total, int lostCount, int foundCount, int[] byStatus, int[] byVerification,
+              Map<String, Integer> byCategory, int verifiedTodayCount, int reportedRecentlyCount, int recentDays) {
+        this.total = total;
+        this.lostCount = lostCount;
+        this.foundCount = foundCount;
+        this.byStatus = byStatus;
+        this.byVerification = byVerification;
+        this.verifiedTodayCount = verifiedTodayCount;
+        this.reportedRecentlyCount = reportedRecentlyCount;
+        this.recentDays = recentDays;
+
+        List<Map.Entry<String, Integer>> categories = new ArrayList<>(byCategory.entrySet());
+        categories.sort(Map.Entry.<String, Integer>comparingByValue().reversed()
+                .thenComparing(Map.Entry.comparingByKey()));
+        Map<String, Integer> ordered = new LinkedHashMap<>();
+        for (Map.Entry<String, Integer> category : categories) {
+            ordered.put(category.getKey(), category.getValue());
+        }
+        this.byCategory = ordered;
+    }
+
+    public int getTotal() { return total; }
+    public int getLostCount() { return lostCount; }
+    public int getFoundCount() { return foundCount; }
+
+    public int getCount(ItemStatus status) {
+        return byStatus[status.ordinal() + 1];
+    }
+
+    public int getCount(VerificationStatus status) {
+        return byVerification[status.ordinal() + 1];
+    }
+
+    // Category -> count, most common first
+    public Map<String, Integer> getCategoryCounts() {
+        return Collections.unmodifiableMap(byCategory);
+    }
+
+    public int getVerifiedTodayCount() { return verifiedTodayCount; }
+
+    // Items created within the last getRecentDays() days, today included
+    public int getReportedRecentlyCount() { return reportedRecentlyCount; }
+    public int getRecentDays() { return recentDays; }
+
+    @Override
+    public String toString() {
+        return String.format("ItemStats{total=%d, lost=%d, found=%d, verified=%d, pending=%d, returned=%d}",
+                total, lostCount, foundCount, getCount(VerificationStatus.VERIFIED),
+                getCount(VerificationStatus.PENDING), getCount(ItemStatus.RETURNED));
+    }
+}
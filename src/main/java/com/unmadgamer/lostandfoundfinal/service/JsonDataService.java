@@ -14,21 +14,30 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
 
 public class JsonDataService {
     private static final String DATA_DIR = "data/";
     private static final String USERS_FILE = DATA_DIR + "users.json";
     private static final String ITEMS_FILE = DATA_DIR + "items.json";
     private static final String BACKUP_DIR = DATA_DIR + "backups/";
+    private static final String USERS_SNAPSHOT = DATA_DIR + "users.bin";
+    private static final String ITEMS_SNAPSHOT = DATA_DIR + "items.bin";
+    private static final int PARALLEL_LOAD_THRESHOLD = 1 << 20; // Smaller files keep the validating path
+    private static final BackupStore BACKUPS = new BackupStore(Paths.get(BACKUP_DIR)); // Shared by every instance
 
     private final ObjectMapper objectMapper;
+    private SnapshotFormat snapshotFormat = SnapshotFormat.configured();
 
     public JsonDataService() {
         this.objectMapper = new ObjectMapper();
@@ -41,6 +50,11 @@ public class JsonDataService {
         // Register subtypes for polymorphic deserialization
         objectMapper.registerSubtypes(LostItem.class, FoundItem.class);
 
+        // Repeated values such as categories and usernames share one String instance
+        SimpleModule pooledStrings = new SimpleModule();
+        pooledStrings.addDeserializer(String.class, new StringPool.PooledStringDeserializer(StringPool.shared()));
+        objectMapper.registerModule(pooledStrings);
+
         // Initialize data directory
         initializeDataDirectory();
     }
@@ -65,11 +79,25 @@ public class JsonDataService {
 
     // User methods
     public List<User> loadUsers() {
+        if (snapshotFormat != SnapshotFormat.JSON) {
+            return loadUsersFromSnapshot();
+        }
+        return loadUsersFromJson();
+    }
+
+    public boolean saveUsers(List<User> users) {
+        if (snapshotFormat != SnapshotFormat.JSON) {
+            return saveUsersToSnapshot(users);
+        }
+        return saveUsersToJson(users);
+    }
+
+    private List<User> loadUsersFromJson() {
         try {
             Path filePath = Paths.get(USERS_FILE);
             if (!Files.exists(filePath)) {
                 System.out.println("📁 Users file doesn't exist, creating empty list");
-                saveUsers(new ArrayList<>());
+                saveUsersToJson(new ArrayList<>());
                 return new ArrayList<>();
             }
 
@@ -88,14 +116,14 @@ public class JsonDataService {
             // Validate JSON syntax first
             if (!isValidJson(fileContent)) {
                 System.err.println("❌ Invalid JSON in users file, creating backup and resetting...");
-                createBackup(filePath, "users_corrupted_backup.json");
+                createBackup(filePath, "corrupted");
 
                 // Try to recover data from corrupted JSON
-                List<User> recoveredUsers = attemptUserDataRecovery(fileContent);
+                List<User> recoveredUsers = recoverUsersFromJson(filePath);
                 System.out.println("🔧 Recovered " + recoveredUsers.size() + " users from corrupted file");
 
                 // Save recovered users
-                saveUsers(recoveredUsers);
+                saveUsersToJson(recoveredUsers);
                 return recoveredUsers;
             }
 
@@ -113,25 +141,25 @@ public class JsonDataService {
             try {
                 Path filePath = Paths.get(USERS_FILE);
                 if (Files.exists(filePath)) {
-                    createBackup(filePath, "users_error_backup.json");
+                    createBackup(filePath, "error");
                 }
             } catch (Exception backupError) {
                 System.err.println("Failed to create backup: " + backupError.getMessage());
             }
 
             // Reset to empty list
-            saveUsers(new ArrayList<>());
+            saveUsersToJson(new ArrayList<>());
             return new ArrayList<>();
         }
     }
 
-    public boolean saveUsers(List<User> users) {
+    private boolean saveUsersToJson(List<User> users) {
         try {
             Path filePath = Paths.get(USERS_FILE);
 
             // Create backup before saving
             if (Files.exists(filePath)) {
-                createBackup(filePath, "users_pre_save_backup.json");
+                createBackup(filePath, "pre_save");
             }
 
             // Use temporary file for atomic save
@@ -154,12 +182,29 @@ public class JsonDataService {
 
     // LostFoundItem methods with polymorphic support
     public List<LostFoundItem> loadItems() {
+        if (snapshotFormat == SnapshotFormat.MAPPED || snapshotFormat == SnapshotFormat.OFF_HEAP) {
+            return loadItemsMapped();
+        }
+        if (snapshotFormat == SnapshotFormat.BINARY) {
+            return loadItemsFromSnapshot();
+        }
+        return loadItemsFromJson();
+    }
+
+    public boolean saveItems(List<LostFoundItem> items) {
+        if (snapshotFormat != SnapshotFormat.JSON) {
+            return saveItemsToSnapshot(items);
+        }
+        return saveItemsToJson(items);
+    }
+
+    private List<LostFoundItem> loadItemsFromJson() {
         try {
             Path filePath = Paths.get(ITEMS_FILE);
 
             if (!Files.exists(filePath)) {
                 System.out.println("📁 Items file doesn't exist, creating new one with empty list");
-                saveItems(new ArrayList<>());
+                saveItemsToJson(new ArrayList<>());
                 return new ArrayList<>();
             }
 
@@ -168,7 +213,23 @@ public class JsonDataService {
                 return new ArrayList<>();
             }
 
-            String fileContent = Files.readString(filePath);
+            byte[] content = Files.readAllBytes(filePath);
+            // Large files are split by object and parsed on the common pool. This also skips the
+            // separate validation parse, so it is quicker than the path below even on one core.
+            if (content.length >= PARALLEL_LOAD_THRESHOLD) {
+                long start = System.nanoTime();
+                List<LostFoundItem> items = ParallelItemReader.read(content, this::readItem, ForkJoinPool.commonPool());
+                if (items != null) {
+                    System.out.println("✅ Successfully loaded " + items.size() + " items from JSON on "
+                            + ForkJoinPool.getCommonPoolParallelism() + " threads in "
+                            + (System.nanoTime() - start) / 1_000_000 + " ms");
+                    System.out.println("🧵 " + StringPool.shared().report());
+                    return items;
+                }
+                System.out.println("🔄 Falling back to sequential load");
+            }
+
+            String fileContent = new String(content, StandardCharsets.UTF_8);
             if (fileContent.trim().isEmpty()) {
                 System.out.println("📄 Items file contains only whitespace, returning empty list");
                 return new ArrayList<>();
@@ -176,10 +237,10 @@ public class JsonDataService {
 
             if (!isValidJson(fileContent)) {
                 System.err.println("❌ Invalid JSON syntax detected, creating backup and resetting");
-                createBackup(filePath, "items_corrupted_backup.json");
-                List<LostFoundItem> recoveredItems = attemptItemDataRecovery(fileContent);
+                createBackup(filePath, "corrupted");
+                List<LostFoundItem> recoveredItems = recoverItemsFromJson(filePath);
                 System.out.println("🔧 Recovered " + recoveredItems.size() + " items from corrupted file");
-                saveItems(recoveredItems);
+                saveItemsToJson(recoveredItems);
                 return recoveredItems;
             }
 
@@ -202,6 +263,7 @@ public class JsonDataService {
             long lostCount = items.stream().filter(item -> item instanceof LostItem).count();
             long foundCount = items.stream().filter(item -> item instanceof FoundItem).count();
             System.out.println("📊 Item breakdown: " + lostCount + " lost items, " + foundCount + " found items");
+            System.out.println("🧵 " + StringPool.shared().report());
 
             return items;
 
@@ -211,18 +273,24 @@ public class JsonDataService {
             try {
                 Path filePath = Paths.get(ITEMS_FILE);
                 if (Files.exists(filePath)) {
-                    createBackup(filePath, "items_error_backup.json");
+                    createBackup(filePath, "error");
                 }
             } catch (Exception backupError) {
                 System.err.println("Failed to create backup: " + backupError.getMessage());
             }
 
-            saveItems(new ArrayList<>());
+            saveItemsToJson(new ArrayList<>());
             return new ArrayList<>();
         }
     }
 
     // Helper method to deserialize items with proper type handling
+    // One object of the items array, for ParallelItemReader. Called from several threads;
+    // the ObjectMapper is safe to share once configured.
+    private LostFoundItem readItem(byte[] json, int offset, int length) throws IOException {
+        return deserializeItem(objectMapper.readTree(json, offset, length));
+    }
+
     private LostFoundItem deserializeItem(JsonNode node) {
         try {
             // Check the type field to determine which subclass to use
@@ -254,7 +322,7 @@ public class JsonDataService {
         }
     }
 
-    public boolean saveItems(List<LostFoundItem> items) {
+    private boolean saveItemsToJson(List<LostFoundItem> items) {
         try {
             Path filePath = Paths.get(ITEMS_FILE);
 
@@ -266,7 +334,7 @@ public class JsonDataService {
             }
 
             if (Files.exists(filePath)) {
-                createBackup(filePath, "items_pre_save_backup.json");
+                createBackup(filePath, "pre_save");
             }
 
             Path tempFile = Paths.get(ITEMS_FILE + ".tmp");
@@ -291,7 +359,7 @@ public class JsonDataService {
     private void verifySavedItems(Path filePath) {
         try {
             if (Files.exists(filePath) && Files.size(filePath) > 0) {
-                List<LostFoundItem> savedItems = loadItems();
+                List<LostFoundItem> savedItems = loadItemsFromJson();
                 long lostCount = savedItems.stream().filter(item -> item instanceof LostItem).count();
                 long foundCount = savedItems.stream().filter(item -> item instanceof FoundItem).count();
                 System.out.println("🔍 Save verification: " + lostCount + " lost, " + foundCount + " found items persisted correctly");
@@ -301,181 +369,235 @@ public class JsonDataService {
         }
     }
 
-    // Attempt to recover item data from corrupted JSON - FIXED VERSION
-    private List<LostFoundItem> attemptItemDataRecovery(String corruptedJson) {
-        List<LostFoundItem> recoveredItems = new ArrayList<>();
+    // Binary snapshots. The first load in binary mode converts the existing JSON file.
+    private List<LostFoundItem> loadItemsFromSnapshot() {
+        Path snapshot = Paths.get(ITEMS_SNAPSHOT);
+        if (!Files.exists(snapshot)) {
+            System.out.println("📁 Items snapshot doesn't exist, converting " + ITEMS_FILE);
+            List<LostFoundItem> items = loadItemsFromJson();
+            saveItemsToSnapshot(items);
+            return items;
+        }
+        try {
+            long start = System.nanoTime();
+            List<LostFoundItem> items = BinarySnapshot.readItems(snapshot);
+            System.out.println("✅ Successfully loaded " + items.size() + " items from snapshot in "
+                    + (System.nanoTime() - start) / 1_000_000 + " ms");
+            return items;
+        } catch (IOException | RuntimeException e) {
+            System.err.println("❌ Error loading items snapshot: " + e.getMessage());
+            createBackup(snapshot, "error");
+            List<LostFoundItem> recovered = recoverItemsFromSnapshot(snapshot);
+            if (recovered != null) {
+                return recovered;
+            }
+            System.out.println("🔄 Falling back to " + ITEMS_FILE);
+            return loadItemsFromJson();
+        }
+    }
 
+    // Same snapshot, kept off the heap (mapped, or copied into a direct buffer): startup only
+    // indexes record offsets, and items are decoded as they are used. Saving writes a new
+    // file, copying untouched records as-is.
+    private List<LostFoundItem> loadItemsMapped() {
+        Path snapshot = Paths.get(ITEMS_SNAPSHOT);
+        if (!Files.exists(snapshot)) {
+            System.out.println("📁 Items snapshot doesn't exist, converting " + ITEMS_FILE);
+            if (!saveItemsToSnapshot(loadItemsFromJson())) {
+                return loadItemsFromJson();
+            }
+        }
         try {
-            // Simple string parsing to extract item data
-            String[] lines = corruptedJson.split("\n");
-            LostFoundItem currentItem = null;
-            String currentType = null;
-
-            for (String line : lines) {
-                String trimmed = line.trim();
-
-                if (trimmed.contains("\"itemName\"")) {
-                    // Save previous item if exists
-                    if (currentItem != null) {
-                        recoveredItems.add(currentItem);
-                    }
-                    // Reset for new item
-                    currentItem = null;
-                    currentType = null;
-                } else if (trimmed.contains("\"type\"") && currentItem == null) {
-                    currentType = extractValue(trimmed);
-                    if ("lost".equals(currentType)) {
-                        currentItem = new LostItem();
-                    } else if ("found".equals(currentType)) {
-                        currentItem = new FoundItem();
-                    } else {
-                        currentItem = new LostItem(); // Default to LostItem
-                    }
-                } else if (currentItem == null && (trimmed.contains("\"lostDate\"") || trimmed.contains("\"reward\""))) {
-                    // Determine type from fields
-                    currentItem = new LostItem();
-                    currentType = "lost";
-                } else if (currentItem == null && (trimmed.contains("\"foundDate\"") || trimmed.contains("\"storageLocation\""))) {
-                    currentItem = new FoundItem();
-                    currentType = "found";
-                } else if (currentItem == null && trimmed.contains("{")) {
-                    // Start of new object without type info, default to LostItem
-                    currentItem = new LostItem();
-                    currentType = "lost";
-                }
+            long start = System.nanoTime();
+            boolean mapped = snapshotFormat == SnapshotFormat.MAPPED;
+            MappedItemStore store = mapped ? MappedItemStore.open(snapshot) : MappedItemStore.load(snapshot);
+            System.out.println("✅ " + (mapped ? "Mapped " : "Loaded off-heap ") + store.size() + " items from snapshot in "
+                    + (System.nanoTime() - start) / 1_000_000 + " ms");
+            return store.asList();
+        } catch (IOException | RuntimeException e) {
+            System.err.println("❌ Error mapping items snapshot: " + e.getMessage());
+            createBackup(snapshot, "error");
+            // Held on the heap until the next start maps the rewritten snapshot
+            List<LostFoundItem> recovered = recoverItemsFromSnapshot(snapshot);
+            if (recovered != null) {
+                return recovered;
+            }
+            System.out.println("🔄 Falling back to " + ITEMS_FILE);
+            return loadItemsFromJson();
+        }
+    }
 
-                // Populate item fields
-                if (currentItem != null) {
-                    if (trimmed.contains("\"itemName\"")) {
-                        currentItem.setItemName(extractValue(trimmed));
-                    } else if (trimmed.contains("\"category\"")) {
-                        currentItem.setCategory(extractValue(trimmed));
-                    } else if (trimmed.contains("\"description\"")) {
-                        currentItem.setDescription(extractValue(trimmed));
-                    } else if (trimmed.contains("\"location\"")) {
-                        currentItem.setLocation(extractValue(trimmed));
-                    } else if (trimmed.contains("\"date\"")) {
-                        currentItem.setDate(extractValue(trimmed));
-                    } else if (trimmed.contains("\"status\"")) {
-                        currentItem.setStatus(extractValue(trimmed));
-                    } else if (trimmed.contains("\"reportedBy\"")) {
-                        currentItem.setReportedBy(extractValue(trimmed));
-                    } else if (trimmed.contains("\"verificationStatus\"")) {
-                        currentItem.setVerificationStatus(extractValue(trimmed));
-                    } else if (trimmed.contains("\"verifiedBy\"")) {
-                        currentItem.setVerifiedBy(extractValue(trimmed));
-                    } else if (trimmed.contains("\"verificationDate\"")) {
-                        currentItem.setVerificationDate(extractValue(trimmed));
-                    } else if (currentItem instanceof LostItem) {
-                        LostItem lostItem = (LostItem) currentItem;
-                        if (trimmed.contains("\"lostDate\"")) {
-                            lostItem.setLostDate(extractValue(trimmed));
-                        } else if (trimmed.contains("\"reward\"")) {
-                            lostItem.setReward(extractValue(trimmed));
-                        } else if (trimmed.contains("\"claimedFoundItemId\"")) {
-                            lostItem.setClaimedFoundItemId(extractValue(trimmed));
-                        } else if (trimmed.contains("\"claimStatus\"")) {
-                            lostItem.setClaimStatus(extractValue(trimmed));
-                        }
-                        // Removed setClaimedBy - LostItem doesn't have this method
-                    } else if (currentItem instanceof FoundItem) {
-                        FoundItem foundItem = (FoundItem) currentItem;
-                        if (trimmed.contains("\"foundDate\"")) {
-                            foundItem.setFoundDate(extractValue(trimmed));
-                        } else if (trimmed.contains("\"storageLocation\"")) {
-                            foundItem.setStorageLocation(extractValue(trimmed));
-                        } else if (trimmed.contains("\"claimedBy\"")) {
-                            foundItem.setClaimedBy(extractValue(trimmed));
-                        } else if (trimmed.contains("\"claimStatus\"")) {
-                            foundItem.setClaimStatus(extractValue(trimmed));
-                        }
-                    }
-                }
+    private boolean saveItemsToSnapshot(List<LostFoundItem> items) {
+        try {
+            Path snapshot = Paths.get(ITEMS_SNAPSHOT);
+            if (Files.exists(snapshot)) {
+                createBackup(snapshot, "pre_save");
             }
+            Path tempFile = Paths.get(ITEMS_SNAPSHOT + ".tmp");
+            BinarySnapshot.writeItems(tempFile, items);
+            Files.move(tempFile, snapshot, StandardCopyOption.REPLACE_EXISTING);
+            System.out.println("✅ Successfully saved " + items.size() + " items to snapshot");
+            return verifySnapshot(snapshot, items.size());
+        } catch (IOException e) {
+            System.err.println("❌ Error saving items snapshot: " + e.getMessage());
+            return false;
+        }
+    }
 
-            // Add the last item
-            if (currentItem != null) {
-                recoveredItems.add(currentItem);
+    private List<User> loadUsersFromSnapshot() {
+        Path snapshot = Paths.get(USERS_SNAPSHOT);
+        if (!Files.exists(snapshot)) {
+            System.out.println("📁 Users snapshot doesn't exist, converting " + USERS_FILE);
+            List<User> users = loadUsersFromJson();
+            saveUsersToSnapshot(users);
+            return users;
+        }
+        try {
+            List<User> users = BinarySnapshot.readUsers(snapshot);
+            System.out.println("✅ Successfully loaded " + users.size() + " users from snapshot");
+            return users;
+        } catch (IOException | RuntimeException e) {
+            System.err.println("❌ Error loading users snapshot: " + e.getMessage());
+            createBackup(snapshot, "error");
+            List<User> recovered = recoverUsersFromSnapshot(snapshot);
+            if (recovered != null) {
+                return recovered;
             }
+            System.out.println("🔄 Falling back to " + USERS_FILE);
+            return loadUsersFromJson();
+        }
+    }
 
-        } catch (Exception e) {
-            System.err.println("❌ Could not recover item data from corrupted JSON: " + e.getMessage());
+    private boolean saveUsersToSnapshot(List<User> users) {
+        try {
+            Path snapshot = Paths.get(USERS_SNAPSHOT);
+            if (Files.exists(snapshot)) {
+                createBackup(snapshot, "pre_save");
+            }
+            Path tempFile = Paths.get(USERS_SNAPSHOT + ".tmp");
+            BinarySnapshot.writeUsers(tempFile, users);
+            Files.move(tempFile, snapshot, StandardCopyOption.REPLACE_EXISTING);
+            System.out.println("✅ Successfully saved " + users.size() + " users to snapshot");
+            return verifySnapshot(snapshot, users.size());
+        } catch (IOException e) {
+            System.err.println("❌ Error saving users snapshot: " + e.getMessage());
+            return false;
         }
+    }
 
-        System.out.println("🔧 Total recovered items: " + recoveredItems.size());
-        return recoveredItems;
+    private boolean verifySnapshot(Path snapshot, int expectedCount) {
+        try {
+            int count = BinarySnapshot.countRecords(snapshot);
+            if (count != expectedCount) {
+                System.err.println("❌ Snapshot verification: expected " + expectedCount + " records, found " + count);
+                return false;
+            }
+            System.out.println("✅ Snapshot verification: " + Files.size(snapshot) + " bytes");
+            return true;
+        } catch (IOException e) {
+            System.err.println("❌ Snapshot verification failed: " + e.getMessage());
+            return false;
+        }
     }
 
-    // Attempt to recover user data from corrupted JSON
-    private List<User> attemptUserDataRecovery(String corruptedJson) {
-        List<User> recoveredUsers = new ArrayList<>();
+    // Converters between the two formats, whichever one is currently selected.
+    // JSON stays available as the export and interchange format.
+    public boolean convertJsonToSnapshot() {
+        return saveItemsToSnapshot(loadItemsFromJson()) & saveUsersToSnapshot(loadUsersFromJson());
+    }
 
+    public boolean exportSnapshotToJson() {
         try {
-            // Simple string parsing to extract user data
-            String[] lines = corruptedJson.split("\n");
-            User currentUser = null;
+            boolean itemsSaved = saveItemsToJson(BinarySnapshot.readItems(Paths.get(ITEMS_SNAPSHOT)));
+            boolean usersSaved = saveUsersToJson(BinarySnapshot.readUsers(Paths.get(USERS_SNAPSHOT)));
+            return itemsSaved && usersSaved;
+        } catch (IOException e) {
+            System.err.println("❌ Error exporting snapshot to JSON: " + e.getMessage());
+            return false;
+        }
+    }
+
+    public SnapshotFormat getSnapshotFormat() {
+        return snapshotFormat;
+    }
 
-            for (String line : lines) {
-                String trimmed = line.trim();
+    public void setSnapshotFormat(SnapshotFormat snapshotFormat) {
+        this.snapshotFormat = snapshotFormat;
+    }
 
-                if (trimmed.contains("\"username\"")) {
-                    // Save previous user if exists
-                    if (currentUser != null) {
-                        recoveredUsers.add(currentUser);
+    // Recovery of a damaged items.json: every object that still parses on its own comes back
+    // with all of its fields; see JsonObjectScanner for how damaged stretches are skipped
+    private List<LostFoundItem> recoverItemsFromJson(Path filePath) {
+        List<LostFoundItem> recoveredItems = new ArrayList<>();
+        try {
+            int damaged = JsonObjectScanner.scan(filePath, (json, offset, length) -> {
+                try {
+                    JsonNode node = objectMapper.readTree(json, offset, length);
+                    if (node == null || !node.hasNonNull("itemName")) {
+                        return false;
                     }
-                    // Start new user
-                    currentUser = new User();
-                    currentUser.setUsername(extractValue(trimmed));
-                } else if (trimmed.contains("\"password\"") && currentUser != null) {
-                    currentUser.setPassword(extractValue(trimmed));
-                } else if (trimmed.contains("\"email\"") && currentUser != null) {
-                    currentUser.setEmail(extractValue(trimmed));
-                } else if (trimmed.contains("\"firstName\"") && currentUser != null) {
-                    currentUser.setFirstName(extractValue(trimmed));
-                } else if (trimmed.contains("\"lastName\"") && currentUser != null) {
-                    currentUser.setLastName(extractValue(trimmed));
-                } else if (trimmed.contains("\"role\"") && currentUser != null) {
-                    currentUser.setRole(extractValue(trimmed));
+                    LostFoundItem item = deserializeItem(node);
+                    return item != null && recoveredItems.add(item);
+                } catch (IOException e) {
+                    return false;
                 }
-            }
-
-            // Add the last user
-            if (currentUser != null) {
-                recoveredUsers.add(currentUser);
-            }
+            });
+            System.out.println("🔧 Skipped " + damaged + " damaged stretches of " + filePath.getFileName());
+        } catch (IOException e) {
+            System.err.println("❌ Could not recover item data from corrupted JSON: " + e.getMessage());
+        }
+        return recoveredItems;
+    }
 
-        } catch (Exception e) {
+    private List<User> recoverUsersFromJson(Path filePath) {
+        List<User> recoveredUsers = new ArrayList<>();
+        try {
+            int damaged = JsonObjectScanner.scan(filePath, (json, offset, length) -> {
+                try {
+                    JsonNode node = objectMapper.readTree(json, offset, length);
+                    if (node == null || !node.hasNonNull("username")) {
+                        return false;
+                    }
+                    return recoveredUsers.add(objectMapper.treeToValue(node, User.class));
+                } catch (IOException e) {
+                    return false;
+                }
+            });
+            System.out.println("🔧 Skipped " + damaged + " damaged stretches of " + filePath.getFileName());
+        } catch (IOException e) {
             System.err.println("❌ Could not recover user data from corrupted JSON: " + e.getMessage());
         }
-
-        System.out.println("🔧 Total recovered users: " + recoveredUsers.size());
         return recoveredUsers;
     }
 
-    // Helper method to extract values from JSON lines
-    private String extractValue(String jsonLine) {
-        if (jsonLine == null || !jsonLine.contains(":")) {
+    // The intact records of a damaged snapshot, written back as a clean one; null when the
+    // header or dictionary is unreadable, which leaves nothing to recover by
+    private List<LostFoundItem> recoverItemsFromSnapshot(Path snapshot) {
+        try {
+            List<LostFoundItem> items = new ArrayList<>();
+            int damaged = BinarySnapshot.recoverItems(snapshot, items);
+            System.out.println("🔧 Recovered " + items.size() + " items from snapshot, skipping "
+                    + damaged + " damaged stretches");
+            saveItemsToSnapshot(items);
+            return items;
+        } catch (IOException e) {
+            System.err.println("❌ Could not recover items snapshot: " + e.getMessage());
             return null;
         }
+    }
 
+    private List<User> recoverUsersFromSnapshot(Path snapshot) {
         try {
-            String[] parts = jsonLine.split(":", 2);
-            if (parts.length == 2) {
-                String value = parts[1].trim();
-                // Remove trailing comma if present
-                if (value.endsWith(",")) {
-                    value = value.substring(0, value.length() - 1);
-                }
-                // Remove quotes
-                if (value.startsWith("\"") && value.endsWith("\"")) {
-                    value = value.substring(1, value.length() - 1);
-                }
-                return value;
-            }
-        } catch (Exception e) {
-            // Ignore extraction errors
+            List<User> users = new ArrayList<>();
+            int damaged = BinarySnapshot.recoverUsers(snapshot, users);
+            System.out.println("🔧 Recovered " + users.size() + " users from snapshot, skipping "
+                    + damaged + " damaged stretches");
+            saveUsersToSnapshot(users);
+            return users;
+        } catch (IOException e) {
+            System.err.println("❌ Could not recover users snapshot: " + e.getMessage());
+            return null;
         }
-        return null;
     }
 
     // Helper method to validate JSON syntax
@@ -493,16 +615,62 @@ public class JsonDataService {
         }
     }
 
-    private void createBackup(Path originalFile, String backupName) {
+    // Adds a restore point for the file to the backup store; only chunks that no earlier
+    // point has are written, so this no longer copies the whole file on every save
+    private void createBackup(Path originalFile, String reason) {
         try {
-            Path backupFile = Paths.get(BACKUP_DIR + backupName);
-            Files.copy(originalFile, backupFile, StandardCopyOption.REPLACE_EXISTING);
-            System.out.println("📋 Created backup: " + backupFile.getFileName());
+            BACKUPS.backup(originalFile, reason);
         } catch (IOException e) {
             System.err.println("❌ Failed to create backup: " + e.getMessage());
         }
     }
 
+    // Times of all restore points of the current format's data files, newest first
+    public List<Instant> getBackupPoints() {
+        TreeSet<Instant> times = new TreeSet<>(Collections.reverseOrder());
+        try {
+            for (Path file : currentDataFiles()) {
+                for (BackupStore.Point point : BACKUPS.points(file.getFileName().toString())) {
+                    if (point.isRestorable()) {
+                        times.add(Instant.ofEpochMilli(point.takenAt));
+                    }
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("❌ Error listing backups: " + e.getMessage());
+        }
+        return new ArrayList<>(times);
+    }
+
+    // Point-in-time restore: puts back each data file of the current format as it was at the
+    // given time (its newest backup taken then or earlier). The current files are backed up
+    // first, so a restore can be undone the same way. Loaded data is not touched; reload or
+    // restart to use the restored files.
+    public boolean restoreBackup(Instant pointInTime) {
+        boolean restoredAll = true;
+        for (Path file : currentDataFiles()) {
+            try {
+                if (Files.exists(file)) {
+                    BACKUPS.backup(file, "pre_restore");
+                }
+                if (!BACKUPS.restore(file.getFileName().toString(), pointInTime.toEpochMilli(), file)) {
+                    System.err.println("❌ No backup of " + file.getFileName() + " at or before " + pointInTime);
+                    restoredAll = false;
+                }
+            } catch (IOException e) {
+                System.err.println("❌ Error restoring " + file.getFileName() + ": " + e.getMessage());
+                restoredAll = false;
+            }
+        }
+        return restoredAll;
+    }
+
+    private List<Path> currentDataFiles() {
+        return snapshotFormat == SnapshotFormat.JSON
+                ? List.of(Paths.get(ITEMS_FILE), Paths.get(USERS_FILE))
+                : List.of(Paths.get(ITEMS_SNAPSHOT), Paths.get(USERS_SNAPSHOT));
+    }
+
     private boolean verifySave(Path filePath, int expectedCount) {
         try {
             if (!Files.exists(filePath)) {
@@ -592,13 +760,13 @@ public class JsonDataService {
             Path usersFile = Paths.get(USERS_FILE);
 
             if (Files.exists(itemsFile)) {
-                createBackup(itemsFile, "items_reset_backup.json");
+                createBackup(itemsFile, "reset");
                 Files.delete(itemsFile);
                 System.out.println("✅ Deleted items file");
             }
 
             if (Files.exists(usersFile)) {
-                createBackup(usersFile, "users_reset_backup.json");
+                createBackup(usersFile, "reset");
                 Files.delete(usersFile);
                 System.out.println("✅ Deleted users file");
             }
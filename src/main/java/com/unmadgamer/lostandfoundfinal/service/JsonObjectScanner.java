@@ -0,0 +1,140 @@
+package com.unmadgamer.lostandfoundfinal.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Recovery for a damaged JSON array of flat objects (items.json, users.json). Streams the file
+// once and hands each balanced {...} to the handler, whatever surrounds it, so a stray byte,
+// a missing comma or a cut-off object only costs the objects it touches. When an object cannot
+// be used (unbalanced, too large, or refused by the handler) scanning resumes just after its
+// opening brace, which finds any intact object that the damaged one swallowed.
+//
+// Memory stays bounded by MAX_OBJECT_SIZE: the file is read in chunks and only the current
+// object, plus the bytes of a refused one waiting to be scanned again, are held.
+final class JsonObjectScanner {
+    // Parses and keeps the object at json[offset, offset + length); false if it is not usable
+    interface ObjectHandler {
+        boolean accept(byte[] json, int offset, int length);
+    }
+
+    static final int MAX_OBJECT_SIZE = 256 * 1024;
+
+    private final InputStream in;
+    private final ObjectHandler handler;
+    private final byte[] chunk = new byte[1 << 16];
+    private int chunkPosition;
+    private int chunkEnd;
+    private byte[] rescan = new byte[0];   // Bytes of a refused object, read again before the stream
+    private int rescanPosition;
+    private byte[] object = new byte[1024];
+    private int objectLength;
+
+    private JsonObjectScanner(InputStream in, ObjectHandler handler) {
+        this.in = in;
+        this.handler = handler;
+    }
+
+    // Returns the number of damaged stretches skipped
+    static int scan(Path path, ObjectHandler handler) throws IOException {
+        try (InputStream in = Files.newInputStream(path)) {
+            return new JsonObjectScanner(in, handler).run();
+        }
+    }
+
+    private int run() throws IOException {
+        int damaged = 0;
+        boolean skipping = false;
+        int b;
+        while ((b = next()) >= 0) {
+            if (b != '{') {
+                continue; // Array brackets, commas, whitespace and any debris between objects
+            }
+            if (readObject() && handler.accept(object, 0, objectLength)) {
+                skipping = false;
+                continue;
+            }
+            if (!skipping) {
+                damaged++;
+                skipping = true;
+            }
+            // Everything after the opening brace gets scanned again
+            int pending = rescan.length - rescanPosition;
+            byte[] bytes = new byte[objectLength - 1 + pending];
+            System.arraycopy(object, 1, bytes, 0, objectLength - 1);
+            System.arraycopy(rescan, rescanPosition, bytes, objectLength - 1, pending);
+            rescan = bytes;
+            rescanPosition = 0;
+        }
+        return damaged;
+    }
+
+    // Collects the object whose opening brace was just read; false if the input ends or the
+    // size limit is reached before it closes. UTF-8 continuation bytes are all >= 0x80, so
+    // they never look like structural characters.
+    private boolean readObject() throws IOException {
+        objectLength = 0;
+        append('{');
+        int depth = 1;
+        boolean inString = false;
+        boolean escaped = false;
+        int b;
+        while (objectLength < MAX_OBJECT_SIZE && (b = next()) >= 0) {
+            append(b);
+            if (inString) {
+                if (escaped) {
+                    escaped = false;
+                } else if (b == '\\') {
+                    escaped = true;
+                } else if (b == '"') {
+                    inString = false;
+                }
+                continue;
+            }
+            switch (b) {
+                case '"':
+                    inString = true;
+                    break;
+                case '{':
+                case '[':
+                    depth++;
+                    break;
+                case '}':
+                case ']':
+                    depth--;
+                    if (depth == 0) {
+                        return b == '}';
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+        return false;
+    }
+
+    private void append(int b) {
+        if (objectLength == object.length) {
+            byte[] larger = new byte[Math.min(MAX_OBJECT_SIZE, object.length * 2)];
+            System.arraycopy(object, 0, larger, 0, objectLength);
+            object = larger;
+        }
+        object[objectLength++] = (byte) b;
+    }
+
+    private int next() throws IOException {
+        if (rescanPosition < rescan.length) {
+            return rescan[rescanPosition++] & 0xFF;
+        }
+        if (chunkPosition == chunkEnd) {
+            chunkEnd = in.read(chunk);
+            chunkPosition = 0;
+            if (chunkEnd <= 0) {
+                chunkEnd = 0;
+                return -1;
+            }
+        }
+        return chunk[chunkPosition++] & 0xFF;
+    }
+}
@@ -0,0 +1,141 @@
+package com.unmadgamer.lostandfoundfinal.service;
+
+import com.unmadgamer.lostandfoundfinal.model.Conversation;
+import com.unmadgamer.lostandfoundfinal.model.Message;
+
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Delivers MessageService events to one listener in order, off the sender's thread
+class ListenerDispatcher {
+    private final MessageService.MessageListener listener;
+    private final Executor executor;
+    private final Queue<PendingEvent> queue = new ConcurrentLinkedQueue<>();
+    private final Set<String> pendingConversationUpdates = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean draining = new AtomicBoolean(false);
+    private volatile boolean closed;
+
+    // Dispatch metrics
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong totalLatencyNanos = new AtomicLong();
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
+
+    private static final class PendingEvent {
+        private final Message message;
+        private final Conversation conversation;
+        private final long enqueuedAt;
+
+        private PendingEvent(Message message, Conversation conversation) {
+            this.message = message;
+            this.conversation = conversation;
+            this.enqueuedAt = System.nanoTime();
+        }
+    }
+
+    ListenerDispatcher(MessageService.MessageListener listener, Executor executor) {
+        this.listener = listener;
+        this.executor = executor;
+    }
+
+    MessageService.MessageListener getListener() {
+        return listener;
+    }
+
+    void dispatchNewMessage(Message message) {
+        if (closed) {
+            return;
+        }
+        queue.add(new PendingEvent(message, null));
+        scheduleDrain();
+    }
+
+    // Several updates of the same conversation waiting in the queue are delivered once
+    void dispatchConversationUpdated(Conversation conversation) {
+        if (closed) {
+            return;
+        }
+        if (!pendingConversationUpdates.add(conversation.getId())) {
+            coalesced.incrementAndGet();
+            return;
+        }
+        queue.add(new PendingEvent(null, conversation));
+        scheduleDrain();
+    }
+
+    void close() {
+        closed = true;
+        queue.clear();
+        pendingConversationUpdates.clear();
+    }
+
+    private void scheduleDrain() {
+        if (draining.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        PendingEvent event;
+        while (!closed && (event = queue.poll()) != null) {
+            deliver(event);
+        }
+        draining.set(false);
+
+        // An event may have arrived after the last poll but before the flag was cleared
+        if (!closed && !queue.isEmpty()) {
+            scheduleDrain();
+        }
+    }
+
+    private void deliver(PendingEvent event) {
+        try {
+            if (event.message != null) {
+                listener.onNewMessage(event.message);
+            } else {
+                // Clear first so an update arriving during delivery is queued again
+                pendingConversationUpdates.remove(event.conversation.getId());
+                listener.onConversationUpdated(event.conversation);
+            }
+            delivered.incrementAndGet();
+        } catch (Exception e) {
+            failures.incrementAndGet();
+            System.err.println("❌ Message listener failed: " + e.getMessage());
+        }
+
+        long latency = System.nanoTime() - event.enqueuedAt;
+        totalLatencyNanos.addAndGet(latency);
+        maxLatencyNanos.accumulateAndGet(latency, Math::max);
+    }
+
+    long getDeliveredCount() {
+        return delivered.get();
+    }
+
+    long getCoalescedCount() {
+        return coalesced.get();
+    }
+
+    long getFailureCount() {
+        return failures.get();
+    }
+
+    int getQueueDepth() {
+        return queue.size();
+    }
+
+    double getAverageLatencyMicros() {
+        long count = delivered.get() + failures.get();
+        return count > 0 ? totalLatencyNanos.get() / 1000.0 / count : 0.0;
+    }
+
+    double getMaxLatencyMicros() {
+        return maxLatencyNanos.get() / 1000.0;
+    }
+}
@@ -0,0 +1,575 @@
+package com.unmadgamer.lostandfoundfinal.service;
+
+import com.unmadgamer.lostandfoundfinal.model.ClaimStatus;
+import com.unmadgamer.lostandfoundfinal.model.FoundItem;
+import com.unmadgamer.lostandfoundfinal.model.ItemStatus;
+import com.unmadgamer.lostandfoundfinal.model.LostFoundItem;
+import com.unmadgamer.lostandfoundfinal.model.LostItem;
+import com.unmadgamer.lostandfoundfinal.model.Timestamps;
+import com.unmadgamer.lostandfoundfinal.model.VerificationStatus;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractCollection;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.function.Predicate;
+
+// Item snapshot kept outside the Java heap instead of being decoded up front: either a
+// memory mapping of the file (open) or a copy of it in a direct buffer (load). Opening only
+// walks the record length prefixes and hashes the ids in place. Fields are read from the
+// buffer on demand through flyweight views, and an item becomes a heap object only when
+// something takes it out of the ItemList, so the number of items on the heap stays bounded
+// however many the catalogue holds.
+//
+// A mapping stays open for the life of the store. Saves replace items.bin with a new file,
+// which leaves the mapping on the old one intact on Linux and macOS; Windows refuses to
+// replace a mapped file, so there the direct buffer is the one to use.
+final class MappedItemStore {
+    // Decoded items kept for reuse; -Dlostandfound.hotItems overrides
+    static final int DEFAULT_HOT_ITEMS = 10_000;
+
+    private final ByteBuffer buffer;
+    private final BinarySnapshot.Reader reader;   // Header and dictionary; decodes under the ItemList lock
+    private final int[] recordStarts;
+    private final int[] idTable;   // Open addressing on the id bytes, record index + 1, 0 = empty
+
+    private MappedItemStore(ByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        this.reader = new BinarySnapshot.Reader(buffer.duplicate(), BinarySnapshot.KIND_ITEMS);
+        this.recordStarts = new int[reader.recordCount];
+        // Checks every record's checksum, so damage shows up here rather than as a bad item later
+        int position = reader.recordsStart;
+        for (int i = 0; i < recordStarts.length; i++) {
+            recordStarts[i] = reader.payloadAt(position);
+            position = recordStarts[i] + reader.payloadLength(recordStarts[i]);
+        }
+        this.idTable = new int[Integer.highestOneBit(Math.max(1, recordStarts.length) * 2) * 2];
+        byte[] scratch = new byte[64];
+        for (int i = 0; i < recordStarts.length; i++) {
+            int idPosition = recordStarts[i] + BinarySnapshot.ITEM_FIXED_SIZE;
+            int length = buffer.getInt(idPosition);
+            if (length < 0) {
+                continue;
+            }
+            if (scratch.length < length) {
+                scratch = new byte[length];
+            }
+            buffer.get(idPosition + 4, scratch, 0, length);
+            int slot = hash(scratch, length) & (idTable.length - 1);
+            while (idTable[slot] != 0) {
+                if (idEquals(idTable[slot] - 1, scratch, length)) {
+                    break; // Duplicate id: the first record wins, as with a linear search
+                }
+                slot = (slot + 1) & (idTable.length - 1);
+            }
+            if (idTable[slot] == 0) {
+                idTable[slot] = i + 1;
+            }
+        }
+    }
+
+    static MappedItemStore open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot is too large to map: " + channel.size() + " bytes");
+            }
+            return new MappedItemStore(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    // Off-heap copy, limited by -XX:MaxDirectMemorySize (the maximum heap size by default)
+    static MappedItemStore load(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot is too large to load: " + channel.size() + " bytes");
+            }
+            ByteBuffer buffer = ByteBuffer.allocateDirect((int) channel.size());
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) {
+                    throw new IOException("Snapshot ended early");
+                }
+            }
+            buffer.flip();
+            return new MappedItemStore(buffer);
+        }
+    }
+
+    int size() {
+        return recordStarts.length;
+    }
+
+    String[] getDictionary() {
+        return reader.dictionary;
+    }
+
+    // Record index of the item with this id, or -1
+    int indexOf(String id) {
+        if (id == null) {
+            return -1;
+        }
+        byte[] bytes = id.getBytes(StandardCharsets.UTF_8);
+        int slot = hash(bytes, bytes.length) & (idTable.length - 1);
+        while (idTable[slot] != 0) {
+            if (idEquals(idTable[slot] - 1, bytes, bytes.length)) {
+                return idTable[slot] - 1;
+            }
+            slot = (slot + 1) & (idTable.length - 1);
+        }
+        return -1;
+    }
+
+    // Id of the record at index, read from the buffer without decoding the item
+    String idAt(int index) {
+        return inline(recordStarts[index], 0);
+    }
+
+    // Writes the record's payload unchanged, in a current-version frame
+    void copyRecord(int index, DataOutputStream out) throws IOException {
+        int start = recordStarts[index];
+        byte[] record = new byte[reader.payloadLength(start)];
+        buffer.get(start, record);
+        BinarySnapshot.writeRecord(out, record, record.length);
+    }
+
+    ItemList asList() {
+        return new ItemList(Integer.getInteger("lostandfound.hotItems", DEFAULT_HOT_ITEMS));
+    }
+
+    // description and contactInfo stay in the buffer until first asked for; list screens
+    // never need them, only the details dialog and text search do
+    private LostFoundItem decode(int start) {
+        LostFoundItem item = buffer.get(start + BinarySnapshot.ITEM_TYPE) == BinarySnapshot.TYPE_LOST
+                ? new LazyLostItem(start) : new LazyFoundItem(start);
+        BinarySnapshot.decodeFields(reader, start, item, false);
+        return item;
+    }
+
+    private boolean idEquals(int index, byte[] bytes, int length) {
+        int idPosition = recordStarts[index] + BinarySnapshot.ITEM_FIXED_SIZE;
+        if (buffer.getInt(idPosition) != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (buffer.get(idPosition + 4 + i) != bytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int hash(byte[] bytes, int length) {
+        int hash = 1;
+        for (int i = 0; i < length; i++) {
+            hash = 31 * hash + bytes[i];
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    private String word(int start, int offset) {
+        int code = buffer.getInt(start + offset);
+        return code < 0 ? null : reader.dictionary[code];
+    }
+
+    // The n-th inline string of the record
+    private String inline(int start, int n) {
+        int position = start + BinarySnapshot.ITEM_FIXED_SIZE;
+        for (int i = 0; i < n; i++) {
+            position = BinarySnapshot.skipString(buffer, position);
+        }
+        return BinarySnapshot.stringAt(buffer, position);
+    }
+
+    // String form of the enum byte at offset (ITEM_STATUS, ITEM_VERIFICATION or ITEM_CLAIM),
+    // including text kept for an UNKNOWN byte after the regular inline strings
+    private String enumText(int start, int offset) {
+        byte code = buffer.get(start + offset);
+        if (code != BinarySnapshot.UNKNOWN) {
+            switch (offset) {
+                case BinarySnapshot.ITEM_STATUS:
+                    ItemStatus status = BinarySnapshot.itemStatus(code);
+                    return status != null ? status.getValue() : null;
+                case BinarySnapshot.ITEM_VERIFICATION:
+                    VerificationStatus verification = BinarySnapshot.verificationStatus(code);
+                    return verification != null ? verification.getValue() : null;
+                default:
+                    ClaimStatus claim = BinarySnapshot.claimStatus(code);
+                    return claim != null ? claim.getValue() : null;
+            }
+        }
+        int n = BinarySnapshot.ITEM_INLINE_COUNT;
+        for (int earlier = BinarySnapshot.ITEM_STATUS; earlier < offset; earlier++) {
+            if (buffer.get(start + earlier) == BinarySnapshot.UNKNOWN) {
+                n++;
+            }
+        }
+        return inline(start, n);
+    }
+
+    private long millis(int start, int offset) {
+        long millis = buffer.getLong(start + offset);
+        return millis == BinarySnapshot.UNREADABLE_TIME ? 0 : millis;
+    }
+
+    // String form of the timestamp at offset (ITEM_CREATED_AT or ITEM_VERIFICATION_DATE),
+    // including text kept for an unreadable one after any unknown enums' text
+    private String timestampText(int start, int offset) {
+        long millis = buffer.getLong(start + offset);
+        if (millis != BinarySnapshot.UNREADABLE_TIME) {
+            return Timestamps.format(millis);
+        }
+        int n = BinarySnapshot.ITEM_INLINE_COUNT;
+        for (int enumOffset = BinarySnapshot.ITEM_STATUS; enumOffset <= BinarySnapshot.ITEM_CLAIM; enumOffset++) {
+            if (buffer.get(start + enumOffset) == BinarySnapshot.UNKNOWN) {
+                n++;
+            }
+        }
+        if (offset == BinarySnapshot.ITEM_VERIFICATION_DATE
+                && buffer.getLong(start + BinarySnapshot.ITEM_CREATED_AT) == BinarySnapshot.UNREADABLE_TIME) {
+            n++;
+        }
+        return inline(start, n);
+    }
+
+    // Items in snapshot order followed by any added since it was opened. Records are decoded
+    // on get() into a bounded cache of recently used items; a record evicted from it is
+    // decoded again when next asked for. Items are only changed through ItemService, which
+    // takes them with getForUpdate() first: those are pinned for the life of the list, so the
+    // object that was changed is the one the next save writes. All other records are copied
+    // as-is.
+    final class ItemList extends AbstractList<LostFoundItem> implements RandomAccess {
+        private final Map<Integer, LostFoundItem> pinned = new HashMap<>();
+        private final Map<Integer, LostFoundItem> hot;
+        private final BitSet resident = new BitSet(recordStarts.length);   // In pinned or hot
+        private final List<LostFoundItem> appended = new ArrayList<>();
+        private final Map<String, Integer> appendedIndexes = new HashMap<>();   // id -> index in appended
+        private long decodeCount;
+
+        private ItemList(int hotCapacity) {
+            this.hot = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Integer, LostFoundItem> eldest) {
+                    if (size() <= hotCapacity) {
+                        return false;
+                    }
+                    if (!pinned.containsKey(eldest.getKey())) {
+                        resident.clear(eldest.getKey());
+                    }
+                    return true;
+                }
+            };
+        }
+
+        @Override
+        public synchronized LostFoundItem get(int index) {
+            if (index >= recordStarts.length) {
+                return appended.get(index - recordStarts.length);
+            }
+            LostFoundItem item = residentItem(index);
+            if (item == null) {
+                item = decode(recordStarts[index]);
+                decodeCount++;
+                hot.put(index, item);
+                resident.set(index);
+            }
+            return item;
+        }
+
+        // The item, kept from now on so that changes made to it are saved
+        synchronized LostFoundItem getForUpdate(int index) {
+            LostFoundItem item = get(index);
+            if (index < recordStarts.length) {
+                pinned.put(index, item);
+            }
+            return item;
+        }
+
+        @Override
+        public synchronized int size() {
+            return recordStarts.length + appended.size();
+        }
+
+        @Override
+        public synchronized boolean add(LostFoundItem item) {
+            if (item.getId() != null) {
+                appendedIndexes.putIfAbsent(item.getId(), appended.size());
+            }
+            appended.add(item);
+            modCount++;
+            return true;
+        }
+
+        synchronized LostFoundItem getIfMaterialized(int index) {
+            return index < recordStarts.length ? residentItem(index) : appended.get(index - recordStarts.length);
+        }
+
+        // An item that may differ from its record: pinned for update, or added since opening.
+        // Everything else is unchanged, so saves copy its record without re-encoding it (and
+        // without hydrating its text).
+        synchronized LostFoundItem getIfChanged(int index) {
+            return index < recordStarts.length ? pinned.get(index) : appended.get(index - recordStarts.length);
+        }
+
+        synchronized LostFoundItem findById(String id) {
+            int index = MappedItemStore.this.indexOf(id); // Not AbstractList.indexOf
+            return index >= 0 ? get(index) : findAppended(id);
+        }
+
+        synchronized LostFoundItem findForUpdate(String id) {
+            int index = MappedItemStore.this.indexOf(id);
+            return index >= 0 ? getForUpdate(index) : findAppended(id);
+        }
+
+        // Position of the item with this id, or -1, without decoding anything
+        synchronized int positionOf(String id) {
+            int index = MappedItemStore.this.indexOf(id);
+            if (index >= 0) {
+                return index;
+            }
+            Integer appendedIndex = id != null ? appendedIndexes.get(id) : null;
+            return appendedIndex != null ? recordStarts.length + appendedIndex : -1;
+        }
+
+        synchronized String idAt(int index) {
+            return index < recordStarts.length ? MappedItemStore.this.idAt(index)
+                    : appended.get(index - recordStarts.length).getId();
+        }
+
+        // Records not resident are tested through a view, so only matches are decoded
+        synchronized List<LostFoundItem> select(Predicate<? super LostFoundItem> filter) {
+            List<LostFoundItem> matches = new ArrayList<>();
+            Views views = new Views();
+            for (int i = 0; i < recordStarts.length; i++) {
+                LostFoundItem item = residentItem(i);
+                if (filter.test(item != null ? item : views.at(i))) {
+                    matches.add(get(i));
+                }
+            }
+            for (LostFoundItem item : appended) {
+                if (filter.test(item)) {
+                    matches.add(item);
+                }
+            }
+            return matches;
+        }
+
+        // Like select, but decodes nothing
+        synchronized long count(Predicate<? super LostFoundItem> filter) {
+            long count = 0;
+            Views views = new Views();
+            for (int i = 0; i < recordStarts.length; i++) {
+                LostFoundItem item = residentItem(i);
+                if (filter.test(item != null ? item : views.at(i))) {
+                    count++;
+                }
+            }
+            for (LostFoundItem item : appended) {
+                if (filter.test(item)) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        // Every item in order, for index rebuilds: a resident item where there is one,
+        // otherwise a view that is reused for the next element and must not be kept
+        Collection<LostFoundItem> views() {
+            return new AbstractCollection<>() {
+                @Override
+                public Iterator<LostFoundItem> iterator() {
+                    Views views = new Views();
+                    return new Iterator<>() {
+                        private int next;
+
+                        @Override
+                        public boolean hasNext() {
+                            return next < size();
+                        }
+
+                        @Override
+                        public LostFoundItem next() {
+                            if (!hasNext()) {
+                                throw new NoSuchElementException();
+                            }
+                            int index = next++;
+                            LostFoundItem item = getIfMaterialized(index);
+                            return item != null ? item : views.at(index);
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return ItemList.this.size();
+                }
+            };
+        }
+
+        // Items currently on the heap: cached, pinned and added
+        synchronized int getMaterializedCount() {
+            return resident.cardinality() + appended.size();
+        }
+
+        synchronized long getDecodeCount() {
+            return decodeCount;
+        }
+
+        MappedItemStore getStore() {
+            return MappedItemStore.this;
+        }
+
+        private LostFoundItem residentItem(int index) {
+            if (!resident.get(index)) {
+                return null;
+            }
+            LostFoundItem item = pinned.get(index);
+            return item != null ? item : hot.get(index);
+        }
+
+        private LostFoundItem findAppended(String id) {
+            Integer index = id != null ? appendedIndexes.get(id) : null;
+            return index != null ? appended.get(index) : null;
+        }
+    }
+
+    // One reusable view per item type, repositioned for each record. Views are read-only
+    // stand-ins for predicates and index rebuilds; setters on them have no effect on the file.
+    private final class Views {
+        private final LostView lost = new LostView();
+        private final FoundView found = new FoundView();
+
+        LostFoundItem at(int index) {
+            int start = recordStarts[index];
+            if (buffer.get(start + BinarySnapshot.ITEM_TYPE) == BinarySnapshot.TYPE_LOST) {
+                lost.start = start;
+                return lost;
+            }
+            found.start = start;
+            return found;
+        }
+    }
+
+    private final class LostView extends LostItem {
+        private int start;
+
+        LostView() {
+            super(null);
+        }
+
+        @Override public String getId() { return inline(start, 0); }
+        @Override public String getItemName() { return inline(start, 1); }
+        @Override public String getDescription() { return inline(start, 2); }
+        @Override public String getContactInfo() { return inline(start, 3); }
+        @Override public String getClaimedFoundItemId() { return inline(start, 4); }
+        @Override public String getCategory() { return word(start, BinarySnapshot.ITEM_CATEGORY); }
+        @Override public String getLocation() { return word(start, BinarySnapshot.ITEM_LOCATION); }
+        @Override public String getDate() { return word(start, BinarySnapshot.ITEM_DATE); }
+        @Override public String getReportedBy() { return word(start, BinarySnapshot.ITEM_REPORTED_BY); }
+        @Override public String getVerifiedBy() { return word(start, BinarySnapshot.ITEM_VERIFIED_BY); }
+        @Override public String getLostDate() { return word(start, BinarySnapshot.ITEM_TYPE_DATE); }
+        @Override public String getReward() { return word(start, BinarySnapshot.ITEM_REWARD_OR_STORAGE); }
+        @Override public String getClaimedBy() { return word(start, BinarySnapshot.ITEM_CLAIMED_BY); }
+        @Override public ItemStatus getItemStatus() { return BinarySnapshot.itemStatus(buffer.get(start + BinarySnapshot.ITEM_STATUS)); }
+        @Override public String getStatus() { return enumText(start, BinarySnapshot.ITEM_STATUS); }
+        @Override public VerificationStatus getVerificationState() { return BinarySnapshot.verificationStatus(buffer.get(start + BinarySnapshot.ITEM_VERIFICATION)); }
+        @Override public String getVerificationStatus() { return enumText(start, BinarySnapshot.ITEM_VERIFICATION); }
+        @Override public ClaimStatus getClaimState() { return BinarySnapshot.claimStatus(buffer.get(start + BinarySnapshot.ITEM_CLAIM)); }
+        @Override public String getClaimStatus() { return enumText(start, BinarySnapshot.ITEM_CLAIM); }
+        @Override public long getCreatedAtMillis() { return millis(start, BinarySnapshot.ITEM_CREATED_AT); }
+        @Override public String getCreatedAt() { return timestampText(start, BinarySnapshot.ITEM_CREATED_AT); }
+        @Override public long getVerificationDateMillis() { return millis(start, BinarySnapshot.ITEM_VERIFICATION_DATE); }
+        @Override public String getVerificationDate() { return timestampText(start, BinarySnapshot.ITEM_VERIFICATION_DATE); }
+    }
+
+    private final class FoundView extends FoundItem {
+        private int start;
+
+        FoundView() {
+            super(null);
+        }
+
+        @Override public String getId() { return inline(start, 0); }
+        @Override public String getItemName() { return inline(start, 1); }
+        @Override public String getDescription() { return inline(start, 2); }
+        @Override public String getContactInfo() { return inline(start, 3); }
+        @Override public String getCategory() { return word(start, BinarySnapshot.ITEM_CATEGORY); }
+        @Override public String getLocation() { return word(start, BinarySnapshot.ITEM_LOCATION); }
+        @Override public String getDate() { return word(start, BinarySnapshot.ITEM_DATE); }
+        @Override public String getReportedBy() { return word(start, BinarySnapshot.ITEM_REPORTED_BY); }
+        @Override public String getVerifiedBy() { return word(start, BinarySnapshot.ITEM_VERIFIED_BY); }
+        @Override public String getFoundDate() { return word(start, BinarySnapshot.ITEM_TYPE_DATE); }
+        @Override public String getStorageLocation() { return word(start, BinarySnapshot.ITEM_REWARD_OR_STORAGE); }
+        @Override public String getClaimedBy() { return word(start, BinarySnapshot.ITEM_CLAIMED_BY); }
+        @Override public ItemStatus getItemStatus() { return BinarySnapshot.itemStatus(buffer.get(start + BinarySnapshot.ITEM_STATUS)); }
+        @Override public String getStatus() { return enumText(start, BinarySnapshot.ITEM_STATUS); }
+        @Override public VerificationStatus getVerificationState() { return BinarySnapshot.verificationStatus(buffer.get(start + BinarySnapshot.ITEM_VERIFICATION)); }
+        @Override public String getVerificationStatus() { return enumText(start, BinarySnapshot.ITEM_VERIFICATION); }
+        @Override public ClaimStatus getClaimState() { return BinarySnapshot.claimStatus(buffer.get(start + BinarySnapshot.ITEM_CLAIM)); }
+        @Override public String getClaimStatus() { return enumText(start, BinarySnapshot.ITEM_CLAIM); }
+        @Override public long getCreatedAtMillis() { return millis(start, BinarySnapshot.ITEM_CREATED_AT); }
+        @Override public String getCreatedAt() { return timestampText(start, BinarySnapshot.ITEM_CREATED_AT); }
+        @Override public long getVerificationDateMillis() { return millis(start, BinarySnapshot.ITEM_VERIFICATION_DATE); }
+        @Override public String getVerificationDate() { return timestampText(start, BinarySnapshot.ITEM_VERIFICATION_DATE); }
+    }
+
+    // Decoded items whose text fields are read from the buffer on first use. A setter
+    // hydrates first too, so a value set before the first read is not overwritten.
+    private final class LazyLostItem extends LostItem {
+        private int textStart;   // Record start until hydrated, then -1
+
+        LazyLostItem(int start) {
+            super(null);   // decodeFields sets it
+            this.textStart = start;
+        }
+
+        @Override public String getDescription() { hydrate(); return super.getDescription(); }
+        @Override public void setDescription(String description) { hydrate(); super.setDescription(description); }
+        @Override public String getContactInfo() { hydrate(); return super.getContactInfo(); }
+        @Override public void setContactInfo(String contactInfo) { hydrate(); super.setContactInfo(contactInfo); }
+
+        private synchronized void hydrate() {
+            if (textStart >= 0) {
+                super.setDescription(inline(textStart, 2));
+                super.setContactInfo(inline(textStart, 3));
+                textStart = -1;
+            }
+        }
+    }
+
+    private final class LazyFoundItem extends FoundItem {
+        private int textStart;
+
+        LazyFoundItem(int start) {
+            super(null);   // decodeFields sets it
+            this.textStart = start;
+        }
+
+        @Override public String getDescription() { hydrate(); return super.getDescription(); }
+        @Override public void setDescription(String description) { hydrate(); super.setDescription(description); }
+        @Override public String getContactInfo() { hydrate(); return super.getContactInfo(); }
+        @Override public void setContactInfo(String contactInfo) { hydrate(); super.setContactInfo(contactInfo); }
+
+        private synchronized void hydrate() {
+            if (textStart >= 0) {
+                super.setDescription(inline(textStart, 2));
+                super.setContactInfo(inline(textStart, 3));
+                textStart = -1;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,185 @@
+package com.unmadgamer.lostandfoundfinal.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.unmadgamer.lostandfoundfinal.model.Message;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Append-only message history, one JSON line per message in data/messages/<conversationId>.jsonl.
+// Line n holds the message with sequence n, so pages are located through a sparse offset index.
+class MessageLog {
+    private static final Path MESSAGES_DIR = Paths.get("data", "messages");
+    private static final int CHECKPOINT_INTERVAL = 32;
+    private static final int MAX_CACHED_INDEXES = 256;
+
+    private final ObjectMapper objectMapper;
+    private final Path directory;
+    private final Map<String, OffsetIndex> offsetIndexes = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, OffsetIndex> eldest) {
+            return size() > MAX_CACHED_INDEXES;
+        }
+    };
+
+    // Byte offset of every CHECKPOINT_INTERVAL-th line plus the line count
+    private static final class OffsetIndex {
+        private final List<Long> checkpoints = new ArrayList<>();
+        private long lineCount;
+    }
+
+    MessageLog(ObjectMapper sharedMapper) {
+        this(sharedMapper, MESSAGES_DIR);
+    }
+
+    MessageLog(ObjectMapper sharedMapper, Path directory) {
+        // One message per line, so no pretty printing
+        this.objectMapper = sharedMapper.copy().disable(SerializationFeature.INDENT_OUTPUT);
+        this.directory = directory;
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            System.err.println("❌ Failed to create messages directory: " + e.getMessage());
+        }
+    }
+
+    synchronized boolean exists(String conversationId) {
+        return Files.exists(pathFor(conversationId));
+    }
+
+    synchronized void append(Message message) throws IOException {
+        appendAll(message.getConversationId(), Collections.singletonList(message));
+    }
+
+    synchronized void appendAll(String conversationId, List<Message> messages) throws IOException {
+        if (messages.isEmpty()) {
+            return;
+        }
+
+        OffsetIndex index = offsetIndexes.get(conversationId);
+        try (FileChannel channel = FileChannel.open(pathFor(conversationId),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            long start = channel.size();
+            try {
+                writeLines(channel, messages, index, start);
+            } catch (IOException e) {
+                // A partial line would shift every later sequence, so the batch goes entirely
+                try {
+                    channel.truncate(start);
+                } catch (IOException truncateFailure) {
+                    e.addSuppressed(truncateFailure);
+                }
+                offsetIndexes.remove(conversationId);
+                throw e;
+            }
+        }
+    }
+
+    private void writeLines(FileChannel channel, List<Message> messages, OffsetIndex index, long offset) throws IOException {
+        for (Message message : messages) {
+            byte[] line = (objectMapper.writeValueAsString(message) + "\n").getBytes(StandardCharsets.UTF_8);
+            ByteBuffer buffer = ByteBuffer.wrap(line);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+
+            if (index != null) {
+                if (index.lineCount % CHECKPOINT_INTERVAL == 0) {
+                    index.checkpoints.add(offset);
+                }
+                index.lineCount++;
+            }
+            offset += line.length;
+        }
+    }
+
+    // Up to limit messages with sequence < beforeSequence, oldest first
+    synchronized List<Message> readPage(String conversationId, long beforeSequence, int limit) throws IOException {
+        Path path = pathFor(conversationId);
+        if (limit <= 0 || !Files.exists(path)) {
+            return Collections.emptyList();
+        }
+
+        OffsetIndex index = indexFor(conversationId, path);
+        long last = Math.min(beforeSequence - 1, index.lineCount);
+        long first = Math.max(1, last - limit + 1);
+        if (last < first) {
+            return Collections.emptyList();
+        }
+
+        int checkpoint = (int) ((first - 1) / CHECKPOINT_INTERVAL);
+        long lineNumber = (long) checkpoint * CHECKPOINT_INTERVAL + 1;
+
+        List<Message> page = new ArrayList<>((int) (last - first + 1));
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            channel.position(index.checkpoints.get(checkpoint));
+            BufferedReader reader = new BufferedReader(Channels.newReader(channel, StandardCharsets.UTF_8));
+            String line;
+            while (lineNumber <= last && (line = reader.readLine()) != null) {
+                if (lineNumber >= first) {
+                    page.add(objectMapper.readValue(line, Message.class));
+                }
+                lineNumber++;
+            }
+        }
+        return page;
+    }
+
+    synchronized long count(String conversationId) throws IOException {
+        Path path = pathFor(conversationId);
+        return Files.exists(path) ? indexFor(conversationId, path).lineCount : 0;
+    }
+
+    private OffsetIndex indexFor(String conversationId, Path path) throws IOException {
+        OffsetIndex index = offsetIndexes.get(conversationId);
+        if (index == null) {
+            index = buildIndex(path);
+            offsetIndexes.put(conversationId, index);
+        }
+        return index;
+    }
+
+    // One sequential pass over the file recording where every checkpoint line starts
+    private OffsetIndex buildIndex(Path path) throws IOException {
+        OffsetIndex index = new OffsetIndex();
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(path), 64 * 1024)) {
+            long offset = 0;
+            boolean atLineStart = true;
+            int b;
+            while ((b = in.read()) != -1) {
+                if (atLineStart) {
+                    if (index.lineCount % CHECKPOINT_INTERVAL == 0) {
+                        index.checkpoints.add(offset);
+                    }
+                    index.lineCount++;
+                    atLineStart = false;
+                }
+                if (b == '\n') {
+                    atLineStart = true;
+                }
+                offset++;
+            }
+        }
+        return index;
+    }
+
+    private Path pathFor(String conversationId) {
+        return directory.resolve(conversationId + ".jsonl");
+    }
+}
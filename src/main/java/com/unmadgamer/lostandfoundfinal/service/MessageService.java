@@ -4,25 +4,62 @@ import com.unmadgamer.lostandfoundfinal.model.Conversation;
 import com.unmadgamer.lostandfoundfinal.model.Message;
 import com.unmadgamer.lostandfoundfinal.model.User;
 import com.fasterxml.jackson.core.type.TypeReference;
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
 
 import java.io.*;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public class MessageService {
     private static MessageService instance;
     private final JsonDataService jsonDataService;
     private final UserService userService;
-    private List<Conversation> conversations;
-    private ObservableList<Conversation> observableConversations;
+    // Written by the state writer thread (see StateCommand) and walked by the search catch-up,
+    // so the list is copied on write
+    private volatile List<Conversation> conversations;
+    private final ConversationIndex conversationIndex = new ConversationIndex();
+    private final UserInboxIndex inboxIndex = new UserInboxIndex();
+    private final ChatSearchIndex searchIndex = new ChatSearchIndex();
+    private final AtomicBoolean searchCatchUpRunning = new AtomicBoolean();
+    private final AtomicBoolean searchCatchUpPending = new AtomicBoolean();
     private static final String CONVERSATIONS_FILE = "data/conversations.json";
-    private List<MessageListener> messageListeners = new ArrayList<>();
+    private static final String SYSTEM_SENDER = "System";
+    // Other side of each user's system alert thread. Usernames are letters, digits and
+    // underscores, and registration refuses this one, so no account can own the thread.
+    static final String SYSTEM_ALERTS_USER = "#system";
+    private static final int RESIDENT_MESSAGES_PER_CONVERSATION = 50;
+    private static final int MAX_RESIDENT_CONVERSATIONS = 100;
+    private static final int SEARCH_CATCH_UP_PAGE = 500;
+    private final ObjectMapper headerMapper;
+    // Modification time of the header file as this instance last read or wrote it
+    private volatile FileTime savedFileTime;
+    private final MessageLog messageLog;
+    // Conversations whose recent messages are in memory, least recently used first
+    private final Map<String, Conversation> residentConversations = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Conversation> eldest) {
+            if (size() > MAX_RESIDENT_CONVERSATIONS) {
+                eldest.getValue().setMessages(new ArrayList<>());
+                return true;
+            }
+            return false;
+        }
+    };
+    // Each listener gets its own ordered async queue so a slow listener never delays senders
+    private final Map<MessageListener, ListenerDispatcher> messageListeners = new ConcurrentHashMap<>();
 
     // Interface for real-time message updates
     public interface MessageListener {
@@ -33,7 +70,8 @@ public class MessageService {
     private MessageService() {
         this.jsonDataService = new JsonDataService();
         this.userService = UserService.getInstance();
-        this.observableConversations = FXCollections.observableArrayList();
+        this.headerMapper = createHeaderMapper(jsonDataService.getObjectMapper());
+        this.messageLog = new MessageLog(jsonDataService.getObjectMapper());
         loadConversations();
         System.out.println("✅ MessageService initialized with " + conversations.size() + " conversations");
     }
@@ -47,64 +85,258 @@ public class MessageService {
 
     // Add listener for real-time updates
     public void addMessageListener(MessageListener listener) {
-        messageListeners.add(listener);
+        messageListeners.computeIfAbsent(listener, l -> new ListenerDispatcher(l, AsyncExecutors.getExecutor()));
     }
 
     // Remove listener
     public void removeMessageListener(MessageListener listener) {
-        messageListeners.remove(listener);
+        ListenerDispatcher dispatcher = messageListeners.remove(listener);
+        if (dispatcher != null) {
+            dispatcher.close();
+        }
     }
 
-    // Notify listeners about new message
+    // Notify listeners about new message, once the conversation headers holding it are saved
     private void notifyNewMessage(Message message) {
-        for (MessageListener listener : messageListeners) {
-            listener.onNewMessage(message);
-        }
+        BatchedWriter.getInstance().afterSave(BatchedWriter.Target.CONVERSATIONS, () -> {
+            for (ListenerDispatcher dispatcher : messageListeners.values()) {
+                dispatcher.dispatchNewMessage(message);
+            }
+        });
     }
 
-    // Notify listeners about conversation update
+    // Notify listeners about conversation update, once it is saved
     private void notifyConversationUpdated(Conversation conversation) {
-        for (MessageListener listener : messageListeners) {
-            listener.onConversationUpdated(conversation);
-        }
+        BatchedWriter.getInstance().afterSave(BatchedWriter.Target.CONVERSATIONS, () -> {
+            for (ListenerDispatcher dispatcher : messageListeners.values()) {
+                dispatcher.dispatchConversationUpdated(conversation);
+            }
+        });
     }
 
+    // conversations.json holds headers only; message bodies are written to the MessageLog
+    private static ObjectMapper createHeaderMapper(ObjectMapper baseMapper) {
+        SimpleModule headersOnly = new SimpleModule();
+        headersOnly.setSerializerModifier(new BeanSerializerModifier() {
+            @Override
+            public List<BeanPropertyWriter> changeProperties(SerializationConfig config, BeanDescription beanDesc,
+                                                             List<BeanPropertyWriter> beanProperties) {
+                if (Conversation.class.isAssignableFrom(beanDesc.getBeanClass())) {
+                    beanProperties.removeIf(property -> "messages".equals(property.getName()));
+                }
+                return beanProperties;
+            }
+        });
+        return baseMapper.copy().registerModule(headersOnly);
+    }
+
+    // Initial load: the only time the indexes are built from scratch
     private void loadConversations() {
+        List<Conversation> loaded = new ArrayList<>();
+        boolean rewrite;
         try {
-            Path filePath = Paths.get(CONVERSATIONS_FILE);
-            if (!Files.exists(filePath)) {
-                conversations = new ArrayList<>();
-                saveConversations();
-                return;
-            }
+            rewrite = readConversations(loaded);
+        } catch (Exception e) {
+            System.err.println("❌ Error loading conversations: " + e.getMessage());
+            loaded.clear();
+            rewrite = false;
+        }
+        conversations = new CopyOnWriteArrayList<>(loaded);
+        if (rewrite) {
+            saveConversations();
+        }
+        conversationIndex.rebuild(conversations);
+        inboxIndex.rebuild(conversations);
+        scheduleSearchCatchUp();
+    }
 
+    // Fills loaded from the header file; true if the file is missing or was migrated and
+    // should be written back
+    private boolean readConversations(List<Conversation> loaded) throws IOException {
+        Path filePath = Paths.get(CONVERSATIONS_FILE);
+        if (!Files.exists(filePath)) {
+            return true;
+        }
+        try {
             String content = Files.readString(filePath);
             if (content.trim().isEmpty()) {
-                conversations = new ArrayList<>();
-                return;
+                return false;
             }
 
-            conversations = jsonDataService.getObjectMapper().readValue(
+            List<Conversation> read = jsonDataService.getObjectMapper().readValue(
                     filePath.toFile(),
                     new TypeReference<List<Conversation>>() {}
             );
+            if (read != null) {
+                loaded.addAll(read);
+            }
+
+            // Files from before read watermarks carry per-message read flags
+            long migrated = loaded.stream().filter(Conversation::migrateLegacyReadState).count();
+            if (migrated > 0) {
+                System.out.println("🔄 Migrated " + migrated + " conversations to read watermarks");
+            }
 
-            if (conversations == null) {
-                conversations = new ArrayList<>();
+            // Files from before the message log embed every message in the header file
+            int movedHistories = 0;
+            for (Conversation conversation : loaded) {
+                if (conversation.getMessages().isEmpty()) {
+                    continue;
+                }
+                conversation.recountUnread();
+                if (!messageLog.exists(conversation.getId())) {
+                    messageLog.appendAll(conversation.getId(), conversation.getMessages());
+                }
+                conversation.setMessages(new ArrayList<>());
+                movedHistories++;
+            }
+            if (movedHistories > 0) {
+                System.out.println("🔄 Moved " + movedHistories + " conversation histories to the message log");
+            }
+
+            // A header saved before the log's latest lines would hand their sequences out again
+            int caughtUp = 0;
+            for (Conversation conversation : loaded) {
+                if (catchUpWithLog(conversation, messageLog)) {
+                    caughtUp++;
+                }
+            }
+            if (caughtUp > 0) {
+                System.out.println("🔧 Caught up " + caughtUp + " conversation headers with their message log");
             }
 
-            // Update observable list
-            observableConversations.setAll(conversations);
+            System.out.println("✅ Loaded " + loaded.size() + " conversations");
+            return movedHistories > 0 || caughtUp > 0;
+        } finally {
+            savedFileTime = lastModified(filePath);
+        }
+    }
+
+    // The log line is written before the header is saved, so a crash in between leaves the
+    // header behind. Replay the missing lines so lastSequence = max(header, log line count)
+    // and the last message and unread counts include them. False if the header was current.
+    static boolean catchUpWithLog(Conversation conversation, MessageLog messageLog) throws IOException {
+        long logged = messageLog.count(conversation.getId());
+        long next = conversation.getLastSequence() + 1;
+        if (logged < next) {
+            return false;
+        }
 
-            System.out.println("✅ Loaded " + conversations.size() + " conversations");
+        List<Message> resident = conversation.getMessages();
+        conversation.setMessages(new ArrayList<>()); // The replayed lines are not kept in memory
+        while (next <= logged) {
+            long last = Math.min(logged, next + SEARCH_CATCH_UP_PAGE - 1);
+            for (Message message : messageLog.readPage(conversation.getId(), last + 1, (int) (last - next + 1))) {
+                conversation.addMessage(message); // Numbers it lastSequence + 1, its line number
+            }
+            next = last + 1;
+        }
+        conversation.setMessages(resident);
+        return true;
+    }
 
+    // Reload: fold the file into the in-memory state one conversation at a time, so the
+    // indexes are updated for what changed instead of being rebuilt
+    private void mergeConversations() {
+        List<Conversation> loaded = new ArrayList<>();
+        boolean rewrite;
+        try {
+            rewrite = readConversations(loaded);
         } catch (Exception e) {
-            System.err.println("❌ Error loading conversations: " + e.getMessage());
-            conversations = new ArrayList<>();
+            System.err.println("❌ Error reloading conversations, keeping the ones in memory: " + e.getMessage());
+            return;
+        }
+
+        Set<String> loadedIds = new HashSet<>();
+        int added = 0;
+        int updated = 0;
+        for (Conversation fromFile : loaded) {
+            loadedIds.add(fromFile.getId());
+            Optional<Conversation> existing = conversationIndex.findById(fromFile.getId());
+            if (existing.isEmpty()) {
+                conversations.add(fromFile);
+                conversationIndex.add(fromFile);
+                inboxIndex.add(fromFile);
+                added++;
+            } else if (adoptHeader(existing.get(), fromFile)) {
+                updated++;
+            }
+        }
+
+        int removed = 0;
+        for (Conversation conversation : conversations) {
+            if (!loadedIds.contains(conversation.getId())) {
+                conversations.remove(conversation);
+                conversationIndex.remove(conversation);
+                inboxIndex.remove(conversation);
+                synchronized (residentConversations) {
+                    residentConversations.remove(conversation.getId());
+                }
+                removed++;
+            }
+        }
+
+        if (rewrite) {
+            saveConversations();
+        }
+        if (added > 0 || updated > 0 || removed > 0) {
+            System.out.println("🔄 Reloaded conversations: " + added + " new, " + updated + " updated, " + removed + " removed");
+            scheduleSearchCatchUp();
+        }
+    }
+
+    // Take the file's header when another instance moved the conversation on; false if the
+    // file holds nothing newer than memory
+    private boolean adoptHeader(Conversation conversation, Conversation fromFile) {
+        boolean newMessages = fromFile.getLastSequence() > conversation.getLastSequence();
+        boolean newReads = fromFile.getLastSequence() == conversation.getLastSequence()
+                && !fromFile.getReadWatermarks().equals(conversation.getReadWatermarks());
+        if (!newMessages && !newReads) {
+            return false;
+        }
+
+        synchronized (residentConversations) {
+            conversation.setLastSequence(fromFile.getLastSequence());
+            conversation.setLastMessage(fromFile.getLastMessage());
+            conversation.setLastMessageTime(fromFile.getLastMessageTime());
+            conversation.setReadWatermarks(fromFile.getReadWatermarks());
+            conversation.setUnreadCounts(fromFile.getUnreadCounts());
+            if (newMessages) {
+                // The resident tail is missing the new messages; reread it from the log on demand
+                conversation.setMessages(new ArrayList<>());
+                residentConversations.remove(conversation.getId());
+            }
+        }
+        if (newMessages) {
+            inboxIndex.touch(conversation);
+        }
+        inboxIndex.resetUnread(conversation);
+        return true;
+    }
+
+    // True if the header file was written by someone else since this instance last read or wrote it
+    public boolean isFileChangedElsewhere() {
+        FileTime current = lastModified(Paths.get(CONVERSATIONS_FILE));
+        return current != null && !current.equals(savedFileTime);
+    }
+
+    private static FileTime lastModified(Path filePath) {
+        try {
+            return Files.exists(filePath) ? Files.getLastModifiedTime(filePath) : null;
+        } catch (IOException e) {
+            return null;
         }
     }
 
     private void saveConversations() {
+        // Inside a command batch the write is coalesced by the BatchedWriter
+        if (BatchedWriter.getInstance().defer(BatchedWriter.Target.CONVERSATIONS)) {
+            return;
+        }
+        writeConversations();
+    }
+
+    boolean writeConversations() {
         try {
             Path filePath = Paths.get(CONVERSATIONS_FILE);
             Path parentDir = filePath.getParent();
@@ -113,23 +345,21 @@ public class MessageService {
             }
 
             Path tempFile = Paths.get(CONVERSATIONS_FILE + ".tmp");
-            jsonDataService.getObjectMapper().writeValue(tempFile.toFile(), conversations);
+            headerMapper.writeValue(tempFile.toFile(), conversations);
             Files.move(tempFile, filePath, StandardCopyOption.REPLACE_EXISTING);
-
-            // Update observable list after save
-            observableConversations.setAll(conversations);
+            savedFileTime = lastModified(filePath);
 
             System.out.println("✅ Saved " + conversations.size() + " conversations");
+            return true;
 
         } catch (Exception e) {
             System.err.println("❌ Error saving conversations: " + e.getMessage());
+            return false;
         }
     }
 
-    public Conversation getOrCreateConversation(String user1, String user2, String itemId) {
-        Optional<Conversation> existing = conversations.stream()
-                .filter(conv -> conv.involvesUser(user1) && conv.involvesUser(user2))
-                .findFirst();
+    Conversation getOrCreateConversation(String user1, String user2, String itemId) {
+        Optional<Conversation> existing = conversationIndex.findByPair(user1, user2);
 
         if (existing.isPresent()) {
             return existing.get();
@@ -137,32 +367,164 @@ public class MessageService {
 
         Conversation newConversation = new Conversation(user1, user2, itemId);
         conversations.add(newConversation);
+        conversationIndex.add(newConversation);
+        inboxIndex.touch(newConversation);
         saveConversations();
 
         System.out.println("✅ Created new conversation between " + user1 + " and " + user2);
         return newConversation;
     }
 
+    // Most recently active first, served from the per-user inbox index
     public List<Conversation> getUserConversations(String username) {
-        return conversations.stream()
-                .filter(conv -> conv.involvesUser(username))
-                .sorted((c1, c2) -> c2.getLastMessageTime().compareTo(c1.getLastMessageTime()))
-                .collect(Collectors.toList());
+        return inboxIndex.page(username, 0, inboxIndex.getConversationCount(username));
     }
 
-    // Get observable conversations for real-time updates
-    public ObservableList<Conversation> getObservableUserConversations(String username) {
-        return observableConversations.filtered(conv -> conv.involvesUser(username))
-                .sorted((c1, c2) -> c2.getLastMessageTime().compareTo(c1.getLastMessageTime()));
+    public List<Conversation> getUserConversations(String username, int offset, int limit) {
+        return inboxIndex.page(username, offset, limit);
     }
 
     public Optional<Conversation> getConversationById(String conversationId) {
-        return conversations.stream()
-                .filter(conv -> conv.getId().equals(conversationId))
-                .findFirst();
+        return conversationIndex.findById(conversationId);
     }
 
-    public boolean sendMessage(String conversationId, String senderUsername, String content) {
+    // Up to limit messages older than beforeSequence, oldest first. Served from the
+    // resident tail when it covers the range, otherwise read from the message log.
+    public List<Message> getMessages(String conversationId, long beforeSequence, int limit) {
+        Optional<Conversation> conversationOpt = getConversationById(conversationId);
+        if (conversationOpt.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+
+        Conversation conversation = conversationOpt.get();
+        long last = Math.min(beforeSequence - 1, conversation.getLastSequence());
+        long first = Math.max(1, last - limit + 1);
+        if (last < first) {
+            return Collections.emptyList();
+        }
+
+        synchronized (residentConversations) {
+            ensureResident(conversation);
+            List<Message> resident = conversation.getMessages();
+            if (!resident.isEmpty() && resident.get(0).getSequence() <= first) {
+                long base = resident.get(0).getSequence();
+                int to = (int) Math.min(last - base + 1, resident.size());
+                return new ArrayList<>(resident.subList((int) (first - base), to));
+            }
+        }
+
+        try {
+            return messageLog.readPage(conversationId, last + 1, (int) (last - first + 1));
+        } catch (IOException e) {
+            System.err.println("❌ Error reading message history for " + conversationId + ": " + e.getMessage());
+            return Collections.emptyList();
+        }
+    }
+
+    public List<Message> getRecentMessages(String conversationId, int limit) {
+        return getMessages(conversationId, Long.MAX_VALUE, limit);
+    }
+
+    // Load the newest page of a conversation into memory; caller holds the residentConversations lock
+    private void ensureResident(Conversation conversation) {
+        residentConversations.put(conversation.getId(), conversation);
+        if (!conversation.getMessages().isEmpty() || conversation.getLastSequence() == 0) {
+            return;
+        }
+        try {
+            conversation.setMessages(new ArrayList<>(messageLog.readPage(
+                    conversation.getId(), conversation.getLastSequence() + 1, RESIDENT_MESSAGES_PER_CONVERSATION)));
+        } catch (IOException e) {
+            System.err.println("❌ Error loading recent messages for " + conversation.getId() + ": " + e.getMessage());
+        }
+    }
+
+    // The log is written first: line n of a conversation's log must hold sequence n, so the
+    // conversation only takes the sequence once its line is on disk. False if it is not.
+    private boolean appendMessage(Conversation conversation, Message message) {
+        synchronized (residentConversations) {
+            ensureResident(conversation);
+            message.setSequence(conversation.getLastSequence() + 1);
+            try {
+                messageLog.append(message);
+            } catch (IOException e) {
+                System.err.println("❌ Error appending message to log: " + e.getMessage());
+                return false;
+            }
+            conversation.addMessage(message);
+            conversation.trimMessages(RESIDENT_MESSAGES_PER_CONVERSATION);
+        }
+        inboxIndex.onMessageAdded(conversation, message);
+        if (!searchIndex.addIfNext(message)) {
+            scheduleSearchCatchUp();
+        }
+        return true;
+    }
+
+    // Index whatever the search index has not seen yet, in the background. Reloads only
+    // read history for conversations that moved past their indexed sequence.
+    private void scheduleSearchCatchUp() {
+        searchCatchUpPending.set(true);
+        if (searchCatchUpRunning.compareAndSet(false, true)) {
+            AsyncExecutors.getExecutor().execute(this::runSearchCatchUp);
+        }
+    }
+
+    private void runSearchCatchUp() {
+        try {
+            while (searchCatchUpPending.getAndSet(false)) {
+                for (Conversation conversation : new ArrayList<>(conversations)) {
+                    catchUpSearchIndex(conversation);
+                }
+            }
+        } finally {
+            searchCatchUpRunning.set(false);
+        }
+        if (searchCatchUpPending.get()) {
+            scheduleSearchCatchUp();
+        }
+    }
+
+    private void catchUpSearchIndex(Conversation conversation) {
+        long indexed = searchIndex.getIndexedThrough(conversation.getId());
+        try {
+            while (indexed < conversation.getLastSequence()) {
+                List<Message> page = messageLog.readPage(conversation.getId(),
+                        indexed + SEARCH_CATCH_UP_PAGE + 1, SEARCH_CATCH_UP_PAGE);
+                for (Message message : page) {
+                    searchIndex.addIfNext(message);
+                }
+                long next = searchIndex.getIndexedThrough(conversation.getId());
+                if (next <= indexed) {
+                    break; // Log is behind the header; pick it up on the next pass
+                }
+                indexed = next;
+            }
+        } catch (IOException e) {
+            System.err.println("❌ Error indexing message history for " + conversation.getId() + ": " + e.getMessage());
+        }
+    }
+
+    // Messages in the user's conversations containing every word of the query (the last
+    // word may be incomplete), or the exact phrase when the query is in double quotes
+    public List<ChatSearchHit> searchMessages(String username, String query, int limit) {
+        List<String> conversationIds = new ArrayList<>();
+        for (Conversation conversation : getUserConversations(username)) {
+            conversationIds.add(conversation.getId());
+        }
+        return searchIndex.search(conversationIds, query, limit);
+    }
+
+    public CompletableFuture<List<ChatSearchHit>> searchMessagesAsync(String username, String query, int limit) {
+        return AsyncExecutors.supply(() -> searchMessages(username, query, limit));
+    }
+
+    // Conversation opened for a specific item between two users, if any
+    public Optional<Conversation> findItemConversation(String user1, String user2, String itemId) {
+        return conversationIndex.findByPairAndItem(user1, user2, itemId);
+    }
+
+    boolean sendMessage(String conversationId, String senderUsername, String content) {
         Optional<Conversation> conversationOpt = getConversationById(conversationId);
         if (conversationOpt.isEmpty()) {
             return false;
@@ -171,8 +533,10 @@ public class MessageService {
         Conversation conversation = conversationOpt.get();
         String receiverUsername = conversation.getOtherUser(senderUsername);
 
-        Message message = new Message(conversationId, senderUsername, receiverUsername, content);
-        conversation.addMessage(message);
+        Message message = new Message(conversationId, StringPool.shared().intern(senderUsername), receiverUsername, content);
+        if (!appendMessage(conversation, message)) {
+            return false;
+        }
         saveConversations();
 
         // Notify listeners about new message
@@ -183,16 +547,18 @@ public class MessageService {
         return true;
     }
 
-    public boolean sendSystemMessage(String conversationId, String content) {
+    boolean sendSystemMessage(String conversationId, String content) {
         Optional<Conversation> conversationOpt = getConversationById(conversationId);
         if (conversationOpt.isEmpty()) {
             return false;
         }
 
         Conversation conversation = conversationOpt.get();
-        Message message = new Message(conversationId, "System", "", content);
+        Message message = new Message(conversationId, SYSTEM_SENDER, "", content);
         message.setMessageType("system");
-        conversation.addMessage(message);
+        if (!appendMessage(conversation, message)) {
+            return false;
+        }
         saveConversations();
 
         // Notify listeners
@@ -203,22 +569,76 @@ public class MessageService {
         return true;
     }
 
-    public void markConversationAsRead(String conversationId, String username) {
-        getConversationById(conversationId).ifPresent(conversation -> {
-            conversation.markAsRead();
-            saveConversations();
-            notifyConversationUpdated(conversation);
-            System.out.println("✅ Marked conversation as read: " + conversationId);
-        });
+    // A system message for one user only, in their own thread with the system, so nobody
+    // else sees it and it counts toward their unread messages
+    boolean sendSystemAlert(String username, String content) {
+        Conversation conversation = getOrCreateConversation(SYSTEM_ALERTS_USER, username, null);
+        Message message = new Message(conversation.getId(), SYSTEM_ALERTS_USER, StringPool.shared().intern(username), content);
+        message.setMessageType("system");
+        if (!appendMessage(conversation, message)) {
+            return false;
+        }
+        saveConversations();
+
+        notifyNewMessage(message);
+        notifyConversationUpdated(conversation);
+
+        System.out.println("✅ System alert sent to " + username + ": " + content);
+        return true;
+    }
+
+    // Async variants: sends are applied by the single writer, reads run on the async executor.
+    // The methods that change conversations run on the writer only (see StateCommand).
+    public CompletableFuture<Boolean> sendMessageAsync(String conversationId, String senderUsername, String content) {
+        return AsyncExecutors.submit(new StateCommand.SendMessage(conversationId, senderUsername, content));
+    }
+
+    public CompletableFuture<Conversation> getOrCreateConversationAsync(String user1, String user2, String itemId) {
+        return AsyncExecutors.submit(new StateCommand.StartConversation(user1, user2, itemId));
+    }
+
+    public CompletableFuture<Boolean> markConversationAsReadAsync(String conversationId, String username) {
+        return AsyncExecutors.submit(new StateCommand.MarkConversationRead(conversationId, username));
+    }
+
+    // Rereads the conversations file after every change queued before it has been saved
+    public CompletableFuture<Boolean> refreshFromFileAsync() {
+        return AsyncExecutors.submit(new StateCommand.ReloadConversations());
+    }
+
+    public CompletableFuture<List<Conversation>> getUserConversationsAsync(String username) {
+        return AsyncExecutors.supply(() -> getUserConversations(username));
+    }
+
+    public CompletableFuture<Integer> getUnreadMessageCountAsync(String username) {
+        return AsyncExecutors.supply(() -> getUnreadMessageCount(username));
+    }
+
+    boolean markConversationAsRead(String conversationId, String username) {
+        Optional<Conversation> conversationOpt = getConversationById(conversationId);
+        if (conversationOpt.isEmpty()) {
+            return false;
+        }
+
+        Conversation conversation = conversationOpt.get();
+        conversation.markAsRead(username);
+        inboxIndex.markRead(conversationId, username);
+        saveConversations();
+        notifyConversationUpdated(conversation);
+        System.out.println("✅ Marked conversation as read: " + conversationId);
+        return true;
     }
 
+    // Running total maintained on every send and mark-as-read
     public int getUnreadMessageCount(String username) {
-        return getUserConversations(username).stream()
-                .mapToInt(Conversation::getUnreadCount)
-                .sum();
+        return inboxIndex.getTotalUnread(username);
+    }
+
+    public int getUnreadCount(String conversationId, String username) {
+        return inboxIndex.getUnread(conversationId, username);
     }
 
-    public Conversation startItemConversation(String claimant, String itemOwner, String itemId, String itemName) {
+    Conversation startItemConversation(String claimant, String itemOwner, String itemId, String itemName) {
         Conversation conversation = getOrCreateConversation(claimant, itemOwner, itemId);
 
         String systemMessage = String.format(
@@ -230,14 +650,33 @@ public class MessageService {
         return conversation;
     }
 
-    public void sendAdminMessageToUser(String adminUsername, String targetUsername, String content) {
+    void sendAdminMessageToUser(String adminUsername, String targetUsername, String content) {
         Conversation conversation = getOrCreateConversation(adminUsername, targetUsername, null);
         sendMessage(conversation.getId(), adminUsername, content);
     }
 
     // Force refresh from file (useful for multi-instance scenarios)
-    public void refreshFromFile() {
-        loadConversations();
+    void refreshFromFile() {
+        mergeConversations();
+    }
+
+    public void debugDispatchMetrics() {
+        System.out.println("=== MESSAGE DISPATCH METRICS ===");
+        System.out.println("Registered listeners: " + messageListeners.size());
+        System.out.println("Search index: " + searchIndex.getIndexedMessageCount() + " messages, "
+                + searchIndex.getTermCount() + " terms");
+        System.out.println(StringPool.shared().report());
+        for (ListenerDispatcher dispatcher : messageListeners.values()) {
+            System.out.println(String.format("📨 %s | Delivered: %d | Coalesced: %d | Failed: %d | Queued: %d | Avg: %.1fµs | Max: %.1fµs",
+                    dispatcher.getListener().getClass().getName(),
+                    dispatcher.getDeliveredCount(),
+                    dispatcher.getCoalescedCount(),
+                    dispatcher.getFailureCount(),
+                    dispatcher.getQueueDepth(),
+                    dispatcher.getAverageLatencyMicros(),
+                    dispatcher.getMaxLatencyMicros()));
+        }
+        System.out.println("=== END METRICS ===");
     }
 
     public void debugConversations() {
@@ -245,8 +684,8 @@ public class MessageService {
         System.out.println("Total conversations: " + conversations.size());
         for (Conversation conv : conversations) {
             System.out.println("💬 " + conv.getUser1() + " ↔ " + conv.getUser2() +
-                    " | Messages: " + conv.getMessages().size() +
-                    " | Unread: " + conv.getUnreadCount());
+                    " | Messages: " + conv.getLastSequence() +
+                    " | Unread: " + conv.getUnreadCounts());
         }
         System.out.println("=== END DEBUG ===");
     }
@@ -0,0 +1,183 @@
+package com.unmadgamer.lostandfoundfinal.service;
+
+import com.unmadgamer.lostandfoundfinal.model.LostFoundItem;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Reads a top-level JSON array of items on a fork-join pool. One pass over the bytes finds
+// where each object starts and ends, then ranges of objects are deserialized in parallel
+// into their own slots of the result, so the list comes back in file order.
+//
+// Anything other than a well-formed array of objects makes read() return null, and the
+// caller falls back to its sequential path, which also does the validation and recovery.
+final class ParallelItemReader {
+    // Deserializes the object at json[offset, offset + length); null to skip it
+    interface ItemParser {
+        LostFoundItem parse(byte[] json, int offset, int length) throws IOException;
+    }
+
+    private static final int MIN_CHUNK = 64;   // Objects per task, below which splitting costs more than it saves
+
+    private ParallelItemReader() {
+    }
+
+    static List<LostFoundItem> read(byte[] json, ItemParser parser, ForkJoinPool pool) {
+        int[] bounds = objectBounds(json);
+        if (bounds == null) {
+            return null;
+        }
+        int count = bounds.length / 2;
+        LostFoundItem[] parsed = new LostFoundItem[count];
+        // A few chunks per worker, so a slow chunk does not leave the others idle
+        int chunk = Math.max(MIN_CHUNK, count / (pool.getParallelism() * 4));
+        try {
+            pool.invoke(new ParseRange(json, bounds, parsed, parser, 0, count, chunk));
+        } catch (UncheckedIOException e) {
+            System.err.println("❌ Parallel item parse failed: " + e.getCause().getMessage());
+            return null;
+        }
+
+        List<LostFoundItem> items = new ArrayList<>(count);
+        for (LostFoundItem item : parsed) {
+            if (item != null) {
+                items.add(item);
+            }
+        }
+        return items;
+    }
+
+    // Start and end (exclusive) of each top-level object, as pairs; null if the content is
+    // not an array of objects
+    static int[] objectBounds(byte[] json) {
+        int[] bounds = new int[64];
+        int count = 0;
+        int i = skipWhitespace(json, skipByteOrderMark(json));
+        if (i >= json.length || json[i] != '[') {
+            return null;
+        }
+        i = skipWhitespace(json, i + 1);
+        if (i < json.length && json[i] == ']') {
+            return skipWhitespace(json, i + 1) == json.length ? new int[0] : null;
+        }
+        while (true) {
+            if (i >= json.length || json[i] != '{') {
+                return null;
+            }
+            int end = objectEnd(json, i);
+            if (end < 0) {
+                return null;
+            }
+            if (count + 2 > bounds.length) {
+                bounds = Arrays.copyOf(bounds, bounds.length * 2);
+            }
+            bounds[count++] = i;
+            bounds[count++] = end;
+
+            i = skipWhitespace(json, end);
+            if (i >= json.length) {
+                return null;
+            }
+            if (json[i] == ']') {
+                return skipWhitespace(json, i + 1) == json.length ? Arrays.copyOf(bounds, count) : null;
+            }
+            if (json[i] != ',') {
+                return null;
+            }
+            i = skipWhitespace(json, i + 1);
+        }
+    }
+
+    // Index just past the brace that closes the object opened at start, or -1. UTF-8
+    // continuation bytes are all >= 0x80, so they never look like structural characters.
+    private static int objectEnd(byte[] json, int start) {
+        int depth = 0;
+        boolean inString = false;
+        for (int i = start; i < json.length; i++) {
+            byte b = json[i];
+            if (inString) {
+                if (b == '\\') {
+                    i++;
+                } else if (b == '"') {
+                    inString = false;
+                }
+                continue;
+            }
+            switch (b) {
+                case '"':
+                    inString = true;
+                    break;
+                case '{':
+                case '[':
+                    depth++;
+                    break;
+                case '}':
+                case ']':
+                    depth--;
+                    if (depth == 0) {
+                        return b == '}' ? i + 1 : -1;
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+        return -1;
+    }
+
+    private static int skipWhitespace(byte[] json, int i) {
+        while (i < json.length && (json[i] == ' ' || json[i] == '\n' || json[i] == '\r' || json[i] == '\t')) {
+            i++;
+        }
+        return i;
+    }
+
+    private static int skipByteOrderMark(byte[] json) {
+        return json.length >= 3 && json[0] == (byte) 0xEF && json[1] == (byte) 0xBB && json[2] == (byte) 0xBF ? 3 : 0;
+    }
+
+    private static final class ParseRange extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final byte[] json;
+        private final int[] bounds;
+        private final LostFoundItem[] parsed;
+        private final ItemParser parser;
+        private final int from;
+        private final int to;
+        private final int chunk;
+
+        ParseRange(byte[] json, int[] bounds, LostFoundItem[] parsed, ItemParser parser, int from, int to, int chunk) {
+            this.json = json;
+            this.bounds = bounds;
+            this.parsed = parsed;
+            this.parser = parser;
+            this.from = from;
+            this.to = to;
+            this.chunk = chunk;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > chunk) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new ParseRange(json, bounds, parsed, parser, from, middle, chunk),
+                        new ParseRange(json, bounds, parsed, parser, middle, to, chunk));
+                return;
+            }
+            for (int i = from; i < to; i++) {
+                int start = bounds[2 * i];
+                try {
+                    parsed[i] = parser.parse(json, start, bounds[2 * i + 1] - start);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+    }
+}
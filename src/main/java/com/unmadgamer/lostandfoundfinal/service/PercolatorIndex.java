@@ -0,0 +1,133 @@
+package com.unmadgamer.lostandfoundfinal.service;
+
+import com.unmadgamer.lostandfoundfinal.model.LostFoundItem;
+import com.unmadgamer.lostandfoundfinal.model.SavedSearch;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+// Reverse index over standing searches. Each search is filed under a single anchor word,
+// so a new item only looks at searches anchored on one of its own words and checks the
+// rest of their words against the item, instead of running every search.
+class PercolatorIndex {
+    private final Map<String, List<Entry>> byAnchor = new HashMap<>();
+    private final Map<String, List<Entry>> byCategoryOnly = new HashMap<>(); // searches without words
+    private final Map<String, Entry> byId = new HashMap<>();
+
+    private static final class Entry {
+        private final SavedSearch search;
+        private final List<String> words;
+        private final String category;
+
+        private Entry(SavedSearch search, List<String> words) {
+            this.search = search;
+            this.words = words;
+            this.category = normalizeCategory(search.getCategory());
+        }
+    }
+
+    void rebuild(Collection<SavedSearch> searches) {
+        byAnchor.clear();
+        byCategoryOnly.clear();
+        byId.clear();
+        for (SavedSearch search : searches) {
+            add(search);
+        }
+    }
+
+    // False if the search has neither words nor a category and so would match everything
+    boolean add(SavedSearch search) {
+        List<String> words = new ArrayList<>(new LinkedHashSet<>(TextTokenizer.tokenize(search.getQuery())));
+        Entry entry = new Entry(search, words);
+        if (words.isEmpty() && entry.category == null) {
+            return false;
+        }
+
+        remove(search.getId());
+        byId.put(search.getId(), entry);
+        if (words.isEmpty()) {
+            byCategoryOnly.computeIfAbsent(entry.category, c -> new ArrayList<>()).add(entry);
+        } else {
+            byAnchor.computeIfAbsent(anchor(words), w -> new ArrayList<>()).add(entry);
+        }
+        return true;
+    }
+
+    void remove(String searchId) {
+        Entry entry = byId.remove(searchId);
+        if (entry == null) {
+            return;
+        }
+        String key = entry.words.isEmpty() ? entry.category : anchor(entry.words);
+        Map<String, List<Entry>> index = entry.words.isEmpty() ? byCategoryOnly : byAnchor;
+        List<Entry> entries = index.get(key);
+        if (entries != null) {
+            entries.remove(entry);
+            if (entries.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+
+    // Searches whose words all occur in the item's name, category, description or location,
+    // and whose category (if any) is the item's
+    List<SavedSearch> match(LostFoundItem item) {
+        Set<String> itemWords = new HashSet<>();
+        itemWords.addAll(TextTokenizer.tokenize(item.getItemName()));
+        itemWords.addAll(TextTokenizer.tokenize(item.getCategory()));
+        itemWords.addAll(TextTokenizer.tokenize(item.getDescription()));
+        itemWords.addAll(TextTokenizer.tokenize(item.getLocation()));
+        String itemCategory = normalizeCategory(item.getCategory());
+
+        List<SavedSearch> matches = new ArrayList<>();
+        for (String word : itemWords) {
+            List<Entry> candidates = byAnchor.get(word);
+            if (candidates == null) {
+                continue;
+            }
+            for (Entry entry : candidates) {
+                if ((entry.category == null || entry.category.equals(itemCategory))
+                        && itemWords.containsAll(entry.words)) {
+                    matches.add(entry.search);
+                }
+            }
+        }
+        if (itemCategory != null) {
+            for (Entry entry : byCategoryOnly.getOrDefault(itemCategory, List.of())) {
+                matches.add(entry.search);
+            }
+        }
+        return matches;
+    }
+
+    int size() {
+        return byId.size();
+    }
+
+    // Longer words are rarer in item text, so anchoring on the longest keeps the
+    // candidates looked at per item small
+    private static String anchor(List<String> words) {
+        String anchor = words.get(0);
+        for (String word : words) {
+            if (word.length() > anchor.length()
+                    || (word.length() == anchor.length() && word.compareTo(anchor) > 0)) {
+                anchor = word;
+            }
+        }
+        return anchor;
+    }
+
+    private static String normalizeCategory(String category) {
+        if (category == null || category.isBlank()) {
+            return null;
+        }
+        return category.trim().toLowerCase(Locale.ROOT);
+    }
+}
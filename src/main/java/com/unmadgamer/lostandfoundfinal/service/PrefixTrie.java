@@ -0,0 +1,140 @@
+package com.unmadgamer.lostandfoundfinal.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Frequency-weighted trie over short phrases. Every node caches the top-k phrases below it,
+// so a lookup costs one walk down the prefix. Phrases are also reachable from each word
+// start, so "lib" suggests "Main Library".
+class PrefixTrie {
+    private static final Comparator<Entry> BY_FREQUENCY = Comparator
+            .comparingInt((Entry e) -> -e.count)
+            .thenComparing(e -> e.display);
+
+    private final int maxSuggestions;
+    private Node root = new Node();
+    private final Map<String, Entry> entries = new HashMap<>(); // normalized phrase -> entry
+
+    private static final class Entry {
+        private final Map<String, Integer> spellings = new HashMap<>();
+        private String display;
+        private int count;
+    }
+
+    private static final class Node {
+        private final Map<Character, Node> children = new HashMap<>(4);
+        private Entry[] top = new Entry[0];
+    }
+
+    PrefixTrie(int maxSuggestions) {
+        this.maxSuggestions = maxSuggestions;
+    }
+
+    synchronized void add(String value) {
+        String key = normalize(value).trim();
+        if (key.isEmpty()) {
+            return;
+        }
+
+        Entry entry = entries.computeIfAbsent(key, k -> new Entry());
+        entry.count++;
+        // The most common spelling is the one shown
+        String spelling = value.trim().replaceAll("\\s+", " ");
+        int uses = entry.spellings.merge(spelling, 1, Integer::sum);
+        if (entry.display == null || uses > entry.spellings.getOrDefault(entry.display, 0)) {
+            entry.display = spelling;
+        }
+
+        for (int start = 0; start < key.length(); start++) {
+            if (start == 0 || key.charAt(start - 1) == ' ') {
+                insert(key, start, entry);
+            }
+        }
+    }
+
+    synchronized void clear() {
+        root = new Node();
+        entries.clear();
+    }
+
+    synchronized List<String> suggest(String prefix) {
+        Node node = root;
+        String key = normalize(prefix);
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.children.get(key.charAt(i));
+        }
+        if (node == null) {
+            return new ArrayList<>();
+        }
+
+        List<String> suggestions = new ArrayList<>(node.top.length);
+        for (Entry entry : node.top) {
+            suggestions.add(entry.display);
+        }
+        return suggestions;
+    }
+
+    // Preferred spelling of an already known phrase, or null if it has never been seen
+    synchronized String canonical(String value) {
+        Entry entry = entries.get(normalize(value).trim());
+        return entry != null ? entry.display : null;
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    private void insert(String key, int start, Entry entry) {
+        Node node = root;
+        for (int i = start; i < key.length(); i++) {
+            node = node.children.computeIfAbsent(key.charAt(i), c -> new Node());
+            offer(node, entry);
+        }
+    }
+
+    // Counts only grow, so an entry that is not in a node's top-k can only enter it by
+    // displacing the current minimum
+    private void offer(Node node, Entry entry) {
+        Entry[] top = node.top;
+        for (Entry existing : top) {
+            if (existing == entry) {
+                Arrays.sort(top, BY_FREQUENCY);
+                return;
+            }
+        }
+        if (top.length < maxSuggestions) {
+            top = Arrays.copyOf(top, top.length + 1);
+            top[top.length - 1] = entry;
+        } else if (BY_FREQUENCY.compare(entry, top[top.length - 1]) < 0) {
+            top[top.length - 1] = entry;
+        } else {
+            return;
+        }
+        Arrays.sort(top, BY_FREQUENCY);
+        node.top = top;
+    }
+
+    // Lower case with whitespace runs collapsed; leading space dropped but a trailing one
+    // kept so "main " only matches phrases with a word after "main"
+    private static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        StringBuilder normalized = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (Character.isWhitespace(c)) {
+                if (normalized.length() > 0 && normalized.charAt(normalized.length() - 1) != ' ') {
+                    normalized.append(' ');
+                }
+            } else {
+                normalized.append(Character.toLowerCase(c));
+            }
+        }
+        return normalized.toString();
+    }
+}
@@ -0,0 +1,262 @@
+package com.unmadgamer.lostandfoundfinal.service;
+
+import com.unmadgamer.lostandfoundfinal.model.LostFoundItem;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// BM25 scores over item fields with per-field boosts, damped by item age. Length norms and
+// creation times are computed when an item is indexed, so ranking only looks at the query
+// words' postings for the candidates being ranked. Items are known by their position in
+// the item list.
+class RelevanceIndex {
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    private static final int FIELD_COUNT = 4;
+    private static final float[] FIELD_BOOSTS = {3.0f, 2.0f, 1.0f, 0.5f}; // name, category, description, location
+    private static final double RECENCY_HALF_LIFE_DAYS = 30.0;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private ItemPositions positions = new ItemPositions(List.of());
+    private final TreeMap<String, Postings> postings = new TreeMap<>();    // sorted for prefix lookups
+    private int[][] fieldLengths = new int[FIELD_COUNT][16];
+    private float[][] lengthNorms = new float[FIELD_COUNT][16];             // k1 * (1 - b + b * len / avgLen)
+    private long[] createdAtMillis = new long[16];
+    private final long[] totalFieldLengths = new long[FIELD_COUNT];
+    private int itemCount;
+    // Item position -> 1 + the candidate's score slot, 0 for items not being ranked. Reset
+    // only at the candidates' positions, so a query costs its candidates, not the item count.
+    private final ThreadLocal<int[]> candidateSlots = ThreadLocal.withInitial(() -> new int[0]);
+
+    // Item positions containing a term, with the term frequency in each field packed
+    // into one int (one byte per field, saturating at 255)
+    private static final class Postings {
+        private int[] items = new int[2];
+        private int[] frequencies = new int[2];
+        private int size;
+
+        private void add(int position, int field) {
+            if (size > 0 && items[size - 1] == position) {
+                int shift = field * 8;
+                if (((frequencies[size - 1] >>> shift) & 0xff) < 0xff) {
+                    frequencies[size - 1] += 1 << shift;
+                }
+                return;
+            }
+            if (size == items.length) {
+                items = Arrays.copyOf(items, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            items[size] = position;
+            frequencies[size] = 1 << (field * 8);
+            size++;
+        }
+    }
+
+    // scan yields the list's items in order; it may hand out stand-ins that are not kept
+    void rebuild(ItemPositions positions, Collection<? extends LostFoundItem> scan) {
+        lock.writeLock().lock();
+        try {
+            this.positions = positions;
+            postings.clear();
+            int capacity = Math.max(16, scan.size());
+            fieldLengths = new int[FIELD_COUNT][capacity];
+            lengthNorms = new float[FIELD_COUNT][capacity];
+            createdAtMillis = new long[capacity];
+            Arrays.fill(totalFieldLengths, 0);
+            itemCount = 0;
+            for (LostFoundItem item : scan) {
+                addLocked(itemCount, item);
+            }
+            recomputeNorms();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Norms of earlier items keep the averages they were computed with until the next
+    // rebuild; the drift from one report is negligible. Called after the item was appended
+    // to the list at this position.
+    void add(int position, LostFoundItem item) {
+        lock.writeLock().lock();
+        try {
+            if (position < itemCount) {
+                return;
+            }
+            addLocked(position, item);
+            for (int field = 0; field < FIELD_COUNT; field++) {
+                lengthNorms[field][position] = norm(field, fieldLengths[field][position]);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Candidates ordered by descending relevance to the query; items that do not contain
+    // any query word keep their relative order after the scored ones
+    <T extends LostFoundItem> List<T> rank(String query, List<T> candidates, long now) {
+        List<String> words = TextTokenizer.tokenize(query);
+        if (words.isEmpty() || candidates.size() < 2) {
+            return new ArrayList<>(candidates);
+        }
+
+        lock.readLock().lock();
+        int[] slots = candidateSlots.get();
+        if (slots.length < itemCount) {
+            slots = new int[Math.max(itemCount, slots.length * 2)];
+            candidateSlots.set(slots);
+        }
+        // Distinct candidate positions, one score slot each
+        int[] slotPositions = new int[candidates.size()];
+        int slotCount = 0;
+        try {
+            int[] candidateSlot = new int[candidates.size()];
+            for (int i = 0; i < candidates.size(); i++) {
+                LostFoundItem candidate = candidates.get(i);
+                int position = candidate != null ? positions.positionOf(candidate.getId()) : -1;
+                if (position < 0 || position >= itemCount) {
+                    candidateSlot[i] = -1;
+                    continue;
+                }
+                if (slots[position] == 0) {
+                    slotPositions[slotCount] = position;
+                    slots[position] = ++slotCount;
+                }
+                candidateSlot[i] = slots[position] - 1;
+            }
+
+            float[] scores = new float[slotCount];
+            Set<String> seen = new HashSet<>();
+            for (int i = 0; i < words.size(); i++) {
+                String word = words.get(i);
+                if (!seen.add(word)) {
+                    continue;
+                }
+                Postings exact = postings.get(word);
+                if (exact != null) {
+                    accumulate(scores, exact, 1.0f, slots, slotPositions, slotCount);
+                }
+                if (i == words.size() - 1) {
+                    // The word being typed also scores its completions, at a discount
+                    for (Map.Entry<String, Postings> completion
+                            : postings.subMap(word, false, word + Character.MAX_VALUE, false).entrySet()) {
+                        accumulate(scores, completion.getValue(), 0.5f, slots, slotPositions, slotCount);
+                    }
+                }
+            }
+
+            double[] ranked = new double[candidates.size()];
+            for (int i = 0; i < candidates.size(); i++) {
+                int slot = candidateSlot[i];
+                if (slot >= 0 && scores[slot] > 0) {
+                    int position = slotPositions[slot];
+                    double ageDays = Math.max(0, now - createdAtMillis[position]) / 86_400_000.0;
+                    double recency = Math.pow(0.5, ageDays / RECENCY_HALF_LIFE_DAYS);
+                    // Recency breaks near-ties but never outweighs a clearly better match
+                    ranked[i] = scores[slot] * (0.75 + 0.25 * recency);
+                }
+            }
+
+            Integer[] order = new Integer[candidates.size()];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, Comparator.comparingDouble((Integer i) -> -ranked[i]));
+
+            List<T> result = new ArrayList<>(candidates.size());
+            for (int index : order) {
+                result.add(candidates.get(index));
+            }
+            return result;
+        } finally {
+            for (int slot = 0; slot < slotCount; slot++) {
+                slots[slotPositions[slot]] = 0;
+            }
+            lock.readLock().unlock();
+        }
+    }
+
+    // Positions skipped over (a null item) keep zero lengths and no postings
+    private void addLocked(int position, LostFoundItem item) {
+        if (position >= createdAtMillis.length) {
+            int capacity = Math.max(position + 1, createdAtMillis.length * 2);
+            for (int field = 0; field < FIELD_COUNT; field++) {
+                fieldLengths[field] = Arrays.copyOf(fieldLengths[field], capacity);
+                lengthNorms[field] = Arrays.copyOf(lengthNorms[field], capacity);
+            }
+            createdAtMillis = Arrays.copyOf(createdAtMillis, capacity);
+        }
+        itemCount = position + 1;
+        if (item == null) {
+            return;
+        }
+        createdAtMillis[position] = item.getCreatedAtMillis();
+
+        String[] values = {item.getItemName(), item.getCategory(), item.getDescription(), item.getLocation()};
+        for (int field = 0; field < FIELD_COUNT; field++) {
+            List<String> words = TextTokenizer.tokenize(values[field]);
+            fieldLengths[field][position] = words.size();
+            totalFieldLengths[field] += words.size();
+            for (String word : words) {
+                postings.computeIfAbsent(word, w -> new Postings()).add(position, field);
+            }
+        }
+    }
+
+    private void recomputeNorms() {
+        for (int field = 0; field < FIELD_COUNT; field++) {
+            for (int position = 0; position < itemCount; position++) {
+                lengthNorms[field][position] = norm(field, fieldLengths[field][position]);
+            }
+        }
+    }
+
+    private float norm(int field, int length) {
+        float averageLength = itemCount > 0 ? Math.max(1f, (float) totalFieldLengths[field] / itemCount) : 1f;
+        return K1 * (1 - B + B * length / averageLength);
+    }
+
+    // Adds the word's score to each candidate slot. A long postings list is probed with a
+    // binary search per candidate (postings are in position order) instead of being walked.
+    private void accumulate(float[] scores, Postings list, float weight, int[] slots, int[] slotPositions, int slotCount) {
+        // Documents containing the word anywhere, for the inverse document frequency
+        float idf = (float) Math.log(1 + (itemCount - list.size + 0.5) / (list.size + 0.5));
+        int probeCost = 32 - Integer.numberOfLeadingZeros(list.size);
+        if ((long) slotCount * probeCost < list.size) {
+            for (int slot = 0; slot < slotCount; slot++) {
+                int i = Arrays.binarySearch(list.items, 0, list.size, slotPositions[slot]);
+                if (i >= 0) {
+                    scores[slot] += weight * idf * fieldScore(list, i);
+                }
+            }
+        } else {
+            for (int i = 0; i < list.size; i++) {
+                int slot = slots[list.items[i]];
+                if (slot > 0) {
+                    scores[slot - 1] += weight * idf * fieldScore(list, i);
+                }
+            }
+        }
+    }
+
+    private float fieldScore(Postings list, int i) {
+        int position = list.items[i];
+        int packed = list.frequencies[i];
+        float score = 0;
+        for (int field = 0; field < FIELD_COUNT; field++) {
+            int tf = (packed >>> (field * 8)) & 0xff;
+            if (tf > 0) {
+                score += FIELD_BOOSTS[field] * tf * (K1 + 1) / (tf + lengthNorms[field][position]);
+            }
+        }
+        return score;
+    }
+}
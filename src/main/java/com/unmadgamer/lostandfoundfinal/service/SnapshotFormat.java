@@ -0,0 +1,21 @@
+package com.unmadgamer.lostandfoundfinal.service;
+
+// On-disk format JsonDataService loads and saves items and users in
+public enum SnapshotFormat {
+    JSON,    // data/items.json, data/users.json
+    BINARY,  // data/items.bin, data/users.bin (see BinarySnapshot)
+    MAPPED,  // As BINARY, but items are read through a memory mapping (see MappedItemStore)
+    OFF_HEAP; // As MAPPED, but the snapshot is copied into a direct buffer instead of mapped
+
+    // Chosen with -Dlostandfound.snapshot=binary, =mapped or =offheap; JSON otherwise
+    static SnapshotFormat configured() {
+        String value = System.getProperty("lostandfound.snapshot");
+        if ("binary".equalsIgnoreCase(value)) {
+            return BINARY;
+        }
+        if ("offheap".equalsIgnoreCase(value)) {
+            return OFF_HEAP;
+        }
+        return "mapped".equalsIgnoreCase(value) ? MAPPED : JSON;
+    }
+}
@@ -0,0 +1,151 @@
+package com.unmadgamer.lostandfoundfinal.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.unmadgamer.lostandfoundfinal.model.FoundItem;
+import com.unmadgamer.lostandfoundfinal.model.LostItem;
+import com.unmadgamer.lostandfoundfinal.model.SavedSearch;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+// Saved searches that message their owner when a matching found item is verified
+public class StandingSearchService {
+    private static StandingSearchService instance;
+    private static final String SAVED_SEARCHES_FILE = "data/saved_searches.json";
+    private final JsonDataService jsonDataService;
+    private List<SavedSearch> searches;
+    private final PercolatorIndex percolator = new PercolatorIndex();
+
+    private StandingSearchService() {
+        this.jsonDataService = new JsonDataService();
+        loadSearches();
+        System.out.println("✅ StandingSearchService initialized with " + searches.size() + " saved searches");
+    }
+
+    public static synchronized StandingSearchService getInstance() {
+        if (instance == null) {
+            instance = new StandingSearchService();
+        }
+        return instance;
+    }
+
+    private void loadSearches() {
+        try {
+            Path filePath = Paths.get(SAVED_SEARCHES_FILE);
+            if (Files.exists(filePath) && !Files.readString(filePath).trim().isEmpty()) {
+                searches = jsonDataService.getObjectMapper().readValue(
+                        filePath.toFile(), new TypeReference<List<SavedSearch>>() {});
+            }
+        } catch (IOException e) {
+            System.err.println("❌ Error loading saved searches: " + e.getMessage());
+        }
+        if (searches == null) {
+            searches = new ArrayList<>();
+        }
+        percolator.rebuild(searches);
+    }
+
+    private void saveSearches() {
+        try {
+            Path filePath = Paths.get(SAVED_SEARCHES_FILE);
+            Files.createDirectories(filePath.getParent());
+            Path tempFile = Paths.get(SAVED_SEARCHES_FILE + ".tmp");
+            jsonDataService.getObjectMapper().writeValue(tempFile.toFile(), searches);
+            Files.move(tempFile, filePath, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            System.err.println("❌ Error saving saved searches: " + e.getMessage());
+        }
+    }
+
+    // Returns null if the search has neither words nor a category
+    public synchronized SavedSearch saveSearch(String username, String query, String category) {
+        SavedSearch search = new SavedSearch(username, query, category);
+        if (!percolator.add(search)) {
+            return null;
+        }
+        searches.add(search);
+        saveSearches();
+        System.out.println("✅ Saved search for " + username + ": " + search.getQuery());
+        return search;
+    }
+
+    // Alert the owner of a lost item when a found item with the same name and category is reported
+    public synchronized SavedSearch saveSearchForLostItem(LostItem lostItem) {
+        SavedSearch search = new SavedSearch(lostItem.getReportedBy(), lostItem.getItemName(), lostItem.getCategory());
+        search.setLostItemId(lostItem.getId());
+        if (!percolator.add(search)) {
+            return null;
+        }
+        searches.add(search);
+        saveSearches();
+        return search;
+    }
+
+    public synchronized boolean removeSearch(String searchId, String username) {
+        boolean removed = searches.removeIf(search ->
+                search.getId().equals(searchId) && search.getUsername().equals(username));
+        if (removed) {
+            percolator.remove(searchId);
+            saveSearches();
+        }
+        return removed;
+    }
+
+    // Once a lost item is back with its owner there is nothing left to watch for
+    public synchronized void removeSearchesForLostItem(String lostItemId) {
+        List<SavedSearch> finished = searches.stream()
+                .filter(search -> lostItemId.equals(search.getLostItemId()))
+                .collect(Collectors.toList());
+        if (finished.isEmpty()) {
+            return;
+        }
+        for (SavedSearch search : finished) {
+            percolator.remove(search.getId());
+        }
+        searches.removeAll(finished);
+        saveSearches();
+    }
+
+    public synchronized List<SavedSearch> getSearches(String username) {
+        return searches.stream()
+                .filter(search -> search.getUsername().equals(username))
+                .collect(Collectors.toList());
+    }
+
+    // Called when a found item is verified. Each matching owner gets a system alert in their
+    // own thread, so the saved query stays private. Items are verified through the state
+    // writer, so the conversation saves of all the alerts are coalesced into one.
+    public List<SavedSearch> notifyMatches(FoundItem foundItem) {
+        List<SavedSearch> matches;
+        synchronized (this) {
+            matches = percolator.match(foundItem);
+            matches.removeIf(search -> search.getUsername().equals(foundItem.getReportedBy()));
+            if (matches.isEmpty()) {
+                return matches;
+            }
+            matches.forEach(SavedSearch::recordMatch);
+            saveSearches();
+        }
+
+        MessageService messageService = MessageService.getInstance();
+        for (SavedSearch search : matches) {
+            String alert = String.format(
+                    "Possible match for your search \"%s\": %s was found at %s on %s. "
+                            + "Find it under Found Items to claim it and contact the finder.",
+                    search.getQuery(), foundItem.getItemName(), foundItem.getLocation(), foundItem.getFoundDate());
+            messageService.sendSystemAlert(search.getUsername(), alert);
+        }
+        System.out.println("🔔 Found item " + foundItem.getItemName() + " matched " + matches.size() + " saved searches");
+        return matches;
+    }
+
+    public synchronized int getSearchCount() {
+        return percolator.size();
+    }
+}
@@ -0,0 +1,455 @@
+package com.unmadgamer.lostandfoundfinal.service;
+
+import com.unmadgamer.lostandfoundfinal.model.Conversation;
+import com.unmadgamer.lostandfoundfinal.model.FoundItem;
+import com.unmadgamer.lostandfoundfinal.model.LostItem;
+import com.unmadgamer.lostandfoundfinal.model.User;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Typed state transitions applied one at a time by the CommandExecutor writer thread
+public interface StateCommand<R> {
+
+    R apply();
+
+    String describe();
+
+    // True for commands that replace in-memory state from disk; the executor never batches
+    // them with other commands
+    default boolean reloadsState() {
+        return false;
+    }
+
+    // Claim a verified found item on behalf of a user
+    final class ClaimItem implements StateCommand<Boolean> {
+        private final String itemId;
+        private final String claimant;
+
+        public ClaimItem(String itemId, String claimant) {
+            this.itemId = itemId;
+            this.claimant = claimant;
+        }
+
+        @Override
+        public Boolean apply() {
+            return ItemService.getInstance().claimItem(itemId, claimant);
+        }
+
+        @Override
+        public String describe() {
+            return "ClaimItem{" + itemId + " by " + claimant + "}";
+        }
+    }
+
+    // Mark a pending item as verified by an admin
+    final class VerifyItem implements StateCommand<Boolean> {
+        private final String itemId;
+        private final String adminUsername;
+
+        public VerifyItem(String itemId, String adminUsername) {
+            this.itemId = itemId;
+            this.adminUsername = adminUsername;
+        }
+
+        @Override
+        public Boolean apply() {
+            return ItemService.getInstance().verifyItem(itemId, adminUsername);
+        }
+
+        @Override
+        public String describe() {
+            return "VerifyItem{" + itemId + " by " + adminUsername + "}";
+        }
+    }
+
+    // Mark a pending item as rejected by an admin
+    final class RejectItem implements StateCommand<Boolean> {
+        private final String itemId;
+        private final String adminUsername;
+
+        public RejectItem(String itemId, String adminUsername) {
+            this.itemId = itemId;
+            this.adminUsername = adminUsername;
+        }
+
+        @Override
+        public Boolean apply() {
+            return ItemService.getInstance().rejectItem(itemId, adminUsername);
+        }
+
+        @Override
+        public String describe() {
+            return "RejectItem{" + itemId + " by " + adminUsername + "}";
+        }
+    }
+
+    // Approve a pending claim, completing the return and granting rewards
+    final class ApproveClaim implements StateCommand<Boolean> {
+        private final String itemId;
+        private final String adminUsername;
+
+        public ApproveClaim(String itemId, String adminUsername) {
+            this.itemId = itemId;
+            this.adminUsername = adminUsername;
+        }
+
+        @Override
+        public Boolean apply() {
+            return ItemService.getInstance().approveClaim(itemId, adminUsername);
+        }
+
+        @Override
+        public String describe() {
+            return "ApproveClaim{" + itemId + " by " + adminUsername + "}";
+        }
+    }
+
+    // Reject a pending claim and make the item available again
+    final class RejectClaim implements StateCommand<Boolean> {
+        private final String itemId;
+        private final String adminUsername;
+
+        public RejectClaim(String itemId, String adminUsername) {
+            this.itemId = itemId;
+            this.adminUsername = adminUsername;
+        }
+
+        @Override
+        public Boolean apply() {
+            return ItemService.getInstance().rejectClaim(itemId, adminUsername);
+        }
+
+        @Override
+        public String describe() {
+            return "RejectClaim{" + itemId + " by " + adminUsername + "}";
+        }
+    }
+
+    // Add a newly reported lost item
+    final class ReportLostItem implements StateCommand<Boolean> {
+        private final LostItem item;
+
+        public ReportLostItem(LostItem item) {
+            this.item = item;
+        }
+
+        @Override
+        public Boolean apply() {
+            return ItemService.getInstance().addLostItem(item);
+        }
+
+        @Override
+        public String describe() {
+            return "ReportLostItem{" + item.getId() + " by " + item.getReportedBy() + "}";
+        }
+    }
+
+    // Add a newly reported found item and alert owners whose standing searches it matches
+    final class ReportFoundItem implements StateCommand<Boolean> {
+        private final FoundItem item;
+
+        public ReportFoundItem(FoundItem item) {
+            this.item = item;
+        }
+
+        @Override
+        public Boolean apply() {
+            return ItemService.getInstance().addFoundItem(item);
+        }
+
+        @Override
+        public String describe() {
+            return "ReportFoundItem{" + item.getId() + " by " + item.getReportedBy() + "}";
+        }
+    }
+
+    // Replace the in-memory items with what items.json holds
+    final class ReloadItems implements StateCommand<Boolean> {
+        @Override
+        public Boolean apply() {
+            ItemService.getInstance().refreshItems();
+            return true;
+        }
+
+        @Override
+        public String describe() {
+            return "ReloadItems";
+        }
+
+        @Override
+        public boolean reloadsState() {
+            return true;
+        }
+    }
+
+    // Delete every item and user, keeping only the default admin, and reload both
+    final class ResetAllData implements StateCommand<Boolean> {
+        @Override
+        public Boolean apply() {
+            new JsonDataService().resetAllData();
+            ItemService.getInstance().refreshItems();
+            UserService.getInstance().refreshUsers();
+            UserService.getInstance().ensureDefaultAdmin();
+            return true;
+        }
+
+        @Override
+        public String describe() {
+            return "ResetAllData";
+        }
+
+        @Override
+        public boolean reloadsState() {
+            return true;
+        }
+    }
+
+    // Grant reward points to a user outside of the claim flow
+    final class AddRewardPoints implements StateCommand<Boolean> {
+        private final String username;
+        private final int points;
+
+        public AddRewardPoints(String username, int points) {
+            this.username = username;
+            this.points = points;
+        }
+
+        @Override
+        public Boolean apply() {
+            return UserService.getInstance().addRewardPoints(username, points);
+        }
+
+        @Override
+        public String describe() {
+            return "AddRewardPoints{" + username + " +" + points + "}";
+        }
+    }
+
+    // Credit a user with a returned item and its reward points
+    final class RewardReturn implements StateCommand<Boolean> {
+        private final String username;
+        private final int points;
+
+        public RewardReturn(String username, int points) {
+            this.username = username;
+            this.points = points;
+        }
+
+        @Override
+        public Boolean apply() {
+            return UserService.getInstance().rewardReturn(username, points);
+        }
+
+        @Override
+        public String describe() {
+            return "RewardReturn{" + username + " +" + points + "}";
+        }
+    }
+
+    // Activate or deactivate a user account
+    final class SetUserActive implements StateCommand<Boolean> {
+        private final String username;
+        private final boolean active;
+
+        public SetUserActive(String username, boolean active) {
+            this.username = username;
+            this.active = active;
+        }
+
+        @Override
+        public Boolean apply() {
+            return UserService.getInstance().setUserActive(username, active);
+        }
+
+        @Override
+        public String describe() {
+            return "SetUserActive{" + username + " " + active + "}";
+        }
+    }
+
+    // Replace every user account, e.g. to recover from a damaged users file
+    final class ReplaceUsers implements StateCommand<Boolean> {
+        private final List<User> users;
+
+        public ReplaceUsers(List<User> users) {
+            this.users = new ArrayList<>(users);
+        }
+
+        @Override
+        public Boolean apply() {
+            return UserService.getInstance().saveUsers(users);
+        }
+
+        @Override
+        public String describe() {
+            return "ReplaceUsers{" + users.size() + " users}";
+        }
+    }
+
+    // Create the default admin account if it is missing
+    final class CreateDefaultAdmin implements StateCommand<Boolean> {
+        @Override
+        public Boolean apply() {
+            return UserService.getInstance().ensureDefaultAdmin();
+        }
+
+        @Override
+        public String describe() {
+            return "CreateDefaultAdmin";
+        }
+    }
+
+    // Replace the in-memory users with what the users file holds
+    final class ReloadUsers implements StateCommand<Boolean> {
+        @Override
+        public Boolean apply() {
+            UserService.getInstance().refreshUsers();
+            return true;
+        }
+
+        @Override
+        public String describe() {
+            return "ReloadUsers";
+        }
+
+        @Override
+        public boolean reloadsState() {
+            return true;
+        }
+    }
+
+    // Log a user in, updating their last login time
+    final class Login implements StateCommand<Boolean> {
+        private final String username;
+        private final String password;
+
+        public Login(String username, String password) {
+            this.username = username;
+            this.password = password;
+        }
+
+        @Override
+        public Boolean apply() {
+            return UserService.getInstance().login(username, password);
+        }
+
+        @Override
+        public String describe() {
+            return "Login{" + username + "}";
+        }
+    }
+
+    // Register a new regular user account
+    final class RegisterUser implements StateCommand<Boolean> {
+        private final String username;
+        private final String password;
+        private final String email;
+        private final String firstName;
+        private final String lastName;
+
+        public RegisterUser(String username, String password, String email, String firstName, String lastName) {
+            this.username = username;
+            this.password = password;
+            this.email = email;
+            this.firstName = firstName;
+            this.lastName = lastName;
+        }
+
+        @Override
+        public Boolean apply() {
+            return UserService.getInstance().registerUser(username, password, email, firstName, lastName);
+        }
+
+        @Override
+        public String describe() {
+            return "RegisterUser{" + username + "}";
+        }
+    }
+
+    // Append a chat message to an existing conversation
+    final class SendMessage implements StateCommand<Boolean> {
+        private final String conversationId;
+        private final String senderUsername;
+        private final String content;
+
+        public SendMessage(String conversationId, String senderUsername, String content) {
+            this.conversationId = conversationId;
+            this.senderUsername = senderUsername;
+            this.content = content;
+        }
+
+        @Override
+        public Boolean apply() {
+            return MessageService.getInstance().sendMessage(conversationId, senderUsername, content);
+        }
+
+        @Override
+        public String describe() {
+            return "SendMessage{" + conversationId + " from " + senderUsername + "}";
+        }
+    }
+
+    // Open the conversation between two users, creating it if they have none yet
+    final class StartConversation implements StateCommand<Conversation> {
+        private final String user1;
+        private final String user2;
+        private final String itemId;
+
+        public StartConversation(String user1, String user2, String itemId) {
+            this.user1 = user1;
+            this.user2 = user2;
+            this.itemId = itemId;
+        }
+
+        @Override
+        public Conversation apply() {
+            return MessageService.getInstance().getOrCreateConversation(user1, user2, itemId);
+        }
+
+        @Override
+        public String describe() {
+            return "StartConversation{" + user1 + " and " + user2 + "}";
+        }
+    }
+
+    // Move a participant's read watermark to the latest message
+    final class MarkConversationRead implements StateCommand<Boolean> {
+        private final String conversationId;
+        private final String username;
+
+        public MarkConversationRead(String conversationId, String username) {
+            this.conversationId = conversationId;
+            this.username = username;
+        }
+
+        @Override
+        public Boolean apply() {
+            return MessageService.getInstance().markConversationAsRead(conversationId, username);
+        }
+
+        @Override
+        public String describe() {
+            return "MarkConversationRead{" + conversationId + " by " + username + "}";
+        }
+    }
+
+    // Replace the in-memory conversations with what conversations.json holds
+    final class ReloadConversations implements StateCommand<Boolean> {
+        @Override
+        public Boolean apply() {
+            MessageService.getInstance().refreshFromFile();
+            return true;
+        }
+
+        @Override
+        public String describe() {
+            return "ReloadConversations";
+        }
+
+        @Override
+        public boolean reloadsState() {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.unmadgamer.lostandfoundfinal.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StringDeserializer;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Dictionary of field values that repeat across records (categories, locations, usernames,
+// message types...). Without it every loaded item and message holds its own copy of
+// each value; with it they all point at one instance. Free text such as descriptions and
+// message bodies is not pooled since it rarely repeats, and neither are per-record values
+// such as ids and contact details, which would only fill the pool.
+final class StringPool {
+    private static final StringPool SHARED = new StringPool();
+
+    // Fields whose values come from a small set. status, verificationStatus, claimStatus and
+    // role are parsed into enums on load, so their strings are never kept.
+    static final Set<String> POOLED_FIELDS = Set.of(
+            "category", "location", "reportedBy", "verifiedBy", "claimedBy", "storageLocation",
+            "reward", "date", "lostDate", "foundDate", "type",
+            "senderUsername", "receiverUsername", "messageType",
+            "user1", "user2", "username", "rewardTier");
+
+    private static final int MAX_LENGTH = 128;       // Longer values are almost never repeated
+    private static final int MAX_ENTRIES = 100_000;  // Past this, values are passed through as-is
+
+    private final ConcurrentHashMap<String, String> values = new ConcurrentHashMap<>();
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder bytesSaved = new LongAdder();
+
+    static StringPool shared() {
+        return SHARED;
+    }
+
+    String intern(String value) {
+        if (value == null || value.length() > MAX_LENGTH) {
+            return value;
+        }
+        lookups.increment();
+        String existing = values.get(value);
+        if (existing == null) {
+            if (values.size() >= MAX_ENTRIES) {
+                return value;
+            }
+            existing = values.putIfAbsent(value, value);
+            if (existing == null) {
+                return value;
+            }
+        }
+        hits.increment();
+        bytesSaved.add(retainedSize(value));
+        return existing;
+    }
+
+    int size() {
+        return values.size();
+    }
+
+    long getLookupCount() { return lookups.sum(); }
+    long getHitCount() { return hits.sum(); }
+    long getBytesSaved() { return bytesSaved.sum(); }
+
+    String report() {
+        return String.format("String pool: %d distinct values, %d of %d lookups shared, ~%.1f KB saved",
+                size(), getHitCount(), getLookupCount(), getBytesSaved() / 1024.0);
+    }
+
+    // Heap held by a duplicate copy: the String object (24 bytes with compressed oops) plus
+    // its backing array (16-byte header, one byte per char when Latin-1, padded to 8)
+    static long retainedSize(String value) {
+        boolean latin1 = true;
+        for (int i = 0; i < value.length() && latin1; i++) {
+            latin1 = value.charAt(i) < 256;
+        }
+        long arrayBytes = 16 + (long) value.length() * (latin1 ? 1 : 2);
+        return 24 + ((arrayBytes + 7) & ~7L);
+    }
+
+    // Registered on the shared ObjectMapper, so items, users, conversations and logged
+    // messages all go through the same pool
+    static final class PooledStringDeserializer extends StdScalarDeserializer<String> {
+        private static final long serialVersionUID = 1L;
+
+        private final StringPool pool;
+
+        PooledStringDeserializer(StringPool pool) {
+            super(String.class);
+            this.pool = pool;
+        }
+
+        @Override
+        public String deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            String value = StringDeserializer.instance.deserialize(parser, context);
+            String field = parser.currentName();
+            return field != null && POOLED_FIELDS.contains(field) ? pool.intern(value) : value;
+        }
+    }
+}
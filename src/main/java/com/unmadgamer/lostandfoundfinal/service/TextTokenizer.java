@@ -0,0 +1,35 @@
+package com.unmadgamer.lostandfoundfinal.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+// Lower-cased letter/digit runs, shared by the search indexes
+final class TextTokenizer {
+
+    private TextTokenizer() {
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+
+        int start = -1;
+        for (int i = 0; i < text.length(); i++) {
+            if (Character.isLetterOrDigit(text.charAt(i))) {
+                if (start < 0) {
+                    start = i;
+                }
+            } else if (start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        if (start >= 0) {
+            tokens.add(text.substring(start).toLowerCase(Locale.ROOT));
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,200 @@
+package com.unmadgamer.lostandfoundfinal.service;
+
+import com.unmadgamer.lostandfoundfinal.model.Conversation;
+import com.unmadgamer.lostandfoundfinal.model.Message;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Per-user conversation list ordered by last activity, with running unread counters
+class UserInboxIndex {
+    private final AtomicLong activityClock = new AtomicLong();
+    private final Map<String, Inbox> inboxes = new ConcurrentHashMap<>();
+
+    private static final class Inbox {
+        // Highest activity key first
+        private final ConcurrentSkipListMap<Long, Conversation> byActivity =
+                new ConcurrentSkipListMap<>(Comparator.reverseOrder());
+        private final Map<String, Long> activityKeys = new HashMap<>();
+        private final Map<String, Integer> unreadByConversation = new HashMap<>();
+        private volatile int totalUnread;
+    }
+
+    // Conversations are replayed oldest first so the activity order matches lastMessageTime.
+    // Unread counts come from the conversation headers, so no message history is read.
+    void rebuild(Collection<Conversation> conversations) {
+        inboxes.clear();
+
+        List<Conversation> ordered = new ArrayList<>(conversations);
+        ordered.sort(Comparator.comparing(Conversation::getLastMessageTime,
+                Comparator.nullsFirst(Comparator.naturalOrder())));
+
+        for (Conversation conversation : ordered) {
+            add(conversation);
+        }
+    }
+
+    // A conversation that was not indexed yet, placed as the most recent
+    void add(Conversation conversation) {
+        touch(conversation);
+        for (Map.Entry<String, Integer> unread : conversation.getUnreadCounts().entrySet()) {
+            if (unread.getValue() > 0) {
+                addUnread(conversation.getId(), unread.getKey(), unread.getValue());
+            }
+        }
+    }
+
+    void remove(Conversation conversation) {
+        for (String username : participants(conversation)) {
+            Inbox inbox = inboxes.get(username);
+            if (inbox == null) {
+                continue;
+            }
+            synchronized (inbox) {
+                Long key = inbox.activityKeys.remove(conversation.getId());
+                if (key != null) {
+                    inbox.byActivity.remove(key);
+                }
+                Integer unread = inbox.unreadByConversation.remove(conversation.getId());
+                if (unread != null) {
+                    inbox.totalUnread -= unread;
+                }
+            }
+        }
+    }
+
+    // Replace the conversation's unread counters with the ones in its header
+    void resetUnread(Conversation conversation) {
+        for (String username : participants(conversation)) {
+            Inbox inbox = inboxes.computeIfAbsent(username, u -> new Inbox());
+            synchronized (inbox) {
+                Integer previous = inbox.unreadByConversation.remove(conversation.getId());
+                if (previous != null) {
+                    inbox.totalUnread -= previous;
+                }
+                int unread = conversation.getUnreadCountFor(username);
+                if (unread > 0) {
+                    inbox.unreadByConversation.put(conversation.getId(), unread);
+                    inbox.totalUnread += unread;
+                }
+            }
+        }
+    }
+
+    // Move the conversation to the top of both participants' inboxes
+    void touch(Conversation conversation) {
+        long key = activityClock.incrementAndGet();
+        touch(conversation.getUser1(), conversation, key);
+        if (conversation.getUser2() != null && !conversation.getUser2().equals(conversation.getUser1())) {
+            touch(conversation.getUser2(), conversation, key);
+        }
+    }
+
+    void onMessageAdded(Conversation conversation, Message message) {
+        touch(conversation);
+        String receiver = message.getReceiverUsername();
+        if (countsTowardUnread(conversation, message, receiver)) {
+            addUnread(conversation.getId(), receiver, 1);
+        }
+    }
+
+    void markRead(String conversationId, String username) {
+        Inbox inbox = inboxes.get(username);
+        if (inbox == null) {
+            return;
+        }
+        synchronized (inbox) {
+            Integer unread = inbox.unreadByConversation.remove(conversationId);
+            if (unread != null) {
+                inbox.totalUnread -= unread;
+            }
+        }
+    }
+
+    List<Conversation> page(String username, int offset, int limit) {
+        Inbox inbox = inboxes.get(username);
+        if (inbox == null || limit <= 0) {
+            return Collections.emptyList();
+        }
+
+        List<Conversation> page = new ArrayList<>(Math.min(limit, inbox.byActivity.size()));
+        Iterator<Conversation> iterator = inbox.byActivity.values().iterator();
+        for (int skipped = 0; skipped < offset && iterator.hasNext(); skipped++) {
+            iterator.next();
+        }
+        while (page.size() < limit && iterator.hasNext()) {
+            page.add(iterator.next());
+        }
+        return page;
+    }
+
+    int getConversationCount(String username) {
+        Inbox inbox = inboxes.get(username);
+        return inbox != null ? inbox.byActivity.size() : 0;
+    }
+
+    int getTotalUnread(String username) {
+        Inbox inbox = inboxes.get(username);
+        return inbox != null ? inbox.totalUnread : 0;
+    }
+
+    int getUnread(String conversationId, String username) {
+        Inbox inbox = inboxes.get(username);
+        if (inbox == null) {
+            return 0;
+        }
+        synchronized (inbox) {
+            return inbox.unreadByConversation.getOrDefault(conversationId, 0);
+        }
+    }
+
+    private static List<String> participants(Conversation conversation) {
+        List<String> participants = new ArrayList<>(2);
+        if (conversation.getUser1() != null) {
+            participants.add(conversation.getUser1());
+        }
+        if (conversation.getUser2() != null && !conversation.getUser2().equals(conversation.getUser1())) {
+            participants.add(conversation.getUser2());
+        }
+        return participants;
+    }
+
+    private void touch(String username, Conversation conversation, long key) {
+        if (username == null) {
+            return;
+        }
+        Inbox inbox = inboxes.computeIfAbsent(username, u -> new Inbox());
+        synchronized (inbox) {
+            Long previous = inbox.activityKeys.put(conversation.getId(), key);
+            if (previous != null) {
+                inbox.byActivity.remove(previous);
+            }
+            inbox.byActivity.put(key, conversation);
+        }
+    }
+
+    private void addUnread(String conversationId, String username, int count) {
+        Inbox inbox = inboxes.computeIfAbsent(username, u -> new Inbox());
+        synchronized (inbox) {
+            inbox.unreadByConversation.merge(conversationId, count, Integer::sum);
+            inbox.totalUnread += count;
+        }
+    }
+
+    // Same rule as Conversation.addMessage: only messages between the two participants count
+    private static boolean countsTowardUnread(Conversation conversation, Message message, String receiver) {
+        return receiver != null
+                && !receiver.equals(message.getSenderUsername())
+                && conversation.involvesUser(receiver)
+                && conversation.involvesUser(message.getSenderUsername());
+    }
+}
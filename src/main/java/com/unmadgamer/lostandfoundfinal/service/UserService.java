@@ -8,12 +8,16 @@ import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public class UserService {
     private static UserService instance;
     private final JsonDataService jsonDataService;
-    private List<User> users;
-    private User currentUser;
+    // Written by the state writer thread (see StateCommand) and read from the FX thread and
+    // the async executor, so the list is copied on write
+    private volatile List<User> users;
+    private volatile User currentUser;
 
     private UserService() {
         this.jsonDataService = new JsonDataService();
@@ -35,21 +39,36 @@ public class UserService {
     }
 
     private void loadUsers() {
-        users = jsonDataService.loadUsers();
-        if (users == null) {
-            users = new ArrayList<>();
+        List<User> loaded = jsonDataService.loadUsers();
+        if (loaded == null) {
+            loaded = new ArrayList<>();
             System.out.println("⚠️  No users found, creating new user list");
         }
+        users = new CopyOnWriteArrayList<>(loaded);
     }
 
-    // UPDATED: Make saveUsers public and accept List parameter
-    public boolean saveUsers(List<User> usersToSave) {
-        this.users = new ArrayList<>(usersToSave);
-        return jsonDataService.saveUsers(this.users);
+    // The methods that change users run on the state writer only (see StateCommand); other
+    // classes go through the *Async variants
+
+    // Replace every user, e.g. with a fresh admin account
+    boolean saveUsers(List<User> usersToSave) {
+        this.users = new CopyOnWriteArrayList<>(usersToSave);
+        if (currentUser != null) {
+            currentUser = getUserByUsername(currentUser.getUsername()).orElse(currentUser);
+        }
+        return saveUsers();
     }
 
     // Keep the original saveUsers without parameters for backward compatibility
-    public boolean saveUsers() {
+    boolean saveUsers() {
+        // Inside a command batch the write is coalesced by the BatchedWriter
+        if (BatchedWriter.getInstance().defer(BatchedWriter.Target.USERS)) {
+            return true;
+        }
+        return writeUsers();
+    }
+
+    boolean writeUsers() {
         return jsonDataService.saveUsers(users);
     }
 
@@ -67,9 +86,9 @@ public class UserService {
         System.out.println("👤 Created default admin user: admin/admin123");
     }
 
-    public boolean registerUser(String username, String password, String email, String firstName, String lastName) {
-        // Check if username already exists
-        if (getUserByUsername(username).isPresent()) {
+    boolean registerUser(String username, String password, String email, String firstName, String lastName) {
+        // Check if username already exists or belongs to the system
+        if (getUserByUsername(username).isPresent() || MessageService.SYSTEM_ALERTS_USER.equalsIgnoreCase(username)) {
             return false;
         }
 
@@ -81,7 +100,7 @@ public class UserService {
         return true;
     }
 
-    public boolean login(String username, String password) {
+    boolean login(String username, String password) {
         Optional<User> userOpt = getUserByUsername(username);
 
         if (userOpt.isPresent()) {
@@ -106,6 +125,84 @@ public class UserService {
         return false;
     }
 
+    // Grant reward points directly, e.g. for admin bonuses
+    boolean addRewardPoints(String username, int points) {
+        Optional<User> userOpt = getUserByUsername(username);
+        if (userOpt.isEmpty()) {
+            System.err.println("❌ Cannot add reward points, user not found: " + username);
+            return false;
+        }
+
+        userOpt.get().addRewardPoints(points);
+        saveUsers();
+        return true;
+    }
+
+    // Add a returned item and its reward points to the user's record
+    boolean rewardReturn(String username, int points) {
+        Optional<User> userOpt = getUserByUsername(username);
+        if (userOpt.isEmpty()) {
+            System.err.println("❌ Cannot record a return, user not found: " + username);
+            return false;
+        }
+
+        userOpt.get().addRewardPoints(points);
+        userOpt.get().incrementItemsReturned();
+        saveUsers();
+        return true;
+    }
+
+    boolean setUserActive(String username, boolean active) {
+        Optional<User> userOpt = getUserByUsername(username);
+        if (userOpt.isEmpty()) {
+            return false;
+        }
+
+        userOpt.get().setActive(active);
+        saveUsers();
+        System.out.println("👤 User " + username + (active ? " activated" : " deactivated"));
+        return true;
+    }
+
+    // Recreates the default admin if there is no admin account; false if one already exists
+    boolean ensureDefaultAdmin() {
+        if (getUserByUsername("admin").isPresent()) {
+            return false;
+        }
+        createDefaultAdmin();
+        return true;
+    }
+
+    // Async variants applied by the single writer
+    public CompletableFuture<Boolean> loginAsync(String username, String password) {
+        return AsyncExecutors.submit(new StateCommand.Login(username, password));
+    }
+
+    public CompletableFuture<Boolean> registerUserAsync(String username, String password, String email, String firstName, String lastName) {
+        return AsyncExecutors.submit(new StateCommand.RegisterUser(username, password, email, firstName, lastName));
+    }
+
+    public CompletableFuture<Boolean> addRewardPointsAsync(String username, int points) {
+        return AsyncExecutors.submit(new StateCommand.AddRewardPoints(username, points));
+    }
+
+    public CompletableFuture<Boolean> rewardReturnAsync(String username, int points) {
+        return AsyncExecutors.submit(new StateCommand.RewardReturn(username, points));
+    }
+
+    public CompletableFuture<Boolean> setUserActiveAsync(String username, boolean active) {
+        return AsyncExecutors.submit(new StateCommand.SetUserActive(username, active));
+    }
+
+    public CompletableFuture<Boolean> replaceUsersAsync(List<User> users) {
+        return AsyncExecutors.submit(new StateCommand.ReplaceUsers(users));
+    }
+
+    // Rereads the users file after every change queued before it has been saved
+    public CompletableFuture<Boolean> refreshUsersAsync() {
+        return AsyncExecutors.submit(new StateCommand.ReloadUsers());
+    }
+
     public void logout() {
         if (currentUser != null) {
             System.out.println("👋 User logged out: " + currentUser.getUsername());
@@ -143,8 +240,7 @@ public class UserService {
             System.out.println("   📅 Created: " + admin.getCreatedAt());
         } else {
             System.err.println("❌ ADMIN USER NOT FOUND! Creating default admin...");
-            createDefaultAdmin();
-            debugAdminUser(); // Recursive call to verify creation
+            AsyncExecutors.submit(new StateCommand.CreateDefaultAdmin());
         }
         System.out.println("=== END ADMIN VERIFICATION ===");
     }
@@ -176,8 +272,12 @@ public class UserService {
         System.out.println("=== END DEBUG ===");
     }
 
-    public void refreshUsers() {
+    void refreshUsers() {
         loadUsers();
+        // The logged-in user is looked up again so their record is the one that gets saved
+        if (currentUser != null) {
+            currentUser = getUserByUsername(currentUser.getUsername()).orElse(currentUser);
+        }
         System.out.println("🔄 Users refreshed from JSON file");
     }
 }
\ No newline at end of file
@@ -0,0 +1,85 @@
+package com.unmadgamer.lostandfoundfinal.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConversationTest {
+
+    @Test
+    void watermarkCoversEverythingUpToTheLastReadMessage() {
+        Conversation conversation = new Conversation("alice", "bob");
+        Message first = send(conversation, "alice", "bob", "one");
+        Message second = send(conversation, "alice", "bob", "two");
+        assertEquals(2, conversation.getUnreadCountFor("bob"));
+        assertFalse(conversation.isReadBy(first, "bob"));
+
+        conversation.markAsRead("bob");
+        assertEquals(2L, conversation.getReadWatermark("bob"));
+        assertEquals(0, conversation.getUnreadCountFor("bob"));
+        assertTrue(conversation.isReadBy(first, "bob"));
+        assertTrue(conversation.isReadByReceiver(second));
+
+        Message third = send(conversation, "alice", "bob", "three");
+        assertFalse(conversation.isReadBy(third, "bob"));
+        assertEquals(1, conversation.getUnreadCountFor("bob"));
+        // The sender's own messages never count against them
+        assertEquals(0, conversation.getUnreadCountFor("alice"));
+    }
+
+    @Test
+    void sequencesAreConsecutiveAndWatermarksNeverPassTheLastOne() {
+        Conversation conversation = new Conversation("alice", "bob");
+        for (int i = 1; i <= 10; i++) {
+            Message message = send(conversation, i % 2 == 0 ? "alice" : "bob", i % 2 == 0 ? "bob" : "alice", "m" + i);
+            assertEquals((long) i, message.getSequence());
+            if (i % 3 == 0) {
+                conversation.markAsRead("alice");
+            }
+            assertTrue(conversation.getReadWatermark("alice") <= conversation.getLastSequence());
+        }
+    }
+
+    @Test
+    void legacyReadFlagsBecomeWatermarks() {
+        Conversation conversation = new Conversation("alice", "bob");
+        List<Message> messages = new ArrayList<>();
+        messages.add(legacy("alice", "bob", true));
+        messages.add(legacy("bob", "alice", false));
+        messages.add(legacy("alice", "bob", true));
+        messages.add(legacy("alice", "bob", false));
+        messages.add(legacy("alice", "bob", true));
+        conversation.setMessages(messages);
+
+        assertTrue(conversation.migrateLegacyReadState());
+        assertEquals(5L, conversation.getLastSequence());
+        // Bob read the leading run up to the first unread message addressed to him
+        assertEquals(3L, conversation.getReadWatermark("bob"));
+        // Alice's only message was unread, so nothing before it counts as read
+        assertEquals(1L, conversation.getReadWatermark("alice"));
+
+        conversation.recountUnread();
+        assertEquals(2, conversation.getUnreadCountFor("bob"));
+        assertEquals(1, conversation.getUnreadCountFor("alice"));
+
+        // Already numbered, so a second run changes nothing
+        assertFalse(conversation.migrateLegacyReadState());
+    }
+
+    private static Message send(Conversation conversation, String sender, String receiver, String content) {
+        Message message = new Message(conversation.getId(), sender, receiver, content);
+        conversation.addMessage(message);
+        return message;
+    }
+
+    private static Message legacy(String sender, String receiver, boolean read) {
+        Message message = new Message("legacy", sender, receiver, "text");
+        message.setRead(read);
+        return message;
+    }
+}
@@ -0,0 +1,106 @@
+package com.unmadgamer.lostandfoundfinal.model;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+// Files written before states and timestamps were typed must load into the typed fields
+// and save back in the format the data files have always used
+class ItemMigrationTest {
+    private final ObjectMapper mapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    @Test
+    void legacyTextLoadsIntoTypedFieldsAndSavesInTheUsualFormat() throws IOException {
+        FoundItem item = mapper.readValue("{"
+                + "\"id\": \"found-1\", \"itemName\": \"Mac Book\", \"type\": \"found\","
+                + "\"status\": \" Claimed \", \"verificationStatus\": \"verified\", \"claimStatus\": \"PENDING\","
+                + "\"createdAt\": \"2025-10-23 12:05:52\", \"verificationDate\": \"2025-10-23T12:06:16\","
+                + "\"verified\": true, \"claimPending\": true}", FoundItem.class);
+
+        assertEquals(ItemStatus.CLAIMED, item.getItemStatus());
+        assertEquals(VerificationStatus.VERIFIED, item.getVerificationState());
+        assertEquals(ClaimStatus.PENDING, item.getClaimState());
+        assertEquals(Timestamps.parse("2025-10-23 12:05:52"), item.getCreatedAtMillis());
+        assertEquals(Timestamps.parse("2025-10-23 12:06:16"), item.getVerificationDateMillis());
+
+        JsonNode saved = mapper.valueToTree(item);
+        assertEquals("found-1", saved.get("id").asText());
+        assertEquals("claimed", saved.get("status").asText());
+        assertEquals("verified", saved.get("verificationStatus").asText());
+        assertEquals("pending", saved.get("claimStatus").asText());
+        assertEquals("2025-10-23 12:05:52", saved.get("createdAt").asText());
+        // The ISO form is read, then written like every other timestamp
+        assertEquals("2025-10-23 12:06:16", saved.get("verificationDate").asText());
+    }
+
+    @Test
+    void unrecognisedStatesAndUnreadableTimestampsSurviveASave() throws IOException {
+        LostItem item = mapper.readValue("{"
+                + "\"id\": \"lost-1\", \"itemName\": \"Wallet\", \"type\": \"lost\","
+                + "\"status\": \"pendng\", \"verificationStatus\": \"on hold\", \"claimStatus\": \"maybe\","
+                + "\"createdAt\": \"last Tuesday\", \"verificationDate\": \"23/10/2025\"}", LostItem.class);
+
+        assertNull(item.getItemStatus());
+        assertNull(item.getVerificationState());
+        assertNull(item.getClaimState());
+        assertEquals(0L, item.getCreatedAtMillis());
+        assertEquals(0L, item.getVerificationDateMillis());
+
+        LostItem reloaded = mapper.readValue(mapper.writeValueAsString(item), LostItem.class);
+        assertEquals("pendng", reloaded.getStatus());
+        assertEquals("on hold", reloaded.getVerificationStatus());
+        assertEquals("maybe", reloaded.getClaimStatus());
+        assertEquals("last Tuesday", reloaded.getCreatedAt());
+        assertEquals("23/10/2025", reloaded.getVerificationDate());
+
+        // Setting a typed value replaces the kept text
+        reloaded.setItemStatus(ItemStatus.ACTIVE);
+        reloaded.setVerificationDateMillis(Timestamps.parse("2025-10-24 09:00:00"));
+        JsonNode saved = mapper.valueToTree(reloaded);
+        assertEquals("active", saved.get("status").asText());
+        assertEquals("2025-10-24 09:00:00", saved.get("verificationDate").asText());
+        assertEquals("last Tuesday", saved.get("createdAt").asText());
+    }
+
+    @Test
+    void missingTimestampsStayMissing() throws IOException {
+        LostItem item = mapper.readValue("{\"id\": \"lost-2\", \"createdAt\": \"\", \"verificationDate\": null}", LostItem.class);
+
+        JsonNode saved = mapper.valueToTree(item);
+        assertEquals(0L, item.getCreatedAtMillis());
+        assertEquals(true, saved.get("createdAt").isNull());
+        assertEquals(true, saved.get("verificationDate").isNull());
+    }
+
+    @Test
+    void idsAreAssignedWhenAnItemIsCreated() throws IOException {
+        LostItem first = new LostItem();
+        FoundItem second = new FoundItem("Keys", "Keys", "", "Gym", "2025-10-23", "bob", "2025-10-23", "Desk", "");
+        assertNotNull(first.id);
+        assertNotNull(second.id);
+        assertNotEquals(first.getId(), second.getId());
+
+        // A file entry without an id gets one that stays the same however often it is read
+        LostItem withoutId = mapper.readValue("{\"itemName\": \"Umbrella\"}", LostItem.class);
+        assertNotNull(withoutId.getId());
+        assertEquals(withoutId.getId(), withoutId.getId());
+        assertEquals(withoutId.getId(), mapper.valueToTree(withoutId).get("id").asText());
+    }
+
+    @Test
+    void unreadableMessageTimestampsSurviveASave() throws IOException {
+        Message message = mapper.readValue("{\"id\": \"m1\", \"content\": \"hi\", \"timestamp\": \"yesterday\"}", Message.class);
+
+        assertEquals(0L, message.getTimestampMillis());
+        assertEquals("yesterday", mapper.valueToTree(message).get("timestamp").asText());
+    }
+}
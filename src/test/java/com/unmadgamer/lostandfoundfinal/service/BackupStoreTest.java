@@ -0,0 +1,143 @@
+package com.unmadgamer.lostandfoundfinal.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BackupStoreTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void restoresEachVersionAsOfItsTime() throws IOException, InterruptedException {
+        BackupStore store = new BackupStore(directory.resolve("backups"));
+        Path file = directory.resolve("items.json");
+        byte[] first = randomBytes(200_000, 1);
+        byte[] second = first.clone();
+        second[100_000] ^= 1;
+
+        Files.write(file, first);
+        store.backup(file, "pre_save");
+        long afterFirst = waitPastNow();
+        Files.write(file, second);
+        store.backup(file, "pre_save");
+        long afterSecond = waitPastNow();
+
+        Path target = directory.resolve("restored.json");
+        assertTrue(store.restore("items.json", afterFirst, target));
+        assertEquals(-1L, mismatch(target, first));
+        assertTrue(store.restore("items.json", afterSecond, target));
+        assertEquals(-1L, mismatch(target, second));
+        assertFalse(store.restore("items.json", 0, target));
+    }
+
+    @Test
+    void unchangedContentAddsNoPointAndSmallEditsShareChunks() throws IOException, InterruptedException {
+        Path backups = directory.resolve("backups");
+        BackupStore store = new BackupStore(backups);
+        Path file = directory.resolve("items.json");
+        byte[] content = randomBytes(500_000, 2);
+
+        Files.write(file, content);
+        store.backup(file, "pre_save");
+        int chunksAfterFirst = countChunks(backups);
+        waitPastNow();
+        store.backup(file, "pre_save");
+        assertEquals(1, store.points("items.json").size());
+
+        content[250_000] ^= 1;
+        Files.write(file, content);
+        store.backup(file, "pre_save");
+        assertEquals(2, store.points("items.json").size());
+        // The edit only replaces the chunk around it, or two if it lands near a boundary
+        assertTrue(countChunks(backups) - chunksAfterFirst <= 2, "chunks added: " + (countChunks(backups) - chunksAfterFirst));
+    }
+
+    @Test
+    void copiesOfDamagedFilesAreNeverRestored() throws IOException, InterruptedException {
+        BackupStore store = new BackupStore(directory.resolve("backups"));
+        Path file = directory.resolve("items.json");
+        Files.writeString(file, "[{\"itemName\":\"good\"}]");
+        store.backup(file, "pre_save");
+        waitPastNow();
+        Files.writeString(file, "[{\"itemName\":\"go");
+        store.backup(file, "corrupted");
+        long now = waitPastNow();
+
+        List<BackupStore.Point> points = store.points("items.json");
+        assertEquals(2, points.size());
+        assertTrue(points.get(0).isRestorable());
+        assertFalse(points.get(1).isRestorable());
+
+        Path target = directory.resolve("restored.json");
+        assertTrue(store.restore("items.json", now, target));
+        assertEquals("[{\"itemName\":\"good\"}]", Files.readString(target));
+    }
+
+    @Test
+    void damagedChunkFailsTheRestore() throws IOException {
+        Path backups = directory.resolve("backups");
+        BackupStore store = new BackupStore(backups);
+        Path file = directory.resolve("items.json");
+        Files.write(file, randomBytes(50_000, 3));
+        store.backup(file, "pre_save");
+
+        try (DirectoryStream<Path> prefixes = Files.newDirectoryStream(backups.resolve("chunks"))) {
+            Path prefix = prefixes.iterator().next();
+            try (DirectoryStream<Path> chunks = Files.newDirectoryStream(prefix)) {
+                Path chunk = chunks.iterator().next();
+                byte[] bytes = Files.readAllBytes(chunk);
+                bytes[0] ^= 1;
+                Files.write(chunk, bytes);
+            }
+        }
+
+        Path target = directory.resolve("restored.json");
+        assertThrows(IOException.class, () -> store.restore("items.json", System.currentTimeMillis(), target));
+        assertFalse(Files.exists(target));
+    }
+
+    private static byte[] randomBytes(int length, long seed) {
+        byte[] bytes = new byte[length];
+        new Random(seed).nextBytes(bytes);
+        return bytes;
+    }
+
+    private static long mismatch(Path file, byte[] expected) throws IOException {
+        Path copy = Files.createTempFile(file.getParent(), "expected", ".json");
+        Files.write(copy, expected);
+        return Files.mismatch(file, copy);
+    }
+
+    // Points are named by their millisecond, so tests step past it between backups
+    private static long waitPastNow() throws InterruptedException {
+        long now = System.currentTimeMillis();
+        Thread.sleep(2);
+        return now + 1;
+    }
+
+    private static int countChunks(Path backups) throws IOException {
+        int count = 0;
+        try (DirectoryStream<Path> prefixes = Files.newDirectoryStream(backups.resolve("chunks"))) {
+            for (Path prefix : prefixes) {
+                try (DirectoryStream<Path> chunks = Files.newDirectoryStream(prefix)) {
+                    for (Path ignored : chunks) {
+                        count++;
+                    }
+                }
+            }
+        }
+        return count;
+    }
+}
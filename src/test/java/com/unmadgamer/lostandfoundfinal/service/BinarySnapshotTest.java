@@ -0,0 +1,174 @@
+package com.unmadgamer.lostandfoundfinal.service;
+
+import com.unmadgamer.lostandfoundfinal.model.FoundItem;
+import com.unmadgamer.lostandfoundfinal.model.ItemStatus;
+import com.unmadgamer.lostandfoundfinal.model.LostFoundItem;
+import com.unmadgamer.lostandfoundfinal.model.LostItem;
+import com.unmadgamer.lostandfoundfinal.model.User;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BinarySnapshotTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void itemsRoundTrip() throws IOException {
+        List<LostFoundItem> items = sampleItems(20);
+        items.get(3).setItemStatus(ItemStatus.RETURNED);
+        items.get(4).setStatus("pendng"); // Unrecognised text is kept, not dropped
+        items.get(5).setCreatedAt("last Tuesday"); // So is a timestamp that did not parse
+        items.get(6).setVerificationStatus("on hold");
+        items.get(6).setVerificationDate("23/10/2025");
+        items.get(7).setVerificationDateMillis(items.get(7).getCreatedAtMillis());
+        Path snapshot = directory.resolve("items.bin");
+
+        BinarySnapshot.writeItems(snapshot, items);
+        List<LostFoundItem> read = BinarySnapshot.readItems(snapshot);
+
+        assertEquals(items.size(), read.size());
+        for (int i = 0; i < items.size(); i++) {
+            assertSameItem(items.get(i), read.get(i));
+        }
+        assertEquals(items.size(), BinarySnapshot.countRecords(snapshot));
+    }
+
+    @Test
+    void mappedItemsKeepUnrecognisedText() throws IOException {
+        List<LostFoundItem> items = sampleItems(6);
+        items.get(1).setStatus("pendng");
+        items.get(1).setCreatedAt("last Tuesday");
+        items.get(2).setCreatedAt("last Tuesday");
+        items.get(2).setVerificationDate("23/10/2025");
+        items.get(3).setVerificationDateMillis(items.get(3).getCreatedAtMillis());
+        Path snapshot = directory.resolve("items.bin");
+        BinarySnapshot.writeItems(snapshot, items);
+
+        MappedItemStore.ItemList list = MappedItemStore.open(snapshot).asList();
+        int i = 0;
+        for (LostFoundItem view : list.views()) {
+            assertSameItem(items.get(i), view);
+            assertSameItem(items.get(i), list.get(i));
+            i++;
+        }
+        assertEquals(items.size(), i);
+    }
+
+    @Test
+    void usersRoundTrip() throws IOException {
+        List<User> users = new ArrayList<>();
+        users.add(new User("admin", "secret", "admin@example.com", "Ada", "Admin", "admin"));
+        users.add(new User("finder", "pw", "finder@example.com", "Fin", "Der", "user"));
+        users.add(new User("odd", "pw", "odd@example.com", "Odd", "Role", "admn"));
+        Path snapshot = directory.resolve("users.bin");
+
+        BinarySnapshot.writeUsers(snapshot, users);
+        List<User> read = BinarySnapshot.readUsers(snapshot);
+
+        assertEquals(users.size(), read.size());
+        for (int i = 0; i < users.size(); i++) {
+            assertEquals(users.get(i).getUsername(), read.get(i).getUsername());
+            assertEquals(users.get(i).getEmail(), read.get(i).getEmail());
+            assertEquals(users.get(i).getRole(), read.get(i).getRole());
+            assertEquals(users.get(i).isActive(), read.get(i).isActive());
+        }
+    }
+
+    @Test
+    void damagedRecordFailsTheReadAndIsSkippedByRecovery() throws IOException {
+        List<LostFoundItem> items = sampleItems(60);
+        Path snapshot = directory.resolve("items.bin");
+        BinarySnapshot.writeItems(snapshot, items);
+        byte[] bytes = Files.readAllBytes(snapshot);
+        bytes[bytes.length * 2 / 3] ^= 0x5A;
+        Files.write(snapshot, bytes);
+
+        assertThrows(IOException.class, () -> BinarySnapshot.readItems(snapshot));
+        assertThrows(IOException.class, () -> BinarySnapshot.countRecords(snapshot));
+
+        List<LostFoundItem> recovered = new ArrayList<>();
+        int damaged = BinarySnapshot.recoverItems(snapshot, recovered);
+
+        assertEquals(1, damaged);
+        assertEquals(items.size() - 1, recovered.size());
+        assertSameItem(items.get(0), recovered.get(0));
+        assertSameItem(items.get(items.size() - 1), recovered.get(recovered.size() - 1));
+    }
+
+    @Test
+    void recoveryKeepsTheRecordsBeforeACutOffEnd() throws IOException {
+        List<LostFoundItem> items = sampleItems(30);
+        Path snapshot = directory.resolve("items.bin");
+        BinarySnapshot.writeItems(snapshot, items);
+        byte[] bytes = Files.readAllBytes(snapshot);
+        Files.write(snapshot, Arrays.copyOf(bytes, bytes.length - 10));
+
+        List<LostFoundItem> recovered = new ArrayList<>();
+        int damaged = BinarySnapshot.recoverItems(snapshot, recovered);
+
+        assertEquals(1, damaged);
+        assertEquals(items.size() - 1, recovered.size());
+        for (int i = 0; i < recovered.size(); i++) {
+            assertEquals(items.get(i).getId(), recovered.get(i).getId());
+        }
+    }
+
+    @Test
+    void trailingBytesFailVerification() throws IOException {
+        Path snapshot = directory.resolve("items.bin");
+        BinarySnapshot.writeItems(snapshot, sampleItems(5));
+        byte[] bytes = Files.readAllBytes(snapshot);
+        Files.write(snapshot, Arrays.copyOf(bytes, bytes.length + 3));
+
+        IOException error = assertThrows(IOException.class, () -> BinarySnapshot.countRecords(snapshot));
+        assertTrue(error.getMessage().contains("after the last record"), error.getMessage());
+    }
+
+    static List<LostFoundItem> sampleItems(int count) {
+        List<LostFoundItem> items = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            if (i % 2 == 0) {
+                items.add(new LostItem("Lost thing " + i, "Electronics", "Description " + i, "Library",
+                        "2025-10-11", "owner" + i, "2025-10-11", "50", "owner" + i + "@example.com"));
+            } else {
+                items.add(new FoundItem("Found thing " + i, "Keys", "Description " + i, "Gym",
+                        "2025-10-12", "finder" + i, "2025-10-12", "Front desk", "finder@example.com"));
+            }
+        }
+        return items;
+    }
+
+    private static void assertSameItem(LostFoundItem expected, LostFoundItem actual) {
+        assertTrue(expected.getClass().isInstance(actual), actual.getClass().getName());
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getItemName(), actual.getItemName());
+        assertEquals(expected.getCategory(), actual.getCategory());
+        assertEquals(expected.getDescription(), actual.getDescription());
+        assertEquals(expected.getLocation(), actual.getLocation());
+        assertEquals(expected.getReportedBy(), actual.getReportedBy());
+        assertEquals(expected.getStatus(), actual.getStatus());
+        assertEquals(expected.getVerificationStatus(), actual.getVerificationStatus());
+        assertEquals(expected.getCreatedAtMillis(), actual.getCreatedAtMillis());
+        assertEquals(expected.getCreatedAt(), actual.getCreatedAt());
+        assertEquals(expected.getVerificationDateMillis(), actual.getVerificationDateMillis());
+        assertEquals(expected.getVerificationDate(), actual.getVerificationDate());
+        if (expected instanceof LostItem) {
+            assertEquals(((LostItem) expected).getReward(), ((LostItem) actual).getReward());
+            assertEquals(((LostItem) expected).getContactInfo(), ((LostItem) actual).getContactInfo());
+        } else {
+            assertEquals(((FoundItem) expected).getStorageLocation(), ((FoundItem) actual).getStorageLocation());
+            assertEquals(((FoundItem) expected).getContactInfo(), ((FoundItem) actual).getContactInfo());
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.unmadgamer.lostandfoundfinal.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CommandExecutorTest {
+    private final List<String> log = Collections.synchronizedList(new ArrayList<>());
+    private final Set<BatchedWriter.Target> failingTargets = Collections.synchronizedSet(EnumSet.noneOf(BatchedWriter.Target.class));
+    private final BatchedWriter writer = new BatchedWriter(target -> {
+        log.add("write " + target);
+        return !failingTargets.contains(target);
+    });
+    private final CommandExecutor executor = new CommandExecutor(writer);
+
+    @AfterEach
+    void stopExecutor() {
+        executor.shutdown();
+    }
+
+    @Test
+    void appliesCommandsInSubmissionOrder() throws Exception {
+        List<Integer> applied = new ArrayList<>();
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            int number = i;
+            futures.add(executor.submit(command("Append" + i, false, () -> {
+                assertTrue(executor.isWriterThread());
+                applied.add(number);
+                writer.defer(BatchedWriter.Target.ITEMS);
+                return number;
+            })));
+        }
+
+        for (int i = 0; i < futures.size(); i++) {
+            assertEquals(i, futures.get(i).get(5, TimeUnit.SECONDS).intValue());
+        }
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            expected.add(i);
+        }
+        assertEquals(expected, applied);
+        // Saves are coalesced: never more writes than batches, far fewer than commands
+        assertTrue(log.size() <= executor.getBatchCount(), log.size() + " writes");
+    }
+
+    @Test
+    void futureFailsWhenItsFileIsNotSaved() throws Exception {
+        failingTargets.add(BatchedWriter.Target.ITEMS);
+        CountDownLatch release = holdWriter();
+
+        CompletableFuture<Boolean> itemChange = executor.submit(command("ChangeItem", false, () -> {
+            writer.defer(BatchedWriter.Target.ITEMS);
+            return true;
+        }));
+        CompletableFuture<Boolean> userChange = executor.submit(command("ChangeUser", false, () -> {
+            writer.defer(BatchedWriter.Target.USERS);
+            return true;
+        }));
+        release.countDown();
+
+        ExecutionException error = assertThrows(ExecutionException.class, () -> itemChange.get(5, TimeUnit.SECONDS));
+        assertTrue(error.getCause() instanceof IOException, String.valueOf(error.getCause()));
+        // Same batch, but its own file was saved
+        assertTrue(userChange.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void failingCommandDoesNotFailTheRestOfItsBatch() throws Exception {
+        CountDownLatch release = holdWriter();
+        CompletableFuture<Boolean> failing = executor.submit(command("Fail", false, () -> {
+            throw new IllegalStateException("boom");
+        }));
+        CompletableFuture<Boolean> next = executor.submit(command("Next", false, () -> true));
+        release.countDown();
+
+        ExecutionException error = assertThrows(ExecutionException.class, () -> failing.get(5, TimeUnit.SECONDS));
+        assertEquals("boom", error.getCause().getMessage());
+        assertTrue(next.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void listenersHearOfAChangeOnlyAfterItIsSaved() throws Exception {
+        executor.submit(command("Saved", false, () -> {
+            writer.defer(BatchedWriter.Target.CONVERSATIONS);
+            writer.afterSave(BatchedWriter.Target.CONVERSATIONS, () -> log.add("publish saved"));
+            log.add("apply saved");
+            return true;
+        })).get(5, TimeUnit.SECONDS);
+        assertEquals(List.of("apply saved", "write CONVERSATIONS", "publish saved"), log);
+
+        log.clear();
+        failingTargets.add(BatchedWriter.Target.CONVERSATIONS);
+        CompletableFuture<Boolean> lost = executor.submit(command("Lost", false, () -> {
+            writer.defer(BatchedWriter.Target.CONVERSATIONS);
+            writer.afterSave(BatchedWriter.Target.CONVERSATIONS, () -> log.add("publish lost"));
+            return true;
+        }));
+        assertThrows(ExecutionException.class, () -> lost.get(5, TimeUnit.SECONDS));
+        assertEquals(List.of("write CONVERSATIONS"), log);
+    }
+
+    @Test
+    void reloadNeverOverwritesAnUnsavedChange() throws Exception {
+        CountDownLatch release = holdWriter();
+        log.clear();
+        CompletableFuture<Boolean> change = executor.submit(command("Change", false, () -> {
+            log.add("change");
+            writer.defer(BatchedWriter.Target.ITEMS);
+            return true;
+        }));
+        CompletableFuture<Boolean> reload = executor.submit(command("Reload", true, () -> {
+            log.add("reload");
+            return true;
+        }));
+        CompletableFuture<Boolean> after = executor.submit(command("After", false, () -> {
+            log.add("after");
+            writer.defer(BatchedWriter.Target.ITEMS);
+            return true;
+        }));
+        release.countDown();
+
+        assertTrue(change.get(5, TimeUnit.SECONDS));
+        assertTrue(reload.get(5, TimeUnit.SECONDS));
+        assertTrue(after.get(5, TimeUnit.SECONDS));
+        assertEquals(List.of("change", "write ITEMS", "reload", "after", "write ITEMS"), log);
+    }
+
+    @Test
+    void commandIssuedByACommandJoinsItsBatch() throws Exception {
+        failingTargets.add(BatchedWriter.Target.USERS);
+        List<CompletableFuture<Boolean>> inner = new ArrayList<>();
+        CompletableFuture<Boolean> outer = executor.submit(command("Outer", false, () -> {
+            inner.add(executor.submit(command("Inner", false, () -> {
+                writer.defer(BatchedWriter.Target.USERS);
+                return true;
+            })));
+            // Not waited for: the inner command has been applied but its batch is not saved yet
+            assertFalse(inner.get(0).isDone());
+            return true;
+        }));
+
+        // The outer command relied on the inner one's change, so both fail
+        assertThrows(ExecutionException.class, () -> outer.get(5, TimeUnit.SECONDS));
+        assertThrows(ExecutionException.class, () -> inner.get(0).get(5, TimeUnit.SECONDS));
+    }
+
+    // Occupies the writer until released, so the commands submitted meanwhile share a batch
+    private CountDownLatch holdWriter() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.submit(command("Hold", false, () -> {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return true;
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        return release;
+    }
+
+    private static <R> StateCommand<R> command(String name, boolean reloads, Supplier<R> body) {
+        return new StateCommand<R>() {
+            @Override
+            public R apply() {
+                return body.get();
+            }
+
+            @Override
+            public String describe() {
+                return name;
+            }
+
+            @Override
+            public boolean reloadsState() {
+                return reloads;
+            }
+        };
+    }
+}
@@ -0,0 +1,89 @@
+package com.unmadgamer.lostandfoundfinal.service;
+
+import com.unmadgamer.lostandfoundfinal.model.FoundItem;
+import com.unmadgamer.lostandfoundfinal.model.ItemStatus;
+import com.unmadgamer.lostandfoundfinal.model.LostFoundItem;
+import com.unmadgamer.lostandfoundfinal.model.LostItem;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FacetIndexTest {
+    private final List<LostFoundItem> items = new ArrayList<>();
+    private final FacetIndex index = new FacetIndex();
+    private ItemPositions positions;
+
+    private LostFoundItem lost(String category, String location) {
+        LostItem item = new LostItem("Lost " + items.size(), category, "", location, "2024-01-01", "alice", "2024-01-01", "", "");
+        item.setId("item-" + items.size());
+        items.add(item);
+        return item;
+    }
+
+    private LostFoundItem found(String category, String location) {
+        FoundItem item = new FoundItem("Found " + items.size(), category, "", location, "2024-01-01", "bob", "2024-01-01", "Desk", "");
+        item.setId("item-" + items.size());
+        items.add(item);
+        return item;
+    }
+
+    private void build() {
+        positions = new ItemPositions(items);
+        index.rebuild(positions, items);
+    }
+
+    @Test
+    void countsOnlyTheResultMostCommonFirst() {
+        LostFoundItem wallet = lost("Wallets", "Library");
+        LostFoundItem keys = found("Keys", "Library");
+        LostFoundItem otherWallet = found("Wallets", "Cafeteria");
+        lost("Phones", "Gym");
+        build();
+
+        FacetCounts counts = index.count(List.of(keys, otherWallet, wallet, wallet));
+        assertEquals(3, counts.getTotal());
+        assertEquals(List.of("Wallets", "Keys"), List.copyOf(counts.get(FacetCounts.Facet.CATEGORY).keySet()));
+        assertEquals(2, counts.count(FacetCounts.Facet.CATEGORY, "Wallets"));
+        assertEquals(0, counts.count(FacetCounts.Facet.CATEGORY, "Phones"));
+        assertEquals(Map.of("found", 2, "lost", 1), counts.get(FacetCounts.Facet.TYPE));
+        assertEquals(Map.of("Library", 2, "Cafeteria", 1), counts.get(FacetCounts.Facet.LOCATION));
+        assertEquals(Map.of("active", 3), counts.get(FacetCounts.Facet.STATUS));
+    }
+
+    @Test
+    void updatesFollowStatusChangesAndNewItems() {
+        LostFoundItem first = lost("Wallets", "Library");
+        LostFoundItem second = found("Wallets", "Library");
+        build();
+
+        second.setItemStatus(ItemStatus.RETURNED);
+        index.update(second);
+        LostFoundItem added = found("Keys", null);
+        positions.added(items.size() - 1, added);
+        index.update(added);
+
+        FacetCounts counts = index.count(items);
+        assertEquals(3, counts.getTotal());
+        assertEquals(Map.of("active", 2, "returned", 1), counts.get(FacetCounts.Facet.STATUS));
+        // An item without a location is counted, just not under any location
+        assertEquals(Map.of("Library", 2), counts.get(FacetCounts.Facet.LOCATION));
+        assertEquals(1, index.count(List.of(first)).getTotal());
+    }
+
+    @Test
+    void itemsOutsideTheIndexAreIgnored() {
+        lost("Wallets", "Library");
+        build();
+        LostItem stranger = new LostItem("Other", "Phones", "", "Gym", "", "carol", "", "", "");
+        stranger.setId("not-indexed");
+
+        FacetCounts counts = index.count(List.of(stranger));
+        assertEquals(0, counts.getTotal());
+        assertTrue(counts.get(FacetCounts.Facet.CATEGORY).isEmpty());
+    }
+}
@@ -0,0 +1,95 @@
+package com.unmadgamer.lostandfoundfinal.service;
+
+import com.unmadgamer.lostandfoundfinal.model.FoundItem;
+import com.unmadgamer.lostandfoundfinal.model.LostFoundItem;
+import com.unmadgamer.lostandfoundfinal.model.LostItem;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FuzzyNameIndexTest {
+    private final List<LostFoundItem> items = new ArrayList<>();
+    private final FuzzyNameIndex index = new FuzzyNameIndex();
+    private ItemPositions positions;
+
+    private void build(String... names) {
+        for (String name : names) {
+            items.add(item(name));
+        }
+        positions = new ItemPositions(items);
+        index.rebuild(positions, items);
+    }
+
+    @Test
+    void toleratesOneTypoInShortWordsAndTwoInLongOnes() {
+        build("Black Wallet", "Blue Backpack", "Leather Wallet", "Umbrella", "Keys");
+
+        assertEquals(Set.of("Black Wallet", "Leather Wallet"), names(index.search("walet")));
+        assertEquals(Set.of("Black Wallet", "Leather Wallet"), names(index.search("wallte")));
+        assertEquals(Set.of("Umbrella"), names(index.search("umbrelal")));
+        assertEquals(Set.of("Umbrella"), names(index.search("unbrela")));
+        assertTrue(index.search("umbrxyzz").isEmpty());
+        // Three letters or fewer must match exactly
+        assertTrue(index.search("kex").isEmpty());
+    }
+
+    @Test
+    void everyWordMustMatchAndTheLastMayBeAPrefix() {
+        build("Black Wallet", "Blue Backpack", "Leather Wallet");
+
+        assertEquals(Set.of("Leather Wallet"), names(index.search("lether walet")));
+        assertEquals(Set.of("Blue Backpack"), names(index.search("blue backp")));
+        assertTrue(index.search("blue wallet").isEmpty());
+        assertTrue(index.search("  ").isEmpty());
+    }
+
+    @Test
+    void joinedWordsFindSplitNames() {
+        build("Mac Book Air", "Note Book");
+
+        assertEquals(Set.of("Mac Book Air"), names(index.search("macbook")));
+        assertEquals(Set.of("Note Book"), names(index.search("notebok")));
+    }
+
+    @Test
+    void itemsAddedAfterTheRebuildAreFound() {
+        build("Black Wallet");
+        Set<String> before = index.search("wallet");
+
+        LostFoundItem added = item("Brown Wallet");
+        items.add(added);
+        positions.added(items.size() - 1, added);
+        index.add(items.size() - 1, added);
+
+        Set<String> after = index.search("wallet");
+        assertEquals(Set.of("Black Wallet", "Brown Wallet"), names(after));
+        assertTrue(after.contains(added.getId()));
+        assertFalse(before.contains(added.getId()));
+    }
+
+    private Set<String> names(Set<String> ids) {
+        Set<String> names = new TreeSet<>();
+        for (LostFoundItem item : items) {
+            if (ids.contains(item.getId())) {
+                names.add(item.getItemName());
+            }
+        }
+        assertEquals(ids.size(), names.size());
+        return names;
+    }
+
+    private LostFoundItem item(String name) {
+        LostFoundItem item = items.size() % 2 == 0
+                ? new LostItem(name, "Other", "", "Library", "2024-01-01", "alice", "2024-01-01", "", "")
+                : new FoundItem(name, "Other", "", "Library", "2024-01-01", "bob", "2024-01-01", "Desk", "");
+        item.setId("item-" + items.size());
+        return item;
+    }
+}
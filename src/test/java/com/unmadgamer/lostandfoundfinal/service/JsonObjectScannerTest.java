@@ -0,0 +1,72 @@
+package com.unmadgamer.lostandfoundfinal.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class JsonObjectScannerTest {
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void intactFileYieldsEveryObject() throws IOException {
+        List<String> names = scan(write("[{\"itemName\":\"a\"},{\"itemName\":\"b\",\"tags\":[\"x\",\"}\"]},\n{\"itemName\":\"c\"}]"));
+
+        assertEquals(List.of("a", "b", "c"), names);
+    }
+
+    @Test
+    void damageOnlyCostsTheObjectsItTouches() throws IOException {
+        // A stray byte between objects, a missing comma, and an object cut off by the next one
+        Path file = write("[{\"itemName\":\"a\"} x {\"itemName\":\"b\"}{\"itemName\":\"c\"},"
+                + "{\"itemName\":\"cut\",\"description\":\"no end{\"itemName\":\"d\"},{\"itemName\":\"e\"}]");
+        List<String> names = new ArrayList<>();
+
+        int damaged = JsonObjectScanner.scan(file, (json, offset, length) -> accept(json, offset, length, names));
+
+        assertEquals(List.of("a", "b", "c", "d", "e"), names);
+        assertEquals(1, damaged);
+    }
+
+    @Test
+    void truncatedFileKeepsTheCompleteObjects() throws IOException {
+        List<String> names = scan(write("[{\"itemName\":\"a\"},{\"itemName\":\"b\"},{\"itemName\":\"tru"));
+
+        assertEquals(List.of("a", "b"), names);
+    }
+
+    private List<String> scan(Path file) throws IOException {
+        List<String> names = new ArrayList<>();
+        JsonObjectScanner.scan(file, (json, offset, length) -> accept(json, offset, length, names));
+        return names;
+    }
+
+    private boolean accept(byte[] json, int offset, int length, List<String> names) {
+        try {
+            JsonNode node = mapper.readTree(json, offset, length);
+            if (node == null || !node.hasNonNull("itemName")) {
+                return false;
+            }
+            names.add(node.get("itemName").asText());
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private Path write(String content) throws IOException {
+        return Files.write(directory.resolve("items.json"), content.getBytes(StandardCharsets.UTF_8));
+    }
+}
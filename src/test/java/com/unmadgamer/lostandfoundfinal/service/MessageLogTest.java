@@ -0,0 +1,115 @@
+package com.unmadgamer.lostandfoundfinal.service;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.unmadgamer.lostandfoundfinal.model.Conversation;
+import com.unmadgamer.lostandfoundfinal.model.Message;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MessageLogTest {
+    private static final String CONVERSATION = "conversation-1";
+
+    private final ObjectMapper mapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void pagesHoldConsecutiveSequencesAcrossCheckpoints() throws IOException {
+        MessageLog log = new MessageLog(mapper, directory);
+        List<Message> batch = new ArrayList<>();
+        for (int sequence = 1; sequence <= 100; sequence++) {
+            batch.add(message(sequence));
+            if (batch.size() == 7) {
+                log.appendAll(CONVERSATION, batch);
+                batch.clear();
+            }
+        }
+        log.appendAll(CONVERSATION, batch);
+
+        assertPages(log);
+        // A new instance builds its offset index from the file instead of from the appends
+        assertPages(new MessageLog(mapper, directory));
+    }
+
+    @Test
+    void unknownConversationHasNoMessages() throws IOException {
+        MessageLog log = new MessageLog(mapper, directory);
+        assertFalse(log.exists("missing"));
+        assertEquals(0L, log.count("missing"));
+        assertTrue(log.readPage("missing", Long.MAX_VALUE, 10).isEmpty());
+    }
+
+    @Test
+    void headerBehindTheLogDoesNotReuseSequences() throws IOException {
+        MessageLog log = new MessageLog(mapper, directory);
+        Conversation conversation = new Conversation("alice", "bob");
+        for (int i = 1; i <= 5; i++) {
+            Message message = new Message(conversation.getId(), "alice", "bob", "message " + i);
+            message.setSequence(conversation.getLastSequence() + 1);
+            log.append(message);
+            conversation.addMessage(message);
+        }
+
+        // The header was last saved after the second message
+        Conversation header = new Conversation("alice", "bob");
+        header.setId(conversation.getId());
+        header.setLastSequence(2);
+        header.setLastMessage("message 2");
+        header.getUnreadCounts().put("bob", 2);
+
+        assertTrue(MessageService.catchUpWithLog(header, log));
+        assertEquals(5L, header.getLastSequence());
+        assertEquals("message 5", header.getLastMessage());
+        assertEquals(5, header.getUnreadCountFor("bob"));
+        assertTrue(header.getMessages().isEmpty());
+        assertFalse(MessageService.catchUpWithLog(header, log));
+
+        Message next = new Message(conversation.getId(), "bob", "alice", "reply");
+        next.setSequence(header.getLastSequence() + 1);
+        log.append(next);
+
+        Set<Long> sequences = new HashSet<>();
+        for (Message message : log.readPage(conversation.getId(), Long.MAX_VALUE, 100)) {
+            assertTrue(sequences.add(message.getSequence()), "sequence " + message.getSequence() + " reused");
+        }
+        assertEquals(6, sequences.size());
+    }
+
+    private static void assertPages(MessageLog log) throws IOException {
+        assertEquals(100L, log.count(CONVERSATION));
+        assertSequences(log.readPage(CONVERSATION, Long.MAX_VALUE, 10), 91, 100);
+        assertSequences(log.readPage(CONVERSATION, 91, 10), 81, 90);
+        // Straddles the checkpoint at line 33
+        assertSequences(log.readPage(CONVERSATION, 40, 10), 30, 39);
+        assertSequences(log.readPage(CONVERSATION, 6, 50), 1, 5);
+        assertTrue(log.readPage(CONVERSATION, 1, 10).isEmpty());
+    }
+
+    private static void assertSequences(List<Message> page, long first, long last) {
+        assertEquals((int) (last - first + 1), page.size());
+        for (int i = 0; i < page.size(); i++) {
+            assertEquals(first + i, page.get(i).getSequence());
+            assertEquals("message " + (first + i), page.get(i).getContent());
+        }
+    }
+
+    private static Message message(long sequence) {
+        Message message = new Message(CONVERSATION, "alice", "bob", "message " + sequence);
+        message.setSequence(sequence);
+        return message;
+    }
+}
@@ -0,0 +1,76 @@
+package com.unmadgamer.lostandfoundfinal.service;
+
+import com.unmadgamer.lostandfoundfinal.model.FoundItem;
+import com.unmadgamer.lostandfoundfinal.model.SavedSearch;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PercolatorIndexTest {
+    private final PercolatorIndex index = new PercolatorIndex();
+
+    private SavedSearch save(String owner, String query, String category) {
+        SavedSearch search = new SavedSearch(owner, query, category);
+        search.setId(owner);
+        assertTrue(index.add(search));
+        return search;
+    }
+
+    private static FoundItem found(String name, String category, String description, String location) {
+        return new FoundItem(name, category, description, location, "2024-01-01", "finder", "2024-01-01", "Desk", "");
+    }
+
+    @Test
+    void matchesSearchesWhoseWordsAllOccurInTheItem() {
+        save("alice", "black leather wallet", null);
+        save("bob", "wallet", "Wallets");
+        save("carol", "blue umbrella", null);
+        save("dave", "", "wallets");
+
+        FoundItem wallet = found("Leather Wallet", "Wallets", "Black, with a zip", "Library");
+        assertEquals(Set.of("alice", "bob", "dave"), owners(index.match(wallet)));
+
+        // Right words, wrong category
+        FoundItem inBag = found("Bag", "Bags", "A leather wallet was inside, black", "Gym");
+        assertEquals(Set.of("alice"), owners(index.match(inBag)));
+
+        assertTrue(index.match(found("Blue pen", "Stationery", "", "Office")).isEmpty());
+    }
+
+    @Test
+    void searchesCanBeRemovedAndReplaced() {
+        save("alice", "red scarf", null);
+        save("bob", "scarf", null);
+        index.remove("bob");
+        assertEquals(1, index.size());
+
+        FoundItem scarf = found("Red Scarf", "Clothing", "", "Cafeteria");
+        assertEquals(Set.of("alice"), owners(index.match(scarf)));
+
+        // Adding a search with the same id again replaces it
+        save("alice", "green scarf", null);
+        assertEquals(1, index.size());
+        assertTrue(index.match(scarf).isEmpty());
+    }
+
+    @Test
+    void refusesSearchesThatWouldMatchEverything() {
+        SavedSearch empty = new SavedSearch("alice", "  ", null);
+        assertFalse(index.add(empty));
+        assertEquals(0, index.size());
+    }
+
+    private static Set<String> owners(List<SavedSearch> matches) {
+        Set<String> owners = new TreeSet<>();
+        for (SavedSearch search : matches) {
+            assertTrue(owners.add(search.getUsername()), "matched twice: " + search.getUsername());
+        }
+        return owners;
+    }
+}
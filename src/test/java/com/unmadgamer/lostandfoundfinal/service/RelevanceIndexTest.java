@@ -0,0 +1,88 @@
+package com.unmadgamer.lostandfoundfinal.service;
+
+import com.unmadgamer.lostandfoundfinal.model.LostFoundItem;
+import com.unmadgamer.lostandfoundfinal.model.LostItem;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RelevanceIndexTest {
+    private static final long NOW = 1_700_000_000_000L;
+    private static final long DAY = 86_400_000L;
+
+    private final List<LostFoundItem> items = new ArrayList<>();
+    private final RelevanceIndex index = new RelevanceIndex();
+
+    private LostFoundItem add(String name, String category, String description, long ageDays) {
+        LostItem item = new LostItem(name, category, description, "Library", "2024-01-01", "alice", "2024-01-01", "", "");
+        item.setId("item-" + items.size());
+        item.setCreatedAtMillis(NOW - ageDays * DAY);
+        items.add(item);
+        return item;
+    }
+
+    private void build() {
+        index.rebuild(new ItemPositions(items), items);
+    }
+
+    @Test
+    void nameMatchesOutrankDescriptionMatchesAndNonMatchesKeepTheirOrder() {
+        LostFoundItem umbrella = add("Umbrella", "Other", "Black and folding", 0);
+        LostFoundItem inDescription = add("Bag", "Bags", "Has a wallet inside", 0);
+        LostFoundItem keys = add("Keys", "Keys", "Three keys on a ring", 0);
+        LostFoundItem inName = add("Leather wallet", "Wallets", "Brown", 0);
+        build();
+
+        List<LostFoundItem> ranked = index.rank("wallet", items, NOW);
+        assertEquals(List.of(inName, inDescription, umbrella, keys), ranked);
+    }
+
+    @Test
+    void lastWordScoresItsCompletions() {
+        LostFoundItem phone = add("Phone", "Electronics", "", 0);
+        LostFoundItem wallet = add("Wallet", "Wallets", "", 0);
+        build();
+
+        assertEquals(List.of(wallet, phone), index.rank("wal", items, NOW));
+    }
+
+    @Test
+    void recencyBreaksTiesButNotClearWins() {
+        LostFoundItem old = add("Blue wallet", "Wallets", "", 90);
+        LostFoundItem recent = add("Red wallet", "Wallets", "", 0);
+        LostFoundItem oldExact = add("Wallet", "Wallets", "Wallet with wallet chain", 365);
+        build();
+
+        List<LostFoundItem> ranked = index.rank("wallet", List.of(old, recent), NOW);
+        assertEquals(List.of(recent, old), ranked);
+        assertEquals(oldExact, index.rank("wallet", items, NOW).get(0));
+    }
+
+    @Test
+    void rankingASubsetScoresOnlyItsCandidates() {
+        for (int i = 0; i < 2000; i++) {
+            add("Item " + i, "Other", i % 2 == 0 ? "wallet" : "keys", 0);
+        }
+        LostFoundItem best = add("Wallet", "Wallets", "wallet", 0);
+        LostItem unknown = new LostItem("Wallet", "Wallets", "", "", "", "bob", "", "", "");
+        unknown.setId("not-indexed");
+        build();
+
+        // Few candidates against long postings: probed rather than walked
+        List<LostFoundItem> subset = List.of(items.get(1), unknown, items.get(4), best, items.get(4));
+        assertEquals(List.of(best, items.get(4), items.get(4), items.get(1), unknown),
+                index.rank("wallet", subset, NOW));
+
+        // Every item as a candidate walks the postings; the order must agree
+        List<LostFoundItem> all = index.rank("wallet", items, NOW);
+        assertEquals(best, all.get(0));
+        assertEquals(items.get(0), all.get(1));
+        assertEquals(items.get(1), all.get(1001));
+
+        // Nothing left marked from the earlier calls
+        assertEquals(List.of(items.get(3), items.get(2)), index.rank("keys", List.of(items.get(3), items.get(2)), NOW));
+    }
+}